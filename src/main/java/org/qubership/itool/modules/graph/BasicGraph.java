@@ -16,10 +16,18 @@
 
 package org.qubership.itool.modules.graph;
 
+import org.qubership.itool.modules.gremlin2.P;
 import org.qubership.itool.modules.gremlin2.graph.GraphTraversalSource;
 import io.vertx.core.json.JsonObject;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public interface BasicGraph {
 
@@ -33,6 +41,40 @@ public interface BasicGraph {
 
     List<JsonObject> vertexList();
 
+    /** Get vertices having any of the given types, in the same order as {@link #vertexList()}.
+     * Implementations may use a secondary index instead of scanning all the vertices.
+     *
+     * @param types Vertex types
+     * @return Matching vertices
+     */
+    default List<JsonObject> getVerticesByType(Collection<String> types) {
+        return vertexList().stream()
+            .filter(vertex -> types.contains(vertex.getValue(Graph.F_TYPE)))
+            .collect(Collectors.toList());
+    }
+
+    /** Check whether vertex property has an index to look up vertices by its value.
+     *
+     * @param propertyKey Property name or JSON pointer
+     * @return Whether the property is indexed
+     */
+    default boolean isIndexed(String propertyKey) {
+        return false;
+    }
+
+    /** Look up candidate vertices for a predicate on an indexed property.
+     * The result contains every vertex satisfying the predicate, but also may contain vertices
+     * that do not, so callers must still apply the predicate.
+     *
+     * @param propertyKey Property name or JSON pointer
+     * @param predicate Predicate on property value
+     * @return Candidate vertices in the same order as {@link #vertexList()}, or {@code null}
+     * if there is no index able to evaluate the predicate
+     */
+    default List<JsonObject> getVerticesByIndex(String propertyKey, P<?> predicate) {
+        return null;
+    }
+
     JsonObject getVertex(String vertexId);
 
     JsonObject getEdge(String edgeId);
@@ -53,4 +95,71 @@ public interface BasicGraph {
 
     JsonObject getEdgeSource(String edgeId);
 
+    //--- Streaming accessors. Implementations avoid copying vertices and edges into new lists
+
+    /** Apply the action to every vertex, in the same order as {@link #vertexList()}.
+     * The action must not modify the graph.
+     *
+     * @param action Action
+     */
+    default void forEachVertex(Consumer<JsonObject> action) {
+        vertexList().forEach(action);
+    }
+
+    /** Get vertices in the same order as {@link #vertexList()}. Implementations may return
+     * a snapshot, so that later modifications of the graph are not visible.
+     *
+     * @return Spliterator over vertices
+     */
+    default Spliterator<JsonObject> vertexSpliterator() {
+        return vertexList().spliterator();
+    }
+
+    /** Apply the action to every outgoing edge of a vertex and its target, in the same order as
+     * {@link #getSuccessorEdges(String)}. Does nothing if there is no such vertex.
+     * The action must not modify the graph.
+     *
+     * @param vertexId Source vertex id
+     * @param action Action accepting an edge and its target vertex
+     */
+    default void forEachSuccessor(String vertexId, BiConsumer<JsonObject, JsonObject> action) {
+        forEachAdjacent(this, getSuccessorEdges(vertexId), true, action);
+    }
+
+    /** Apply the action to every incoming edge of a vertex and its source, in the same order as
+     * {@link #getPredecessorEdges(String)}. Does nothing if there is no such vertex.
+     * The action must not modify the graph.
+     *
+     * @param vertexId Target vertex id
+     * @param action Action accepting an edge and its source vertex
+     */
+    default void forEachPredecessor(String vertexId, BiConsumer<JsonObject, JsonObject> action) {
+        forEachAdjacent(this, getPredecessorEdges(vertexId), false, action);
+    }
+
+    /** Get successors of a vertex, same as {@code getSuccessors(vertexId, false)}.
+     * Implementations may return them lazily: successors removed during iteration may be skipped.
+     *
+     * @param vertexId Source vertex id
+     * @return Iterator over successors, empty if there is no such vertex
+     */
+    default Iterator<JsonObject> successorIterator(String vertexId) {
+        if (getVertex(vertexId) == null) {
+            return Collections.emptyIterator();
+        }
+        return getSuccessors(vertexId, false).iterator();
+    }
+
+    private static void forEachAdjacent(BasicGraph graph, List<JsonObject> edges, boolean outgoing,
+            BiConsumer<JsonObject, JsonObject> action)
+    {
+        if (edges == null) {
+            return;
+        }
+        for (JsonObject edge : edges) {
+            String edgeId = edge.getString(Graph.F_ID);
+            action.accept(edge, outgoing ? graph.getEdgeTarget(edgeId) : graph.getEdgeSource(edgeId));
+        }
+    }
+
 }
@@ -0,0 +1,520 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.graph;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import org.qubership.itool.modules.artifactory.AppVersionDescriptor;
+import org.qubership.itool.modules.artifactory.GraphSnapshot;
+import org.qubership.itool.utils.CompactJsonFormat;
+import org.qubership.itool.utils.JsonUtils;
+import org.qubership.itool.utils.ParallelGzipOutputStream;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * {@link GraphFetcher} decorator keeping graph dumps of application versions in a local directory,
+ * so that rebuilding a classifier graph does not fetch unchanged applications again.
+ *
+ * <p>Dumps of release versions never change, so they are served from the cache as long as they
+ * are there. Dumps of "-SNAPSHOT" versions are served while they are younger than the configured
+ * time-to-live, which is zero by default.
+ *
+ * <p>Dumps are stored gzipped in {@link CompactJsonFormat}, in files named by SHA-256 of their contents,
+ * so identical dumps are stored once. The index maps application versions to these files and keeps
+ * them in LRU order; least recently used entries are evicted when the total size of files exceeds
+ * the limit. Files are written atomically, so a crash leaves no partial entries.
+ *
+ * <p>The index is saved at most once per {@link #INDEX_SAVE_INTERVAL}, and on {@link #flush()} or
+ * {@link #close()}. After a crash, entries stored since the last save are fetched again,
+ * and files no longer listed in the index are deleted.
+ *
+ * <p>Dumps returned from the cache are new instances, so callers may modify them. Thread-safe.
+ */
+public class CachingGraphFetcher implements GraphFetcher, Closeable {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(CachingGraphFetcher.class);
+
+    public static final int CURRENT_INDEX_MODEL_VERSION = 1;
+    public static final String INDEX_FILE = "index.json";
+    public static final Duration INDEX_SAVE_INTERVAL = Duration.ofSeconds(10);
+    static final String DUMP_EXTENSION = CompactJsonFormat.EXTENSION + ".gz";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final GraphFetcher delegate;
+    private final Path directory;
+    private final long maxBytes;
+    private final Duration snapshotTtl;
+    private final Clock clock;
+
+    // Guarded by this. Access order is LRU order.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Integer> fileReferences = new HashMap<>();
+    private long totalBytes;
+    private boolean indexDirty;
+    private long indexSavedAt;
+    private long hitCount;
+    private long missCount;
+    private long loadSuccessCount;
+    private long loadExceptionCount;
+    private long totalLoadTime;
+    private long evictionCount;
+
+    /** Create a cache that never serves dumps of "-SNAPSHOT" versions.
+     *
+     * @param delegate Fetcher to decorate
+     * @param directory Cache directory. It is created if missing, and entries left there
+     * by previous instances are reused.
+     * @param maxBytes Maximum total size of cached files
+     * @throws IOException If the directory cannot be created or read
+     */
+    public CachingGraphFetcher(GraphFetcher delegate, Path directory, long maxBytes) throws IOException {
+        this(delegate, directory, maxBytes, Duration.ZERO, Clock.systemUTC());
+    }
+
+    /** Create a cache.
+     *
+     * @param delegate Fetcher to decorate
+     * @param directory Cache directory
+     * @param maxBytes Maximum total size of cached files
+     * @param snapshotTtl How long dumps of "-SNAPSHOT" versions are served from the cache
+     * @param clock Clock for the time-to-live
+     * @throws IOException If the directory cannot be created or read
+     */
+    public CachingGraphFetcher(GraphFetcher delegate, Path directory, long maxBytes,
+            Duration snapshotTtl, Clock clock) throws IOException {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.snapshotTtl = snapshotTtl;
+        this.clock = clock;
+        Files.createDirectories(directory);
+        loadIndex();
+        deleteUnlistedFiles();
+        this.indexSavedAt = clock.millis();
+    }
+
+    //------------------------------------------------------
+    // Cached operations
+
+    @Override
+    public GraphSnapshot fetchGraphDumpByAppVersion(AppVersionDescriptor appVersionDesc) {
+        GraphSnapshot cached = getCached(appVersionDesc);
+        if (cached != null) {
+            return cached;
+        }
+        long start = System.nanoTime();
+        GraphSnapshot fetched;
+        try {
+            fetched = delegate.fetchGraphDumpByAppVersion(appVersionDesc);
+        } catch (RuntimeException e) {
+            recordLoad(false, System.nanoTime() - start);
+            throw e;
+        }
+        recordLoad(isCacheable(fetched), System.nanoTime() - start);
+        store(appVersionDesc, fetched);
+        return fetched;
+    }
+
+    /** {@inheritDoc}
+     * Only versions missing from the cache are passed to the decorated fetcher, in a single call.
+     */
+    @Override
+    public Map<AppVersionDescriptor, GraphSnapshot> fetchGraphDumpsByAppVersions(Collection<AppVersionDescriptor> appVersions) {
+        Map<AppVersionDescriptor, GraphSnapshot> cached = new HashMap<>();
+        List<AppVersionDescriptor> missing = new ArrayList<>();
+        for (AppVersionDescriptor appVersion : appVersions) {
+            GraphSnapshot snapshot = getCached(appVersion);
+            if (snapshot != null) {
+                cached.put(appVersion, snapshot);
+            } else {
+                missing.add(appVersion);
+            }
+        }
+
+        Map<AppVersionDescriptor, GraphSnapshot> fetched = Collections.emptyMap();
+        if (!missing.isEmpty()) {
+            long start = System.nanoTime();
+            try {
+                fetched = delegate.fetchGraphDumpsByAppVersions(missing);
+            } catch (RuntimeException e) {
+                recordLoad(false, System.nanoTime() - start);
+                throw e;
+            }
+            long loadTime = (System.nanoTime() - start) / missing.size();
+            for (AppVersionDescriptor appVersion : missing) {
+                GraphSnapshot snapshot = fetched.get(appVersion);
+                recordLoad(isCacheable(snapshot), loadTime);
+                store(appVersion, snapshot);
+            }
+        }
+
+        // Keep order of the request, and keys as the decorated fetcher returns them
+        Map<AppVersionDescriptor, GraphSnapshot> result = new LinkedHashMap<>();
+        for (AppVersionDescriptor appVersion : appVersions) {
+            if (cached.containsKey(appVersion)) {
+                result.put(appVersion, cached.get(appVersion));
+            } else if (fetched.containsKey(appVersion)) {
+                result.put(appVersion, fetched.get(appVersion));
+            }
+        }
+        return result;
+    }
+
+    //------------------------------------------------------
+    // Delegated operations
+
+    @Override
+    public AppVersionDescriptor resolveAppVersion(String appVersionId) {
+        return delegate.resolveAppVersion(appVersionId);
+    }
+
+    @Override
+    public Map<String, AppVersionDescriptor> resolveAppVersions(Collection<String> appVersionIds) {
+        return delegate.resolveAppVersions(appVersionIds);
+    }
+
+    @Override
+    public GraphClassifier resolveGraphClassifier(String graphClassifierId) {
+        return delegate.resolveGraphClassifier(graphClassifierId);
+    }
+
+    @Override
+    public GraphSnapshot fetchGraphDumpByClassifier(GraphClassifier classifier) {
+        return delegate.fetchGraphDumpByClassifier(classifier);
+    }
+
+    @Override
+    public boolean persistGraphByClassifier(GraphClassifier graphClassifier, GraphSnapshot graphSnapshot,
+            Map<AppVersionDescriptor, GraphSnapshot> sources, Map<AppVersionDescriptor, GraphSnapshot> unprocessedAppIds)
+    {
+        return delegate.persistGraphByClassifier(graphClassifier, graphSnapshot, sources, unprocessedAppIds);
+    }
+
+    @Override
+    public List<AppVersionDescriptor> fetchAllApplicationVersionIds(GraphClassifier graphClassifier) {
+        return delegate.fetchAllApplicationVersionIds(graphClassifier);
+    }
+
+    //------------------------------------------------------
+    // Statistics and maintenance
+
+    /** @return Statistics. Loads are calls of the decorated fetcher per application version;
+     * failed fetches count as load exceptions. */
+    public synchronized CacheStats stats() {
+        return new CacheStats(hitCount, missCount, loadSuccessCount, loadExceptionCount,
+            totalLoadTime, evictionCount);
+    }
+
+    public synchronized long getCachedBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int getCachedCount() {
+        return entries.size();
+    }
+
+    public synchronized void invalidate(AppVersionDescriptor appVersion) {
+        Entry entry = entries.remove(appVersion.asArtifactId());
+        if (entry != null) {
+            release(entry);
+            indexChanged();
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        for (Entry entry : entries.values()) {
+            release(entry);
+        }
+        entries.clear();
+        indexChanged();
+    }
+
+    /** Save the index if it has changed since the last save. */
+    public synchronized void flush() {
+        if (indexDirty) {
+            saveIndex();
+        }
+    }
+
+    /** Save the index. The cache stays usable. */
+    @Override
+    public void close() {
+        flush();
+    }
+
+    //------------------------------------------------------
+    // Implementation
+
+    private GraphSnapshot getCached(AppVersionDescriptor appVersion) {
+        String key = appVersion.asArtifactId();
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && !isFresh(appVersion, entry)) {
+                entries.remove(key);
+                release(entry);
+                indexChanged();
+                entry = null;
+            }
+            if (entry == null) {
+                missCount++;
+                return null;
+            }
+        }
+
+        JsonObject dump = null;
+        try {
+            dump = JsonUtils.readJsonFile(directory.resolve(entry.file).toString());
+        } catch (IOException e) {
+            LOG.warn("Failed to read cached graph dump of {}", key, e);
+        }
+        synchronized (this) {
+            if (dump == null) {
+                if (entries.remove(key, entry)) {
+                    release(entry);
+                    indexChanged();
+                }
+                missCount++;
+                return null;
+            }
+            hitCount++;
+        }
+        GraphSnapshot snapshot = new GraphSnapshot();
+        snapshot.setOriginUrl(entry.info.getString("originUrl"));
+        snapshot.setClassifier(entry.info.getString("classifier"));
+        snapshot.setExtension(entry.info.getString("extension"));
+        snapshot.setUpdated(entry.info.getString("updated"));
+        snapshot.setSnapshotId(entry.info.getString("snapshotId"));
+        snapshot.setGraphDump(dump);
+        return snapshot;
+    }
+
+    private synchronized void recordLoad(boolean success, long nanos) {
+        if (success) {
+            loadSuccessCount++;
+        } else {
+            loadExceptionCount++;
+        }
+        totalLoadTime += nanos;
+    }
+
+    private boolean isFresh(AppVersionDescriptor appVersion, Entry entry) {
+        if (appVersion.getAppVersion() == null || !appVersion.getAppVersion().endsWith("-SNAPSHOT")) {
+            return true;
+        }
+        return clock.millis() - entry.info.getLong("stored", 0L) < snapshotTtl.toMillis();
+    }
+
+    private static boolean isCacheable(GraphSnapshot snapshot) {
+        return snapshot != null && snapshot.getGraphDump() != null && snapshot.getFailureStage() == null;
+    }
+
+    private void store(AppVersionDescriptor appVersion, GraphSnapshot snapshot) {
+        if (!isCacheable(snapshot)) {
+            return;
+        }
+        try {
+            Path temp = Files.createTempFile(directory, "dump", TEMP_SUFFIX);
+            try {
+                HashingOutputStream hashing = new HashingOutputStream(Hashing.sha256(), Files.newOutputStream(temp));
+                try (OutputStream out = new ParallelGzipOutputStream(hashing);
+                        JsonGenerator generator = CompactJsonFormat.createGenerator(out, JsonUtils.mapper())) {
+                    generator.writeObject(snapshot.getGraphDump());
+                }
+                JsonObject info = new JsonObject()
+                    .put("key", appVersion.asArtifactId())
+                    .put("file", hashing.hash() + DUMP_EXTENSION)
+                    .put("bytes", Files.size(temp))
+                    .put("stored", clock.millis())
+                    .put("originUrl", snapshot.getOriginUrl())
+                    .put("classifier", snapshot.getClassifier())
+                    .put("extension", snapshot.getExtension())
+                    .put("updated", snapshot.getUpdated())
+                    .put("snapshotId", snapshot.getSnapshotId());
+                Entry entry = new Entry(info);
+                // Moved under the lock: release() of another entry with the same contents
+                // must not delete the file between the move and acquire()
+                synchronized (this) {
+                    moveAtomically(temp, directory.resolve(entry.file));
+                    Entry previous = entries.remove(entry.key);
+                    entries.put(entry.key, entry);
+                    acquire(entry);
+                    if (previous != null) {
+                        release(previous);
+                    }
+                    evict();
+                    indexChanged();
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to cache graph dump of {}", appVersion.asArtifactId(), e);
+        }
+    }
+
+    private void evict() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Entry entry = it.next();
+            it.remove();
+            release(entry);
+            evictionCount++;
+        }
+    }
+
+    private void acquire(Entry entry) {
+        if (fileReferences.merge(entry.file, 1, Integer::sum) == 1) {
+            totalBytes += entry.bytes;
+        }
+    }
+
+    /* Delete the file once no entries refer to it */
+    private void release(Entry entry) {
+        if (fileReferences.merge(entry.file, -1, Integer::sum) == 0) {
+            fileReferences.remove(entry.file);
+            totalBytes -= entry.bytes;
+            try {
+                Files.deleteIfExists(directory.resolve(entry.file));
+            } catch (IOException e) {
+                LOG.warn("Failed to delete cached file {}", entry.file, e);
+            }
+        }
+    }
+
+    private void loadIndex() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path temp : (Iterable<Path>) files.filter(p -> p.toString().endsWith(TEMP_SUFFIX))::iterator) {
+                Files.deleteIfExists(temp);
+            }
+        }
+        Path indexPath = directory.resolve(INDEX_FILE);
+        if (!Files.exists(indexPath)) {
+            return;
+        }
+        JsonObject index;
+        try {
+            index = JsonUtils.readJsonFile(indexPath.toString());
+        } catch (IOException e) {
+            LOG.warn("Failed to read cache index {}, starting with empty cache", indexPath, e);
+            return;
+        }
+        if (index == null || index.getInteger("modelVersion", 0) != CURRENT_INDEX_MODEL_VERSION) {
+            LOG.warn("Unsupported cache index {}, starting with empty cache", indexPath);
+            return;
+        }
+        synchronized (this) {
+            for (Object obj : index.getJsonArray("entries", new JsonArray())) {
+                Entry entry = new Entry((JsonObject) obj);
+                // Never follow names out of the directory
+                if (entry.file.matches("[0-9a-f]{64}" + Pattern.quote(DUMP_EXTENSION))
+                        && Files.isRegularFile(directory.resolve(entry.file))) {
+                    entries.put(entry.key, entry);
+                    acquire(entry);
+                }
+            }
+            evict();
+        }
+    }
+
+    /* Delete files of entries stored after the last save of the index */
+    private synchronized void deleteUnlistedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(DUMP_EXTENSION) && !fileReferences.containsKey(name)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /* Called under lock */
+    private void indexChanged() {
+        indexDirty = true;
+        if (clock.millis() - indexSavedAt >= INDEX_SAVE_INTERVAL.toMillis()) {
+            saveIndex();
+        }
+    }
+
+    /* Called under lock */
+    private void saveIndex() {
+        JsonArray list = new JsonArray();
+        for (Entry entry : entries.values()) {
+            list.add(entry.info);
+        }
+        JsonObject index = new JsonObject()
+            .put("modelVersion", CURRENT_INDEX_MODEL_VERSION)
+            .put("entries", list);
+        try {
+            Path temp = Files.createTempFile(directory, "index", TEMP_SUFFIX);
+            try {
+                JsonUtils.saveJson(temp, index, false);
+                moveAtomically(temp, directory.resolve(INDEX_FILE));
+                indexDirty = false;
+                indexSavedAt = clock.millis();
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to save cache index in {}", directory, e);
+        }
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static class Entry {
+        final String key;
+        final String file;
+        final long bytes;
+        final JsonObject info;
+
+        Entry(JsonObject info) {
+            this.key = info.getString("key");
+            this.file = info.getString("file");
+            this.bytes = info.getLong("bytes");
+            this.info = info;
+        }
+    }
+
+}
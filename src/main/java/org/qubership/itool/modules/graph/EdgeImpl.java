@@ -24,6 +24,14 @@ public class EdgeImpl implements Edge {
     String destinationVertexId;
     JsonObject value;
 
+    // Maintained by GraphImpl: numbers of the edge and its ends in its tables, hash of the content
+    int number;
+    int source;
+    int target;
+    int fingerprint;
+    // Copy of the value taken by the last GraphImpl.snapshot(), shared with the next one while unchanged
+    volatile JsonObject frozenCopy;
+
     public EdgeImpl(String id, String sourceVertexId, String destinationVertexId, JsonObject value) {
         this.id = id;
         this.sourceVertexId = sourceVertexId;
@@ -0,0 +1,743 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.graph;
+
+import org.qubership.itool.modules.gremlin2.P;
+import org.qubership.itool.modules.gremlin2.graph.GraphTraversalSource;
+import org.qubership.itool.modules.report.GraphReport;
+import org.qubership.itool.modules.report.GraphReportImpl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Read-only compact graph for serving queries. Vertices and edges are numbered densely
+ * in the order of the source graph, adjacency is stored in compressed sparse row arrays.
+ * Ids and index keys are found by binary search in sorted arrays, so there are no boxed numbers
+ * or hash map entries per vertex or edge. No locks are needed, since the structure never changes after construction.
+ *
+ * <p>Vertex and edge values are shared with the graph this one was created from by {@link Graph#freeze()},
+ * they must not be modified. {@link Graph#snapshot()} creates a frozen graph with its own copies of values.
+ * All the modification methods throw {@link UnsupportedOperationException}.
+ *
+ * @see Graph#freeze()
+ * @see Graph#snapshot()
+ */
+public class FrozenGraph implements Graph {
+
+    private final int graphVersion;
+    private final int edgeGeneratorCounter;
+    private volatile GraphReport report;
+
+    private final JsonObject[] vertexValues;
+    // Vertex ids in ascending order and the numbers of those vertices, see number()
+    private final String[] sortedVertexIds;
+    private final int[] sortedVertexNumbers;
+
+    private final JsonObject[] edgeValues;
+    private final int[] edgeSources;
+    private final int[] edgeTargets;
+    private final String[] sortedEdgeIds;
+    private final int[] sortedEdgeNumbers;
+
+    // CSR: edges going out of vertex v are outEdges[outOffsets[v] .. outOffsets[v + 1] - 1]
+    private final int[] outOffsets;
+    private final int[] outEdges;
+    private final int[] inOffsets;
+    private final int[] inEdges;
+
+    // Secondary indexes by JSON pointer. Built once, then only read
+    private final Map<String, Index> indexes = new ConcurrentHashMap<>();
+    private final Index typeIndex;
+
+    FrozenGraph(Topology topology, JsonObject[] vertexValues, JsonObject[] edgeValues,
+            Collection<String> indexedPointers, int graphVersion, int edgeGeneratorCounter, GraphReport report)
+    {
+        this.graphVersion = graphVersion;
+        this.edgeGeneratorCounter = edgeGeneratorCounter;
+        this.report = report;
+
+        this.vertexValues = vertexValues;
+        this.sortedVertexIds = topology.sortedVertexIds;
+        this.sortedVertexNumbers = topology.sortedVertexNumbers;
+        this.edgeValues = edgeValues;
+        this.edgeSources = topology.edgeSources;
+        this.edgeTargets = topology.edgeTargets;
+        this.sortedEdgeIds = topology.sortedEdgeIds;
+        this.sortedEdgeNumbers = topology.sortedEdgeNumbers;
+        this.outOffsets = topology.outOffsets;
+        this.outEdges = topology.outEdges;
+        this.inOffsets = topology.inOffsets;
+        this.inEdges = topology.inEdges;
+
+        this.typeIndex = new Index("/" + F_TYPE, vertexValues);
+        this.indexes.put(this.typeIndex.pointer, this.typeIndex);
+        for (String pointer : indexedPointers) {
+            this.indexes.computeIfAbsent(pointer, key -> new Index(key, vertexValues));
+        }
+    }
+
+    /**
+     * Numbering and adjacency of vertices and edges, without their values. Immutable, so graphs
+     * frozen from the same vertices and edges share it, see {@link Graph#snapshot()}.
+     */
+    static final class Topology {
+
+        private final String[] sortedVertexIds;
+        private final int[] sortedVertexNumbers;
+        private final String[] sortedEdgeIds;
+        private final int[] sortedEdgeNumbers;
+        private final int[] edgeSources;
+        private final int[] edgeTargets;
+        private final int[] outOffsets;
+        private final int[] outEdges;
+        private final int[] inOffsets;
+        private final int[] inEdges;
+
+        /* Values of a graph built on this topology go in the iteration order of these collections */
+        Topology(Collection<VertexImpl> vertices, Collection<EdgeImpl> edges) {
+            // Numbers in the source graph may have holes left by removals, map them to dense ones
+            int vertexCount = vertices.size();
+            String[] vertexIds = new String[vertexCount];
+            int[] denseVertices = new int[vertices.stream().mapToInt(vertex -> vertex.number + 1).max().orElse(0)];
+            int v = 0;
+            for (VertexImpl vertex : vertices) {
+                vertexIds[v] = vertex.getId();
+                denseVertices[vertex.number] = v;
+                v++;
+            }
+            this.sortedVertexNumbers = sortByIds(vertexIds);
+            this.sortedVertexIds = vertexIds;
+
+            int edgeCount = edges.size();
+            this.edgeSources = new int[edgeCount];
+            this.edgeTargets = new int[edgeCount];
+            String[] edgeIds = new String[edgeCount];
+            int[] denseEdges = new int[edges.stream().mapToInt(edge -> edge.number + 1).max().orElse(0)];
+            int e = 0;
+            for (EdgeImpl edge : edges) {
+                this.edgeSources[e] = denseVertices[edge.source];
+                this.edgeTargets[e] = denseVertices[edge.target];
+                edgeIds[e] = edge.getId();
+                denseEdges[edge.number] = e;
+                e++;
+            }
+            this.sortedEdgeNumbers = sortByIds(edgeIds);
+            this.sortedEdgeIds = edgeIds;
+
+            // Keep the order of adjacent edges as in the source graph
+            this.outOffsets = new int[vertexCount + 1];
+            this.outEdges = new int[edgeCount];
+            this.inOffsets = new int[vertexCount + 1];
+            this.inEdges = new int[edgeCount];
+            int outPos = 0;
+            int inPos = 0;
+            v = 0;
+            for (VertexImpl vertex : vertices) {
+                this.outOffsets[v] = outPos;
+                for (int i = 0; i < vertex.edgesOut.size(); i++) {
+                    this.outEdges[outPos++] = denseEdges[vertex.edgesOut.get(i)];
+                }
+                this.inOffsets[v] = inPos;
+                for (int i = 0; i < vertex.edgesIn.size(); i++) {
+                    this.inEdges[inPos++] = denseEdges[vertex.edgesIn.get(i)];
+                }
+                v++;
+            }
+            this.outOffsets[vertexCount] = outPos;
+            this.inOffsets[vertexCount] = inPos;
+        }
+
+        /* Sort ids numbered by their positions in place, return the numbers in the new order */
+        private static int[] sortByIds(String[] ids) {
+            Integer[] order = new Integer[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(i -> ids[i]));
+            String[] unsorted = ids.clone();
+            int[] numbers = new int[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                numbers[i] = order[i];
+                ids[i] = unsorted[order[i]];
+            }
+            return numbers;
+        }
+
+    }
+
+    /**
+     * Property index of a frozen graph: index keys in ascending order, and vertex numbers for every key
+     * in one array. Vertices indexed by {@code keys[k]} are {@code vertices[offsets[k] .. offsets[k + 1] - 1]}
+     * in ascending order.
+     */
+    static final class Index {
+
+        private final String pointer;
+        private final String[] keys;
+        private final int[] offsets;
+        private final int[] vertices;
+        private final int vertexCount;
+
+        Index(String pointer, JsonObject[] vertexValues) {
+            this.pointer = pointer;
+            this.vertexCount = vertexValues.length;
+            List<Collection<String>> vertexKeys = new ArrayList<>(vertexValues.length);
+            Set<String> distinctKeys = new HashSet<>();
+            int total = 0;
+            for (JsonObject value : vertexValues) {
+                Collection<String> keys = PropertyIndex.keysOf(pointer, value);
+                vertexKeys.add(keys);
+                if (keys != null) {
+                    distinctKeys.addAll(keys);
+                    total += keys.size();
+                }
+            }
+            this.keys = distinctKeys.toArray(new String[0]);
+            Arrays.sort(this.keys);
+
+            this.offsets = new int[this.keys.length + 1];
+            for (Collection<String> keys : vertexKeys) {
+                if (keys != null) {
+                    for (String key : keys) {
+                        this.offsets[Arrays.binarySearch(this.keys, key) + 1]++;
+                    }
+                }
+            }
+            for (int k = 0; k < this.keys.length; k++) {
+                this.offsets[k + 1] += this.offsets[k];
+            }
+            this.vertices = new int[total];
+            int[] positions = Arrays.copyOf(this.offsets, this.keys.length);
+            for (int v = 0; v < vertexKeys.size(); v++) {
+                Collection<String> keys = vertexKeys.get(v);
+                if (keys != null) {
+                    for (String key : keys) {
+                        this.vertices[positions[Arrays.binarySearch(this.keys, key)]++] = v;
+                    }
+                }
+            }
+        }
+
+        /* Numbers of vertices indexed by any of the keys, ascending */
+        int[] find(Collection<?> keys) {
+            BitSet found = new BitSet(this.vertexCount);
+            for (Object key : keys) {
+                int k = (key instanceof String) ? Arrays.binarySearch(this.keys, key) : -1;
+                if (k >= 0) {
+                    addVertices(found, k);
+                }
+            }
+            return found.stream().toArray();
+        }
+
+        /* Numbers of candidate vertices for the predicate, ascending, or null if the predicate is not supported */
+        int[] find(P<?> predicate) {
+            List<?> keys = PropertyIndex.keysToFind(predicate);
+            if (keys != null) {
+                return find(keys);
+            }
+            String substring = PropertyIndex.substringToFind(predicate);
+            if (substring != null) {
+                BitSet found = new BitSet(this.vertexCount);
+                for (int k = 0; k < this.keys.length; k++) {
+                    if (this.keys[k].contains(substring)) {
+                        addVertices(found, k);
+                    }
+                }
+                return found.stream().toArray();
+            }
+            return null;
+        }
+
+        private void addVertices(BitSet found, int k) {
+            for (int i = this.offsets[k]; i < this.offsets[k + 1]; i++) {
+                found.set(this.vertices[i]);
+            }
+        }
+
+    }
+
+    /* Number of the element with the given id, or -1 */
+    private static int number(String[] sortedIds, int[] sortedNumbers, String id) {
+        if (id == null) {
+            return -1;
+        }
+        int i = Arrays.binarySearch(sortedIds, id);
+        return (i >= 0) ? sortedNumbers[i] : -1;
+    }
+
+    private int vertexNumber(String vertexId) {
+        return number(this.sortedVertexIds, this.sortedVertexNumbers, vertexId);
+    }
+
+    private int edgeNumber(String edgeId) {
+        return number(this.sortedEdgeIds, this.sortedEdgeNumbers, edgeId);
+    }
+
+    private List<JsonObject> toVertices(int[] numbers) {
+        List<JsonObject> result = new ArrayList<>(numbers.length);
+        for (int v : numbers) {
+            result.add(this.vertexValues[v]);
+        }
+        return result;
+    }
+
+    static GraphReport copyOf(GraphReport report) {
+        if (report == null) {
+            return null;
+        }
+        GraphReport copy = new GraphReportImpl();
+        copy.restoreReportData(report.dumpReportData(true));
+        return copy;
+    }
+
+    private static UnsupportedOperationException frozen() {
+        return new UnsupportedOperationException("Graph is frozen");
+    }
+
+    //--- Queries
+
+    @Override
+    public GraphTraversalSource traversal() {
+        return new GraphTraversalSource(this);
+    }
+
+    @Override
+    public int getVertexCount() {
+        return this.vertexValues.length;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return this.edgeValues.length;
+    }
+
+    @Override
+    public List<JsonObject> vertexList() {
+        return new ArrayList<>(Arrays.asList(this.vertexValues));
+    }
+
+    @Override
+    public List<JsonObject> edgeList() {
+        return new ArrayList<>(Arrays.asList(this.edgeValues));
+    }
+
+    @Override
+    public List<JsonObject> getVerticesByType(Collection<String> types) {
+        List<JsonObject> result = toVertices(this.typeIndex.find(types));
+        result.removeIf(vertex -> !types.contains(vertex.getValue(F_TYPE)));
+        return result;
+    }
+
+    @Override
+    public boolean isIndexed(String propertyKey) {
+        String pointer = PropertyIndex.toPointer(propertyKey);
+        return pointer != null && this.indexes.containsKey(pointer);
+    }
+
+    @Override
+    public List<JsonObject> getVerticesByIndex(String propertyKey, P<?> predicate) {
+        String pointer = PropertyIndex.toPointer(propertyKey);
+        Index index = (pointer != null) ? this.indexes.get(pointer) : null;
+        if (index == null) {
+            return null;
+        }
+        int[] found = index.find(predicate);
+        return (found != null) ? toVertices(found) : null;
+    }
+
+    /** Build an additional index. Unlike other modifications, this is allowed for frozen graphs. */
+    @Override
+    public boolean createIndex(String propertyKey) {
+        String pointer = PropertyIndex.toPointer(propertyKey);
+        if (pointer == null) {
+            throw new IllegalArgumentException("Property key cannot be indexed: " + propertyKey);
+        }
+        if (this.indexes.containsKey(pointer)) {
+            return false;
+        }
+        // The index becomes visible to readers only after it is fully built
+        return this.indexes.putIfAbsent(pointer, new Index(pointer, this.vertexValues)) == null;
+    }
+
+    @Override
+    public JsonObject getVertex(String vertexId) {
+        int v = vertexNumber(vertexId);
+        return (v >= 0) ? this.vertexValues[v] : null;
+    }
+
+    @Override
+    public JsonObject getEdge(String edgeId) {
+        int e = edgeNumber(edgeId);
+        return (e >= 0) ? this.edgeValues[e] : null;
+    }
+
+    @Override
+    public List<JsonObject> getRootSuccessors() {
+        return getSuccessors(V_ROOT, true);
+    }
+
+    @Override
+    public List<JsonObject> getSuccessors(String vertexId, boolean distinct) {
+        return getAdjacentVertices(vertexId, distinct, this.outOffsets, this.outEdges, this.edgeTargets);
+    }
+
+    @Override
+    public List<JsonObject> getPredecessors(String vertexId, boolean distinct) {
+        return getAdjacentVertices(vertexId, distinct, this.inOffsets, this.inEdges, this.edgeSources);
+    }
+
+    private List<JsonObject> getAdjacentVertices(String vertexId, boolean distinct,
+            int[] offsets, int[] adjacentEdges, int[] edgeEnds)
+    {
+        int v = vertexNumber(vertexId);
+        if (v < 0) {
+            return new ArrayList<>();
+        }
+        int from = offsets[v];
+        int to = offsets[v + 1];
+        List<JsonObject> result = new ArrayList<>(to - from);
+        BitSet seen = distinct ? new BitSet() : null;
+        for (int i = from; i < to; i++) {
+            int end = edgeEnds[adjacentEdges[i]];
+            if (seen != null) {
+                if (seen.get(end)) {
+                    continue;
+                }
+                seen.set(end);
+            }
+            result.add(this.vertexValues[end]);
+        }
+        return result;
+    }
+
+    @Override
+    public List<JsonObject> getSuccessorEdges(String vertexId) {
+        return getAdjacentEdges(vertexId, this.outOffsets, this.outEdges);
+    }
+
+    @Override
+    public List<JsonObject> getPredecessorEdges(String vertexId) {
+        return getAdjacentEdges(vertexId, this.inOffsets, this.inEdges);
+    }
+
+    private List<JsonObject> getAdjacentEdges(String vertexId, int[] offsets, int[] adjacentEdges) {
+        int v = vertexNumber(vertexId);
+        if (v < 0) {
+            return new ArrayList<>();
+        }
+        List<JsonObject> result = new ArrayList<>(offsets[v + 1] - offsets[v]);
+        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+            result.add(this.edgeValues[adjacentEdges[i]]);
+        }
+        return result;
+    }
+
+    @Override
+    public List<JsonObject> getEdgesBetween(String vertexFromId, String vertexToId) {
+        int from = vertexNumber(vertexFromId);
+        int to = vertexNumber(vertexToId);
+        List<JsonObject> result = new ArrayList<>();
+        if (from < 0 || to < 0) {
+            return result;
+        }
+        for (int i = this.outOffsets[from]; i < this.outOffsets[from + 1]; i++) {
+            int e = this.outEdges[i];
+            if (this.edgeTargets[e] == to) {
+                result.add(this.edgeValues[e]);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<JsonObject> getEdgesBetween(JsonObject vertexFrom, JsonObject vertexTo) {
+        return getEdgesBetween(vertexFrom.getString(F_ID), vertexTo.getString(F_ID));
+    }
+
+    @Override
+    public JsonObject getEdgeTarget(String edgeId) {
+        int e = edgeNumber(edgeId);
+        return (e >= 0) ? this.vertexValues[this.edgeTargets[e]] : null;
+    }
+
+    @Override
+    public JsonObject getEdgeSource(String edgeId) {
+        int e = edgeNumber(edgeId);
+        return (e >= 0) ? this.vertexValues[this.edgeSources[e]] : null;
+    }
+
+    @Override
+    public void forEachVertex(Consumer<JsonObject> action) {
+        for (JsonObject vertex : this.vertexValues) {
+            action.accept(vertex);
+        }
+    }
+
+    @Override
+    public Spliterator<JsonObject> vertexSpliterator() {
+        return Spliterators.spliterator(this.vertexValues,
+            Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+    }
+
+    @Override
+    public void forEachSuccessor(String vertexId, BiConsumer<JsonObject, JsonObject> action) {
+        forEachAdjacent(vertexId, action, this.outOffsets, this.outEdges, this.edgeTargets);
+    }
+
+    @Override
+    public void forEachPredecessor(String vertexId, BiConsumer<JsonObject, JsonObject> action) {
+        forEachAdjacent(vertexId, action, this.inOffsets, this.inEdges, this.edgeSources);
+    }
+
+    private void forEachAdjacent(String vertexId, BiConsumer<JsonObject, JsonObject> action,
+            int[] offsets, int[] adjacentEdges, int[] edgeEnds)
+    {
+        int v = vertexNumber(vertexId);
+        if (v < 0) {
+            return;
+        }
+        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+            int e = adjacentEdges[i];
+            action.accept(this.edgeValues[e], this.vertexValues[edgeEnds[e]]);
+        }
+    }
+
+    @Override
+    public Iterator<JsonObject> successorIterator(String vertexId) {
+        int v = vertexNumber(vertexId);
+        if (v < 0) {
+            return Collections.emptyIterator();
+        }
+        int to = this.outOffsets[v + 1];
+        return new Iterator<>() {
+            private int position = outOffsets[v];
+
+            @Override
+            public boolean hasNext() {
+                return position < to;
+            }
+
+            @Override
+            public JsonObject next() {
+                if (position >= to) {
+                    throw new NoSuchElementException();
+                }
+                return vertexValues[edgeTargets[outEdges[position++]]];
+            }
+        };
+    }
+
+    @Override
+    public Graph freeze() {
+        return this;
+    }
+
+    @Override
+    public Graph snapshot() {
+        return this;
+    }
+
+    //--- Modifications are not supported
+
+    @Override
+    public boolean addVertex(JsonObject vertex) {
+        throw frozen();
+    }
+
+    @Override
+    public boolean addVertex(String sourceVertexId, JsonObject destinationVertex) {
+        throw frozen();
+    }
+
+    @Override
+    public boolean addVertex(JsonObject sourceVertex, JsonObject destinationVertex) {
+        throw frozen();
+    }
+
+    @Override
+    public boolean addVertexUnderRoot(JsonObject vertex) {
+        throw frozen();
+    }
+
+    @Override
+    public boolean relocateVertex(JsonObject vertex, String newId) {
+        throw frozen();
+    }
+
+    @Override
+    public boolean removeVertex(JsonObject vertex) {
+        throw frozen();
+    }
+
+    @Override
+    public boolean reindexVertex(JsonObject vertex) {
+        throw frozen();
+    }
+
+    @Override
+    public String addEdge(JsonObject sourceVertex, JsonObject destinationVertex) {
+        throw frozen();
+    }
+
+    @Override
+    public String addEdge(JsonObject sourceVertex, JsonObject destinationVertex, JsonObject edge) {
+        throw frozen();
+    }
+
+    @Override
+    public boolean reindexEdge(JsonObject edge) {
+        throw frozen();
+    }
+
+    @Override
+    public int removeAllEdges(JsonObject sourceVertex, JsonObject destinationVertex) {
+        throw frozen();
+    }
+
+    @Override
+    public void clear() {
+        throw frozen();
+    }
+
+    @Override
+    public void restoreGraphData(JsonObject dump) {
+        throw frozen();
+    }
+
+    //--- Dump and manage
+
+    @Override
+    public JsonObject dumpGraphData(boolean deepCopy) {
+        JsonObject result = new JsonObject();
+        JsonObject sourceRoot = getVertex(V_ROOT);
+        result.put("modelVersion", graphVersion);
+        result.put("root", deepCopy ? sourceRoot.copy() : sourceRoot);
+        result.put("edgeGeneratorCounter", edgeGeneratorCounter);
+        JsonArray vertexArray = new JsonArray();
+        result.put("vertexList", vertexArray);
+
+        for (JsonObject value : this.vertexValues) {
+            if (V_ROOT.equals(value.getString(F_TYPE))) {
+                continue;
+            }
+            vertexArray.add(deepCopy ? value.copy() : value);
+        }
+
+        JsonArray edgeArray = new JsonArray();
+        result.put("edgeList", edgeArray);
+
+        for (int e = 0; e < this.edgeValues.length; e++) {
+            JsonObject edgeResult = new JsonObject();
+            edgeArray.add(edgeResult);
+
+            edgeResult.put("source", this.vertexValues[this.edgeSources[e]].getString(F_ID));
+            edgeResult.put("target", this.vertexValues[this.edgeTargets[e]].getString(F_ID));
+            edgeResult.put("edge", deepCopy ? this.edgeValues[e].copy() : this.edgeValues[e]);
+        }
+
+        return result;
+    }
+
+    @Override
+    public void writeGraphData(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("modelVersion", graphVersion);
+        generator.writeFieldName("root");
+        generator.writeObject(getVertex(V_ROOT));
+        generator.writeNumberField("edgeGeneratorCounter", edgeGeneratorCounter);
+
+        generator.writeArrayFieldStart("vertexList");
+        for (JsonObject value : this.vertexValues) {
+            if (V_ROOT.equals(value.getString(F_TYPE))) {
+                continue;
+            }
+            generator.writeObject(value);
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("edgeList");
+        for (int e = 0; e < this.edgeValues.length; e++) {
+            generator.writeStartObject();
+            generator.writeStringField("source", this.vertexValues[this.edgeSources[e]].getString(F_ID));
+            generator.writeStringField("target", this.vertexValues[this.edgeTargets[e]].getString(F_ID));
+            generator.writeFieldName("edge");
+            generator.writeObject(this.edgeValues[e]);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void printGraph() {
+        walkAndPrint(new BitSet(), vertexNumber(V_ROOT), 0);
+    }
+
+    private void walkAndPrint(BitSet stack, int v, int level) {
+        stack.set(v);
+        System.out.println("(" + level + ") " + this.vertexValues[v]);
+        for (int i = this.outOffsets[v]; i < this.outOffsets[v + 1]; i++) {
+            int e = this.outEdges[i];
+            int target = this.edgeTargets[e];
+            System.out.println(
+                "\t".repeat(level + 1) +
+                    "--> " + this.vertexValues[target].getString(F_ID)
+                    + " // " + this.edgeValues[e]);
+            if (stack.get(target)) {
+                System.out.println("\t".repeat(level + 1) + "^^^ circular reference");
+                continue;
+            }
+            walkAndPrint(stack, target, level + 1);
+        }
+        stack.clear(v);
+    }
+
+    @Override
+    public GraphReport getReport() {
+        return report;
+    }
+
+    @Override
+    public void setReport(GraphReport report) {
+        this.report = report;
+    }
+
+    @Override
+    public int getGraphVersion() {
+        return graphVersion;
+    }
+
+    @Override
+    public void setGraphVersion(int graphVersion) {
+        throw frozen();
+    }
+
+    @Override
+    public String toString() {
+        return "FrozenGraph{vertices=" + this.vertexValues.length + ", edges=" + this.edgeValues.length + "}";
+    }
+
+}
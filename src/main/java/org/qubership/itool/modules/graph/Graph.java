@@ -16,10 +16,13 @@
 
 package org.qubership.itool.modules.graph;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.qubership.itool.modules.report.GraphReport;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+
 import io.vertx.core.json.JsonObject;
 
 public interface Graph extends BasicGraph {
@@ -91,6 +94,34 @@ public interface Graph extends BasicGraph {
 
     boolean removeVertex(JsonObject vertex);
 
+    /** Update secondary indexes (e.g. the one by vertex type) after the vertex was modified in place.
+     * Indexes are maintained when vertices are added, removed and relocated, but in-place changes
+     * of indexed properties are not visible to index lookups until this method is called.
+     * Does nothing in graphs without indexes.
+     *
+     * @param vertex A vertex of this graph
+     * @return Success indicator
+     */
+    default boolean reindexVertex(JsonObject vertex) {
+        return false;
+    }
+
+    /** Create a hash index over vertex property values to speed up lookups like
+     * {@code V().has("/details/dnsNames", "host")}. Every string value gets an index entry,
+     * and so does every string element of an array value. The index is updated when vertices
+     * are added and removed. Call {@link #reindexVertex(JsonObject)} after modifying an indexed
+     * property in place. Graphs that do not support indexes create none,
+     * and lookups scan the vertices as usual.
+     *
+     * @param propertyKey Property name or JSON pointer
+     * @return {@code true} if a new index was created, {@code false} if it already exists
+     * or indexes are not supported
+     * @throws IllegalArgumentException if the property key cannot be indexed
+     */
+    default boolean createIndex(String propertyKey) {
+        return false;
+    }
+
     /** Add an edge. Add its ends (vertices) to this graph if needed.
      *
      * @param sourceVertex Source vertex for the edge being added
@@ -106,14 +137,54 @@ public interface Graph extends BasicGraph {
      * @param destinationVertex Destination vertex for the edge being added
      * @param edge Edge JSON
      * @return id of added edge, or {@code null} if nothing was added because similar edge
-     * already exists, and duplicates are not allowed.
+     * already exists, and duplicates are not allowed. During bulk load, the id is provisional:
+     * the edge may still be dropped by {@link #endBulk()}.
      */
     String addEdge(JsonObject sourceVertex, JsonObject destinationVertex, JsonObject edge);
 
+    /** Update the lookup of similar edges after the edge was modified in place, so that
+     * {@link #addEdge(JsonObject, JsonObject, JsonObject)} compares new edges with its current content.
+     * Existing edges are not merged even if the edge became similar to one of them.
+     * Does nothing in graphs that do not keep such a lookup.
+     *
+     * @param edge An edge of this graph
+     * @return Success indicator
+     */
+    default boolean reindexEdge(JsonObject edge) {
+        return false;
+    }
+
     int removeAllEdges(JsonObject sourceVertex, JsonObject destinationVertex);
 
     void clear();
 
+    /** Start adding many vertices and edges at once. Until {@link #endBulk()} is called
+     * by the same thread, {@link #addEdge(JsonObject, JsonObject, JsonObject)} does not look for
+     * similar edges and always returns an id, and secondary indexes and adjacency are not updated.
+     * Edges similar to existing ones are dropped by {@link #endBulk()}, so their ids do not stay
+     * in the graph; callers must not keep edge ids returned meanwhile without checking them.
+     * Only {@link #getVertex(String)} and {@link #getEdge(String)} give reliable results meanwhile,
+     * and removing or relocating vertices is not allowed. Other threads cannot access the graph.
+     *
+     * <p>Implementations that do not support bulk loading ignore this call.
+     *
+     * @param expectedVertices Number of vertices to be added, to allocate memory at once
+     * @param expectedEdges Number of edges to be added, to allocate memory at once
+     * @throws IllegalStateException if bulk loading is already in progress
+     */
+    default void beginBulk(int expectedVertices, int expectedEdges) {
+    }
+
+    /** Finish adding vertices and edges started with {@link #beginBulk(int, int)}: drop duplicate
+     * edges, build adjacency and secondary indexes. Must be called in a {@code finally} block.
+     *
+     * @return Number of edges dropped because a similar edge already exists
+     * @throws IllegalStateException if the current thread has not started bulk loading
+     */
+    default int endBulk() {
+        return 0;
+    }
+
     //--- Dump/restore and manage
 
     /** Get JSON dump of graph data <b>only</b> (including vertices and edges,
@@ -126,6 +197,17 @@ public interface Graph extends BasicGraph {
 
     JsonObject dumpGraphData(boolean deepCopy);
 
+    /** Write the same data as {@link #dumpGraphData(boolean)} into a generator, without
+     * building the dump in memory. The graph should not be modified meanwhile.
+     *
+     * @param generator Generator with a codec able to write {@link JsonObject}
+     * @throws IOException If writing failed
+     * @see GraphDumpSupport#writeDump(Graph, java.io.OutputStream, boolean)
+     */
+    default void writeGraphData(JsonGenerator generator) throws IOException {
+        generator.writeObject(dumpGraphData(false));
+    }
+
     /** Restore graph data <b>only</b> from dump. Objects are copied shallowly.
      *
      * @param dump Graph data dump.
@@ -134,6 +216,38 @@ public interface Graph extends BasicGraph {
 
     void printGraph();
 
+    /** Get a read-only compact copy of this graph for serving queries.
+     * Vertex and edge values are shared with this graph, so neither of them should be modified afterwards.
+     * The default implementation goes through a shallow dump of this graph.
+     *
+     * @return Frozen graph
+     * @see FrozenGraph
+     */
+    default Graph freeze() {
+        Graph copy = new GraphImpl();
+        copy.restoreGraphData(dumpGraphData(false));
+        copy.setGraphVersion(getGraphVersion());
+        copy.setReport(getReport());
+        return copy.freeze();
+    }
+
+    /** Get a consistent read-only copy of this graph, e.g. to keep serving queries while this one
+     * is being merged into or patched. Unlike {@link #freeze()}, further modifications of this graph,
+     * including in-place modifications of its values, are not visible in the snapshot.
+     * Values of the snapshot must not be modified, since implementations may share them between snapshots.
+     * The default implementation goes through a deep dump of this graph.
+     *
+     * @return Frozen graph with its own copies of values
+     * @see FrozenGraph
+     */
+    default Graph snapshot() {
+        Graph copy = new GraphImpl();
+        copy.restoreGraphData(dumpGraphData(true));
+        copy.setGraphVersion(getGraphVersion());
+        copy.setReport(FrozenGraph.copyOf(getReport()));
+        return copy.freeze();
+    }
+
     //--- Associated report
 
     GraphReport getReport();
@@ -16,11 +16,43 @@
 
 package org.qubership.itool.modules.graph;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.qubership.itool.modules.processor.InvalidGraphException;
 import org.qubership.itool.modules.report.GraphReport;
 import org.qubership.itool.modules.report.GraphReportImpl;
+import org.qubership.itool.utils.CompactJsonFormat;
+import org.qubership.itool.utils.FSUtils;
+import org.qubership.itool.utils.JsonInterner;
+import org.qubership.itool.utils.JsonUtils;
+import org.qubership.itool.utils.ParallelGzipOutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.flipkart.zjsonpatch.JsonDiff;
+import com.flipkart.zjsonpatch.JsonPatch;
+import com.flipkart.zjsonpatch.JsonPatchApplicationException;
+import com.google.common.io.CountingOutputStream;
 
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -46,6 +78,9 @@ public class GraphDumpSupport {
     public static final int NO_REPORT_MODEL_VERSION = -2;
     public static final int LEGACY_REPORT_MODEL_VERSION = -1;
 
+    /** Model version of deltas between dumps, see {@link #diff(JsonObject, JsonObject)} */
+    public static final int CURRENT_DELTA_MODEL_VERSION = 1;
+
 
     /** Dump graph and associated stuff (error report, fallout report, metainfo, etc...) into JSON.
      *
@@ -109,9 +144,10 @@ public class GraphDumpSupport {
         }
         target.restoreGraphData(graphDump);
 
-        Integer modelVersion = dump.getInteger("modelVersion");
+        restoreReport(target, dump.getInteger("modelVersion"), dump.getValue("report"));
+    }
 
-        Object rawReportDump = dump.getValue("report");
+    private static void restoreReport(Graph target, Integer modelVersion, Object rawReportDump) {
         if (rawReportDump != null) {
             GraphReport report = target.getReport();
             if (report == null) {
@@ -146,13 +182,426 @@ public class GraphDumpSupport {
      * @return Graph model
      */
     public static Graph restoreFromJson(JsonObject dump) {
+        return restoreFromJson(dump, true);
+    }
+
+    /** Restore dump into a new Graph instance, optionally skipping the report.
+     * <b>Objects are reused and copied shallowly.</b>
+     *
+     * @param dump Dump to restore Graph and Report from.
+     * @param withReport Whether to restore the report. If not, the graph gets an empty report.
+     * @return Graph model
+     */
+    public static Graph restoreFromJson(JsonObject dump, boolean withReport) {
         Graph graph = new GraphImpl();
+        // Tasks running on the graph expect a report even when its records are not needed
         GraphReport report = new GraphReportImpl();
         graph.setReport(report);
+        if (!withReport) {
+            if (dump == null) {
+                throw new NullPointerException("dump is null");
+            }
+            JsonObject graphDump = dump.getJsonObject("graph");
+            if (graphDump == null) {
+                throw new NullPointerException("dump.graph is null");
+            }
+            graph.restoreGraphData(graphDump);
+            return graph;
+        }
         restoreFromJson(graph, dump);
         return graph;
     }
 
+    //------------------------------------------------------
+    // Streaming
+
+    /** Read a dump from a stream into a new Graph instance. Unlike {@link #restoreFromJson(JsonObject)},
+     * this never holds the whole dump document in memory: vertices and edges are added to the graph
+     * as soon as they are parsed.
+     *
+     * @param in JSON or {@link CompactJsonFormat} dump, recognized by its first bytes.
+     * The stream is not closed.
+     * @return Graph model with report
+     * @throws IOException If reading or parsing failed
+     */
+    public static Graph readDump(InputStream in) throws IOException {
+        return readDump(in, true);
+    }
+
+    /** Read a dump from a stream into a new Graph instance, optionally skipping the report.
+     * A skipped report is not even parsed, so consumers needing only the graph save time and heap
+     * on report-heavy dumps.
+     *
+     * @param in JSON or {@link CompactJsonFormat} dump. The stream is not closed.
+     * @param withReport Whether to restore the report. If not, the graph gets an empty report.
+     * @return Graph model
+     * @throws IOException If reading or parsing failed
+     */
+    public static Graph readDump(InputStream in, boolean withReport) throws IOException {
+        Graph graph = new GraphImpl();
+        graph.setReport(new GraphReportImpl());
+        readDump(graph, in, withReport);
+        return graph;
+    }
+
+    /** Read a dump from a stream into existing Graph instance, replacing its contents.
+     * Only {@link GraphImpl} is filled as the dump is parsed, other implementations
+     * get the dump restored after it is read completely.
+     *
+     * @param target Graph instance to restore the dump into
+     * @param in JSON or {@link CompactJsonFormat} dump, recognized by its first bytes.
+     * The stream is not closed.
+     * @throws IOException If reading or parsing failed
+     */
+    public static void readDump(Graph target, InputStream in) throws IOException {
+        readDump(target, in, true);
+    }
+
+    /** Read a dump from a stream into existing Graph instance, replacing its contents.
+     *
+     * @param target Graph instance to restore the dump into
+     * @param in JSON or {@link CompactJsonFormat} dump. The stream is not closed.
+     * @param withReport Whether to restore the report. If not, report of the target is left as is.
+     * @throws IOException If reading or parsing failed
+     * @see #readDump(Graph, InputStream)
+     */
+    public static void readDump(Graph target, InputStream in, boolean withReport) throws IOException {
+        readDump(target, in, withReport, null);
+    }
+
+    /** Read a dump from a stream into existing Graph instance, validating it in the same pass.
+     * The dump is rejected as soon as a problem is seen, so no more time is spent on a damaged source.
+     * The contents of the target are undefined if the dump is rejected.
+     *
+     * @param target Graph instance to restore the dump into
+     * @param in JSON or {@link CompactJsonFormat} dump. The stream is not closed.
+     * @param withReport Whether to restore the report. If not, report of the target is left as is.
+     * @param validator Fresh validator, or {@code null} to skip validation
+     * @throws IOException If reading or parsing failed
+     * @throws InvalidGraphException If validation failed
+     */
+    public static void readDump(Graph target, InputStream in, boolean withReport, GraphDumpValidator validator)
+            throws IOException {
+        try (JsonParser parser = CompactJsonFormat.createDetectingParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            readDump(target, parser, withReport, validator);
+        }
+    }
+
+    /** Read a dump from a character stream into existing Graph instance, replacing its contents.
+     *
+     * @param target Graph instance to restore the dump into
+     * @param reader JSON dump. The reader is not closed.
+     * @throws IOException If reading or parsing failed
+     * @see #readDump(Graph, InputStream)
+     */
+    public static void readDump(Graph target, Reader reader) throws IOException {
+        try (JsonParser parser = JsonUtils.mapper().getFactory().createParser(reader)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            readDump(target, parser, true, null);
+        }
+    }
+
+    /** Read a dump file into a new Graph instance. Accepts GZIP and {@link CompactJsonFormat} as well.
+     *
+     * @param path Path to the file
+     * @return Graph model with report, or {@code null} if the file was not found
+     * @throws IOException If reading or parsing failed
+     * @see #readDump(InputStream)
+     */
+    public static Graph readDumpFile(String path) throws IOException {
+        return readDumpFile(path, true);
+    }
+
+    /** Read a dump file into a new Graph instance, optionally skipping the report.
+     *
+     * @param path Path to the file
+     * @param withReport Whether to restore the report. If not, the graph gets an empty report.
+     * @return Graph model, or {@code null} if the file was not found
+     * @throws IOException If reading or parsing failed
+     * @see #readDump(InputStream, boolean)
+     */
+    public static Graph readDumpFile(String path, boolean withReport) throws IOException {
+        return readDumpFile(path, withReport, null);
+    }
+
+    /** Read a dump file into a new Graph instance, validating it in the same pass.
+     *
+     * @param path Path to the file
+     * @param withReport Whether to restore the report. If not, the graph gets an empty report.
+     * @param validator Fresh validator, or {@code null} to skip validation
+     * @return Graph model, or {@code null} if the file was not found
+     * @throws IOException If reading or parsing failed
+     * @throws InvalidGraphException If validation failed
+     * @see #readDump(Graph, InputStream, boolean, GraphDumpValidator)
+     */
+    public static Graph readDumpFile(String path, boolean withReport, GraphDumpValidator validator)
+            throws IOException {
+        try (InputStream in = FSUtils.openUrlStream(GraphDumpSupport.class, "file:" + path)) {
+            if (in == null) {
+                return null;
+            }
+            Graph graph = new GraphImpl();
+            graph.setReport(new GraphReportImpl());
+            readDump(graph, in, withReport, validator);
+            return graph;
+        }
+    }
+
+    /** Write a dump of graph and its report into a stream, in the same format as {@link #dumpToJson(Graph, boolean)},
+     * but without building the dump in memory.
+     *
+     * @param graph A graph to dump. It should not be modified while being written.
+     * @param out Target stream. It is flushed, but not closed.
+     * @param gzip Whether to compress the output, see {@link ParallelGzipOutputStream}
+     * @return Sizes of the dump written
+     * @throws IOException If writing failed
+     */
+    public static DumpStats writeDump(Graph graph, OutputStream out, boolean gzip) throws IOException {
+        return writeDump(graph, out, gzip, false);
+    }
+
+    /** Write a dump of graph and its report into a stream, either as JSON, or in {@link CompactJsonFormat}.
+     * Compact dumps carry the same content and are read by the same methods as JSON ones.
+     *
+     * @param graph A graph to dump. It should not be modified while being written.
+     * @param out Target stream. It is flushed, but not closed.
+     * @param gzip Whether to compress the output
+     * @param compact Whether to use {@link CompactJsonFormat} instead of JSON
+     * @return Sizes of the dump written
+     * @throws IOException If writing failed
+     */
+    public static DumpStats writeDump(Graph graph, OutputStream out, boolean gzip, boolean compact) throws IOException {
+        CountingOutputStream countingStream = new CountingOutputStream(out);
+        ParallelGzipOutputStream gzipStream = gzip ? new ParallelGzipOutputStream(countingStream) : null;
+        OutputStream target = gzip ? gzipStream : countingStream;
+        int reportRecords = 0;
+
+        try (JsonGenerator generator = compact
+                ? CompactJsonFormat.createGenerator(target, JsonUtils.mapper())
+                : JsonUtils.mapper().getFactory().createGenerator(target))
+        {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeNumberField("modelVersion", CURRENT_CONTAINER_MODEL_VERSION);
+            generator.writeFieldName("graph");
+            graph.writeGraphData(generator);
+
+            GraphReport report = graph.getReport();
+            if (report != null) {
+                JsonObject reportDump = report.dumpReportData(false);
+                JsonArray records = reportDump.getJsonArray("records");
+                reportRecords = records != null ? records.size() : 0;
+                generator.writeFieldName("report");
+                generator.writeObject(reportDump);
+            }
+            generator.writeEndObject();
+        }
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+        countingStream.flush();
+
+        return new DumpStats(countingStream.getCount(), graph.getVertexCount() - 1, graph.getEdgeCount(), reportRecords);
+    }
+
+    /** Write a dump of graph and its report into a file.
+     *
+     * @param graph A graph to dump. It should not be modified while being written.
+     * @param path Target path. If it ends with ".gz", content is gzipped. If it has
+     * {@link CompactJsonFormat#EXTENSION}, the dump is written in compact format.
+     * @return Sizes of the dump written
+     * @throws IOException If writing failed
+     * @see #writeDump(Graph, OutputStream, boolean)
+     */
+    public static DumpStats writeDumpFile(Graph graph, Path path) throws IOException {
+        String fileName = path.getFileName().toString();
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(path), FSUtils.DEFAULT_BUFFER_SIZE)) {
+            return writeDump(graph, os, fileName.endsWith(".gz"), CompactJsonFormat.hasCompactExtension(fileName));
+        }
+    }
+
+    private static void readDump(Graph target, JsonParser parser, boolean withReport,
+            GraphDumpValidator validator) throws IOException {
+        // Strings repeated across the dump share one instance, for this dump only
+        ObjectReader objectReader = JsonInterner.withNewInterner(JsonUtils.mapper().readerFor(JsonObject.class));
+        if (!(target instanceof GraphImpl)) {
+            JsonObject dump = objectReader.readValue(parser);
+            if (validator != null) {
+                validator.validate(dump);
+            }
+            if (withReport) {
+                restoreFromJson(target, dump);
+            } else {
+                JsonObject graphDump = dump != null ? dump.getJsonObject("graph") : null;
+                if (graphDump == null) {
+                    throw new NullPointerException("dump.graph is null");
+                }
+                target.restoreGraphData(graphDump);
+            }
+            return;
+        }
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Graph dump must be an object");
+        }
+        Integer modelVersion = null;
+        Object rawReportDump = null;
+        boolean graphFound = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            if (validator != null) {
+                validator.containerField(fieldName, token);
+            }
+            switch (fieldName) {
+            case "modelVersion":
+                modelVersion = parser.getIntValue();
+                if (validator != null) {
+                    validator.containerModelVersion(modelVersion);
+                }
+                break;
+            case "graph":
+                readGraphData((GraphImpl) target, parser, objectReader, validator);
+                graphFound = true;
+                break;
+            case "report":
+                if (!withReport) {
+                    parser.skipChildren();
+                    break;
+                }
+                // Report may precede modelVersion, so it is restored in the end
+                if (token == JsonToken.START_OBJECT) {
+                    rawReportDump = objectReader.readValue(parser);
+                } else if (token == JsonToken.START_ARRAY) {
+                    rawReportDump = JsonUtils.mapper().readValue(parser, JsonArray.class);
+                } else {
+                    rawReportDump = JsonUtils.mapper().readValue(parser, Object.class);
+                }
+                if (validator != null) {
+                    validator.report(rawReportDump);
+                }
+                break;
+            default:
+                parser.skipChildren();
+            }
+        }
+        if (validator != null) {
+            validator.finish();
+        }
+        if (!graphFound) {
+            throw new NullPointerException("dump.graph is null");
+        }
+        if (withReport) {
+            restoreReport(target, modelVersion, rawReportDump);
+        }
+    }
+
+    /* Parser is positioned at START_OBJECT of graph data. The graph stays in bulk load mode while it is read */
+    private static void readGraphData(GraphImpl graph, JsonParser parser, ObjectReader objectReader,
+            GraphDumpValidator validator) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Graph data must be an object");
+        }
+        boolean rootFound = false;
+        boolean vertexListFound = false;
+        boolean edgeListFound = false;
+        // Edges that came before the vertices they refer to, not expected in dumps we write
+        List<JsonObject> pendingEdges = new ArrayList<>();
+
+        int duplicateEdges;
+        graph.beginRestore(0, 0);
+        try {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                if (validator != null) {
+                    validator.graphField(fieldName, token);
+                }
+                switch (fieldName) {
+                case "modelVersion":
+                    int modelVersion = parser.getIntValue();
+                    graph.checkGraphModelVersion(modelVersion);
+                    graph.setGraphVersion(modelVersion);
+                    break;
+                case "edgeGeneratorCounter":
+                    graph.setEdgeGeneratorCounter(parser.getIntValue());
+                    break;
+                case "root":
+                    JsonObject root = objectReader.readValue(parser);
+                    if (validator != null) {
+                        validator.root(root);
+                    }
+                    graph.restoreVertex(root);
+                    rootFound = true;
+                    break;
+                case "vertexList":
+                    checkArray(parser, fieldName);
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        JsonObject vertexJson = objectReader.readValue(parser);
+                        if (validator != null) {
+                            validator.vertex(vertexJson);
+                        }
+                        graph.restoreVertex(vertexJson);
+                    }
+                    if (validator != null) {
+                        validator.vertexListEnd();
+                    }
+                    vertexListFound = true;
+                    break;
+                case "edgeList":
+                    checkArray(parser, fieldName);
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        JsonObject edgeJson = objectReader.readValue(parser);
+                        if (validator != null) {
+                            validator.edge(edgeJson);
+                        }
+                        if (rootFound && vertexListFound) {
+                            graph.restoreEdge(edgeJson);
+                        } else {
+                            pendingEdges.add(edgeJson);
+                        }
+                    }
+                    if (validator != null) {
+                        validator.edgeListEnd();
+                    }
+                    edgeListFound = true;
+                    break;
+                default:
+                    parser.skipChildren();
+                }
+            }
+
+            if (!rootFound) {
+                throw new InvalidGraphException(graph, "Missing root");
+            }
+            if (!vertexListFound) {
+                throw new InvalidGraphException(graph, "Missing vertexList");
+            }
+            if (!edgeListFound) {
+                throw new InvalidGraphException(graph, "Missing edgeList");
+            }
+            for (JsonObject edgeJson : pendingEdges) {
+                graph.restoreEdge(edgeJson);
+            }
+        } finally {
+            duplicateEdges = graph.endBulk();
+        }
+        graph.checkNoDuplicateEdges(duplicateEdges);
+    }
+
+    private static void checkArray(JsonParser parser, String fieldName) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, fieldName + " must be an array");
+        }
+    }
+
     /** Get a dump model version of given dump.
      * @param dump A dump
      * @return modelVersion, or {@link #LEGACY_CONTAINER_MODEL_VERSION} for older dumps
@@ -212,4 +661,251 @@ public class GraphDumpSupport {
         return null;
     }
 
+    //------------------------------------------------------
+    // Deltas
+
+    /** Compute a delta between two dumps: vertices and edges added, removed or changed, keyed by id.
+     * Changed values are stored as JSON patches (RFC 6902). The report is stored as a whole if changed.
+     * Applying the delta to the base dump via {@link #applyDelta(JsonObject, JsonObject)} gives
+     * a dump equal to the new one.
+     *
+     * @param baseDump Base dump, see {@link #dumpToJson(Graph, boolean)}
+     * @param newDump New dump
+     * @return The delta. It shares objects with the new dump.
+     */
+    public static JsonObject diff(JsonObject baseDump, JsonObject newDump) {
+        JsonObject baseGraph = getGraphData(baseDump, "base dump");
+        JsonObject newGraph = getGraphData(newDump, "new dump");
+
+        JsonObject graphDelta = new JsonObject()
+            .put("modelVersion", newGraph.getValue("modelVersion"))
+            .put("edgeGeneratorCounter", newGraph.getValue("edgeGeneratorCounter"));
+        JsonObject baseRoot = baseGraph.getJsonObject("root");
+        JsonObject newRoot = newGraph.getJsonObject("root");
+        if (!Objects.equals(baseRoot, newRoot)) {
+            graphDelta.put("root", newRoot);
+        }
+
+        Map<String, JsonObject> baseVertices = vertexMap(baseGraph);
+        Map<String, JsonObject> newVertices = vertexMap(newGraph);
+        diffValues(baseVertices, newVertices, graphDelta, "Vertices", false);
+        graphDelta.put("baseVertexCount", baseVertices.size());
+
+        Map<String, JsonObject> baseEdges = edgeMap(baseGraph);
+        Map<String, JsonObject> newEdges = edgeMap(newGraph);
+        diffValues(baseEdges, newEdges, graphDelta, "Edges", true);
+        graphDelta.put("baseEdgeCount", baseEdges.size());
+
+        JsonObject delta = new JsonObject()
+            .put("deltaModelVersion", CURRENT_DELTA_MODEL_VERSION)
+            .put("modelVersion", newDump.getValue("modelVersion"))
+            .put("graph", graphDelta);
+        Object baseReport = baseDump.getValue("report");
+        Object newReport = newDump.getValue("report");
+        if (!Objects.equals(baseReport, newReport)) {
+            delta.put("report", newReport);
+        }
+        return delta;
+    }
+
+    /** Apply a delta computed by {@link #diff(JsonObject, JsonObject)} to the base dump.
+     * The base dump is not modified. <b>Unchanged objects are shared with the base dump.</b>
+     *
+     * @param baseDump The same base dump that was used to compute the delta
+     * @param delta The delta
+     * @return New dump
+     * @throws IllegalArgumentException If the delta is not supported, or does not match the base dump
+     */
+    public static JsonObject applyDelta(JsonObject baseDump, JsonObject delta) {
+        Integer deltaVersion = delta.getInteger("deltaModelVersion");
+        if (deltaVersion == null || deltaVersion != CURRENT_DELTA_MODEL_VERSION) {
+            throw new IllegalArgumentException("Unsupported delta model version: " + deltaVersion);
+        }
+        JsonObject baseGraph = getGraphData(baseDump, "base dump");
+        JsonObject graphDelta = getGraphData(delta, "delta");
+
+        Map<String, JsonObject> vertices = vertexMap(baseGraph);
+        checkBaseCount(vertices, graphDelta, "baseVertexCount");
+        applyValues(vertices, graphDelta, "Vertices");
+        Map<String, JsonObject> edges = edgeMap(baseGraph);
+        checkBaseCount(edges, graphDelta, "baseEdgeCount");
+        applyValues(edges, graphDelta, "Edges");
+
+        JsonObject newGraph = new JsonObject()
+            .put("modelVersion", graphDelta.getValue("modelVersion"))
+            .put("root", graphDelta.containsKey("root") ? graphDelta.getValue("root") : baseGraph.getValue("root"))
+            .put("edgeGeneratorCounter", graphDelta.getValue("edgeGeneratorCounter"))
+            .put("vertexList", new JsonArray(new ArrayList<>(vertices.values())))
+            .put("edgeList", new JsonArray(new ArrayList<>(edges.values())));
+
+        JsonObject newDump = new JsonObject()
+            .put("modelVersion", delta.getValue("modelVersion"))
+            .put("graph", newGraph);
+        Object report = delta.containsKey("report") ? delta.getValue("report") : baseDump.getValue("report");
+        if (report != null) {
+            newDump.put("report", report);
+        }
+        return newDump;
+    }
+
+    private static JsonObject getGraphData(JsonObject dump, String name) {
+        JsonObject graph = dump.getJsonObject("graph");
+        if (graph == null) {
+            throw new NullPointerException(name + ".graph is null");
+        }
+        return graph;
+    }
+
+    private static Map<String, JsonObject> vertexMap(JsonObject graphData) {
+        Map<String, JsonObject> result = new LinkedHashMap<>();
+        for (Object vertex : graphData.getJsonArray("vertexList", new JsonArray())) {
+            result.put(((JsonObject) vertex).getString(Graph.F_ID), (JsonObject) vertex);
+        }
+        return result;
+    }
+
+    private static Map<String, JsonObject> edgeMap(JsonObject graphData) {
+        Map<String, JsonObject> result = new LinkedHashMap<>();
+        for (Object edge : graphData.getJsonArray("edgeList", new JsonArray())) {
+            result.put(((JsonObject) edge).getJsonObject("edge").getString(Graph.F_ID), (JsonObject) edge);
+        }
+        return result;
+    }
+
+    /* Fills "added", "removed", "changed" lists of the delta, and the order of ids if the order
+     * of applying the delta differs from the new one */
+    private static void diffValues(Map<String, JsonObject> baseValues, Map<String, JsonObject> newValues,
+            JsonObject graphDelta, String suffix, boolean edges)
+    {
+        Set<String> removed = new LinkedHashSet<>();
+        JsonArray changed = new JsonArray();
+        JsonArray added = new JsonArray();
+        List<String> expectedOrder = new ArrayList<>(newValues.size());
+        for (Map.Entry<String, JsonObject> entry : baseValues.entrySet()) {
+            String id = entry.getKey();
+            JsonObject baseValue = entry.getValue();
+            JsonObject newValue = newValues.get(id);
+            // An edge that changed its ends is a different edge
+            if (newValue == null || edges && !(
+                    Objects.equals(baseValue.getValue("source"), newValue.getValue("source"))
+                    && Objects.equals(baseValue.getValue("target"), newValue.getValue("target"))))
+            {
+                removed.add(id);
+                continue;
+            }
+            expectedOrder.add(id);
+            if (!baseValue.equals(newValue)) {
+                JsonNode patch = JsonDiff.asJson(JsonUtils.mapper().valueToTree(baseValue),
+                    JsonUtils.mapper().valueToTree(newValue));
+                changed.add(new JsonObject()
+                    .put("id", id)
+                    .put("patch", JsonUtils.mapper().convertValue(patch, JsonArray.class)));
+            }
+        }
+        for (Map.Entry<String, JsonObject> entry : newValues.entrySet()) {
+            if (!baseValues.containsKey(entry.getKey()) || removed.contains(entry.getKey())) {
+                added.add(entry.getValue());
+                expectedOrder.add(entry.getKey());
+            }
+        }
+        graphDelta.put("removed" + suffix, new JsonArray(new ArrayList<>(removed)));
+        graphDelta.put("changed" + suffix, changed);
+        graphDelta.put("added" + suffix, added);
+        if (!expectedOrder.equals(new ArrayList<>(newValues.keySet()))) {
+            graphDelta.put("order" + suffix, new JsonArray(new ArrayList<>(newValues.keySet())));
+        }
+    }
+
+    private static void applyValues(Map<String, JsonObject> values, JsonObject graphDelta, String suffix) {
+        for (Object id : graphDelta.getJsonArray("removed" + suffix, new JsonArray())) {
+            if (values.remove((String) id) == null) {
+                throw new IllegalArgumentException("Delta does not match base dump: no " + id + " to remove");
+            }
+        }
+        for (Object obj : graphDelta.getJsonArray("changed" + suffix, new JsonArray())) {
+            JsonObject change = (JsonObject) obj;
+            String id = change.getString("id");
+            JsonObject value = values.get(id);
+            if (value == null) {
+                throw new IllegalArgumentException("Delta does not match base dump: no " + id + " to change");
+            }
+            try {
+                JsonNode patched = JsonPatch.apply(JsonUtils.mapper().valueToTree(change.getJsonArray("patch")),
+                    JsonUtils.mapper().valueToTree(value));
+                values.put(id, JsonUtils.mapper().convertValue(patched, JsonObject.class));
+            } catch (JsonPatchApplicationException e) {
+                throw new IllegalArgumentException("Delta does not match base dump: cannot patch " + id, e);
+            }
+        }
+        for (Object obj : graphDelta.getJsonArray("added" + suffix, new JsonArray())) {
+            JsonObject value = (JsonObject) obj;
+            String id = value.containsKey("edge") ? value.getJsonObject("edge").getString(Graph.F_ID) : value.getString(Graph.F_ID);
+            if (values.putIfAbsent(id, value) != null) {
+                throw new IllegalArgumentException("Delta does not match base dump: " + id + " already exists");
+            }
+        }
+        JsonArray order = graphDelta.getJsonArray("order" + suffix);
+        if (order != null) {
+            Map<String, JsonObject> ordered = new LinkedHashMap<>();
+            for (Object id : order) {
+                JsonObject value = values.get((String) id);
+                if (value == null) {
+                    throw new IllegalArgumentException("Delta does not match base dump: no " + id + " to order");
+                }
+                ordered.put((String) id, value);
+            }
+            values.clear();
+            values.putAll(ordered);
+        }
+    }
+
+    private static void checkBaseCount(Map<String, JsonObject> values, JsonObject graphDelta, String key) {
+        Integer expected = graphDelta.getInteger(key);
+        if (expected != null && expected != values.size()) {
+            throw new IllegalArgumentException("Delta does not match base dump: " + key + " is " + expected
+                + ", found " + values.size());
+        }
+    }
+
+    /** Sizes of a dump written by {@link GraphDumpSupport#writeDump(Graph, OutputStream, boolean)} */
+    public static class DumpStats {
+
+        private final long bytes;
+        private final int vertices;
+        private final int edges;
+        private final int reportRecords;
+
+        public DumpStats(long bytes, int vertices, int edges, int reportRecords) {
+            this.bytes = bytes;
+            this.vertices = vertices;
+            this.edges = edges;
+            this.reportRecords = reportRecords;
+        }
+
+        /** @return Number of bytes written, after compression if any */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /** @return Number of vertices written, excluding root */
+        public int getVertices() {
+            return vertices;
+        }
+
+        public int getEdges() {
+            return edges;
+        }
+
+        public int getReportRecords() {
+            return reportRecords;
+        }
+
+        @Override
+        public String toString() {
+            return "DumpStats(bytes=" + bytes + ", vertices=" + vertices + ", edges=" + edges
+                + ", reportRecords=" + reportRecords + ")";
+        }
+
+    }
+
 }
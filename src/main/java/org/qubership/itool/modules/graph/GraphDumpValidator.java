@@ -0,0 +1,345 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.graph;
+
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+import org.qubership.itool.modules.processor.InvalidGraphException;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.qubership.itool.modules.graph.Graph.F_ID;
+import static org.qubership.itool.modules.graph.Graph.F_TYPE;
+
+/**
+ * Structural validation of a graph dump, see {@code docs/graph_dump_schema.json}. Besides
+ * the schema, checks that vertices have ids and types, ids of vertices and edges are unique,
+ * and edges refer to existing vertices.
+ *
+ * <p>A validator is fed while the dump is read as a stream, see
+ * {@link GraphDumpSupport#readDump(Graph, InputStream, boolean, GraphDumpValidator)}, so a damaged
+ * dump is rejected in the same single pass, as soon as a problem is seen. A dump already in
+ * memory is checked with {@link #validate(JsonObject)}.
+ *
+ * <p>Fields required by the schema are enforced for dumps of
+ * {@link GraphDumpSupport#CURRENT_CONTAINER_MODEL_VERSION}. Legacy dumps without container
+ * model version are only required to have what is needed to restore them.
+ *
+ * <p>An instance validates a single dump. Not thread-safe.
+ */
+public class GraphDumpValidator {
+
+    private final JsonObject sourceDesc;
+
+    private final Set<String> vertexIds = new HashSet<>();
+    private final Set<String> edgeIds = new HashSet<>();
+    // Ends of edges that came before the vertices they refer to, not expected in dumps we write
+    private final List<String> pendingEdgeEnds = new ArrayList<>();
+
+    private boolean legacyContainer = true;
+    private boolean graphFound;
+    private boolean graphModelVersionFound;
+    private boolean edgeGeneratorCounterFound;
+    private boolean rootFound;
+    private boolean vertexListFound;
+    private boolean edgeListFound;
+    private boolean finished;
+
+    public GraphDumpValidator() {
+        this(new JsonObject());
+    }
+
+    /** Create a validator.
+     *
+     * @param sourceDesc Source descriptor used to name the graph in exceptions, see
+     * {@link InvalidGraphException#descToName(JsonObject)}
+     */
+    public GraphDumpValidator(JsonObject sourceDesc) {
+        this.sourceDesc = sourceDesc;
+    }
+
+    /** Validate a dump in memory.
+     *
+     * @param dump Dump to validate
+     * @throws InvalidGraphException If the dump is invalid
+     */
+    public void validate(JsonObject dump) {
+        if (dump == null) {
+            throw invalid("Missing dump");
+        }
+        for (Map.Entry<String, Object> entry : dump) {
+            Object value = entry.getValue();
+            if (value == null) {
+                continue;
+            }
+            String fieldName = entry.getKey();
+            containerField(fieldName, tokenOf(value));
+            if ("modelVersion".equals(fieldName)) {
+                containerModelVersion(((Number) value).intValue());
+            }
+        }
+        Object report = dump.getValue("report");
+        if (report != null) {
+            report(report);
+        }
+        JsonObject graph = dump.getJsonObject("graph");
+        if (graph != null) {
+            for (Map.Entry<String, Object> entry : graph) {
+                if (entry.getValue() != null) {
+                    graphField(entry.getKey(), tokenOf(entry.getValue()));
+                }
+            }
+            JsonObject root = graph.getJsonObject("root");
+            if (root != null) {
+                root(root);
+            }
+            JsonArray vertexList = graph.getJsonArray("vertexList");
+            if (vertexList != null) {
+                for (Object vertex : vertexList) {
+                    vertex(vertex);
+                }
+                vertexListEnd();
+            }
+            JsonArray edgeList = graph.getJsonArray("edgeList");
+            if (edgeList != null) {
+                for (Object edge : edgeList) {
+                    edge(edge);
+                }
+                edgeListEnd();
+            }
+        }
+        finish();
+    }
+
+    //------------------------------------------------------
+    // Streaming hooks. Fields with null values are treated as missing
+
+    /* Top-level field is found, the parser is positioned at its value */
+    void containerField(String fieldName, JsonToken token) {
+        switch (fieldName) {
+        case "modelVersion":
+            checkToken(token, JsonToken.VALUE_NUMBER_INT, "modelVersion must be an integer");
+            break;
+        case "graph":
+            checkToken(token, JsonToken.START_OBJECT, "graph must be an object");
+            graphFound = true;
+            break;
+        case "report":
+            if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+                throw invalid("report must be an object");
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    void containerModelVersion(int modelVersion) {
+        if (modelVersion != GraphDumpSupport.CURRENT_CONTAINER_MODEL_VERSION) {
+            throw invalid("Container model version " + modelVersion + " not supported");
+        }
+        legacyContainer = false;
+    }
+
+    /* Report is restored. Reports skipped while reading are checked by containerField() only */
+    void report(Object report) {
+        if (report instanceof JsonArray) {
+            return;     // Legacy format
+        }
+        JsonObject reportDump = (JsonObject) report;
+        if (!(reportDump.getValue("records") instanceof JsonArray)) {
+            throw invalid("report.records must be an array");
+        }
+        Object modelVersion = reportDump.getValue("modelVersion");
+        if (modelVersion != null && !isInteger(modelVersion)) {
+            throw invalid("report.modelVersion must be an integer");
+        }
+    }
+
+    /* Field of graph data is found, the parser is positioned at its value */
+    void graphField(String fieldName, JsonToken token) {
+        switch (fieldName) {
+        case "modelVersion":
+            checkToken(token, JsonToken.VALUE_NUMBER_INT, "graph.modelVersion must be an integer");
+            graphModelVersionFound = true;
+            break;
+        case "edgeGeneratorCounter":
+            checkToken(token, JsonToken.VALUE_NUMBER_INT, "graph.edgeGeneratorCounter must be an integer");
+            edgeGeneratorCounterFound = true;
+            break;
+        case "root":
+            checkToken(token, JsonToken.START_OBJECT, "graph.root must be an object");
+            break;
+        case "vertexList":
+            checkToken(token, JsonToken.START_ARRAY, "graph.vertexList must be an array");
+            break;
+        case "edgeList":
+            checkToken(token, JsonToken.START_ARRAY, "graph.edgeList must be an array");
+            break;
+        default:
+            break;
+        }
+    }
+
+    void root(JsonObject root) {
+        checkVertex(root);
+        rootFound = true;
+        verticesMayBeComplete();
+    }
+
+    /* All the vertices of vertexList have been passed to vertex() */
+    void vertexListEnd() {
+        vertexListFound = true;
+        verticesMayBeComplete();
+    }
+
+    void vertex(Object vertex) {
+        if (!(vertex instanceof JsonObject)) {
+            throw invalid("Vertex must be an object");
+        }
+        checkVertex((JsonObject) vertex);
+    }
+
+    void edgeListEnd() {
+        edgeListFound = true;
+    }
+
+    void edge(Object edgeJson) {
+        if (!(edgeJson instanceof JsonObject)) {
+            throw invalid("Edge must be an object");
+        }
+        JsonObject edgeDump = (JsonObject) edgeJson;
+        Object source = edgeDump.getValue("source");
+        Object target = edgeDump.getValue("target");
+        if (!(source instanceof String) || !(target instanceof String)) {
+            throw invalid("Edge must have source and target");
+        }
+        Object edge = edgeDump.getValue("edge");
+        if (!(edge instanceof JsonObject)) {
+            throw invalid("No edge object found");
+        }
+        Object id = ((JsonObject) edge).getValue(F_ID);
+        if (id != null) {
+            if (!(id instanceof String) || !edgeIds.add((String) id)) {
+                throw invalid("Invalid or duplicate edge: " + id);
+            }
+        }
+        if (rootFound && vertexListFound) {
+            checkEdgeEnd((String) source, "from");
+            checkEdgeEnd((String) target, "to");
+        } else {
+            pendingEdgeEnds.add((String) source);
+            pendingEdgeEnds.add((String) target);
+        }
+    }
+
+    /* The whole dump has been passed */
+    void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (!graphFound) {
+            throw invalid("Missing graph");
+        }
+        if (!rootFound) {
+            throw invalid("Missing root");
+        }
+        if (!vertexListFound) {
+            throw invalid("Missing vertexList");
+        }
+        if (!edgeListFound) {
+            throw invalid("Missing edgeList");
+        }
+        if (!legacyContainer && !graphModelVersionFound) {
+            throw invalid("Missing graph.modelVersion");
+        }
+        if (!legacyContainer && !edgeGeneratorCounterFound) {
+            throw invalid("Missing graph.edgeGeneratorCounter");
+        }
+    }
+
+    //------------------------------------------------------
+
+    private void checkVertex(JsonObject vertex) {
+        Object id = vertex.getValue(F_ID);
+        if (!(id instanceof String) || StringUtils.isEmpty((String) id)) {
+            throw invalid("Vertex without id: " + vertex.encode());
+        }
+        if (!(vertex.getValue(F_TYPE) instanceof String)) {
+            throw invalid("Vertex without type: " + id);
+        }
+        if (!vertexIds.add((String) id)) {
+            throw invalid("Invalid or duplicate vertex: " + id);
+        }
+    }
+
+    private void verticesMayBeComplete() {
+        if (rootFound && vertexListFound && !pendingEdgeEnds.isEmpty()) {
+            for (int i = 0; i < pendingEdgeEnds.size(); i += 2) {
+                checkEdgeEnd(pendingEdgeEnds.get(i), "from");
+                checkEdgeEnd(pendingEdgeEnds.get(i + 1), "to");
+            }
+            pendingEdgeEnds.clear();
+        }
+    }
+
+    private void checkEdgeEnd(String vertexId, String direction) {
+        if (!vertexIds.contains(vertexId)) {
+            throw invalid("Invalid edge " + direction + " non-existing vertex " + vertexId);
+        }
+    }
+
+    private void checkToken(JsonToken token, JsonToken expected, String message) {
+        if (token != expected) {
+            throw invalid(message);
+        }
+    }
+
+    private InvalidGraphException invalid(String reason) {
+        return new InvalidGraphException(sourceDesc, reason);
+    }
+
+    private static boolean isInteger(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    private static JsonToken tokenOf(Object value) {
+        if (value instanceof JsonObject || value instanceof Map) {
+            return JsonToken.START_OBJECT;
+        } else if (value instanceof JsonArray || value instanceof List) {
+            return JsonToken.START_ARRAY;
+        } else if (isInteger(value)) {
+            return JsonToken.VALUE_NUMBER_INT;
+        } else if (value instanceof Number) {
+            return JsonToken.VALUE_NUMBER_FLOAT;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? JsonToken.VALUE_TRUE : JsonToken.VALUE_FALSE;
+        } else if (value instanceof String) {
+            return JsonToken.VALUE_STRING;
+        }
+        return JsonToken.VALUE_EMBEDDED_OBJECT;
+    }
+
+}
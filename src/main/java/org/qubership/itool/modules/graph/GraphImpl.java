@@ -16,16 +16,22 @@
 
 package org.qubership.itool.modules.graph;
 
+import org.qubership.itool.modules.gremlin2.P;
 import org.qubership.itool.modules.gremlin2.graph.GraphTraversalSource;
 import org.qubership.itool.modules.processor.InvalidGraphException;
 import org.qubership.itool.modules.report.GraphReport;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class GraphImpl implements Graph {
@@ -33,14 +39,42 @@ public class GraphImpl implements Graph {
     private static final Logger LOG = LoggerFactory.getLogger(GraphImpl.class);
 
     private int graphVersion;
-    private Map<String, Vertex> vertices;
-    private Map<String, Edge> edges;
+    private Map<String, VertexImpl> vertices;
+    private Map<String, EdgeImpl> edges;
+    // Vertices and edges by their internal numbers used for adjacency. Removed ones leave nulls
+    private ArrayList<VertexImpl> vertexTable;
+    private ArrayList<EdgeImpl> edgeTable;
+    // Parallel edges by numbers of their ends, see endsKey()
+    private Map<Long, List<EdgeImpl>> edgesByEnds;
+    // Edges by their ends and content, see contentKey(). Lists hold edges whose keys collide
+    private Map<Long, List<EdgeImpl>> edgesByContent;
+
+    // Secondary indexes by JSON pointer. The one by vertex type always exists.
+    // Modified under the write lock only, so lookups under the read lock need no other synchronization
+    private Map<String, PropertyIndex<VertexImpl>> indexes;
+    private PropertyIndex<VertexImpl> typeIndex;
+    private long vertexSequence;
+    // Shared by frozen copies and snapshots until vertices or edges are added, removed or relocated
+    private volatile FrozenGraph.Topology topology;
 
     private int edgeGeneratorCounter;
 
+    // Bulk loading state, see beginBulk(). Elements numbered from these ones are not linked yet
+    private boolean bulkLoad;
+    private int bulkFirstVertex;
+    private int bulkFirstEdge;
+    private long bulkStartNanos;
+
     private GraphReport report;
 
+    // Queries share the read lock and run in parallel, modifications are exclusive
+    private final ReentrantReadWriteLock.ReadLock readLock;
+    private final ReentrantReadWriteLock.WriteLock writeLock;
+
     public GraphImpl() {
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
         clear();
         graphVersion = CURRENT_GRAPH_MODEL_VERSION;
     }
@@ -52,205 +86,488 @@ public class GraphImpl implements Graph {
     }
 
     @Override
-    public synchronized JsonObject getVertex(String vertexId) {
-        if (!this.vertices.containsKey(vertexId)) {
-            return null;
+    public JsonObject getVertex(String vertexId) {
+        this.readLock.lock();
+        try {
+            if (!this.vertices.containsKey(vertexId)) {
+                return null;
+            }
+            return this.vertices.get(vertexId).getValue();
+        } finally {
+            this.readLock.unlock();
         }
-        return this.vertices.get(vertexId).getValue();
     }
 
     @Override
-    public synchronized boolean addVertex(JsonObject vertex) {
-        String vertexId = vertex.getString(F_ID);
-        if (vertexId == null || this.vertices.containsKey(vertexId)) {
-            return false;
-        }
+    public boolean addVertex(JsonObject vertex) {
+        this.writeLock.lock();
+        try {
+            String vertexId = vertex.getString(F_ID);
+            if (vertexId == null || this.vertices.containsKey(vertexId)) {
+                return false;
+            }
 
-        Vertex vertexObj = new VertexImpl(vertexId, vertex);
-        this.vertices.put(vertexId, vertexObj);
-        return true;
+            VertexImpl vertexObj = new VertexImpl(vertexId, vertex);
+            vertexObj.number = this.vertexTable.size();
+            vertexObj.edgeTable = this.edgeTable;
+            vertexObj.sequence = this.vertexSequence++;
+            this.vertexTable.add(vertexObj);
+            this.vertices.put(vertexId, vertexObj);
+            this.topology = null;
+            if (!this.bulkLoad) {
+                indexVertex(vertexObj);
+            }
+            return true;
+        } finally {
+            this.writeLock.unlock();
+        }
     }
 
     @Override
-    public synchronized boolean addVertex(String sourceVertexId, JsonObject destinationVertex) {
-        JsonObject sourceVertex = getVertex(sourceVertexId);
+    public boolean addVertex(String sourceVertexId, JsonObject destinationVertex) {
+        this.writeLock.lock();
+        try {
+            JsonObject sourceVertex = getVertex(sourceVertexId);
 
-        if (sourceVertex == null) {
-            return false;
-        }
+            if (sourceVertex == null) {
+                return false;
+            }
 
-        return addVertex(sourceVertex, destinationVertex);
+            return addVertex(sourceVertex, destinationVertex);
+        } finally {
+            this.writeLock.unlock();
+        }
     }
 
     @Override
-    public synchronized boolean addVertex(JsonObject sourceVertex, JsonObject destinationVertex) {
-        String srcVertexId = sourceVertex.getString(F_ID);
-        String destVertexId = destinationVertex.getString(F_ID);
-
-        if (srcVertexId == null || destVertexId == null
-            || !this.vertices.containsKey(srcVertexId)
-            || this.vertices.containsKey(destVertexId)) {
-            return false;
-        }
+    public boolean addVertex(JsonObject sourceVertex, JsonObject destinationVertex) {
+        this.writeLock.lock();
+        try {
+            String srcVertexId = sourceVertex.getString(F_ID);
+            String destVertexId = destinationVertex.getString(F_ID);
+
+            if (srcVertexId == null || destVertexId == null
+                || !this.vertices.containsKey(srcVertexId)
+                || this.vertices.containsKey(destVertexId)) {
+                return false;
+            }
 
-        // Add related vertex and edge
-        addVertex(destinationVertex);
-        addEdge(sourceVertex, destinationVertex, null);
+            // Add related vertex and edge
+            addVertex(destinationVertex);
+            addEdge(sourceVertex, destinationVertex, null);
 
-        return true;
+            return true;
+        } finally {
+            this.writeLock.unlock();
+        }
     }
 
     @Override
-    public synchronized boolean addVertexUnderRoot(JsonObject vertex) {
-        String vertexId = vertex.getString(F_ID);
-        if (vertexId == null || this.vertices.containsKey(vertexId)) {
-            return false;
-        }
+    public boolean addVertexUnderRoot(JsonObject vertex) {
+        this.writeLock.lock();
+        try {
+            String vertexId = vertex.getString(F_ID);
+            if (vertexId == null || this.vertices.containsKey(vertexId)) {
+                return false;
+            }
 
-        addVertex(vertex);
-        addEdge(getVertex(V_ROOT), vertex, null);
+            addVertex(vertex);
+            addEdge(getVertex(V_ROOT), vertex, null);
 
-        return true;
+            return true;
+        } finally {
+            this.writeLock.unlock();
+        }
     }
 
     @Override
-    public synchronized boolean relocateVertex(JsonObject vertex, String newId) {
-        String oldId = vertex.getString(F_ID);
-        if (   oldId == null
-            || ! vertices.containsKey(oldId)
-            || vertices.containsKey(newId))   // New id already exists, or relocation to the same id requested
-        {
-            return false;
-        }
+    public boolean relocateVertex(JsonObject vertex, String newId) {
+        this.writeLock.lock();
+        try {
+            String oldId = vertex.getString(F_ID);
+            if (   oldId == null
+                || ! vertices.containsKey(oldId)
+                || vertices.containsKey(newId))   // New id already exists, or relocation to the same id requested
+            {
+                return false;
+            }
 
-        LOG.debug("Relocating vertex {} to {}", oldId, newId);
-        Vertex vertexObj = moveVertexToNewId(vertex, newId, oldId);
-        for (String outgoingEdgeId: vertexObj.getEdgesOut()) {
-            Edge outgoingEdge = this.edges.get(outgoingEdgeId);
-            if (outgoingEdge != null) {
-                LOG.debug(" - Edge {} changed its source", outgoingEdgeId);
+            checkNotBulk();
+            this.topology = null;
+            LOG.debug("Relocating vertex {} to {}", oldId, newId);
+            VertexImpl vertexObj = moveVertexToNewId(vertex, newId, oldId);
+            for (int i = 0; i < vertexObj.edgesOut.size(); i++) {
+                EdgeImpl outgoingEdge = this.edgeTable.get(vertexObj.edgesOut.get(i));
+                LOG.debug(" - Edge {} changed its source", outgoingEdge.getId());
                 outgoingEdge.setSourceVertexId(newId);
             }
-        }
-        for (String incomingEdgeId: vertexObj.getEdgesIn()) {
-            Edge incomingEdge = this.edges.get(incomingEdgeId);
-            if (incomingEdge != null) {
-                LOG.debug(" - Edge {} changed its destination", incomingEdgeId);
+            for (int i = 0; i < vertexObj.edgesIn.size(); i++) {
+                EdgeImpl incomingEdge = this.edgeTable.get(vertexObj.edgesIn.get(i));
+                LOG.debug(" - Edge {} changed its destination", incomingEdge.getId());
                 incomingEdge.setDestinationVertexId(newId);
             }
-        }
 
-        return true;
+            return true;
+        } finally {
+            this.writeLock.unlock();
+        }
     }
 
-    private Vertex moveVertexToNewId(JsonObject vertex, String newId, String oldId) {
-        Vertex oldVertexObj = this.vertices.get(oldId);
-        vertices.remove(oldId);
+    // The vertex keeps its number, so edges need no changes except for their string ids
+    private VertexImpl moveVertexToNewId(JsonObject vertex, String newId, String oldId) {
+        VertexImpl oldVertexObj = this.vertices.remove(oldId);
+        unindexVertex(oldVertexObj);
         vertex.put(F_ID, newId);
-        this.addVertex(vertex);
-        Vertex newVertexObj = this.vertices.get(newId);
-        newVertexObj.getEdgesIn().addAll(oldVertexObj.getEdgesIn());
-        newVertexObj.getEdgesOut().addAll(oldVertexObj.getEdgesOut());
-        return oldVertexObj;
+        VertexImpl newVertexObj = new VertexImpl(newId, vertex);
+        newVertexObj.number = oldVertexObj.number;
+        newVertexObj.edgeTable = this.edgeTable;
+        newVertexObj.sequence = this.vertexSequence++;
+        newVertexObj.edgesIn = oldVertexObj.edgesIn;
+        newVertexObj.edgesOut = oldVertexObj.edgesOut;
+        this.vertexTable.set(newVertexObj.number, newVertexObj);
+        this.vertices.put(newId, newVertexObj);
+        indexVertex(newVertexObj);
+        return newVertexObj;
     }
 
 
     @Override
-    public synchronized boolean removeVertex(JsonObject vertex) {
-        String vertexId = vertex.getString(F_ID);
-        if (vertexId == null || !this.vertices.containsKey(vertexId)) {
-            return false;
+    public boolean removeVertex(JsonObject vertex) {
+        this.writeLock.lock();
+        try {
+            String vertexId = vertex.getString(F_ID);
+            if (vertexId == null || !this.vertices.containsKey(vertexId)) {
+                return false;
+            }
+
+            checkNotBulk();
+            this.topology = null;
+            VertexImpl vertexObj = this.vertices.get(vertexId);
+
+            for (int edgeNumber : vertexObj.edgesOut.toArray()) {
+                EdgeImpl outgoingEdge = this.edgeTable.get(edgeNumber);
+                if (outgoingEdge != null) {
+                    this.vertexTable.get(outgoingEdge.target).edgesIn.removeValue(edgeNumber);
+                    removeEdgeFromTables(outgoingEdge);
+                }
+            }
+
+            for (int edgeNumber : vertexObj.edgesIn.toArray()) {
+                EdgeImpl incomingEdge = this.edgeTable.get(edgeNumber);
+                if (incomingEdge != null) {
+                    this.vertexTable.get(incomingEdge.source).edgesOut.removeValue(edgeNumber);
+                    removeEdgeFromTables(incomingEdge);
+                }
+            }
+
+            unindexVertex(vertexObj);
+            this.vertexTable.set(vertexObj.number, null);
+            return this.vertices.remove(vertexId) != null;
+        } finally {
+            this.writeLock.unlock();
         }
+    }
 
-        Vertex vertexObj = this.vertices.get(vertexId);
+    @Override
+    public boolean reindexVertex(JsonObject vertex) {
+        this.writeLock.lock();
+        try {
+            VertexImpl vertexObj = this.vertices.get(vertex.getString(F_ID));
+            if (vertexObj == null || vertexObj.getValue() != vertex) {
+                return false;
+            }
+            unindexVertex(vertexObj);
+            indexVertex(vertexObj);
+            return true;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
 
-        for (String outgoingEdgeId: vertexObj.getEdgesOut()) {
-            Edge outgoingEdge = this.edges.get(outgoingEdgeId);
-            if (outgoingEdge != null) {
-                String destinationVertexId = outgoingEdge.getDestinationVertexId();
-                Vertex destinationVertex = this.vertices.get(destinationVertexId);
-                destinationVertex.getEdgesIn().remove(outgoingEdgeId);
-                this.edges.remove(outgoingEdgeId);
+    private void indexVertex(VertexImpl vertexObj) {
+        for (PropertyIndex<VertexImpl> index : this.indexes.values()) {
+            index.add(vertexObj);
+        }
+    }
+
+    private void unindexVertex(VertexImpl vertexObj) {
+        for (PropertyIndex<VertexImpl> index : this.indexes.values()) {
+            index.remove(vertexObj);
+        }
+    }
+
+    private static PropertyIndex<VertexImpl> createPropertyIndex(String pointer) {
+        return new PropertyIndex<>(pointer, VertexImpl::getValue, vertexImpl -> vertexImpl.sequence);
+    }
+
+    private void resetIndexes() {
+        if (this.indexes == null) {
+            this.typeIndex = createPropertyIndex("/" + F_TYPE);
+            this.indexes = new LinkedHashMap<>();
+            this.indexes.put(this.typeIndex.getPointer(), this.typeIndex);
+        } else {
+            for (PropertyIndex<VertexImpl> index : this.indexes.values()) {
+                index.clear();
             }
         }
+        this.vertexSequence = 0;
+    }
 
-        for (String incomingEdgeId: vertexObj.getEdgesIn()) {
-            Edge incomingEdge = this.edges.get(incomingEdgeId);
-            if (incomingEdge != null) {
-                String edgeFrom = incomingEdge.getSourceVertexId();
-                Vertex edgeSource = this.vertices.get(edgeFrom);
-                edgeSource.getEdgesOut().remove(incomingEdgeId);
-                this.edges.remove(incomingEdgeId);
+    @Override
+    public boolean createIndex(String propertyKey) {
+        this.writeLock.lock();
+        try {
+            String pointer = PropertyIndex.toPointer(propertyKey);
+            if (pointer == null) {
+                throw new IllegalArgumentException("Property key cannot be indexed: " + propertyKey);
+            }
+            if (this.indexes.containsKey(pointer)) {
+                return false;
+            }
+            PropertyIndex<VertexImpl> index = createPropertyIndex(pointer);
+            for (VertexImpl vertexObj : this.vertices.values()) {
+                index.add(vertexObj);
             }
+            this.indexes.put(pointer, index);
+            return true;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isIndexed(String propertyKey) {
+        this.readLock.lock();
+        try {
+            String pointer = PropertyIndex.toPointer(propertyKey);
+            return pointer != null && this.indexes.containsKey(pointer);
+        } finally {
+            this.readLock.unlock();
         }
+    }
 
-        return this.vertices.remove(vertexId) != null;
+    @Override
+    public List<JsonObject> getVerticesByIndex(String propertyKey, P<?> predicate) {
+        this.readLock.lock();
+        try {
+            String pointer = PropertyIndex.toPointer(propertyKey);
+            PropertyIndex<VertexImpl> index = (pointer != null) ? this.indexes.get(pointer) : null;
+            if (index == null) {
+                return null;
+            }
+            List<VertexImpl> found = index.find(predicate);
+            if (found == null) {
+                return null;
+            }
+            return found.stream().map(VertexImpl::getValue).collect(Collectors.toList());
+        } finally {
+            this.readLock.unlock();
+        }
     }
 
     @Override
-    public synchronized JsonObject getEdge(String edgeId) {
-        if (!this.edges.containsKey(edgeId)) {
-            return null;
+    public JsonObject getEdge(String edgeId) {
+        this.readLock.lock();
+        try {
+            if (!this.edges.containsKey(edgeId)) {
+                return null;
+            }
+            return this.edges.get(edgeId).getValue();
+        } finally {
+            this.readLock.unlock();
         }
-        return this.edges.get(edgeId).getValue();
     }
 
     @Override
-    public synchronized String addEdge(JsonObject sourceVertex, JsonObject destinationVertex) {
-        return addEdge(sourceVertex, destinationVertex, null);
+    public String addEdge(JsonObject sourceVertex, JsonObject destinationVertex) {
+        this.writeLock.lock();
+        try {
+            return addEdge(sourceVertex, destinationVertex, null);
+        } finally {
+            this.writeLock.unlock();
+        }
     }
 
     @Override
-    public synchronized String addEdge(JsonObject sourceVertex, JsonObject destinationVertex, JsonObject edge) {
+    public String addEdge(JsonObject sourceVertex, JsonObject destinationVertex, JsonObject edge) {
+        this.writeLock.lock();
+        try {
 
-        if (edge == null) {
-            edge = new JsonObject();
-            edge.put(F_ID, generateEdgeId());
-        } else {
-            // return null if edge with provided id (maybe, exactly this one) already exists in the graph
-            if (this.edges.containsKey(edge.getString(F_ID))) {
+            if (edge == null) {
+                edge = new JsonObject();
+                edge.put(F_ID, generateEdgeId());
+            } else {
+                // return null if edge with provided id (maybe, exactly this one) already exists in the graph
+                if (this.edges.containsKey(edge.getString(F_ID))) {
+                    return null;
+                }
+            }
+
+            String edgeId = edge.getString(F_ID);
+            if (edgeId == null) {
+                edgeId = generateEdgeId();
+                edge.put(F_ID, edgeId);
+            }
+
+            // Add vertex if not exist
+            if (!this.vertices.containsKey(sourceVertex.getString(F_ID))) {
+                addVertex(sourceVertex);
+            }
+
+            if (!this.vertices.containsKey(destinationVertex.getString(F_ID))) {
+                addVertex(destinationVertex);
+            }
+
+            VertexImpl source = this.vertices.get(sourceVertex.getString(F_ID));
+            VertexImpl target = this.vertices.get(destinationVertex.getString(F_ID));
+            EdgeImpl edgeObj = new EdgeImpl(edge.getString(F_ID), sourceVertex.getString(F_ID),
+                destinationVertex.getString(F_ID), edge);
+            edgeObj.number = this.edgeTable.size();
+            edgeObj.source = source.number;
+            edgeObj.target = target.number;
+            // During bulk load, similar edges are dropped and adjacency is built in endBulk(),
+            // so the id returned is provisional
+            if (!this.bulkLoad && !linkEdge(edgeObj)) {
                 return null;
             }
+            this.edgeTable.add(edgeObj);
+            this.edges.put(edge.getString(F_ID), edgeObj);
+            this.topology = null;
+
+            // Return generated (or provided) edgeId
+            return edgeId;
+        } finally {
+            this.writeLock.unlock();
         }
+    }
 
-        String edgeId = edge.getString(F_ID);
-        if (edgeId == null) {
-            edgeId = generateEdgeId();
-            edge.put(F_ID, edgeId);
+    /* Add the edge to adjacency of its ends, unless a similar edge already exists between them */
+    private boolean linkEdge(EdgeImpl edgeObj) {
+        int fingerprint = fingerprint(edgeObj.getValue());
+        Long contentKey = contentKey(edgeObj.source, edgeObj.target, fingerprint);
+        List<EdgeImpl> sameKey = this.edgesByContent.get(contentKey);
+        if (sameKey != null) {
+            for (EdgeImpl existingEdge : sameKey) {
+                if (existingEdge.source == edgeObj.source && existingEdge.target == edgeObj.target
+                    && existingEdge.fingerprint == fingerprint
+                    && sameContent(edgeObj.getValue(), existingEdge.getValue()))
+                {
+                    return false;
+                }
+            }
         }
+        edgeObj.fingerprint = fingerprint;
+        this.edgesByContent.computeIfAbsent(contentKey, k -> new ArrayList<>(1)).add(edgeObj);
+        this.edgesByEnds.computeIfAbsent(endsKey(edgeObj.source, edgeObj.target), k -> new ArrayList<>(1)).add(edgeObj);
+        this.vertexTable.get(edgeObj.source).edgesOut.add(edgeObj.number);
+        this.vertexTable.get(edgeObj.target).edgesIn.add(edgeObj.number);
+        return true;
+    }
+
+    private void removeEdgeFromTables(EdgeImpl edgeObj) {
+        this.edges.remove(edgeObj.getId());
+        this.edgeTable.set(edgeObj.number, null);
+        removeFromList(this.edgesByEnds, endsKey(edgeObj.source, edgeObj.target), edgeObj);
+        removeFromList(this.edgesByContent, contentKey(edgeObj.source, edgeObj.target, edgeObj.fingerprint), edgeObj);
+    }
 
-        // Add vertex if not exist
-        if (!this.vertices.containsKey(sourceVertex.getString(F_ID))) {
-            addVertex(sourceVertex);
+    private static void removeFromList(Map<Long, List<EdgeImpl>> map, Long key, EdgeImpl edgeObj) {
+        List<EdgeImpl> sameKey = map.get(key);
+        sameKey.remove(edgeObj);
+        if (sameKey.isEmpty()) {
+            map.remove(key);
         }
+    }
 
-        if (!this.vertices.containsKey(destinationVertex.getString(F_ID))) {
-            addVertex(destinationVertex);
+    @Override
+    public boolean reindexEdge(JsonObject edge) {
+        this.writeLock.lock();
+        try {
+            EdgeImpl edgeObj = this.edges.get(edge.getString(F_ID));
+            if (edgeObj == null || edgeObj.getValue() != edge) {
+                return false;
+            }
+            if (this.bulkLoad && edgeObj.number >= this.bulkFirstEdge) {
+                // Not linked yet, endBulk() will fingerprint its current content
+                return true;
+            }
+            removeFromList(this.edgesByContent, contentKey(edgeObj.source, edgeObj.target, edgeObj.fingerprint), edgeObj);
+            edgeObj.fingerprint = fingerprint(edge);
+            this.edgesByContent.computeIfAbsent(contentKey(edgeObj.source, edgeObj.target, edgeObj.fingerprint),
+                k -> new ArrayList<>(1)).add(edgeObj);
+            return true;
+        } finally {
+            this.writeLock.unlock();
         }
+    }
 
-        Vertex source = this.vertices.get(sourceVertex.getString(F_ID));
-        Vertex target = this.vertices.get(destinationVertex.getString(F_ID));
-        Set<String> allEdges = getEdgeIdsBetween(source, target);
+    private static long endsKey(int source, int target) {
+        return ((long) source << 32) | (target & 0xFFFFFFFFL);
+    }
 
-        // return false if edgeValue matches with existingEdge
-        if (!allEdges.isEmpty()) {
-            Map<String, Object> edgeMapWithoutID = asMapWithoutID(edge);
-            for (String id : allEdges) {
-                JsonObject existingEdge = getEdge(id);
-                if (edgeMapWithoutID.equals(asMapWithoutID(existingEdge))) {
-                    return null;
-                }
+    /* Hash of edge ends and content. Different edges may collide, so a match must be checked */
+    private static long contentKey(int source, int target, int fingerprint) {
+        return endsKey(source, target) * 31 + fingerprint;
+    }
+
+    /* Hash of edge content except its id, consistent with sameContent(). Numbers are hashed by value,
+     * since nested JsonObjects and JsonArrays consider e.g. 1 and 1L equal. Cached in the edge,
+     * reindexEdge() recomputes it after the edge was modified in place */
+    private static int fingerprint(JsonObject edge) {
+        int hash = 0;
+        for (Map.Entry<String, Object> entry : edge.getMap().entrySet()) {
+            if (!F_ID.equals(entry.getKey())) {
+                hash += entry.getKey().hashCode() ^ valueHash(entry.getValue());
             }
         }
+        return hash;
+    }
 
-        EdgeImpl edgeObj = new EdgeImpl(edge.getString(F_ID), sourceVertex.getString(F_ID),
-            destinationVertex.getString(F_ID), edge);
-        this.edges.put(edge.getString(F_ID), edgeObj);
-        source.getEdgesOut().add(edgeObj.getId());
-        target.getEdgesIn().add(edgeObj.getId());
+    private static int valueHash(Object value) {
+        if (value instanceof JsonObject) {
+            value = ((JsonObject) value).getMap();
+        } else if (value instanceof JsonArray) {
+            value = ((JsonArray) value).getList();
+        }
+        if (value instanceof Number) {
+            return Double.hashCode(((Number) value).doubleValue());
+        } else if (value instanceof Map) {
+            int hash = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                hash += Objects.hashCode(entry.getKey()) ^ valueHash(entry.getValue());
+            }
+            return hash;
+        } else if (value instanceof List) {
+            int hash = 1;
+            for (Object element : (List<?>) value) {
+                hash = 31 * hash + valueHash(element);
+            }
+            return hash;
+        }
+        return Objects.hashCode(value);
+    }
 
-        // Return generated (or provided) edgeId
-        return edgeId;
+    // Same as comparing maps without the id field, but without copying them
+    private static boolean sameContent(JsonObject edge, JsonObject other) {
+        Map<String, Object> map = edge.getMap();
+        Map<String, Object> otherMap = other.getMap();
+        int size = map.size() - (map.containsKey(F_ID) ? 1 : 0);
+        int otherSize = otherMap.size() - (otherMap.containsKey(F_ID) ? 1 : 0);
+        if (size != otherSize) {
+            return false;
+        }
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            String key = entry.getKey();
+            if (F_ID.equals(key)) {
+                continue;
+            }
+            Object value = entry.getValue();
+            if (value == null ? otherMap.get(key) != null || !otherMap.containsKey(key)
+                    : !value.equals(otherMap.get(key))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private String generateEdgeId() {
@@ -263,169 +580,422 @@ public class GraphImpl implements Graph {
     }
 
     @Override
-    public synchronized int removeAllEdges(JsonObject sourceVertex, JsonObject destinationVertex) {
-        String srcVertexId = sourceVertex.getString(F_ID);
-        String destVertexId = destinationVertex.getString(F_ID);
+    public int removeAllEdges(JsonObject sourceVertex, JsonObject destinationVertex) {
+        this.writeLock.lock();
+        try {
+            String srcVertexId = sourceVertex.getString(F_ID);
+            String destVertexId = destinationVertex.getString(F_ID);
+
+            if (srcVertexId == null || destVertexId == null
+                || !this.vertices.containsKey(srcVertexId)
+                || !this.vertices.containsKey(destVertexId)) {
+                return 0;
+            }
+            checkNotBulk();
+            this.topology = null;
+
+            VertexImpl edgeSource = this.vertices.get(sourceVertex.getString(F_ID));
+            VertexImpl edgeTarget = this.vertices.get(destinationVertex.getString(F_ID));
+
+            List<EdgeImpl> allEdges = getEdgesBetween(edgeSource, edgeTarget);
+            for (EdgeImpl edgeObj : allEdges) {
+                edgeSource.edgesOut.removeValue(edgeObj.number);
+                edgeTarget.edgesIn.removeValue(edgeObj.number);
+                removeEdgeFromTables(edgeObj);
+            }
 
-        if (srcVertexId == null || destVertexId == null
-            || !this.vertices.containsKey(srcVertexId)
-            || !this.vertices.containsKey(destVertexId)) {
-            return 0;
+            return allEdges.size();
+        } finally {
+            this.writeLock.unlock();
         }
+    }
 
-        Vertex edgeSource = this.vertices.get(sourceVertex.getString(F_ID));
-        Vertex edgeTarget = this.vertices.get(destinationVertex.getString(F_ID));
+    @Override
+    public List<JsonObject> vertexList() {
+        this.readLock.lock();
+        try {
+            return this.vertices.values().stream().map(Vertex::getValue).collect(Collectors.toList());
+        } finally {
+            this.readLock.unlock();
+        }
+    }
 
-        Set<String> allEdges = getEdgeIdsBetween(edgeSource, edgeTarget);
-        this.edges.keySet().removeAll(allEdges);
-        edgeSource.getEdgesOut().removeAll(allEdges);
-        edgeTarget.getEdgesIn().removeAll(allEdges);
+    @Override
+    public List<JsonObject> getVerticesByType(Collection<String> types) {
+        this.readLock.lock();
+        try {
+            return this.typeIndex.find(types).stream().map(VertexImpl::getValue).collect(Collectors.toList());
+        } finally {
+            this.readLock.unlock();
+        }
+    }
 
-        return allEdges.size();
+    @Override
+    public List<JsonObject> edgeList() {
+        this.readLock.lock();
+        try {
+            return this.edges.values().stream().map(Edge::getValue).collect(Collectors.toList());
+        } finally {
+            this.readLock.unlock();
+        }
     }
 
     @Override
-    public synchronized List<JsonObject> vertexList() {
-        return this.vertices.values().stream().map(Vertex::getValue).collect(Collectors.toList());
+    public List<JsonObject> getRootSuccessors() {
+        this.readLock.lock();
+        try {
+            return getSuccessors(V_ROOT, true);
+        } finally {
+            this.readLock.unlock();
+        }
     }
 
     @Override
-    public synchronized List<JsonObject> edgeList() {
-        return this.edges.values().stream().map(Edge::getValue).collect(Collectors.toList());
+    public List<JsonObject> getSuccessors(String vertexId, boolean distinct) {
+        this.readLock.lock();
+        try {
+            IntList edgesOut = this.vertices.get(vertexId).edgesOut;
+            List<JsonObject> successors = new ArrayList<>(edgesOut.size());
+            BitSet unique = distinct ? new BitSet() : null;
+            for (int i = 0; i < edgesOut.size(); i++) {
+                int target = this.edgeTable.get(edgesOut.get(i)).target;
+                if (unique == null || ! unique.get(target)) {
+                    successors.add(this.vertexTable.get(target).getValue());
+                    if (unique != null) {
+                        unique.set(target);
+                    }
+                }
+            }
+            return successors;
+        } finally {
+            this.readLock.unlock();
+        }
     }
 
     @Override
-    public synchronized List<JsonObject> getRootSuccessors() {
-        return getSuccessors(V_ROOT, true);
+    public List<JsonObject> getPredecessors(String vertexId, boolean distinct) {
+        this.readLock.lock();
+        try {
+            IntList edgesIn = this.vertices.get(vertexId).edgesIn;
+            List<JsonObject> predecessors = new ArrayList<>(edgesIn.size());
+            BitSet unique = distinct ? new BitSet() : null;
+            for (int i = 0; i < edgesIn.size(); i++) {
+                int source = this.edgeTable.get(edgesIn.get(i)).source;
+                if (unique == null || ! unique.get(source)) {
+                    predecessors.add(this.vertexTable.get(source).getValue());
+                    if (unique != null) {
+                        unique.set(source);
+                    }
+                }
+            }
+            return predecessors;
+        } finally {
+            this.readLock.unlock();
+        }
     }
 
     @Override
-    public synchronized List<JsonObject> getSuccessors(String vertexId, boolean distinct) {
-        Vertex vertex = this.vertices.get(vertexId);
-        List<JsonObject> successors = vertex.getEdgesOut()
-            .stream()
-            .map(edgeId -> this.vertices.get(this.edges.get(edgeId).getDestinationVertexId()))
-            .map(Vertex::getValue)
-            .collect(Collectors.toList());
-        if (distinct) {
-            Set<JsonObject> unique = Collections.newSetFromMap(new IdentityHashMap<>());
-            successors.removeIf(v -> ! unique.add(v));
+    public List<JsonObject> getSuccessorEdges(String vertexId) {
+        this.readLock.lock();
+        try {
+            return getEdgeValues(this.vertices.get(vertexId).edgesOut);
+        } finally {
+            this.readLock.unlock();
         }
-        return successors;
     }
 
     @Override
-    public synchronized List<JsonObject> getPredecessors(String vertexId, boolean distinct) {
-        Vertex vertex = this.vertices.get(vertexId);
-        List<JsonObject> predecessors = vertex.getEdgesIn()
-            .stream()
-            .map(edgeId -> this.vertices.get(this.edges.get(edgeId).getSourceVertexId()))
-            .map(Vertex::getValue)
-            .collect(Collectors.toList());
-        if (distinct) {
-            Set<JsonObject> unique = Collections.newSetFromMap(new IdentityHashMap<>());
-            predecessors.removeIf(v -> ! unique.add(v));
+    public List<JsonObject> getPredecessorEdges(String vertexId) {
+        this.readLock.lock();
+        try {
+            return getEdgeValues(this.vertices.get(vertexId).edgesIn);
+        } finally {
+            this.readLock.unlock();
         }
-        return predecessors;
     }
 
     @Override
-    public synchronized List<JsonObject> getSuccessorEdges(String vertexId) {
-        Vertex vertex = this.vertices.get(vertexId);
-        return vertex.getEdgesOut()
-            .stream()
-            .map(edgeId -> this.edges.get(edgeId))
-            .map(Edge::getValue)
-            .collect(Collectors.toList());
+    public void forEachVertex(Consumer<JsonObject> action) {
+        this.readLock.lock();
+        try {
+            for (VertexImpl vertexObj : this.vertices.values()) {
+                action.accept(vertexObj.getValue());
+            }
+        } finally {
+            this.readLock.unlock();
+        }
+    }
+
+    @Override
+    public Spliterator<JsonObject> vertexSpliterator() {
+        this.readLock.lock();
+        try {
+            JsonObject[] snapshot = new JsonObject[this.vertices.size()];
+            int i = 0;
+            for (VertexImpl vertexObj : this.vertices.values()) {
+                snapshot[i++] = vertexObj.getValue();
+            }
+            return Spliterators.spliterator(snapshot, Spliterator.ORDERED | Spliterator.NONNULL);
+        } finally {
+            this.readLock.unlock();
+        }
     }
 
     @Override
-    public synchronized List<JsonObject> getPredecessorEdges(String vertexId) {
-        Vertex vertex = this.vertices.get(vertexId);
-        return vertex.getEdgesIn()
-            .stream()
-            .map(edgeId -> this.edges.get(edgeId))
-            .map(Edge::getValue)
-            .collect(Collectors.toList());
+    public void forEachSuccessor(String vertexId, BiConsumer<JsonObject, JsonObject> action) {
+        this.readLock.lock();
+        try {
+            VertexImpl vertexObj = this.vertices.get(vertexId);
+            if (vertexObj == null) {
+                return;
+            }
+            for (int i = 0; i < vertexObj.edgesOut.size(); i++) {
+                EdgeImpl edgeObj = this.edgeTable.get(vertexObj.edgesOut.get(i));
+                action.accept(edgeObj.getValue(), this.vertexTable.get(edgeObj.target).getValue());
+            }
+        } finally {
+            this.readLock.unlock();
+        }
     }
 
     @Override
-    public synchronized List<JsonObject> getEdgesBetween(String vertexFromId, String vertexToId) {
-        Vertex vertexFrom = this.vertices.get(vertexFromId);
-        return vertexFrom.getEdgesOut()
-            .stream()
-            .map(edgeId -> this.edges.get(edgeId))
-            .filter(edge -> edge.getDestinationVertexId().equals(vertexToId))
-            .map(Edge::getValue)
-            .collect(Collectors.toList());
+    public void forEachPredecessor(String vertexId, BiConsumer<JsonObject, JsonObject> action) {
+        this.readLock.lock();
+        try {
+            VertexImpl vertexObj = this.vertices.get(vertexId);
+            if (vertexObj == null) {
+                return;
+            }
+            for (int i = 0; i < vertexObj.edgesIn.size(); i++) {
+                EdgeImpl edgeObj = this.edgeTable.get(vertexObj.edgesIn.get(i));
+                action.accept(edgeObj.getValue(), this.vertexTable.get(edgeObj.source).getValue());
+            }
+        } finally {
+            this.readLock.unlock();
+        }
     }
 
     @Override
-    public synchronized List<JsonObject> getEdgesBetween(JsonObject vertexFrom, JsonObject vertexTo) {
-        return getEdgesBetween(vertexFrom.getString(F_ID), vertexTo.getString(F_ID));
+    public Iterator<JsonObject> successorIterator(String vertexId) {
+        int[] edgeNumbers;
+        this.readLock.lock();
+        try {
+            VertexImpl vertexObj = this.vertices.get(vertexId);
+            if (vertexObj == null) {
+                return Collections.emptyIterator();
+            }
+            edgeNumbers = vertexObj.edgesOut.toArray();
+        } finally {
+            this.readLock.unlock();
+        }
+        return new SuccessorIterator(edgeNumbers, this.edgeTable, this.vertexTable);
     }
 
-    private Set<String> getEdgeIdsBetween(Vertex sourceVertex, Vertex destinationVertex) {
-        return sourceVertex.getEdgesOut().stream()
-            .filter(destinationVertex.getEdgesIn()::contains)
-            .collect(Collectors.toSet());
+    // Resolves edge numbers one by one, skipping edges removed since the iterator was created.
+    // Keeps the tables it started with, since clear() and restoreGraphData() replace them
+    private class SuccessorIterator implements Iterator<JsonObject> {
+        private final int[] edgeNumbers;
+        private final List<EdgeImpl> edgeTable;
+        private final List<VertexImpl> vertexTable;
+        private int position;
+        private JsonObject next;
+
+        SuccessorIterator(int[] edgeNumbers, List<EdgeImpl> edgeTable, List<VertexImpl> vertexTable) {
+            this.edgeNumbers = edgeNumbers;
+            this.edgeTable = edgeTable;
+            this.vertexTable = vertexTable;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            readLock.lock();
+            try {
+                while (next == null && position < edgeNumbers.length) {
+                    EdgeImpl edgeObj = edgeTable.get(edgeNumbers[position++]);
+                    if (edgeObj != null) {
+                        next = vertexTable.get(edgeObj.target).getValue();
+                    }
+                }
+                return next != null;
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        @Override
+        public JsonObject next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            JsonObject result = next;
+            next = null;
+            return result;
+        }
     }
 
     @Override
-    public synchronized JsonObject getEdgeTarget(String edgeId) {
-        Edge edge = this.edges.get(edgeId);
-        return this.vertices.get(edge.getDestinationVertexId()).getValue();
+    public List<JsonObject> getEdgesBetween(String vertexFromId, String vertexToId) {
+        this.readLock.lock();
+        try {
+            VertexImpl vertexFrom = this.vertices.get(vertexFromId);
+            VertexImpl vertexTo = this.vertices.get(vertexToId);
+            if (vertexFrom == null || vertexTo == null) {
+                return new ArrayList<>();
+            }
+            return getEdgesBetween(vertexFrom, vertexTo).stream()
+                .map(EdgeImpl::getValue)
+                .collect(Collectors.toList());
+        } finally {
+            this.readLock.unlock();
+        }
     }
 
     @Override
-    public synchronized JsonObject getEdgeSource(String edgeId) {
-        Edge edge = this.edges.get(edgeId);
-        return this.vertices.get(edge.getSourceVertexId()).getValue();
+    public List<JsonObject> getEdgesBetween(JsonObject vertexFrom, JsonObject vertexTo) {
+        this.readLock.lock();
+        try {
+            return getEdgesBetween(vertexFrom.getString(F_ID), vertexTo.getString(F_ID));
+        } finally {
+            this.readLock.unlock();
+        }
+    }
+
+    private List<EdgeImpl> getEdgesBetween(VertexImpl sourceVertex, VertexImpl destinationVertex) {
+        List<EdgeImpl> sameEnds = this.edgesByEnds.get(endsKey(sourceVertex.number, destinationVertex.number));
+        return sameEnds == null ? new ArrayList<>() : new ArrayList<>(sameEnds);
+    }
+
+    private List<JsonObject> getEdgeValues(IntList edgeNumbers) {
+        List<JsonObject> result = new ArrayList<>(edgeNumbers.size());
+        for (int i = 0; i < edgeNumbers.size(); i++) {
+            result.add(this.edgeTable.get(edgeNumbers.get(i)).getValue());
+        }
+        return result;
+    }
+
+    @Override
+    public JsonObject getEdgeTarget(String edgeId) {
+        this.readLock.lock();
+        try {
+            EdgeImpl edge = this.edges.get(edgeId);
+            return this.vertexTable.get(edge.target).getValue();
+        } finally {
+            this.readLock.unlock();
+        }
+    }
+
+    @Override
+    public JsonObject getEdgeSource(String edgeId) {
+        this.readLock.lock();
+        try {
+            EdgeImpl edge = this.edges.get(edgeId);
+            return this.vertexTable.get(edge.source).getValue();
+        } finally {
+            this.readLock.unlock();
+        }
     }
 
     @Override
     public void clear() {
-        this.vertices = new LinkedHashMap<>();
-        this.edges = new LinkedHashMap<>();
-        JsonObject rootVertex = new JsonObject()
-            .put(F_ID, V_ROOT)
-            .put(F_TYPE, V_ROOT)
-            .put(F_NAME, V_ROOT);
-        addVertex(rootVertex);
-        this.edgeGeneratorCounter = 0;
-    }
-
-    @Override
-    public synchronized JsonObject dumpGraphData(boolean deepCopy) {
-        JsonObject result = new JsonObject();
-        JsonObject sourceRoot = getVertex(V_ROOT);
-        result.put("modelVersion", graphVersion);
-        result.put("root", deepCopy ? sourceRoot.copy() : sourceRoot);
-        result.put("edgeGeneratorCounter", edgeGeneratorCounter);
-        JsonArray vertexArray = new JsonArray();
-        result.put("vertexList", vertexArray);
-
-        for (Vertex vertex : this.vertices.values()) {
-            JsonObject value = vertex.getValue();
-            if (V_ROOT.equals(value.getString(F_TYPE))) {
-                continue;
-            }
-            vertexArray.add(deepCopy ? value.copy() : value);
+        this.writeLock.lock();
+        try {
+            checkNotBulk();
+            this.vertices = new LinkedHashMap<>();
+            this.edges = new LinkedHashMap<>();
+            this.vertexTable = new ArrayList<>();
+            this.edgeTable = new ArrayList<>();
+            this.edgesByEnds = new HashMap<>();
+            this.edgesByContent = new HashMap<>();
+            resetIndexes();
+            JsonObject rootVertex = new JsonObject()
+                .put(F_ID, V_ROOT)
+                .put(F_TYPE, V_ROOT)
+                .put(F_NAME, V_ROOT);
+            addVertex(rootVertex);
+            this.edgeGeneratorCounter = 0;
+        } finally {
+            this.writeLock.unlock();
         }
+    }
+
+    @Override
+    public JsonObject dumpGraphData(boolean deepCopy) {
+        this.readLock.lock();
+        try {
+            JsonObject result = new JsonObject();
+            JsonObject sourceRoot = getVertex(V_ROOT);
+            result.put("modelVersion", graphVersion);
+            result.put("root", deepCopy ? sourceRoot.copy() : sourceRoot);
+            result.put("edgeGeneratorCounter", edgeGeneratorCounter);
+            JsonArray vertexArray = new JsonArray();
+            result.put("vertexList", vertexArray);
+
+            for (Vertex vertex : this.vertices.values()) {
+                JsonObject value = vertex.getValue();
+                if (V_ROOT.equals(value.getString(F_TYPE))) {
+                    continue;
+                }
+                vertexArray.add(deepCopy ? value.copy() : value);
+            }
+
+            JsonArray edgeArray = new JsonArray();
+            result.put("edgeList", edgeArray);
 
-        JsonArray edgeArray = new JsonArray();
-        result.put("edgeList", edgeArray);
+            for (Edge edge : this.edges.values()) {
+                JsonObject edgeResult = new JsonObject();
+                edgeArray.add(edgeResult);
 
-        for (Edge edge : this.edges.values()) {
-            JsonObject edgeResult = new JsonObject();
-            edgeArray.add(edgeResult);
+                edgeResult.put("source", edge.getSourceVertexId());
+                edgeResult.put("target", edge.getDestinationVertexId());
+                edgeResult.put("edge", deepCopy ? edge.getValue().copy() : edge.getValue());
+            }
 
-            edgeResult.put("source", edge.getSourceVertexId());
-            edgeResult.put("target", edge.getDestinationVertexId());
-            edgeResult.put("edge", deepCopy ? edge.getValue().copy() : edge.getValue());
+            return result;
+        } finally {
+            this.readLock.unlock();
         }
+    }
 
-        return result;
+    /** {@inheritDoc}
+     * Readers wait until the whole graph is written, so it should be quick to consume.
+     */
+    @Override
+    public void writeGraphData(JsonGenerator generator) throws IOException {
+        this.readLock.lock();
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("modelVersion", graphVersion);
+            generator.writeFieldName("root");
+            generator.writeObject(getVertex(V_ROOT));
+            generator.writeNumberField("edgeGeneratorCounter", edgeGeneratorCounter);
+
+            generator.writeArrayFieldStart("vertexList");
+            for (Vertex vertex : this.vertices.values()) {
+                JsonObject value = vertex.getValue();
+                if (V_ROOT.equals(value.getString(F_TYPE))) {
+                    continue;
+                }
+                generator.writeObject(value);
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("edgeList");
+            for (Edge edge : this.edges.values()) {
+                generator.writeStartObject();
+                generator.writeStringField("source", edge.getSourceVertexId());
+                generator.writeStringField("target", edge.getDestinationVertexId());
+                generator.writeFieldName("edge");
+                generator.writeObject(edge.getValue());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } finally {
+            this.readLock.unlock();
+        }
     }
 
     /**
@@ -434,123 +1004,319 @@ public class GraphImpl implements Graph {
      */
     @Override
     public void restoreGraphData(JsonObject dump) {
-        int modelVersion = dump.getInteger("modelVersion", FIRST_VERSIONED_GRAPH_MODEL_VERSION);
+        this.writeLock.lock();
+        try {
+            checkNotBulk();
+            int modelVersion = dump.getInteger("modelVersion", FIRST_VERSIONED_GRAPH_MODEL_VERSION);
+            checkGraphModelVersion(modelVersion);
+
+            JsonObject rootObj = dump.getJsonObject("root");
+            JsonArray vertexList = dump.getJsonArray("vertexList");
+            JsonArray edgeList = dump.getJsonArray("edgeList");
+
+            int duplicateEdges;
+            beginRestore(vertexList == null ? 0 : vertexList.size() + 1, edgeList == null ? 0 : edgeList.size());
+            try {
+                setGraphVersion(modelVersion);
+                this.edgeGeneratorCounter = dump.getInteger("edgeGeneratorCounter", 0);
+                if (rootObj == null) {
+                    throw new InvalidGraphException(this, "Missing root");
+                }
+                if (vertexList == null) {
+                    throw new InvalidGraphException(this, "Missing vertexList");
+                }
+                if (edgeList == null) {
+                    throw new InvalidGraphException(this, "Missing edgeList");
+                }
+
+                restoreVertex(rootObj);
+                for (Object obj : vertexList) {
+                    restoreVertex((JsonObject) obj);
+                }
+                for (Object obj : edgeList) {
+                    restoreEdge((JsonObject) obj);
+                }
+            } finally {
+                duplicateEdges = endBulk();
+            }
+            checkNoDuplicateEdges(duplicateEdges);
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    //------------------------------------------------------
+    // Restoring piece by piece, used by GraphDumpSupport when reading a dump as a stream
+
+    /* Drop all the contents and start bulk load. Finish with endBulk() and checkNoDuplicateEdges() */
+    void beginRestore(int expectedVertices, int expectedEdges) {
+        this.writeLock.lock();
+        try {
+            checkNotBulk();
+            setGraphVersion(FIRST_VERSIONED_GRAPH_MODEL_VERSION);
+            this.vertices = new LinkedHashMap<>();
+            this.edges = new LinkedHashMap<>();
+            this.vertexTable = new ArrayList<>();
+            this.edgeTable = new ArrayList<>();
+            this.edgesByEnds = new HashMap<>();
+            this.edgesByContent = new HashMap<>();
+            resetIndexes();
+            this.edgeGeneratorCounter = 0;
+            beginBulk(expectedVertices, expectedEdges);
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    void checkGraphModelVersion(int modelVersion) {
         if (modelVersion > CURRENT_GRAPH_MODEL_VERSION) {
             throw new IllegalArgumentException("Graph model version " + modelVersion + " not supported");
         }
+    }
 
-        setGraphVersion(modelVersion);
-        this.vertices = new LinkedHashMap<>();
-        this.edges = new LinkedHashMap<>();
-        this.edgeGeneratorCounter = dump.getInteger("edgeGeneratorCounter", 0);
+    void setEdgeGeneratorCounter(int edgeGeneratorCounter) {
+        this.edgeGeneratorCounter = edgeGeneratorCounter;
+    }
 
-        JsonObject rootObj = dump.getJsonObject("root");
-        if (rootObj == null) {
-            throw new InvalidGraphException(this, "Missing root");
+    void restoreVertex(JsonObject vertexJson) {
+        if (addVertex(vertexJson) == false) {
+            throw new InvalidGraphException(this, "Invalid or duplicate vertex: " + vertexJson.getString(F_ID));
         }
-        addVertex(rootObj);
+    }
 
-        JsonArray vertexList = dump.getJsonArray("vertexList");
-        if (vertexList == null) {
-            throw new InvalidGraphException(this, "Missing vertexList");
+    void restoreEdge(JsonObject edgeJson) {
+        String sourceId = edgeJson.getString("source");
+        String targetId = edgeJson.getString("target");
+        JsonObject edge = edgeJson.getJsonObject("edge");
+        if (edge == null) {
+            throw new InvalidGraphException(this, "No edge object found");
         }
-        for (Object obj : vertexList) {
-            JsonObject vertexJson = (JsonObject) obj;
-            if (addVertex(vertexJson) == false) {
-                throw new InvalidGraphException(this, "Invalid or duplicate vertex: " + vertexJson.getString(F_ID));
-            }
+
+        VertexImpl sourceVertex = this.vertices.get(sourceId);
+        if (sourceVertex == null) {
+            throw new InvalidGraphException(this, "Invalid edge from non-existing vertex " + sourceId);
+        }
+        VertexImpl targetVertex = this.vertices.get(targetId);
+        if (targetVertex == null) {
+            throw new InvalidGraphException(this, "Invalid edge to non-existing vertex " + targetId);
         }
 
-        JsonArray edgeList = dump.getJsonArray("edgeList");
-        if (edgeList == null) {
-            throw new InvalidGraphException(this, "Missing edgeList");
+        if (addEdge(sourceVertex.getValue(), targetVertex.getValue(), edge) == null) {
+            throw new InvalidGraphException(this, "Invalid or duplicate edge: " + edge.getString(F_ID));
         }
-        for (Object obj : edgeList) {
-            JsonObject edgeJson = (JsonObject) obj;
-            String sourceId = edgeJson.getString("source");
-            String targetId = edgeJson.getString("target");
-            JsonObject edge = edgeJson.getJsonObject("edge");
-            if (edge == null) {
-                throw new InvalidGraphException(this, "No edge object found");
+    }
+
+    void checkNoDuplicateEdges(int duplicateEdges) {
+        if (duplicateEdges != 0) {
+            throw new InvalidGraphException(this, "Duplicate edges found: " + duplicateEdges);
+        }
+    }
+
+    @Override
+    public void beginBulk(int expectedVertices, int expectedEdges) {
+        this.writeLock.lock();
+        if (this.bulkLoad) {
+            this.writeLock.unlock();
+            throw new IllegalStateException("Bulk load already in progress");
+        }
+        // The write lock stays held until endBulk()
+        this.bulkLoad = true;
+        this.bulkFirstVertex = this.vertexTable.size();
+        this.bulkFirstEdge = this.edgeTable.size();
+        this.bulkStartNanos = System.nanoTime();
+
+        this.vertexTable.ensureCapacity(this.vertexTable.size() + expectedVertices);
+        this.edgeTable.ensureCapacity(this.edgeTable.size() + expectedEdges);
+        // Maps of a graph containing nothing but root are cheap to re-create with the proper capacity
+        if (this.vertices.size() <= 1 && this.edges.isEmpty() && expectedVertices + expectedEdges > 0) {
+            Map<String, VertexImpl> presized = new LinkedHashMap<>(mapCapacity(this.vertices.size() + expectedVertices));
+            presized.putAll(this.vertices);
+            this.vertices = presized;
+            this.edges = new LinkedHashMap<>(mapCapacity(expectedEdges));
+            this.edgesByEnds = new HashMap<>(mapCapacity(expectedEdges));
+            this.edgesByContent = new HashMap<>(mapCapacity(expectedEdges));
+        }
+    }
+
+    @Override
+    public int endBulk() {
+        if (!this.writeLock.isHeldByCurrentThread() || !this.bulkLoad) {
+            throw new IllegalStateException("Bulk load was not started by current thread");
+        }
+        try {
+            // Single pass over new edges: drop similar ones, build adjacency and the index by edge ends
+            int duplicateEdges = 0;
+            for (int n = this.bulkFirstEdge; n < this.edgeTable.size(); n++) {
+                EdgeImpl edgeObj = this.edgeTable.get(n);
+                if (!linkEdge(edgeObj)) {
+                    this.topology = null;
+                    this.edges.remove(edgeObj.getId());
+                    this.edgeTable.set(n, null);
+                    duplicateEdges++;
+                }
+            }
+            // Vertices cannot be removed during bulk load, so there are no holes
+            for (int n = this.bulkFirstVertex; n < this.vertexTable.size(); n++) {
+                indexVertex(this.vertexTable.get(n));
             }
 
-            Vertex sourceVertex = this.vertices.get(sourceId);
-            if (sourceVertex == null) {
-                throw new InvalidGraphException(this, "Invalid edge from non-existing vertex " + sourceId);
+            long elapsedNanos = Math.max(System.nanoTime() - this.bulkStartNanos, 1);
+            int vertexCount = this.vertexTable.size() - this.bulkFirstVertex;
+            int edgeCount = this.edgeTable.size() - this.bulkFirstEdge - duplicateEdges;
+            LOG.debug("Bulk load of {} vertices and {} edges took {} ms, {} vertices/sec",
+                vertexCount, edgeCount, elapsedNanos / 1_000_000, vertexCount * 1_000_000_000L / elapsedNanos);
+            return duplicateEdges;
+        } finally {
+            this.bulkLoad = false;
+            this.writeLock.unlock();
+        }
+    }
+
+    private void checkNotBulk() {
+        if (this.bulkLoad) {
+            throw new IllegalStateException("Not supported during bulk load");
+        }
+    }
+
+    private static int mapCapacity(int size) {
+        return size * 4 / 3 + 1;
+    }
+
+    @Override
+    public Graph freeze() {
+        this.readLock.lock();
+        try {
+            JsonObject[] vertexValues = new JsonObject[this.vertices.size()];
+            int v = 0;
+            for (VertexImpl vertexObj : this.vertices.values()) {
+                vertexValues[v++] = vertexObj.getValue();
             }
-            Vertex targetVertex = this.vertices.get(targetId);
-            if (targetVertex == null) {
-                throw new InvalidGraphException(this, "Invalid edge to non-existing vertex " + targetId);
+            JsonObject[] edgeValues = new JsonObject[this.edges.size()];
+            int e = 0;
+            for (EdgeImpl edgeObj : this.edges.values()) {
+                edgeValues[e++] = edgeObj.getValue();
             }
+            return new FrozenGraph(getTopology(), vertexValues, edgeValues, this.indexes.keySet(),
+                this.graphVersion, this.edgeGeneratorCounter, this.report);
+        } finally {
+            this.readLock.unlock();
+        }
+    }
 
-            if (addEdge(sourceVertex.getValue(), targetVertex.getValue(), edge) == null) {
-                throw new InvalidGraphException(this, "Invalid or duplicate edge: " + edge.getString(F_ID));
+    /** {@inheritDoc}
+     *
+     * <p>Numbering and adjacency are shared with previous snapshots and frozen copies as long as
+     * no vertices or edges are added, removed or relocated. Values equal to the ones copied for the previous
+     * snapshot are shared with it too, so this graph keeps the values of its last snapshot.
+     * Values must not be modified in place by other threads while the snapshot is being taken.
+     */
+    @Override
+    public Graph snapshot() {
+        this.readLock.lock();
+        try {
+            JsonObject[] vertexValues = new JsonObject[this.vertices.size()];
+            int v = 0;
+            for (VertexImpl vertexObj : this.vertices.values()) {
+                vertexValues[v++] = vertexObj.frozenCopy = unchangedCopy(vertexObj.frozenCopy, vertexObj.getValue());
+            }
+            JsonObject[] edgeValues = new JsonObject[this.edges.size()];
+            int e = 0;
+            for (EdgeImpl edgeObj : this.edges.values()) {
+                edgeValues[e++] = edgeObj.frozenCopy = unchangedCopy(edgeObj.frozenCopy, edgeObj.getValue());
             }
+            return new FrozenGraph(getTopology(), vertexValues, edgeValues, this.indexes.keySet(),
+                this.graphVersion, this.edgeGeneratorCounter, FrozenGraph.copyOf(this.report));
+        } finally {
+            this.readLock.unlock();
         }
     }
 
+    /* Previous copy of the value if it is still equal to the value, a new copy otherwise */
+    private static JsonObject unchangedCopy(JsonObject previousCopy, JsonObject value) {
+        return (previousCopy != null && previousCopy.equals(value)) ? previousCopy : value.copy();
+    }
+
+    // Called under the read lock. Concurrent readers may build equal topologies, either one is cached
+    private FrozenGraph.Topology getTopology() {
+        FrozenGraph.Topology result = this.topology;
+        if (result == null) {
+            result = new FrozenGraph.Topology(this.vertices.values(), this.edges.values());
+            this.topology = result;
+        }
+        return result;
+    }
+
     @Override
-    public synchronized int getVertexCount() {
-        return this.vertices.size();
+    public int getVertexCount() {
+        this.readLock.lock();
+        try {
+            return this.vertices.size();
+        } finally {
+            this.readLock.unlock();
+        }
     }
 
     @Override
-    public synchronized int getEdgeCount() {
-        return this.edges.size();
+    public int getEdgeCount() {
+        this.readLock.lock();
+        try {
+            return this.edges.size();
+        } finally {
+            this.readLock.unlock();
+        }
     }
 
     @Override
-    public synchronized void printGraph() {
-        walkAndPrint(new HashSet<>(), this.vertices.get(V_ROOT), 0);
+    public void printGraph() {
+        this.readLock.lock();
+        try {
+            walkAndPrint(new HashSet<>(), this.vertices.get(V_ROOT), 0);
+        } finally {
+            this.readLock.unlock();
+        }
     }
 
-    private void walkAndPrint(Set<Vertex> stack, Vertex vertexObj, int level) {
+    private void walkAndPrint(Set<VertexImpl> stack, VertexImpl vertexObj, int level) {
         stack.add(vertexObj);
         System.out.println("(" + level + ") " + vertexObj.getValue());
-        Set<JsonObject> outgoingEdges = vertexObj.getEdgesOut()
-            .stream()
-            .map(edgeId -> this.edges.get(edgeId).getValue())
-            .collect(Collectors.toSet());
         int childLevel = level + 1;
-        for (JsonObject edge : outgoingEdges) {
+        for (int edgeNumber : vertexObj.edgesOut.toArray()) {
+            EdgeImpl edge = this.edgeTable.get(edgeNumber);
+            VertexImpl target = this.vertexTable.get(edge.target);
             System.out.println(
                 "\t".repeat(level + 1) +
-                    "--> " + this.getEdgeTarget(edge.getString(F_ID)).getString("id")
-                    + " // " + edge);
-            if (stack.contains(this.vertices.get(this.getEdgeTarget(edge.getString(F_ID)).getString(F_ID)))) {
+                    "--> " + target.getId()
+                    + " // " + edge.getValue());
+            if (stack.contains(target)) {
                 System.out.println("\t".repeat(level + 1) + "^^^ circular reference");
                 continue;
             }
-            walkAndPrint(stack, this.vertices.get(this.getEdgeTarget(edge.getString(F_ID)).getString(F_ID)), childLevel);
+            walkAndPrint(stack, target, childLevel);
         }
         stack.remove(vertexObj);
     }
 
-    private Map<String, Object> asMapWithoutID(JsonObject src) {
-        if (!src.containsKey(F_ID)) {
-            return src.getMap();
-        }
-        Map<String, Object> result = new LinkedHashMap<>(src.getMap());
-        result.remove(F_ID);
-        return result;
-    }
-
     @Override
     public String toString() {
-        StringBuilder buf = new StringBuilder();
-        buf.append("Graph{\n");
-        buf.append("vertexList=[\n");
-        for (String key : this.vertices.keySet()) {
-            Vertex vertex = this.vertices.get(key);
-            buf.append(" ").append(vertex).append("\n");
-        }
-        buf.append("],\nedgeList=[\n");
-        for (String key : this.edges.keySet()) {
-            Edge edge = this.edges.get(key);
-            buf.append(" ").append(edge).append("\n");
-        }
-        buf.append("]}");
-        return buf.toString();
+        this.readLock.lock();
+        try {
+            StringBuilder buf = new StringBuilder();
+            buf.append("Graph{\n");
+            buf.append("vertexList=[\n");
+            for (String key : this.vertices.keySet()) {
+                Vertex vertex = this.vertices.get(key);
+                buf.append(" ").append(vertex).append("\n");
+            }
+            buf.append("],\nedgeList=[\n");
+            for (String key : this.edges.keySet()) {
+                Edge edge = this.edges.get(key);
+                buf.append(" ").append(edge).append("\n");
+            }
+            buf.append("]}");
+            return buf.toString();
+        } finally {
+            this.readLock.unlock();
+        }
     }
 
     public GraphReport getReport() {
@@ -21,6 +21,7 @@ import com.google.common.cache.CacheLoader;
 import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 
+import org.qubership.itool.utils.JsonInterner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -98,16 +99,26 @@ public class GraphServiceImpl implements GraphService {
         this.graphManager.evictCache();
     }
 
+    /* Cached graphs are only queried, so keep them in compact read-only form */
+    protected Graph prepareForCaching(Graph graph) {
+        return graph.freeze();
+    }
+
     // ========================================================================
 
     class GraphCacheLoader extends CacheLoader<GraphClassifier, Graph> {
         @Override
         public Graph load(GraphClassifier key) throws Exception {
+            // Approximate if several graphs are loaded in parallel
+            long savedBefore = JsonInterner.getTotalSavedBytes();
             Graph graph = graphManager.buildGraphByClassifier(key);
             if (graph == null) {
                 throw new ExecutionException("Graph can't be loaded for: " + key, new NullPointerException());
             }
-            return  graph;
+            long savedBytes = JsonInterner.getTotalSavedBytes() - savedBefore;
+            LOG.info("Graph loaded for {}: {} vertices, {} edges, string deduplication saved ~{} KB (estimated)",
+                key, graph.getVertexCount(), graph.getEdgeCount(), savedBytes / 1024);
+            return prepareForCaching(graph);
         }
     }
 
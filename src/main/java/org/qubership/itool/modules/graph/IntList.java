@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.graph;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints keeping insertion order. Used for adjacency of graph vertices,
+ * which is usually short, so removal is a linear scan.
+ */
+final class IntList {
+
+    private static final int[] EMPTY = new int[0];
+
+    private int[] elements = EMPTY;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return elements[index];
+    }
+
+    void add(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(4, size * 2));
+        }
+        elements[size++] = value;
+    }
+
+    /** Remove the first occurrence of the value, keeping the order of the rest.
+     *
+     * @param value Value to remove
+     * @return Whether the value was found
+     */
+    boolean removeValue(int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                System.arraycopy(elements, i + 1, elements, i, size - i - 1);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
@@ -0,0 +1,710 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.graph;
+
+import org.qubership.itool.modules.gremlin2.graph.GraphTraversalSource;
+import org.qubership.itool.utils.FSUtils;
+import org.qubership.itool.utils.JsonUtils;
+
+import io.vertx.core.json.JsonObject;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.qubership.itool.modules.graph.Graph.F_ID;
+import static org.qubership.itool.modules.graph.Graph.F_TYPE;
+
+/**
+ * Read-only graph over a memory-mapped file written by {@link #write(BasicGraph, Path)}.
+ * Opening a file only maps it: numbering, adjacency, ids and types of vertices are read from
+ * the trailing index directly, and a vertex or an edge is parsed when it is accessed for the first time.
+ * So queries touching a few components of a large graph take little time and heap.
+ *
+ * <p>File layout: header ({@link #MAGIC} and format version), JSON text of every vertex and edge,
+ * the index with offsets of these texts, ids, types and adjacency in compressed sparse row arrays,
+ * then the trailer holding the offset of the index. Files must be smaller than 2 GB.
+ *
+ * <p>Values are parsed once and then shared, they must not be modified. Thread-safe.
+ */
+public class MappedGraph implements BasicGraph {
+
+    public static final String EXTENSION = ".mgraph";
+    public static final byte[] MAGIC = { 'I', 'T', 'G', 'M' };
+    public static final int CURRENT_FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = MAGIC.length + 4;
+    private static final int TRAILER_SIZE = 8 + MAGIC.length;
+
+    private final Path path;
+    private final ByteBuffer data;
+    private final int dataLimit;
+    private final int graphVersion;
+    private final int vertexCount;
+    private final int edgeCount;
+
+    private final LongBuffer vertexDataOffsets;
+    private final LongBuffer edgeDataOffsets;
+    private final IntBuffer vertexDataLengths;
+    private final IntBuffer edgeDataLengths;
+    private final IntBuffer vertexIds;
+    private final IntBuffer edgeIds;
+    private final IntBuffer vertexTypes;
+    private final String[] types;
+    private final IntBuffer edgeSources;
+    private final IntBuffer edgeTargets;
+    private final IntBuffer outOffsets;
+    private final IntBuffer outEdges;
+    private final IntBuffer inOffsets;
+    private final IntBuffer inEdges;
+    private final IntBuffer vertexIdOrder;
+    private final IntBuffer edgeIdOrder;
+    private final ByteBuffer pool;
+
+    // Values parsed so far
+    private final Map<Integer, JsonObject> vertexValues = new ConcurrentHashMap<>();
+    private final Map<Integer, JsonObject> edgeValues = new ConcurrentHashMap<>();
+
+    private MappedGraph(Path path, MappedByteBuffer data) throws IOException {
+        this.path = path;
+        this.data = data;
+        int size = data.capacity();
+        if (size < HEADER_SIZE + TRAILER_SIZE || !hasMagic(data, 0) || !hasMagic(data, size - MAGIC.length)) {
+            throw new IOException("Not a mapped graph file: " + path);
+        }
+        int version = data.getInt(MAGIC.length);
+        if (version != CURRENT_FORMAT_VERSION) {
+            throw new IOException("Mapped graph format version " + version + " not supported: " + path);
+        }
+
+        // JSON texts lie between the header and the index, the index between the texts and the trailer
+        long indexOffset = data.getLong(size - TRAILER_SIZE);
+        if (indexOffset < HEADER_SIZE || indexOffset > size - TRAILER_SIZE - 5 * 4) {
+            throw corrupted(path, "index offset " + indexOffset);
+        }
+        this.dataLimit = (int) indexOffset;
+        ByteBuffer index = data.duplicate();
+        index.limit(size - TRAILER_SIZE);
+        index.position(dataLimit);
+        this.graphVersion = index.getInt();
+        this.vertexCount = index.getInt();
+        this.edgeCount = index.getInt();
+        int typeCount = index.getInt();
+        int poolSize = index.getInt();
+        if (vertexCount < 0 || edgeCount < 0 || typeCount < 0 || poolSize < 0) {
+            throw corrupted(path, "negative count");
+        }
+
+        this.vertexDataOffsets = slice(index, vertexCount * 8L).asLongBuffer();
+        this.edgeDataOffsets = slice(index, edgeCount * 8L).asLongBuffer();
+        this.vertexDataLengths = sliceInts(index, vertexCount);
+        this.edgeDataLengths = sliceInts(index, edgeCount);
+        this.vertexIds = sliceInts(index, vertexCount * 2L);
+        this.edgeIds = sliceInts(index, edgeCount * 2L);
+        this.vertexTypes = sliceInts(index, vertexCount);
+        IntBuffer typeRefs = sliceInts(index, typeCount * 2L);
+        this.edgeSources = sliceInts(index, edgeCount);
+        this.edgeTargets = sliceInts(index, edgeCount);
+        this.outOffsets = sliceInts(index, vertexCount + 1L);
+        this.outEdges = sliceInts(index, edgeCount);
+        this.inOffsets = sliceInts(index, vertexCount + 1L);
+        this.inEdges = sliceInts(index, edgeCount);
+        this.vertexIdOrder = sliceInts(index, vertexCount);
+        this.edgeIdOrder = sliceInts(index, edgeCount);
+        this.pool = slice(index, poolSize);
+
+        if (outOffsets.get(0) != 0 || outOffsets.get(vertexCount) != edgeCount
+                || inOffsets.get(0) != 0 || inOffsets.get(vertexCount) != edgeCount) {
+            throw corrupted(path, "adjacency offsets");
+        }
+
+        this.types = new String[typeCount];
+        try {
+            for (int t = 0; t < typeCount; t++) {
+                this.types[t] = poolString(typeRefs, t);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** Map a file written by {@link #write(BasicGraph, Path)}.
+     *
+     * @param path Path to the file
+     * @return The graph
+     * @throws IOException If the file cannot be mapped, or its format is not supported
+     */
+    public static MappedGraph open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Mapped graph file is too large: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            return new MappedGraph(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getGraphVersion() {
+        return graphVersion;
+    }
+
+    /** @return Number of vertices parsed so far */
+    public int getLoadedVertexCount() {
+        return vertexValues.size();
+    }
+
+    /** @return Number of edges parsed so far */
+    public int getLoadedEdgeCount() {
+        return edgeValues.size();
+    }
+
+    //--- Queries
+
+    @Override
+    public GraphTraversalSource traversal() {
+        return new GraphTraversalSource(this);
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /** Get all the vertices. This parses every vertex. */
+    @Override
+    public List<JsonObject> vertexList() {
+        List<JsonObject> result = new ArrayList<>(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            result.add(vertex(v));
+        }
+        return result;
+    }
+
+    /** Get all the edges. This parses every edge. */
+    @Override
+    public List<JsonObject> edgeList() {
+        List<JsonObject> result = new ArrayList<>(edgeCount);
+        for (int e = 0; e < edgeCount; e++) {
+            result.add(edge(e));
+        }
+        return result;
+    }
+
+    /** Get vertices by type. Types are stored in the index, so only matching vertices are parsed. */
+    @Override
+    public List<JsonObject> getVerticesByType(Collection<String> types) {
+        BitSet wanted = new BitSet();
+        for (int t = 0; t < this.types.length; t++) {
+            if (types.contains(this.types[t])) {
+                wanted.set(t);
+            }
+        }
+        List<JsonObject> result = new ArrayList<>();
+        if (wanted.isEmpty()) {
+            return result;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            int t = vertexTypes.get(v);
+            if (t >= 0 && wanted.get(t)) {
+                result.add(vertex(v));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public JsonObject getVertex(String vertexId) {
+        int v = findVertex(vertexId);
+        return (v >= 0) ? vertex(v) : null;
+    }
+
+    @Override
+    public JsonObject getEdge(String edgeId) {
+        int e = findEdge(edgeId);
+        return (e >= 0) ? edge(e) : null;
+    }
+
+    @Override
+    public List<JsonObject> getSuccessors(String vertexId, boolean distinct) {
+        return getAdjacentVertices(vertexId, distinct, outOffsets, outEdges, edgeTargets);
+    }
+
+    @Override
+    public List<JsonObject> getPredecessors(String vertexId, boolean distinct) {
+        return getAdjacentVertices(vertexId, distinct, inOffsets, inEdges, edgeSources);
+    }
+
+    private List<JsonObject> getAdjacentVertices(String vertexId, boolean distinct,
+            IntBuffer offsets, IntBuffer adjacentEdges, IntBuffer edgeEnds)
+    {
+        int v = findVertex(vertexId);
+        if (v < 0) {
+            return new ArrayList<>();
+        }
+        int from = offsets.get(v);
+        int to = offsets.get(v + 1);
+        List<JsonObject> result = new ArrayList<>(to - from);
+        BitSet seen = distinct ? new BitSet() : null;
+        for (int i = from; i < to; i++) {
+            int end = edgeEnds.get(adjacentEdges.get(i));
+            if (seen != null) {
+                if (seen.get(end)) {
+                    continue;
+                }
+                seen.set(end);
+            }
+            result.add(vertex(end));
+        }
+        return result;
+    }
+
+    @Override
+    public List<JsonObject> getSuccessorEdges(String vertexId) {
+        return getAdjacentEdges(vertexId, outOffsets, outEdges);
+    }
+
+    @Override
+    public List<JsonObject> getPredecessorEdges(String vertexId) {
+        return getAdjacentEdges(vertexId, inOffsets, inEdges);
+    }
+
+    private List<JsonObject> getAdjacentEdges(String vertexId, IntBuffer offsets, IntBuffer adjacentEdges) {
+        int v = findVertex(vertexId);
+        if (v < 0) {
+            return new ArrayList<>();
+        }
+        List<JsonObject> result = new ArrayList<>(offsets.get(v + 1) - offsets.get(v));
+        for (int i = offsets.get(v); i < offsets.get(v + 1); i++) {
+            result.add(edge(adjacentEdges.get(i)));
+        }
+        return result;
+    }
+
+    @Override
+    public List<JsonObject> getEdgesBetween(String vertexFromId, String vertexToId) {
+        int from = findVertex(vertexFromId);
+        int to = findVertex(vertexToId);
+        List<JsonObject> result = new ArrayList<>();
+        if (from < 0 || to < 0) {
+            return result;
+        }
+        for (int i = outOffsets.get(from); i < outOffsets.get(from + 1); i++) {
+            int e = outEdges.get(i);
+            if (edgeTargets.get(e) == to) {
+                result.add(edge(e));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<JsonObject> getEdgesBetween(JsonObject vertexFrom, JsonObject vertexTo) {
+        return getEdgesBetween(vertexFrom.getString(F_ID), vertexTo.getString(F_ID));
+    }
+
+    @Override
+    public JsonObject getEdgeTarget(String edgeId) {
+        int e = findEdge(edgeId);
+        return (e >= 0) ? vertex(edgeTargets.get(e)) : null;
+    }
+
+    @Override
+    public JsonObject getEdgeSource(String edgeId) {
+        int e = findEdge(edgeId);
+        return (e >= 0) ? vertex(edgeSources.get(e)) : null;
+    }
+
+    @Override
+    public void forEachVertex(Consumer<JsonObject> action) {
+        for (int v = 0; v < vertexCount; v++) {
+            action.accept(vertex(v));
+        }
+    }
+
+    /** Get vertices lazily: each one is parsed when the spliterator reaches it. */
+    @Override
+    public Spliterator<JsonObject> vertexSpliterator() {
+        return new Spliterators.AbstractSpliterator<>(vertexCount,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE | Spliterator.SIZED) {
+            private int position;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super JsonObject> action) {
+                if (position >= vertexCount) {
+                    return false;
+                }
+                action.accept(vertex(position++));
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public void forEachSuccessor(String vertexId, BiConsumer<JsonObject, JsonObject> action) {
+        forEachAdjacent(vertexId, action, outOffsets, outEdges, edgeTargets);
+    }
+
+    @Override
+    public void forEachPredecessor(String vertexId, BiConsumer<JsonObject, JsonObject> action) {
+        forEachAdjacent(vertexId, action, inOffsets, inEdges, edgeSources);
+    }
+
+    private void forEachAdjacent(String vertexId, BiConsumer<JsonObject, JsonObject> action,
+            IntBuffer offsets, IntBuffer adjacentEdges, IntBuffer edgeEnds)
+    {
+        int v = findVertex(vertexId);
+        if (v < 0) {
+            return;
+        }
+        for (int i = offsets.get(v); i < offsets.get(v + 1); i++) {
+            int e = adjacentEdges.get(i);
+            action.accept(edge(e), vertex(edgeEnds.get(e)));
+        }
+    }
+
+    //--- Access to the file
+
+    private JsonObject vertex(int v) {
+        if (v < 0 || v >= vertexCount) {
+            throw new UncheckedIOException(corrupted(path, "vertex number " + v));
+        }
+        return vertexValues.computeIfAbsent(v,
+            key -> parse(vertexDataOffsets.get(key), vertexDataLengths.get(key)));
+    }
+
+    private JsonObject edge(int e) {
+        if (e < 0 || e >= edgeCount) {
+            throw new UncheckedIOException(corrupted(path, "edge number " + e));
+        }
+        return edgeValues.computeIfAbsent(e,
+            key -> parse(edgeDataOffsets.get(key), edgeDataLengths.get(key)));
+    }
+
+    private JsonObject parse(long offset, int length) {
+        if (offset < HEADER_SIZE || length < 0 || offset + length > dataLimit) {
+            throw new UncheckedIOException(corrupted(path, "value at offset " + offset));
+        }
+        byte[] bytes = new byte[length];
+        ByteBuffer source = data.duplicate();
+        source.position((int) offset);
+        source.get(bytes);
+        try {
+            return JsonUtils.mapper().readValue(bytes, JsonObject.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupted mapped graph " + path + " at offset " + offset, e);
+        }
+    }
+
+    private int findVertex(String vertexId) {
+        return vertexId == null ? -1 : find(vertexId, vertexIdOrder, vertexIds);
+    }
+
+    private int findEdge(String edgeId) {
+        return edgeId == null ? -1 : find(edgeId, edgeIdOrder, edgeIds);
+    }
+
+    /* Binary search over numbers sorted by UTF-8 bytes of their ids */
+    private int find(String id, IntBuffer order, IntBuffer ids) {
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = order.limit() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int number = order.get(middle);
+            int cmp = comparePoolString(ids, number, key);
+            if (cmp < 0) {
+                low = middle + 1;
+            } else if (cmp > 0) {
+                high = middle - 1;
+            } else {
+                return number;
+            }
+        }
+        return -1;
+    }
+
+    private int comparePoolString(IntBuffer refs, int number, byte[] key) {
+        int offset = poolOffset(refs, number);
+        int length = refs.get(number * 2 + 1);
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.toUnsignedInt(pool.get(offset + i)) - Byte.toUnsignedInt(key[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - key.length;
+    }
+
+    private String poolString(IntBuffer refs, int number) {
+        int offset = poolOffset(refs, number);
+        byte[] bytes = new byte[refs.get(number * 2 + 1)];
+        ByteBuffer source = pool.duplicate();
+        source.position(offset);
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /* Offset of a string in the pool, checked along with its length */
+    private int poolOffset(IntBuffer refs, int number) {
+        if (number < 0 || number * 2L + 1 >= refs.limit()) {
+            throw new UncheckedIOException(corrupted(path, "string number " + number));
+        }
+        int offset = refs.get(number * 2);
+        int length = refs.get(number * 2 + 1);
+        if (offset < 0 || length < 0 || (long) offset + length > pool.limit()) {
+            throw new UncheckedIOException(corrupted(path, "string at pool offset " + offset));
+        }
+        return offset;
+    }
+
+    private static IOException corrupted(Path path, String what) {
+        return new IOException("Corrupted mapped graph " + path + ": " + what);
+    }
+
+    private static boolean hasMagic(ByteBuffer buffer, int offset) {
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(offset + i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ByteBuffer slice(ByteBuffer index, long size) throws IOException {
+        if (size < 0 || size > index.remaining()) {
+            throw new IOException("Corrupted mapped graph index");
+        }
+        ByteBuffer result = index.slice();
+        result.limit((int) size);
+        index.position(index.position() + (int) size);
+        return result;
+    }
+
+    private static IntBuffer sliceInts(ByteBuffer index, long count) throws IOException {
+        return slice(index, count * 4).asIntBuffer();
+    }
+
+    //--- Writing
+
+    /** Write a graph in the format read by {@link #open(Path)}. Vertices, edges and adjacency
+     * keep the order of the source graph.
+     *
+     * @param graph Source graph. It should not be modified meanwhile.
+     * @param path Target path
+     * @throws IOException If writing failed
+     */
+    public static void write(BasicGraph graph, Path path) throws IOException {
+        List<JsonObject> vertices = graph.vertexList();
+        List<JsonObject> edges = graph.edgeList();
+        int vertexCount = vertices.size();
+        int edgeCount = edges.size();
+
+        Map<String, Integer> vertexNumbers = new HashMap<>(vertexCount * 4 / 3 + 1);
+        for (int v = 0; v < vertexCount; v++) {
+            vertexNumbers.put(vertices.get(v).getString(F_ID), v);
+        }
+        Map<String, Integer> edgeNumbers = new HashMap<>(edgeCount * 4 / 3 + 1);
+        int[] edgeSources = new int[edgeCount];
+        int[] edgeTargets = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            String edgeId = edges.get(e).getString(F_ID);
+            edgeNumbers.put(edgeId, e);
+            edgeSources[e] = vertexNumbers.get(graph.getEdgeSource(edgeId).getString(F_ID));
+            edgeTargets[e] = vertexNumbers.get(graph.getEdgeTarget(edgeId).getString(F_ID));
+        }
+
+        // Adjacency, keeping the order of adjacent edges as in the source graph
+        int[] outOffsets = new int[vertexCount + 1];
+        int[] outEdges = new int[edgeCount];
+        int[] inOffsets = new int[vertexCount + 1];
+        int[] inEdges = new int[edgeCount];
+        int outPos = 0;
+        int inPos = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            String vertexId = vertices.get(v).getString(F_ID);
+            outOffsets[v] = outPos;
+            for (JsonObject edge : graph.getSuccessorEdges(vertexId)) {
+                outEdges[outPos++] = edgeNumbers.get(edge.getString(F_ID));
+            }
+            inOffsets[v] = inPos;
+            for (JsonObject edge : graph.getPredecessorEdges(vertexId)) {
+                inEdges[inPos++] = edgeNumbers.get(edge.getString(F_ID));
+            }
+        }
+        outOffsets[vertexCount] = outPos;
+        inOffsets[vertexCount] = inPos;
+
+        // Strings of the index go into the pool once
+        StringPool stringPool = new StringPool();
+        int[] vertexIds = new int[vertexCount * 2];
+        int[] vertexTypes = new int[vertexCount];
+        List<String> types = new ArrayList<>();
+        Map<String, Integer> typeNumbers = new HashMap<>();
+        for (int v = 0; v < vertexCount; v++) {
+            JsonObject vertex = vertices.get(v);
+            stringPool.add(vertex.getString(F_ID), vertexIds, v);
+            Object type = vertex.getValue(F_TYPE);
+            vertexTypes[v] = (type instanceof String)
+                ? typeNumbers.computeIfAbsent((String) type, t -> { types.add(t); return types.size() - 1; })
+                : -1;
+        }
+        int[] edgeIds = new int[edgeCount * 2];
+        for (int e = 0; e < edgeCount; e++) {
+            stringPool.add(edges.get(e).getString(F_ID), edgeIds, e);
+        }
+        int[] typeRefs = new int[types.size() * 2];
+        for (int t = 0; t < types.size(); t++) {
+            stringPool.add(types.get(t), typeRefs, t);
+        }
+
+        long[] vertexDataOffsets = new long[vertexCount];
+        int[] vertexDataLengths = new int[vertexCount];
+        long[] edgeDataOffsets = new long[edgeCount];
+        int[] edgeDataLengths = new int[edgeCount];
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path), FSUtils.DEFAULT_BUFFER_SIZE)))
+        {
+            out.write(MAGIC);
+            out.writeInt(CURRENT_FORMAT_VERSION);
+            for (int v = 0; v < vertexCount; v++) {
+                byte[] bytes = JsonUtils.mapper().writeValueAsBytes(vertices.get(v));
+                vertexDataOffsets[v] = out.size();
+                vertexDataLengths[v] = bytes.length;
+                out.write(bytes);
+            }
+            for (int e = 0; e < edgeCount; e++) {
+                byte[] bytes = JsonUtils.mapper().writeValueAsBytes(edges.get(e));
+                edgeDataOffsets[e] = out.size();
+                edgeDataLengths[e] = bytes.length;
+                out.write(bytes);
+            }
+
+            long indexOffset = out.size();
+            out.writeInt(graph instanceof Graph ? ((Graph) graph).getGraphVersion() : Graph.CURRENT_GRAPH_MODEL_VERSION);
+            out.writeInt(vertexCount);
+            out.writeInt(edgeCount);
+            out.writeInt(types.size());
+            out.writeInt(stringPool.size());
+            writeLongs(out, vertexDataOffsets);
+            writeLongs(out, edgeDataOffsets);
+            writeInts(out, vertexDataLengths);
+            writeInts(out, edgeDataLengths);
+            writeInts(out, vertexIds);
+            writeInts(out, edgeIds);
+            writeInts(out, vertexTypes);
+            writeInts(out, typeRefs);
+            writeInts(out, edgeSources);
+            writeInts(out, edgeTargets);
+            writeInts(out, outOffsets);
+            writeInts(out, outEdges);
+            writeInts(out, inOffsets);
+            writeInts(out, inEdges);
+            writeInts(out, stringPool.sortedOrder(vertexIds));
+            writeInts(out, stringPool.sortedOrder(edgeIds));
+            stringPool.writeTo(out);
+
+            out.writeLong(indexOffset);
+            out.write(MAGIC);
+            // DataOutputStream counts up to Integer.MAX_VALUE only
+            if (out.size() < 0 || out.size() == Integer.MAX_VALUE) {
+                throw new IOException("Mapped graph file is too large: " + path);
+            }
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    /* UTF-8 strings stored once each, referenced by (offset, length) pairs */
+    private static class StringPool {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final Map<String, int[]> refs = new HashMap<>();
+        private final List<byte[]> encoded = new ArrayList<>();
+
+        void add(String value, int[] target, int number) {
+            int[] ref = refs.computeIfAbsent(value, s -> {
+                byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+                int[] r = { bytes.size(), utf8.length, encoded.size() };
+                bytes.write(utf8, 0, utf8.length);
+                encoded.add(utf8);
+                return r;
+            });
+            target[number * 2] = ref[0];
+            target[number * 2 + 1] = ref[1];
+        }
+
+        int size() {
+            return bytes.size();
+        }
+
+        /* Numbers of (offset, length) pairs sorted by UTF-8 bytes of referenced strings */
+        int[] sortedOrder(int[] pairs) {
+            byte[] all = bytes.toByteArray();
+            Integer[] order = new Integer[pairs.length / 2];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(
+                all, pairs[a * 2], pairs[a * 2] + pairs[a * 2 + 1],
+                all, pairs[b * 2], pairs[b * 2] + pairs[b * 2 + 1]));
+            return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            bytes.writeTo(out);
+        }
+
+    }
+
+}
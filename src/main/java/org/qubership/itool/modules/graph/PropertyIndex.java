@@ -0,0 +1,217 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.graph;
+
+import org.qubership.itool.modules.gremlin2.P;
+import org.qubership.itool.modules.gremlin2.util.Compare;
+import org.qubership.itool.modules.gremlin2.util.ValueHelper;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Hash index over the values found in vertices by a JSON pointer. A string value gets one entry,
+ * an array gets one entry per string element. Values of other types are not indexed.
+ *
+ * <p>Not thread-safe: the owning graph guards it. Lookups do not modify the index,
+ * so they may run concurrently while no modification is in progress.
+ *
+ * @param <V> Vertex representation used by the owning graph
+ */
+class PropertyIndex<V> {
+
+    private final String pointer;
+    private final Function<V, JsonObject> valueOf;
+    private final Comparator<V> order;
+    private final Map<String, Set<V>> entries = new HashMap<>();
+    // Keys every vertex was indexed by, so that it can be unindexed even after in-place modification
+    private final Map<V, Collection<String>> indexedKeys = new HashMap<>();
+
+    /**
+     * @param pointer JSON pointer to index
+     * @param valueOf Get vertex value
+     * @param position Get vertex position in the graph, to return vertices in the graph order
+     */
+    PropertyIndex(String pointer, Function<V, JsonObject> valueOf, ToLongFunction<V> position) {
+        this.pointer = pointer;
+        this.valueOf = valueOf;
+        this.order = Comparator.comparingLong(position);
+    }
+
+    /** Convert a property key accepted by {@link ValueHelper#getObjectValue(String, Object)}
+     * to a JSON pointer.
+     *
+     * @param propertyKey Property name, or JSON pointer, optionally prefixed with an alias
+     * @return JSON pointer, or {@code null} if the key cannot be indexed
+     */
+    static String toPointer(String propertyKey) {
+        int indexOf = propertyKey.indexOf(":");
+        if (indexOf != -1) {
+            propertyKey = propertyKey.substring(indexOf + 1);
+        }
+        if (!propertyKey.startsWith("/")) {
+            return propertyKey.isEmpty() ? null
+                : "/" + propertyKey.replace("~", "~0").replace("/", "~1");
+        }
+        if (propertyKey.equals("/") || propertyKey.contains("[]")) {
+            return null;
+        }
+        return propertyKey;
+    }
+
+    String getPointer() {
+        return pointer;
+    }
+
+    void add(V vertex) {
+        Collection<String> keys = keysOf(vertex);
+        if (keys == null) {
+            return;
+        }
+        this.indexedKeys.put(vertex, keys);
+        for (String key : keys) {
+            this.entries.computeIfAbsent(key, k -> new HashSet<>()).add(vertex);
+        }
+    }
+
+    void remove(V vertex) {
+        Collection<String> keys = this.indexedKeys.remove(vertex);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            Set<V> sameKey = this.entries.get(key);
+            if (sameKey != null) {
+                sameKey.remove(vertex);
+                if (sameKey.isEmpty()) {
+                    this.entries.remove(key);
+                }
+            }
+        }
+    }
+
+    private Collection<String> keysOf(V vertex) {
+        return keysOf(pointer, valueOf.apply(vertex));
+    }
+
+    /* Keys to index a vertex value by, null if none */
+    static Collection<String> keysOf(String pointer, JsonObject vertex) {
+        Object value = ValueHelper.getObjectValue(pointer, vertex);
+        Collection<String> keys;
+        if (value instanceof String) {
+            keys = Collections.singletonList((String) value);
+        } else if (value instanceof Iterable) {
+            keys = new LinkedHashSet<>();
+            for (Object element : (Iterable<?>) value) {
+                if (element instanceof String) {
+                    keys.add((String) element);
+                }
+            }
+        } else {
+            return null;
+        }
+        return keys.isEmpty() ? null : keys;
+    }
+
+    void clear() {
+        this.entries.clear();
+        this.indexedKeys.clear();
+    }
+
+    /** Get vertices indexed by any of the given keys.
+     *
+     * @param keys Values to look for
+     * @return Vertices in the order they were added to the graph
+     */
+    List<V> find(Collection<?> keys) {
+        Set<V> found = new HashSet<>();
+        for (Object key : keys) {
+            Set<V> sameKey = this.entries.get(key);
+            if (sameKey != null) {
+                found.addAll(sameKey);
+            }
+        }
+        return sorted(found);
+    }
+
+    /** Get candidate vertices for a predicate on the indexed property.
+     * Supported predicates are {@code eq} and {@code within} on strings, and {@code containing}
+     * a string. Result may contain vertices that do not satisfy the predicate.
+     *
+     * @param predicate Predicate
+     * @return Vertices in the order they were added to the graph, or {@code null} if the predicate
+     * is not supported by the index
+     */
+    List<V> find(P<?> predicate) {
+        List<?> keys = keysToFind(predicate);
+        if (keys != null) {
+            return find(keys);
+        }
+        String substring = substringToFind(predicate);
+        if (substring != null) {
+            Set<V> found = new HashSet<>();
+            for (Map.Entry<String, Set<V>> entry : this.entries.entrySet()) {
+                if (entry.getKey().contains(substring)) {
+                    found.addAll(entry.getValue());
+                }
+            }
+            return sorted(found);
+        }
+        return null;
+    }
+
+    /* Exact keys to look up for eq and within, null for other predicates */
+    static List<?> keysToFind(P<?> predicate) {
+        Object biPredicate = predicate.getBiPredicate();
+        Object value = predicate.getValue();
+        if (biPredicate == Compare.eq && value instanceof String) {
+            return Collections.singletonList(value);
+        }
+        if ((biPredicate == Compare.eq || biPredicate == Compare.within) && value instanceof List) {
+            List<?> values = (List<?>) value;
+            if (biPredicate == Compare.eq && values.size() != 1) {
+                return Collections.emptyList();
+            }
+            for (Object key : values) {
+                if (!(key instanceof String)) {
+                    return null;
+                }
+            }
+            return values;
+        }
+        return null;
+    }
+
+    /* Substring that index keys must contain for containing, null for other predicates.
+     * Arrays contain the exact element, strings may contain it as a substring */
+    static String substringToFind(P<?> predicate) {
+        if (predicate.getBiPredicate() == Compare.containing && predicate.getValue() instanceof String) {
+            return (String) predicate.getValue();
+        }
+        return null;
+    }
+
+    private List<V> sorted(Set<V> found) {
+        List<V> result = new ArrayList<>(found);
+        result.sort(this.order);
+        return result;
+    }
+
+}
@@ -20,6 +20,8 @@ import org.qubership.itool.modules.gremlin2.graph.GraphTraversalSource;
 import io.vertx.core.json.JsonObject;
 
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -93,6 +95,40 @@ public class SubGraph implements BasicGraph {
         return new ArrayList<>(vertices.values());
     }
 
+    @Override
+    public void forEachVertex(Consumer<JsonObject> action) {
+        vertices.values().forEach(action);
+    }
+
+    @Override
+    public Spliterator<JsonObject> vertexSpliterator() {
+        return vertices.values().spliterator();
+    }
+
+    @Override
+    public void forEachSuccessor(String vertexId, BiConsumer<JsonObject, JsonObject> action) {
+        if (getVertex(vertexId) == null) {
+            return;
+        }
+        origGraph.forEachSuccessor(vertexId, (edge, target) -> {
+            if (getEdge(edge.getString(F_ID)) != null) {
+                action.accept(edge, target);
+            }
+        });
+    }
+
+    @Override
+    public void forEachPredecessor(String vertexId, BiConsumer<JsonObject, JsonObject> action) {
+        if (getVertex(vertexId) == null) {
+            return;
+        }
+        origGraph.forEachPredecessor(vertexId, (edge, source) -> {
+            if (getEdge(edge.getString(F_ID)) != null) {
+                action.accept(edge, source);
+            }
+        });
+    }
+
     @Override
     public JsonObject getVertex(String vertexId) {
         return vertices.get(vertexId);
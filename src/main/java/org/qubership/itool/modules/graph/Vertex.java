@@ -29,7 +29,9 @@ public interface Vertex {
 
     JsonObject getValue();
 
+    /* Ids of incoming edges. Read-only snapshot */
     Set<String> getEdgesIn();
 
+    /* Ids of outgoing edges. Read-only snapshot */
     Set<String> getEdgesOut();
 }
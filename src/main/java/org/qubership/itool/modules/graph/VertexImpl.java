@@ -18,20 +18,28 @@ package org.qubership.itool.modules.graph;
 
 import io.vertx.core.json.JsonObject;
 
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 public class VertexImpl implements Vertex {
     private String id;
     private JsonObject value;
-    private Set<String> edgesIn;
-    private Set<String> edgesOut;
+
+    // Maintained by GraphImpl: position in its tables and secondary indexes,
+    // adjacency as numbers of incoming and outgoing edges
+    int number;
+    long sequence;
+    IntList edgesIn = new IntList();
+    IntList edgesOut = new IntList();
+    List<EdgeImpl> edgeTable;
+    // Copy of the value taken by the last GraphImpl.snapshot(), shared with the next one while unchanged
+    volatile JsonObject frozenCopy;
 
     public VertexImpl(String id, JsonObject value) {
         this.id = id;
         this.value = value;
-        this.edgesIn = new LinkedHashSet<>();
-        this.edgesOut = new LinkedHashSet<>();
     }
 
     @Override
@@ -42,12 +50,22 @@ public class VertexImpl implements Vertex {
 
     @Override
     public Set<String> getEdgesIn() {
-        return edgesIn;
+        return edgeIds(edgesIn);
     }
 
     @Override
     public Set<String> getEdgesOut() {
-        return edgesOut;
+        return edgeIds(edgesOut);
+    }
+
+    private Set<String> edgeIds(IntList edgeNumbers) {
+        Set<String> result = new LinkedHashSet<>();
+        if (edgeTable != null) {
+            for (int i = 0; i < edgeNumbers.size(); i++) {
+                result.add(edgeTable.get(edgeNumbers.get(i)).getId());
+            }
+        }
+        return Collections.unmodifiableSet(result);
     }
 
     @Override
@@ -65,8 +83,8 @@ public class VertexImpl implements Vertex {
         return "Vertex{" +
             "id=" + id +
             ", value=" + value +
-            ", edgesIn=" + edgesIn +
-            ", edgesOut=" + edgesOut +
+            ", edgesIn=" + getEdgesIn() +
+            ", edgesOut=" + getEdgesOut() +
             '}';
     }
 
@@ -18,11 +18,13 @@ package org.qubership.itool.modules.graphExtractor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.qubership.itool.modules.graph.BasicGraph;
 import org.qubership.itool.modules.graph.Graph;
 import org.qubership.itool.modules.graph.GraphDumpSupport;
+import org.qubership.itool.modules.graph.MappedGraph;
 import org.qubership.itool.utils.JsonArrayDeserializer;
+import org.qubership.itool.utils.JsonInterner;
 import org.qubership.itool.utils.JsonObjectDeserializer;
-import org.qubership.itool.utils.JsonUtils;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.json.jackson.DatabindCodec;
@@ -62,12 +64,12 @@ public abstract class AbstractGraphDataExtractor implements GraphDataExtractor {
         Reader reader = new InputStreamReader(inputStream, charset);
         JsonObject graphDump = null;
         try {
-            graphDump = mapper.readValue(reader, JsonObject.class);
+            graphDump = JsonInterner.withNewInterner(mapper.readerFor(JsonObject.class)).readValue(reader);
         } catch (IOException e) {
             getLogger().error("Failed to load graph from input stream: {}", ExceptionUtils.getStackTrace(e));
         }
 
-        Graph graph = GraphDumpSupport.restoreFromJson(graphDump);
+        Graph graph = GraphDumpSupport.restoreFromJson(graphDump, isReportNeeded());
         return getDataFromGraph(graph);
     }
 
@@ -76,16 +78,58 @@ public abstract class AbstractGraphDataExtractor implements GraphDataExtractor {
         if (!graphFile.toFile().exists()) {
             return new JsonObject();
         }
+        if (graphFile.getFileName().toString().endsWith(MappedGraph.EXTENSION)) {
+            return extractMappedGraphData(graphFile);
+        }
         Graph graph = null;
         try {
-            JsonObject dumpFile = JsonUtils.readJsonFile(graphFile.toAbsolutePath().toString());
-            graph = GraphDumpSupport.restoreFromJson(dumpFile);
+            graph = GraphDumpSupport.readDumpFile(graphFile.toAbsolutePath().toString(), isReportNeeded());
         } catch (Exception e) {
             getLogger().error("Failed to load graph resource using path {}: {}", graphFile, ExceptionUtils.getStackTrace(e));
         }
         return getDataFromGraph(graph);
     }
 
+    /** Extracts the data from a file written by {@link MappedGraph#write(BasicGraph, Path)}.
+     * The file is only mapped, so vertices not visited by {@link #getDataFromBasicGraph(BasicGraph)}
+     * are never parsed.
+     *
+     * @param graphFile path to file with graph
+     * @return Json structure containing the components names with respective sets of data
+     */
+    protected JsonObject extractMappedGraphData(Path graphFile) {
+        MappedGraph graph = null;
+        try {
+            graph = MappedGraph.open(graphFile);
+        } catch (IOException e) {
+            getLogger().error("Failed to map graph file using path {}: {}", graphFile, ExceptionUtils.getStackTrace(e));
+        }
+        return getDataFromBasicGraph(graph);
+    }
+
+    /** Extracts data from a read-only graph, e.g. a {@link MappedGraph}. Extractors that only traverse
+     * the graph should override this method and delegate {@link #getDataFromGraph(Graph)} to it.
+     *
+     * @param graph data source
+     * @return Json structure containing the components names with respective sets of data
+     * @throws UnsupportedOperationException By default, unless {@code graph} is a {@link Graph}
+     */
+    public JsonObject getDataFromBasicGraph(BasicGraph graph) {
+        if (graph == null || graph instanceof Graph) {
+            return getDataFromGraph((Graph) graph);
+        }
+        throw new UnsupportedOperationException(getClass().getName() + " needs a full Graph, got " + graph.getClass().getName());
+    }
+
+    /** Whether {@link #getDataFromGraph(Graph)} uses report of the graph. If not, the report
+     * is not restored from the dump at all.
+     *
+     * @return {@code false} by default
+     */
+    protected boolean isReportNeeded() {
+        return false;
+    }
+
     protected Logger getLogger() {
         return LOGGER;
     }
@@ -45,7 +45,8 @@ public interface GraphDataExtractor {
      *
      * Key of the outer map is a component name
      * Inner map keys contain the name of the gathered data aspect (i.e. "framework", or "language") with values
-     * representing the lists of retrieved values
+     * representing the lists of retrieved values.
+     * Files with {@link org.qubership.itool.modules.graph.MappedGraph#EXTENSION} are mapped rather than loaded.
      * @param graphFile path to file with graph
      * @return Json structure containing the components names with respective sets of data provided by interface implementation
      */
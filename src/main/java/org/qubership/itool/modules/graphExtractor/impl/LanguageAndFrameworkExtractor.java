@@ -16,6 +16,7 @@
 
 package org.qubership.itool.modules.graphExtractor.impl;
 
+import org.qubership.itool.modules.graph.BasicGraph;
 import org.qubership.itool.modules.graph.Graph;
 import org.qubership.itool.modules.graphExtractor.AbstractGraphDataExtractor;
 import org.qubership.itool.utils.TechNormalizationHelper;
@@ -42,6 +43,11 @@ public class LanguageAndFrameworkExtractor extends AbstractGraphDataExtractor {
 
     @Override
     public JsonObject getDataFromGraph(Graph graph) {
+        return getDataFromBasicGraph(graph);
+    }
+
+    @Override
+    public JsonObject getDataFromBasicGraph(BasicGraph graph) {
         var traversal = graph.traversal();
         JsonObject result = new JsonObject();
         List<Map<String, JsonObject>> componentsWithApps = traversal.V(V_ROOT)
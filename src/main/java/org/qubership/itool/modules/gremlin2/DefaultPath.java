@@ -17,107 +17,233 @@
 package org.qubership.itool.modules.gremlin2;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Path stored as an immutable linked list of nodes, from the head back to the start.
+ * Clones share all the nodes, and extending a path adds one node in front of the shared ones,
+ * so splitting a traverser costs the same whatever the path length.
+ *
+ * <p>Label sets are immutable and interned: the same labels are the same set in all paths.
+ * {@link #objects()} and {@link #labels()} return unmodifiable lists.
+ */
 public class DefaultPath implements Path {
 
-    protected List objects;
-    protected List<Set<String>> labels;
+    private static final int MAX_INTERNED_LABEL_SETS = 10_000;
+    private static final Map<Set<String>, Set<String>> LABEL_SETS = new ConcurrentHashMap<>();
+
+    private Node head;
+    private List<Object> objects;
+    private List<Set<String>> labels;
 
     public DefaultPath() {
-        this.objects = new ArrayList();
-        this.labels = new ArrayList<>();
     }
 
     public DefaultPath(List objects, List<Set<String>> labels) {
-        this.objects = objects;
-        this.labels = labels;
+        for (int i = 0; i < objects.size(); i++) {
+            this.head = new Node(this.head, objects.get(i), (labels.get(i) == null) ? Collections.emptySet() : internLabels(labels.get(i)));
+        }
+    }
+
+    private DefaultPath(Node head) {
+        this.head = head;
     }
 
     @Override
     public List<Set<String>> labels() {
+        if (this.labels == null) {
+            @SuppressWarnings({ "unchecked", "rawtypes" })
+            Set<String>[] result = new Set[size()];
+            for (Node node = this.head; node != null; node = node.previous) {
+                result[node.index] = node.labels;
+            }
+            this.labels = Collections.unmodifiableList(Arrays.asList(result));
+        }
         return this.labels;
     }
 
     @Override
-    public List objects() {
+    public List<Object> objects() {
+        if (this.objects == null) {
+            Object[] result = new Object[size()];
+            for (Node node = this.head; node != null; node = node.previous) {
+                result[node.index] = node.obj;
+            }
+            this.objects = Collections.unmodifiableList(Arrays.asList(result));
+        }
         return this.objects;
     }
 
     @Override
     public Path extend(Object obj) {
-        this.objects.add(obj);
-        this.labels.add(new HashSet<>());
-        return this;
+        return setHead(new Node(this.head, obj, Collections.emptySet()));
     }
 
     @Override
     public Path extend(Object obj, String... labels) {
-        this.objects().add(obj);
-        this.labels().add(new HashSet<>());
-        extend(labels);
-        return this;
+        Set<String> labelSet = (labels == null || labels.length == 0)
+            ? Collections.emptySet() : internLabels(Arrays.asList(labels));
+        return setHead(new Node(this.head, obj, labelSet));
     }
 
     @Override
     public Path extend(Object obj, Set<String> labels) {
-        this.objects().add(obj);
-        this.labels().add(new HashSet<>());
-        extend(labels);
-        return this;
+        Set<String> labelSet = (labels == null || labels.isEmpty()) ? Collections.emptySet() : internLabels(labels);
+        return setHead(new Node(this.head, obj, labelSet));
     }
 
     @Override
     public Path extend(String... labels) {
-        if (labels == null || this.labels.size() == 0) {
+        if (labels == null || labels.length == 0) {
             return this;
         }
-        Set<String> set = this.labels.get(this.labels.size() - 1);
-        for (String label : labels) {
-            set.add(label);
-        }
-        return this;
+        return addHeadLabels(Arrays.asList(labels));
     }
 
     @Override
     public Path extend(Set<String> labels) {
-        if (labels == null || this.labels.size() == 0) {
+        if (labels == null || labels.isEmpty()) {
             return this;
         }
-        Set<String> set = this.labels.get(this.labels.size() - 1);
-        set.addAll(labels);
-        return this;
+        return addHeadLabels(labels);
     }
 
+    @SuppressWarnings("unchecked")
     @Override
-    public Path clone() {
-        List cObjects = new ArrayList(this.objects);
+    public <A> A get(String label) {
+        Object result = null;
+        List<Object> found = null;
+        for (Node node = this.head; node != null; node = node.previous) {
+            if (!node.labels.contains(label)) {
+                continue;
+            }
+            if (result == null) {
+                result = node.obj;
+            } else {
+                if (found == null) {
+                    found = new ArrayList<>();
+                    found.add(result);
+                }
+                found.add(node.obj);
+            }
+        }
+        if (result == null) {
+            throw new GremlinException("Step with provided label does not exist. Label: " + label);
+        }
+        if (found != null) {
+            // Collected from the head, the result goes from the start
+            Collections.reverse(found);
+            return (A) found;
+        }
+        return (A) result;
+    }
 
-        int size = this.labels.size();
-        List<Set<String>> cLabels = new ArrayList<>(size * 3);
-        for (int i=0 ; i<size ; i++) {
-            Set<String> labelSet = this.labels.get(i);
-            Set<String> cLabelSet = new HashSet<>(labelSet);
-            cLabels.add(cLabelSet);
+    @Override
+    public boolean hasLabel(String label) {
+        for (Node node = this.head; node != null; node = node.previous) {
+            if (node.labels.contains(label)) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        Path clone = new DefaultPath(cObjects, cLabels);
-        return clone;
+    @Override
+    public Object head() {
+        if (this.head == null) {
+            throw new IndexOutOfBoundsException("Path is empty");
+        }
+        return this.head.obj;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.head == null;
+    }
+
+    @Override
+    public int size() {
+        return (this.head == null) ? 0 : this.head.index + 1;
+    }
+
+    @Override
+    public Path clone() {
+        return new DefaultPath(this.head);
     }
 
     @Override
     public String toString() {
+        List<Object> objects = objects();
+        List<Set<String>> labels = labels();
         StringBuilder builder = new StringBuilder();
         builder.append("Path{\n");
-        for (int i=0 ; i<this.objects.size() ; i++) {
+        for (int i=0 ; i<objects.size() ; i++) {
             builder.append(i+1).append(") ");
-            builder.append(this.labels.get(i)).append(" : ");
-            builder.append(this.objects.get(i)).append("\n");
+            builder.append(labels.get(i)).append(" : ");
+            builder.append(objects.get(i)).append("\n");
         }
         builder.append("}\n");
         return builder.toString();
     }
 
+    private Path setHead(Node head) {
+        this.head = head;
+        this.objects = null;
+        this.labels = null;
+        return this;
+    }
+
+    /* The head node is shared with clones, so it is replaced rather than changed */
+    private Path addHeadLabels(Collection<String> labels) {
+        if (this.head == null || this.head.labels.containsAll(labels)) {
+            return this;
+        }
+        Set<String> union = new HashSet<>(this.head.labels);
+        union.addAll(labels);
+        return setHead(new Node(this.head.previous, this.head.obj, internLabels(union)));
+    }
+
+    private static Set<String> internLabels(Collection<String> labels) {
+        if (labels.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> set;
+        if (labels.size() == 1) {
+            set = Collections.singleton(labels.iterator().next());
+        } else {
+            set = Collections.unmodifiableSet(new HashSet<>(labels));
+        }
+        Set<String> interned = LABEL_SETS.get(set);
+        if (interned != null) {
+            return interned;
+        }
+        if (LABEL_SETS.size() >= MAX_INTERNED_LABEL_SETS) {
+            return set;
+        }
+        interned = LABEL_SETS.putIfAbsent(set, set);
+        return (interned != null) ? interned : set;
+    }
+
+    /* One object of the path with its labels, linked to the previous one */
+    private static final class Node {
+        private final Node previous;
+        private final Object obj;
+        private final Set<String> labels;
+        private final int index;
+
+        Node(Node previous, Object obj, Set<String> labels) {
+            this.previous = previous;
+            this.obj = obj;
+            this.labels = labels;
+            this.index = (previous == null) ? 0 : previous.index + 1;
+        }
+    }
+
 }
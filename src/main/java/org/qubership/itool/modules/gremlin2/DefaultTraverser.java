@@ -23,6 +23,7 @@ public class DefaultTraverser<T> implements Traverser.Admin<T> {
     private JsonObject source;
     private T obj;
     private Path path;
+    private long bulk = 1;
 
     protected DefaultTraverser() {
     }
@@ -43,6 +44,12 @@ public class DefaultTraverser<T> implements Traverser.Admin<T> {
         this.path = new DefaultPath().extend(this.obj);
     }
 
+    public DefaultTraverser(JsonObject source, T obj, Path path) {
+        this.source = source;
+        this.obj = obj;
+        this.path = path;
+    }
+
     @Override
     public JsonObject getSource() {
         return this.source;
@@ -58,12 +65,23 @@ public class DefaultTraverser<T> implements Traverser.Admin<T> {
         return this.path;
     }
 
+    @Override
+    public long bulk() {
+        return this.bulk;
+    }
+
+    @Override
+    public void setBulk(long bulk) {
+        this.bulk = bulk;
+    }
+
     @Override
     public Traverser<T> clone() {
         DefaultTraverser<T> clone = new DefaultTraverser<T>();
         clone.source = source;
         clone.obj = obj;
         clone.path = this.path.clone();
+        clone.bulk = this.bulk;
         return clone;
     }
 
@@ -73,6 +91,7 @@ public class DefaultTraverser<T> implements Traverser.Admin<T> {
             (R)this.obj,
             this.path.clone().extend(this.obj, step.getLabels())
         );
+        result.bulk = this.bulk;
         return result;
     }
 
@@ -82,6 +101,7 @@ public class DefaultTraverser<T> implements Traverser.Admin<T> {
             r,
             this.path.clone().extend(r, step.getLabels().toArray(new String[]{}))
         );
+        result.bulk = this.bulk;
         return result;
     }
 
@@ -89,6 +109,7 @@ public class DefaultTraverser<T> implements Traverser.Admin<T> {
     public <R> Admin<R> split(JsonObject source, R r, Step<T, R> step) {
         DefaultTraverser<R> result = new DefaultTraverser<R>(source, r);
         result.path = this.path.clone().extend(r, step.getLabels().toArray(new String[]{}));
+        result.bulk = this.bulk;
         return result;
     }
 
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.gremlin2;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Path that tracks nothing. Used by traversals where no step consumes paths,
+ * so traversers do not copy the path on every step.
+ */
+public class EmptyPath implements Path {
+    private static final EmptyPath INSTANCE = new EmptyPath();
+
+    private EmptyPath() {
+    }
+
+    public static Path instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public List<Set<String>> labels() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<Object> objects() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Path extend(Object obj) {
+        return this;
+    }
+
+    @Override
+    public Path extend(Object obj, String... labels) {
+        return this;
+    }
+
+    @Override
+    public Path extend(Object obj, Set<String> labels) {
+        return this;
+    }
+
+    @Override
+    public Path extend(String... labels) {
+        return this;
+    }
+
+    @Override
+    public Path extend(Set<String> labels) {
+        return this;
+    }
+
+    @Override
+    public Path clone() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "Path{}";
+    }
+
+}
@@ -16,6 +16,7 @@
 
 package org.qubership.itool.modules.gremlin2;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -55,4 +56,14 @@ public interface Step<S, E> extends Cloneable {
 
     List<Traverser<E>> getTraversers();
 
+    /**
+     * Pull the traversers one by one. Unlike {@link #getTraversers()}, a step may produce
+     * traversers lazily, pulling previous steps only as far as needed.
+     *
+     * @return Iterator over the traversers of this step
+     */
+    default Iterator<Traverser<E>> iterator() {
+        return getTraversers().iterator();
+    }
+
 }
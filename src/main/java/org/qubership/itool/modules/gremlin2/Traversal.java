@@ -32,8 +32,44 @@ public interface Traversal<S, E> extends  Cloneable {
     Traversal<S, E> clone();
 
     default E next() {
-        List<E> list = toList();
-        return (list == null || list.size() == 0) ? null : list.get(0);
+        Iterator<E> iterator = iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * Iterate over the results lazily: steps are executed only as far as needed
+     * to produce the results requested.
+     *
+     * @return Iterator over the results
+     */
+    default Iterator<E> iterator() {
+        if (!this.asAdmin().isLocked()) {
+            this.asAdmin().applyStrategies();
+        }
+        Step<?, E> endStep = this.asAdmin().getEndStep();
+        if (endStep == null) {
+            return Collections.emptyIterator();
+        }
+        Iterator<Traverser<E>> traversers = endStep.iterator();
+        return new Iterator<>() {
+            private Traverser<E> current;
+            private long remaining;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0 || traversers.hasNext();
+            }
+
+            @Override
+            public E next() {
+                if (remaining == 0) {
+                    current = traversers.next();
+                    remaining = current.bulk();
+                }
+                remaining--;
+                return current.get();
+            }
+        };
     }
 
     /**
@@ -74,8 +110,12 @@ public interface Traversal<S, E> extends  Cloneable {
         if (endStep == null) {
             return collection;
         }
-        for (Traverser<E> traverser : endStep.getTraversers()) {
-            collection.add(traverser.get());
+        Iterator<Traverser<E>> traversers = endStep.iterator();
+        while (traversers.hasNext()) {
+            Traverser<E> traverser = traversers.next();
+            for (long i = 0; i < traverser.bulk(); i++) {
+                collection.add(traverser.get());
+            }
         }
 
         if (profile != null) {
@@ -102,6 +142,8 @@ public interface Traversal<S, E> extends  Cloneable {
 
         <S2, E2> Traversal.Admin<S2, E2> replaceStep(int index, Step<?, ?> step) throws IllegalStateException;
 
+        <S2, E2> Traversal.Admin<S2, E2> removeStep(int index) throws IllegalStateException;
+
         default Step<S, ?> getStartStep() {
             final List<Step> steps = this.getSteps();
             return steps.isEmpty() ? EmptyStep.getInstance() : steps.get(0);
@@ -30,6 +30,14 @@ public interface Traverser<T> extends Cloneable, Comparable<Traverser<T>> {
 
     Path path();
 
+    /** Number of equivalent traversers this traverser stands for, see {@link Admin#setBulk(long)}
+     *
+     * @return {@code 1} unless traversers were merged
+     */
+    default long bulk() {
+        return 1;
+    }
+
     @Override
     default int compareTo(final Traverser<T> other) throws ClassCastException {
         Object thisObj = (this.get() != null) ? this.get() : this.getSource();
@@ -48,6 +56,15 @@ public interface Traverser<T> extends Cloneable, Comparable<Traverser<T>> {
 
     interface Admin<T> extends Traverser<T> {
 
+        /** Let this traverser stand for several traversers with the same object and source,
+         * so the steps process them once. Traversers split from this one keep the bulk.
+         *
+         * @param bulk Number of traversers
+         */
+        default void setBulk(long bulk) {
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support bulk");
+        }
+
         <R> Admin<R> split(Step<T, R> step);
 
         <R> Admin<R> split(R r, Step<T, R> step);
@@ -24,6 +24,13 @@ import org.qubership.itool.modules.gremlin2.step.EmptyStep;
 import org.qubership.itool.modules.gremlin2.step.StartStep;
 import org.qubership.itool.modules.gremlin2.step.util.DefaultProfile;
 import org.qubership.itool.modules.gremlin2.step.util.Profile;
+import org.qubership.itool.modules.gremlin2.strategy.BulkingStrategy;
+import org.qubership.itool.modules.gremlin2.strategy.HasStepMergeStrategy;
+import org.qubership.itool.modules.gremlin2.strategy.IndexedStartStrategy;
+import org.qubership.itool.modules.gremlin2.strategy.LimitPushDownStrategy;
+import org.qubership.itool.modules.gremlin2.strategy.OrderLimitStrategy;
+import org.qubership.itool.modules.gremlin2.strategy.PathTrackingStrategy;
+import org.qubership.itool.modules.gremlin2.strategy.TraversalStrategy;
 import org.qubership.itool.modules.gremlin2.util.TraversalHelper;
 
 import java.util.ArrayList;
@@ -33,6 +40,15 @@ import java.util.Map;
 
 public class DefaultGraphTraversal<S, E> implements GraphTraversal<S, E>, GraphTraversal.Admin<S, E> {
 
+    /** Strategies applied by default, in this order */
+    public static final List<TraversalStrategy> DEFAULT_STRATEGIES = List.of(
+        new HasStepMergeStrategy(),
+        new IndexedStartStrategy(),
+        new LimitPushDownStrategy(),
+        new OrderLimitStrategy(),
+        new PathTrackingStrategy(),
+        new BulkingStrategy());
+
     protected Profile profile = new DefaultProfile();
     protected Map<String, Object> sideEffectMap = new HashMap<>();
     protected Traversal.Admin<S, E> previousTraversal;
@@ -40,6 +56,7 @@ public class DefaultGraphTraversal<S, E> implements GraphTraversal<S, E>, GraphT
     protected BasicGraph graph;
     protected List<Step> steps = new ArrayList<>();
     protected boolean locked = false;
+    protected List<TraversalStrategy> strategies = DEFAULT_STRATEGIES;
     boolean root = false;
 
     public DefaultGraphTraversal() {
@@ -67,6 +84,10 @@ public class DefaultGraphTraversal<S, E> implements GraphTraversal<S, E>, GraphT
 
     @Override
     public <S2, E2> Traversal.Admin<S2, E2> addStep(int index, Step<?, ?> step) throws IllegalStateException {
+        if (this.locked && !(step instanceof StartStep)) {
+            // Steps added after the traversal has been run may need other strategies
+            this.locked = false;
+        }
         this.steps.add(index, step);
         Step previousStep = this.steps.size() > 0 && index != 0 ? steps.get(index - 1) : null;
         Step nextStep = this.steps.size() > index + 1 ? steps.get(index + 1) : null;
@@ -84,6 +105,17 @@ public class DefaultGraphTraversal<S, E> implements GraphTraversal<S, E>, GraphT
         return addStep(index, step);
     }
 
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Override
+    public <S2, E2> Traversal.Admin<S2, E2> removeStep(int index) throws IllegalStateException {
+        this.steps.remove(index);
+        Step previousStep = index != 0 ? steps.get(index - 1) : null;
+        Step nextStep = this.steps.size() > index ? steps.get(index) : null;
+        if (null != previousStep) previousStep.setNextStep(null != nextStep ? nextStep : EmptyStep.getInstance());
+        if (null != nextStep) nextStep.setPreviousStep(null != previousStep ? previousStep : EmptyStep.getInstance());
+        return (Traversal.Admin<S2, E2>)this;
+    }
+
     @Override
     public BasicGraph getGraph() {
         return this.graph;
@@ -108,13 +140,29 @@ public class DefaultGraphTraversal<S, E> implements GraphTraversal<S, E>, GraphT
         this.locked = true;
     }
 
+    /* Children are locked as well, so their clones run by parent steps are not optimized again */
     protected void apply(final Traversal.Admin<?, ?> traversal) {
-        // ================================
-        // ================================
-        // ================================
-        // ================================
-        // ================================
-        // TODO
+        if (traversal.isLocked()) {
+            return;
+        }
+        for (TraversalStrategy strategy : this.strategies) {
+            strategy.apply(traversal);
+        }
+        if (traversal != this && traversal instanceof DefaultGraphTraversal) {
+            ((DefaultGraphTraversal<?, ?>) traversal).locked = true;
+        }
+    }
+
+    public List<TraversalStrategy> getStrategies() {
+        return this.strategies;
+    }
+
+    /** Set strategies to apply to this traversal and its children
+     *
+     * @param strategies Strategies, see {@link #DEFAULT_STRATEGIES}
+     */
+    public void setStrategies(List<TraversalStrategy> strategies) {
+        this.strategies = strategies;
     }
 
     @Override
@@ -149,8 +197,8 @@ public class DefaultGraphTraversal<S, E> implements GraphTraversal<S, E>, GraphT
 
     @Override
     public GraphTraversal.Admin<S, E> clone() {
-        DefaultGraphTraversal clone = new DefaultGraphTraversal(this.graphTraversalSource, this.root);
-        clone.locked = this.locked;
+        DefaultGraphTraversal<S, E> clone = new DefaultGraphTraversal<>(this.graphTraversalSource, this.root);
+        clone.strategies = this.strategies;
         clone.previousTraversal = this.previousTraversal;
         clone.sideEffectMap = this.sideEffectMap;
         clone.profile = new DefaultProfile();
@@ -160,6 +208,8 @@ public class DefaultGraphTraversal<S, E> implements GraphTraversal<S, E>, GraphT
             newStep.setTraversal(this);
             clone.addStep(newStep);
         }
+        // After the steps: addStep() unlocks
+        clone.locked = this.locked;
 
         return clone;
     }
@@ -49,6 +49,13 @@ public abstract class AbstractLambdaTraversal<S, E> implements Traversal.Admin<S
             (Traversal.Admin<S2, E2>) this : this.bypassTraversal.replaceStep(index, step);
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public <S2, E2> Admin<S2, E2> removeStep(int index) throws IllegalStateException {
+        return null == this.bypassTraversal ?
+            (Traversal.Admin<S2, E2>) this : this.bypassTraversal.removeStep(index);
+    }
+
     @Override
     public Admin<S, E> clone() {
         try {
@@ -22,6 +22,7 @@ import org.qubership.itool.modules.gremlin2.Step;
 import org.qubership.itool.modules.gremlin2.Traversal;
 import org.qubership.itool.modules.gremlin2.Traverser;
 import org.qubership.itool.modules.gremlin2.util.EmptyTraversal;
+import org.qubership.itool.modules.gremlin2.step.util.CompiledTraversal;
 import org.qubership.itool.modules.gremlin2.util.TraversalHelper;
 
 import io.vertx.core.json.JsonObject;
@@ -150,6 +151,46 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         return result;
     }
 
+    /**
+     * Pull the traversers one by one, Volcano-style. Every previous traverser is processed when
+     * more traversers are requested, so {@link Traversal#next()}, limits and existence checks
+     * stop pulling early. Barriers (see {@link #isBarrier()}) and profiled traversals
+     * materialize all the traversers via {@link #getTraversers()} instead.
+     */
+    @Override
+    public Iterator<Traverser<E>> iterator() {
+        if (isBarrier() || traversal.getProfile().isStart()) {
+            return getTraversers().iterator();
+        }
+        return new TraverserIterator();
+    }
+
+    /** Whether this step needs all the previous traversers before producing any. Such steps
+     * override {@link #processAllPreviousTraversers(List, List)} rather than {@link #processPreviousTraverser(Traverser.Admin, List)}
+     *
+     * @return {@code false} by default
+     */
+    protected boolean isBarrier() {
+        return false;
+    }
+
+    /** Whether this step will produce no more traversers, whatever previous traversers come.
+     * Lets {@link #iterator()} stop pulling previous steps.
+     *
+     * @return {@code false} by default
+     */
+    protected boolean isExhausted() {
+        return false;
+    }
+
+    /** Lazy counterpart of {@link #fetchPreviousTraversers()}, override them together
+     *
+     * @return Iterator over the previous traversers
+     */
+    protected Iterator<Traverser<S>> previousIterator() {
+        return getPreviousStep().iterator();
+    }
+
     protected List<Traverser<S>> fetchPreviousTraversers() {
         Step<?, S> previousStep = getPreviousStep();
         List<Traverser<S>> previousTraversers = previousStep.getTraversers();
@@ -184,6 +225,42 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     protected abstract void processPreviousTraverser(Traverser.Admin<S> previousTraverser, List<Traverser<E>> result);
 
+    /* Traversers produced from a single previous traverser at a time */
+    private class TraverserIterator implements Iterator<Traverser<E>> {
+
+        private Iterator<Traverser<S>> previousTraversers;
+        private final List<Traverser<E>> buffer = new ArrayList<>();
+        private int position;
+
+        @Override
+        public boolean hasNext() {
+            while (position == buffer.size()) {
+                if (previousTraversers == null) {
+                    previousTraversers = previousIterator();
+                }
+                if (isExhausted() || !previousTraversers.hasNext()) {
+                    return false;
+                }
+                buffer.clear();
+                position = 0;
+                processPreviousTraverser((Traverser.Admin<S>) previousTraversers.next(), buffer);
+                filterEmptyTraverserIfRequired(buffer);
+                applyLabelsModulator(buffer);
+            }
+            return true;
+        }
+
+        @Override
+        public Traverser<E> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.get(position++);
+        }
+
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
     protected Traversal.Admin<?, E> prepareInnerTraversal(Traversal.Admin<?, E> innerTraversal, Traverser.Admin<S> previousTraverser) {
         Traversal.Admin<?, E> cloneTraversal = innerTraversal.clone();
         cloneTraversal.clear();
@@ -193,7 +270,7 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         cloneTraversal.setRoot(true);
         cloneTraversal.setGraph(this.traversal.getGraph());
 
-        cloneTraversal.addStart((Traverser.Admin)previousTraverser.clone());
+        cloneTraversal.addStart((Traverser.Admin) CompiledTraversal.single(previousTraverser));
         return cloneTraversal;
     }
 
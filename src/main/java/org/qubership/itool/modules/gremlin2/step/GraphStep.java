@@ -20,45 +20,76 @@ import org.qubership.itool.modules.gremlin2.Traversal;
 import org.qubership.itool.modules.gremlin2.Traverser;
 import org.qubership.itool.modules.graph.BasicGraph;
 import org.qubership.itool.modules.gremlin2.DefaultTraverser;
+import org.qubership.itool.modules.gremlin2.EmptyPath;
+import org.qubership.itool.modules.gremlin2.step.filter.HasStep;
+import org.qubership.itool.modules.gremlin2.step.util.HasContainer;
 import org.qubership.itool.modules.gremlin2.util.ElementType;
 
 import io.vertx.core.json.JsonObject;
 
 import java.util.*;
-import java.util.function.Supplier;
+
+import static org.qubership.itool.modules.graph.Graph.F_TYPE;
 
 public class GraphStep<S, E extends JsonObject> extends AbstractStep<S, E> {
 
     protected String[] ids;
     protected boolean isStart;
     protected Class<E> returnClass;
-    protected Supplier<Iterator<S>> iteratorSupplier;
     protected ElementType elementType;
+    // Vertex types folded from the following hasType(), null for any type
+    protected List<String> types;
+    protected boolean pathTracking = true;
 
     @Override
     public String toString() {
-        return getClass().getSimpleName() + "(" + elementType + "," + Arrays.toString(ids) + ")";
+        return getClass().getSimpleName() + "(" + elementType + "," + Arrays.toString(ids)
+            + (types == null ? "" : "," + types) + ")";
     }
 
-    @SuppressWarnings("unchecked")
     public GraphStep(Traversal.Admin traversal, Class<E> returnClass, boolean isStart, ElementType elementType, String ... ids) {
         super(traversal);
         this.returnClass = returnClass;
         this.isStart = isStart;
         this.elementType = elementType;
         this.ids = ids;
+    }
 
-        switch (this.elementType){
-            case vertex:
-                this.iteratorSupplier = () -> (ids.length == 0) ?
-                      (Iterator<S>)getTraversal().getGraph().vertexList().iterator()
-                    : (Iterator<S>)getVerticesByIds().iterator();
-                break;
-            case edge:
-                this.iteratorSupplier = () -> (ids.length == 0) ?
-                      (Iterator<S>)getTraversal().getGraph().edgeList().iterator()
-                    : (Iterator<S>)getEdgesByIds().iterator();
-        }
+    public ElementType getElementType() {
+        return this.elementType;
+    }
+
+    public String[] getIds() {
+        return this.ids;
+    }
+
+    public void setIds(String... ids) {
+        this.ids = ids;
+    }
+
+    public List<String> getTypes() {
+        return this.types;
+    }
+
+    /** Restrict the vertices to start from to the given types
+     *
+     * @param types Vertex types, {@code null} for any type
+     */
+    public void setTypes(List<String> types) {
+        this.types = types;
+    }
+
+    public boolean isPathTracking() {
+        return this.pathTracking;
+    }
+
+    /** Whether traversers started by this step track their paths. Paths are not needed
+     * unless consumed by {@code path()}, {@code select()} and similar steps.
+     *
+     * @param pathTracking {@code true} by default
+     */
+    public void setPathTracking(boolean pathTracking) {
+        this.pathTracking = pathTracking;
     }
 
     private List<JsonObject> getVerticesByIds() {
@@ -85,18 +116,116 @@ public class GraphStep<S, E extends JsonObject> extends AbstractStep<S, E> {
         return result;
     }
 
+    /* If this step is followed by a filter on an indexed vertex property, get the vertices to start from.
+     * The filter itself is still applied by the next step. */
+    private List<JsonObject> getVerticesFromIndex() {
+        if (this.elementType != ElementType.vertex || this.ids.length != 0
+            || !(getNextStep() instanceof HasStep))
+        {
+            return null;
+        }
+        HasStep<?> hasStep = (HasStep<?>) getNextStep();
+        BasicGraph graph = getTraversal().getGraph();
+        // Other indexed properties are likely more selective than vertex type
+        HasContainer typeContainer = null;
+        for (HasContainer hasContainer : hasStep.getHasContainers()) {
+            String key = hasContainer.getPropertyKey();
+            if (F_TYPE.equals(key) || ("/" + F_TYPE).equals(key)) {
+                typeContainer = hasContainer;
+                continue;
+            }
+            List<JsonObject> result = graph.getVerticesByIndex(key, hasContainer.getPredicate());
+            if (result != null) {
+                return result;
+            }
+        }
+        if (this.types != null) {
+            return null;
+        }
+        if (hasStep.getType() != null) {
+            return graph.getVerticesByType(Collections.singletonList(hasStep.getType()));
+        }
+        if (typeContainer != null) {
+            return graph.getVerticesByIndex(typeContainer.getPropertyKey(), typeContainer.getPredicate());
+        }
+        return null;
+    }
+
+    /* Elements to start from if they are found without a full scan, otherwise null */
+    private List<JsonObject> findElements() {
+        List<JsonObject> found;
+        if (this.ids.length != 0) {
+            found = (this.elementType == ElementType.vertex) ? getVerticesByIds() : getEdgesByIds();
+        } else {
+            found = getVerticesFromIndex();
+            if (found == null) {
+                return (this.types != null) ? getTraversal().getGraph().getVerticesByType(this.types) : null;
+            }
+        }
+        if (this.types == null) {
+            return found;
+        }
+        List<JsonObject> result = new ArrayList<>(found.size());
+        for (JsonObject element : found) {
+            if (this.types.contains(element.getValue(F_TYPE))) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Iterator<S> elementIterator(List<JsonObject> found) {
+        if (found != null) {
+            return (Iterator<S>) found.iterator();
+        }
+        BasicGraph graph = getTraversal().getGraph();
+        return (this.elementType == ElementType.vertex)
+            ? (Iterator<S>) Spliterators.iterator(graph.vertexSpliterator())
+            : (Iterator<S>) graph.edgeList().iterator();
+    }
+
+    private Traverser<S> createTraverser(S item) {
+        return this.pathTracking
+            ? new DefaultTraverser<S>((JsonObject) item, item)
+            : new DefaultTraverser<S>((JsonObject) item, item, EmptyPath.instance());
+    }
+
     @Override
     protected List<Traverser<S>> fetchPreviousTraversers() {
-        List<Traverser<S>> result = new ArrayList<>();
-        Iterator<S> iterator = this.iteratorSupplier.get();
+        List<JsonObject> found = findElements();
+        List<Traverser<S>> result = new ArrayList<>(estimateSize(found));
+        Iterator<S> iterator = elementIterator(found);
         while (iterator.hasNext()) {
-            S item = iterator.next();
-            Traverser<S> traverser = new DefaultTraverser<S>((JsonObject)item, item);
-            result.add(traverser);
+            result.add(createTraverser(iterator.next()));
         }
         return result;
     }
 
+    @Override
+    protected Iterator<Traverser<S>> previousIterator() {
+        Iterator<S> iterator = elementIterator(findElements());
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Traverser<S> next() {
+                return createTraverser(iterator.next());
+            }
+        };
+    }
+
+    private int estimateSize(List<JsonObject> found) {
+        if (found != null) {
+            return found.size();
+        }
+        BasicGraph graph = getTraversal().getGraph();
+        return (this.elementType == ElementType.vertex) ? graph.getVertexCount() : graph.getEdgeCount();
+    }
+
     @Override
     protected void processPreviousTraverser(Traverser.Admin<S> previousTraverser, List<Traverser<E>> result) {
         result.add((Traverser<E>) previousTraverser);
@@ -109,7 +238,8 @@ public class GraphStep<S, E extends JsonObject> extends AbstractStep<S, E> {
         clone.returnClass = this.returnClass;
         clone.elementType = this.elementType;
         clone.ids = this.ids;
-//        clone.iteratorSupplier = this.iteratorSupplier;
+        clone.types = this.types;
+        clone.pathTracking = this.pathTracking;
         return clone;
     }
 
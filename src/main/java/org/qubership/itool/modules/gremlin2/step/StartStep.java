@@ -20,6 +20,7 @@ import org.qubership.itool.modules.gremlin2.Traversal;
 import org.qubership.itool.modules.gremlin2.Traverser;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 public class StartStep<S> extends AbstractStep<S, S> {
@@ -51,6 +52,11 @@ public class StartStep<S> extends AbstractStep<S, S> {
         return result;
     }
 
+    @Override
+    protected Iterator<Traverser<S>> previousIterator() {
+        return fetchPreviousTraversers().iterator();
+    }
+
     @Override
     protected void processPreviousTraverser(Traverser.Admin<S> previousTraverser, List<Traverser<S>> result) {
         result.add(previousTraverser);
@@ -18,6 +18,7 @@ package org.qubership.itool.modules.gremlin2.step.barrier;
 
 import org.qubership.itool.modules.gremlin2.Traversal;
 import org.qubership.itool.modules.gremlin2.Traverser;
+import org.qubership.itool.modules.gremlin2.util.TraversalHelper;
 
 import java.util.List;
 
@@ -30,7 +31,7 @@ public class CountGlobalStep<S> extends ReducingBarrierStep<S, Long> {
 
     @Override
     protected Long projectTraversers(List<Traverser<S>> previousTraversers) {
-        return Long.valueOf(previousTraversers.size());
+        return TraversalHelper.bulkSize(previousTraversers);
     }
 
 }
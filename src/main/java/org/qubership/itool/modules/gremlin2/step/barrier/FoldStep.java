@@ -29,11 +29,14 @@ public class FoldStep<S, E> extends ReducingBarrierStep<S, E>{
         super(traversal);
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     protected E projectTraversers(List<Traverser<S>> previousTraversers) {
-        List result = new ArrayList<>();
+        List<S> result = new ArrayList<>();
         for (Traverser<S> traverser : previousTraversers) {
-            result.add(traverser.get());
+            for (long i = 0; i < traverser.bulk(); i++) {
+                result.add(traverser.get());
+            }
         }
         return (E)result;
     }
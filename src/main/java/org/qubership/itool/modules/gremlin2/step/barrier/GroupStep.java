@@ -21,7 +21,10 @@ import org.qubership.itool.modules.gremlin2.Traversal;
 import org.qubership.itool.modules.gremlin2.Traverser;
 import org.qubership.itool.modules.gremlin2.step.AbstractStep;
 import org.qubership.itool.modules.gremlin2.step.ByModulating;
+import org.qubership.itool.modules.gremlin2.step.util.CompiledTraversal;
 import org.qubership.itool.modules.gremlin2.util.ValueHelper;
+import org.qubership.itool.modules.gremlin2.step.TraversalParent;
+import org.qubership.itool.modules.gremlin2.util.TraversalHelper;
 import io.vertx.core.json.JsonObject;
 
 import java.util.ArrayList;
@@ -29,11 +32,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>> implements ByModulating {
+public class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>> implements ByModulating, TraversalParent {
 
     private String[] modulateBy;
     private String[] modulateByBy;
     private Traversal.Admin modulateByTraversal;
+    private CompiledTraversal<S, ?> compiledByTraversal;
 
     @Override
     public String toString() {
@@ -111,14 +115,14 @@ public class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>> implem
             if (resultBy == null) {
                 resultBy = result;
             }
+            this.compiledByTraversal = CompiledTraversal.compile(this.compiledByTraversal, this.modulateByTraversal, this.traversal);
             for (K resultKey : resultBy.keySet()) {
                 List resultList = (List)resultBy.get(resultKey);
                 List<Traverser.Admin<S>> trList = new ArrayList<>();
                 for (Object obj : resultList) {
                     trList.add(new DefaultTraverser<>((S)obj));
                 }
-//                Traversal.Admin cloneTraversal = this.modulateByTraversal.clone();
-                Traversal.Admin cloneTraversal = prepareInnerTraversal(this.modulateByTraversal, trList);
+                Traversal.Admin<S, ?> cloneTraversal = this.compiledByTraversal.start(trList);
                 List modulateList = cloneTraversal.toList();
                 if (modulateList.size() > 1) {
                     resultByBy.put(resultKey, (V)modulateList);
@@ -199,11 +203,16 @@ public class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>> implem
 
     @Override
     public AbstractStep<S, Map<K, V>> clone() {
-        GroupStep clone =  (GroupStep)super.clone();
+        GroupStep<S, K, V> clone = (GroupStep<S, K, V>) super.clone();
         clone.modulateBy = this.modulateBy;
         clone.modulateByBy = this.modulateByBy;
         clone.modulateByTraversal = this.modulateByTraversal;
+        clone.compiledByTraversal = null;
         return clone;
     }
 
+    @Override
+    public <A, B> List<Traversal.Admin<A, B>> getLocalChildren() {
+        return TraversalHelper.children(this.modulateByTraversal);
+    }
 }
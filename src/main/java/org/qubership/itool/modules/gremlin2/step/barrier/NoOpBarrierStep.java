@@ -0,0 +1,187 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.gremlin2.step.barrier;
+
+import io.vertx.core.json.JsonObject;
+import org.qubership.itool.modules.gremlin2.EmptyPath;
+import org.qubership.itool.modules.gremlin2.Traversal;
+import org.qubership.itool.modules.gremlin2.Traverser;
+import org.qubership.itool.modules.gremlin2.step.AbstractStep;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Passes the traversers unchanged, except that traversers with the same object and source
+ * are merged into one with a bulk (see {@link Traverser#bulk()}), so the following steps process
+ * them once. Merged traversers take the place of the first one, so the order changes.
+ * Traversers are collected in windows of {@code maxBarrierSize}, so {@code next()}
+ * still stops pulling the previous steps early.
+ *
+ * <p>Only traversers that do not track paths are merged. Vertices and edges are compared by
+ * identity, strings, numbers and booleans by value; other objects are never merged.
+ * Inserted by {@link org.qubership.itool.modules.gremlin2.strategy.BulkingStrategy}.
+ */
+public class NoOpBarrierStep<S> extends AbstractStep<S, S> {
+
+    public static final int DEFAULT_MAX_BARRIER_SIZE = 1000;
+
+    private int maxBarrierSize;
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + maxBarrierSize + ")";
+    }
+
+    public NoOpBarrierStep(Traversal.Admin<?, ?> traversal) {
+        this(traversal, DEFAULT_MAX_BARRIER_SIZE);
+    }
+
+    public NoOpBarrierStep(Traversal.Admin<?, ?> traversal, int maxBarrierSize) {
+        super(traversal);
+        this.maxBarrierSize = maxBarrierSize;
+    }
+
+    public int getMaxBarrierSize() {
+        return this.maxBarrierSize;
+    }
+
+    @Override
+    public Iterator<Traverser<S>> iterator() {
+        if (traversal.getProfile().isStart()) {
+            return getTraversers().iterator();
+        }
+        return new WindowIterator();
+    }
+
+    @Override
+    protected void processAllPreviousTraversers(List<Traverser<S>> previousTraversers, List<Traverser<S>> result) {
+        merge(previousTraversers, result);
+    }
+
+    @Override
+    protected void processPreviousTraverser(Traverser.Admin<S> previousTraverser, List<Traverser<S>> result) {
+        result.add(previousTraverser);
+    }
+
+    private void merge(List<Traverser<S>> traversers, List<Traverser<S>> result) {
+        Map<Key, Traverser.Admin<S>> merged = new HashMap<>();
+        for (Traverser<S> traverser : traversers) {
+            Object obj = traverser.get();
+            if (traverser.path() != EmptyPath.instance() || !isMergeable(obj)) {
+                result.add(traverser);
+                continue;
+            }
+            Key key = new Key(obj, traverser.getSource());
+            Traverser.Admin<S> head = merged.get(key);
+            if (head == null) {
+                merged.put(key, traverser.asAdmin());
+                result.add(traverser);
+            } else {
+                head.setBulk(head.bulk() + traverser.bulk());
+            }
+        }
+    }
+
+    private static boolean isMergeable(Object obj) {
+        return obj instanceof JsonObject || obj instanceof String || obj instanceof Number || obj instanceof Boolean;
+    }
+
+    @Override
+    public AbstractStep<S, S> clone() {
+        NoOpBarrierStep<S> clone = (NoOpBarrierStep<S>) super.clone();
+        clone.maxBarrierSize = this.maxBarrierSize;
+        return clone;
+    }
+
+    /* JSON objects are mutable and costly to compare, graph elements are the same instances */
+    private static class Key {
+        private final Object obj;
+        private final JsonObject source;
+
+        Key(Object obj, JsonObject source) {
+            this.obj = obj;
+            this.source = source;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) other;
+            if (this.source != that.source) {
+                return false;
+            }
+            if (this.obj instanceof JsonObject) {
+                return this.obj == that.obj;
+            }
+            return this.obj.equals(that.obj);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = (obj instanceof JsonObject) ? System.identityHashCode(obj) : obj.hashCode();
+            return 31 * hash + System.identityHashCode(source);
+        }
+    }
+
+    /* Merges the previous traversers one window at a time */
+    private class WindowIterator implements Iterator<Traverser<S>> {
+
+        private Iterator<Traverser<S>> previousTraversers;
+        private final List<Traverser<S>> window = new ArrayList<>();
+        private final List<Traverser<S>> buffer = new ArrayList<>();
+        private int position;
+
+        @Override
+        public boolean hasNext() {
+            while (position == buffer.size()) {
+                if (previousTraversers == null) {
+                    previousTraversers = previousIterator();
+                }
+                if (!previousTraversers.hasNext()) {
+                    return false;
+                }
+                window.clear();
+                while (window.size() < maxBarrierSize && previousTraversers.hasNext()) {
+                    window.add(previousTraversers.next());
+                }
+                buffer.clear();
+                position = 0;
+                merge(window, buffer);
+                filterEmptyTraverserIfRequired(buffer);
+                applyLabelsModulator(buffer);
+            }
+            return true;
+        }
+
+        @Override
+        public Traverser<S> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.get(position++);
+        }
+
+    }
+
+}
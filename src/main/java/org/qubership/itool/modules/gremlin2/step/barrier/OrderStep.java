@@ -24,15 +24,18 @@ import org.qubership.itool.modules.gremlin2.structure.MapElement;
 import org.qubership.itool.modules.gremlin2.util.Order;
 import io.vertx.core.json.JsonObject;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 public class OrderStep<S, E> extends ReducingBarrierStep<S, S> implements ByModulating {
 
     private Order orderBy = Order.asc;
     private String orderByKey;
     private MapElement orderByMapElement;
+    private int limit = -1;
 
     @Override
     public String toString() {
@@ -40,6 +43,7 @@ public class OrderStep<S, E> extends ReducingBarrierStep<S, S> implements ByModu
             + (orderBy == null ? "": orderBy)
             + (orderByKey == null ? "": orderByKey)
             + (orderByMapElement == null ? "": orderByMapElement)
+            + (limit < 0 ? "": ",limit=" + limit)
             + ")";
     }
 
@@ -49,9 +53,46 @@ public class OrderStep<S, E> extends ReducingBarrierStep<S, S> implements ByModu
 
     @Override
     protected void processAllPreviousTraversers(List<Traverser<S>> previousTraversers, List<Traverser<S>> result) {
-        result.addAll(previousTraversers);
+        Comparator<Traverser<S>> comparator = comparator();
+        if (this.limit >= 0 && this.limit < previousTraversers.size()) {
+            result.addAll(top(previousTraversers, comparator));
+        } else {
+            result.addAll(previousTraversers);
+            result.sort(comparator);
+        }
+    }
+
+    /* The first traversers of the stable sort, without sorting all of them */
+    private List<Traverser<S>> top(List<Traverser<S>> previousTraversers, Comparator<Traverser<S>> comparator) {
+        // Heap of indexes with the greatest traverser on top, later traversers are greater among equal ones
+        Comparator<Integer> byPosition = (first, second) -> {
+            int result = comparator.compare(previousTraversers.get(first), previousTraversers.get(second));
+            return (result != 0) ? result : Integer.compare(first, second);
+        };
+        PriorityQueue<Integer> heap = new PriorityQueue<>(this.limit + 1, byPosition.reversed());
+        for (int i = 0; i < previousTraversers.size(); i++) {
+            if (heap.size() < this.limit) {
+                heap.add(i);
+            } else if (this.limit > 0
+                && comparator.compare(previousTraversers.get(i), previousTraversers.get(heap.peek())) < 0)
+            {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+        List<Integer> positions = new ArrayList<>(heap);
+        positions.sort(byPosition);
+        List<Traverser<S>> result = new ArrayList<>(positions.size());
+        for (Integer position : positions) {
+            result.add(previousTraversers.get(position));
+        }
+        return result;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Comparator<Traverser<S>> comparator() {
         if (this.orderByKey != null) {
-            Collections.sort(result, (first, second) -> {
+            return (first, second) -> {
                 S firstObj = first == null ? null : first.get();
                 S secondObj = second == null ? null : second.get();
                 if (firstObj == null && secondObj == null) {
@@ -89,10 +130,10 @@ public class OrderStep<S, E> extends ReducingBarrierStep<S, S> implements ByModu
                     return 1;
                 }
                 return orderBy.compare(firstValue, secondValue);
-            });
+            };
 
         } else if(this.orderByMapElement != null) {
-            Collections.sort(result, (first, second) -> {
+            return (first, second) -> {
                 S firstObj = first == null ? null : first.get();
                 S secondObj = second == null ? null : second.get();
                 if (firstObj == null && secondObj == null) {
@@ -136,10 +177,10 @@ public class OrderStep<S, E> extends ReducingBarrierStep<S, S> implements ByModu
                     return 1;
                 }
                 return orderBy.compare(firstValue, secondValue);
-            });
+            };
 
         } else {
-            Collections.sort(result, this.orderBy);
+            return (Comparator) this.orderBy;
         }
     }
 
@@ -170,10 +211,23 @@ public class OrderStep<S, E> extends ReducingBarrierStep<S, S> implements ByModu
         this.orderByMapElement = mapElement;
     }
 
+    public int getLimit() {
+        return this.limit;
+    }
+
+    /** Keep only the given number of first traversers, as a following limit() would
+     *
+     * @param limit Number of traversers, or a negative number to keep all of them
+     */
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
     @Override
     public AbstractStep<S, S> clone() {
         OrderStep clone = (OrderStep) super.clone();
         clone.orderBy = this.orderBy;
+        clone.limit = this.limit;
         return clone;
     }
 
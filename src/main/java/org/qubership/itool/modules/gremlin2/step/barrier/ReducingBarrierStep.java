@@ -36,6 +36,11 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> {
         result.add(traverser);
     }
 
+    @Override
+    protected boolean isBarrier() {
+        return true;
+    }
+
     protected abstract E projectTraversers(List<Traverser<S>> previousTraversers);
 
     @Override
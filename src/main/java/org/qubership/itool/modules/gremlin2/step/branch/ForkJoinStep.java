@@ -40,6 +40,18 @@ public class ForkJoinStep<S, E> extends LocalStep<S, E> {
         this.pool = pool;
     }
 
+    @Override
+    protected boolean isBarrier() {
+        return true;   // Previous traversers are processed in parallel
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected Traversal.Admin<?, E> startInnerTraversal(Traverser.Admin<S> previousTraverser) {
+        // Runs in parallel: every previous traverser gets its own clone
+        return prepareInnerTraversal((Traversal.Admin<?, E>) innerTraversal, previousTraverser);
+    }
+
     protected void processAllPreviousTraversers(List<Traverser<S>> previousTraversers, List<Traverser<E>> result) {
         List<RecursiveTask<List<Traverser<E>>>> subtasks = new ArrayList<>();
         for (Traverser<S> previousTraverser: previousTraversers) {
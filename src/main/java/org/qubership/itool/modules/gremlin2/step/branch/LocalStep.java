@@ -20,12 +20,16 @@ import org.qubership.itool.modules.gremlin2.Step;
 import org.qubership.itool.modules.gremlin2.Traversal;
 import org.qubership.itool.modules.gremlin2.Traverser;
 import org.qubership.itool.modules.gremlin2.step.AbstractStep;
+import org.qubership.itool.modules.gremlin2.step.TraversalParent;
+import org.qubership.itool.modules.gremlin2.step.util.CompiledTraversal;
+import org.qubership.itool.modules.gremlin2.util.TraversalHelper;
 
 import java.util.List;
 
-public class LocalStep<S, E> extends AbstractStep<S, E> {
+public class LocalStep<S, E> extends AbstractStep<S, E> implements TraversalParent {
 
     protected Traversal.Admin<?, ?> innerTraversal;
+    private CompiledTraversal<S, E> compiledTraversal;
 
     public <E2> LocalStep(Traversal.Admin<S, E> traversal, Traversal.Admin<?, E2> innerTraversal) {
         super(traversal);
@@ -40,7 +44,7 @@ public class LocalStep<S, E> extends AbstractStep<S, E> {
     @SuppressWarnings({ "unchecked", "rawtypes" })
     @Override
     protected void processPreviousTraverser(Traverser.Admin<S> previousTraverser, List<Traverser<E>> result) {
-        Traversal.Admin<?, E> cloneTraversal = prepareInnerTraversal((Traversal.Admin<?, E>) innerTraversal, previousTraverser);
+        Traversal.Admin<?, E> cloneTraversal = startInnerTraversal(previousTraverser);
         List<Traverser<E>> cloneResultList = cloneTraversal.getEndStep().getTraversers();
 
         for (Traverser<E> cloneResult : cloneResultList) {
@@ -50,12 +54,28 @@ public class LocalStep<S, E> extends AbstractStep<S, E> {
         }
     }
 
+    /** Start the inner traversal for a previous traverser, reusing the compiled inner traversal.
+     *
+     * @param previousTraverser Previous traverser
+     * @return Inner traversal ready to run
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected Traversal.Admin<?, E> startInnerTraversal(Traverser.Admin<S> previousTraverser) {
+        this.compiledTraversal = CompiledTraversal.compile(this.compiledTraversal, innerTraversal, this.traversal);
+        return this.compiledTraversal.start(previousTraverser);
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     @Override
     public AbstractStep<S, E> clone() {
         LocalStep clone = (LocalStep) super.clone();
         clone.innerTraversal = this.innerTraversal.clone();
+        clone.compiledTraversal = null;
         return clone;
     }
 
+    @Override
+    public <A, B> List<Traversal.Admin<A, B>> getLocalChildren() {
+        return TraversalHelper.children(this.innerTraversal);
+    }
 }
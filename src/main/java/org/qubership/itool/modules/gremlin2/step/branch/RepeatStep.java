@@ -22,13 +22,15 @@ import org.qubership.itool.modules.gremlin2.Traverser;
 import org.qubership.itool.modules.gremlin2.graph.lambda.TrueTraversal;
 import org.qubership.itool.modules.gremlin2.step.AbstractStep;
 import org.qubership.itool.modules.gremlin2.step.TimesModulating;
+import org.qubership.itool.modules.gremlin2.step.util.CompiledTraversal;
 import org.qubership.itool.modules.gremlin2.util.TraversalHelper;
+import org.qubership.itool.modules.gremlin2.step.TraversalParent;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
 
-public class RepeatStep<S> extends AbstractStep implements TimesModulating {
+public class RepeatStep<S> extends AbstractStep implements TimesModulating, TraversalParent {
 
     private Traversal.Admin<S, S> repeatTraversal = null;
     private Traversal.Admin<S, ?> untilTraversal = null;
@@ -37,6 +39,9 @@ public class RepeatStep<S> extends AbstractStep implements TimesModulating {
     private boolean untilFirst = false;
     private boolean emitFirst = false;
     private int maxLoops = 0;
+    private CompiledTraversal<S, S> compiledRepeat;
+    private CompiledTraversal<S, ?> compiledUntil;
+    private CompiledTraversal<S, ?> compiledEmit;
 
     @Override
     public String toString() {
@@ -83,8 +88,9 @@ public class RepeatStep<S> extends AbstractStep implements TimesModulating {
             }
 
             List<Traverser<S>> tmpList = new ArrayList<>();
+            this.compiledRepeat = CompiledTraversal.compile(this.compiledRepeat, this.repeatTraversal, this.traversal);
             for (Traverser<S> traverser : tmpResultList) {
-                Traversal.Admin<?, S> cloneTraversal_02 = prepareInnerTraversal(repeatTraversal, (Traverser.Admin)traverser);
+                Traversal.Admin<?, S> cloneTraversal_02 = this.compiledRepeat.start(traverser.asAdmin());
                 tmpList.addAll(cloneTraversal_02.getEndStep().getTraversers());
             }
 
@@ -131,10 +137,11 @@ public class RepeatStep<S> extends AbstractStep implements TimesModulating {
     }
 
     private void doUntil(List result, List<Traverser<S>> tmpList) {
+        this.compiledUntil = CompiledTraversal.compile(this.compiledUntil, this.untilTraversal, this.traversal);
         ListIterator<Traverser<S>> listIterator = tmpList.listIterator();
         while (listIterator.hasNext()) {
             Traverser.Admin<S> traverser = (Traverser.Admin<S>) listIterator.next();
-            if (filterByTraversal(this.untilTraversal, traverser)) {
+            if (filterByTraversal(this.untilTraversal, this.compiledUntil, traverser)) {
                 result.add(traverser);
                 listIterator.remove();
             }
@@ -142,19 +149,20 @@ public class RepeatStep<S> extends AbstractStep implements TimesModulating {
     }
 
     private void doEmit(List result, List<Traverser<S>> tmpResultList) {
+        this.compiledEmit = CompiledTraversal.compile(this.compiledEmit, this.emitTraversal, this.traversal);
         for (Traverser<S> traverser : tmpResultList) {
-            if (filterByTraversal(this.emitTraversal, (Traverser.Admin)traverser)) {
+            if (filterByTraversal(this.emitTraversal, this.compiledEmit, traverser.asAdmin())) {
                 result.add(traverser);
             }
         }
     }
 
-    private boolean filterByTraversal(Traversal.Admin<?, ?> traversal, Traverser.Admin<S> traverser) {
+    private boolean filterByTraversal(Traversal.Admin<?, ?> traversal, CompiledTraversal<S, ?> compiled, Traverser.Admin<S> traverser) {
         if (traversal instanceof TrueTraversal) {
             return true;
         }
 
-        Traversal.Admin<?, ?> cloneTraversal = prepareInnerTraversal(traversal, traverser);
+        Traversal.Admin<?, ?> cloneTraversal = compiled.start(traverser);
         Object result = cloneTraversal.next();
         return (result != null);
     }
@@ -164,6 +172,7 @@ public class RepeatStep<S> extends AbstractStep implements TimesModulating {
         this.maxLoops = maxLoops;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public AbstractStep clone() {
         RepeatStep clone = (RepeatStep) super.clone();
@@ -174,6 +183,9 @@ public class RepeatStep<S> extends AbstractStep implements TimesModulating {
         clone.emitFirst = emitFirst;
         clone.untilFirst = untilFirst;
         clone.maxLoops = maxLoops;
+        clone.compiledRepeat = null;
+        clone.compiledUntil = null;
+        clone.compiledEmit = null;
         return clone;
     }
 
@@ -265,4 +277,13 @@ public class RepeatStep<S> extends AbstractStep implements TimesModulating {
         return traversal;
     }
 
+    @Override
+    public <A, B> List<Traversal.Admin<A, B>> getGlobalChildren() {
+        return TraversalHelper.children(this.repeatTraversal);
+    }
+
+    @Override
+    public <A, B> List<Traversal.Admin<A, B>> getLocalChildren() {
+        return TraversalHelper.children(this.untilTraversal, this.emitTraversal);
+    }
 }
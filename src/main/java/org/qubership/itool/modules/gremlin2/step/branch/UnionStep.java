@@ -19,12 +19,16 @@ package org.qubership.itool.modules.gremlin2.step.branch;
 import org.qubership.itool.modules.gremlin2.Traversal;
 import org.qubership.itool.modules.gremlin2.Traverser;
 import org.qubership.itool.modules.gremlin2.step.AbstractStep;
+import org.qubership.itool.modules.gremlin2.step.TraversalParent;
+import org.qubership.itool.modules.gremlin2.step.util.CompiledTraversal;
+import org.qubership.itool.modules.gremlin2.util.TraversalHelper;
 
 import java.util.List;
 
-public class UnionStep<S, E> extends AbstractStep<S, E> {
+public class UnionStep<S, E> extends AbstractStep<S, E> implements TraversalParent {
 
     private Traversal.Admin<?, E>[] unionTraversals;
+    private CompiledTraversal<S, E>[] compiledTraversals;
 
     public UnionStep(Traversal.Admin traversal, Traversal.Admin<?, E>  ... unionTraversals) {
         super(traversal);
@@ -42,8 +46,15 @@ public class UnionStep<S, E> extends AbstractStep<S, E> {
 
     @Override
     protected void processPreviousTraverser(Traverser.Admin<S> previousTraverser, List<Traverser<E>> result) {
-        for (Traversal.Admin<?, E> unionTraversal : this.unionTraversals) {
-            Traversal.Admin<?, E> cloneTraversal = prepareInnerTraversal(unionTraversal, previousTraverser);
+        if (this.compiledTraversals == null || this.compiledTraversals.length != this.unionTraversals.length) {
+            @SuppressWarnings({ "unchecked", "rawtypes" })
+            CompiledTraversal<S, E>[] compiled = new CompiledTraversal[this.unionTraversals.length];
+            this.compiledTraversals = compiled;
+        }
+        for (int i = 0; i < this.unionTraversals.length; i++) {
+            this.compiledTraversals[i] = CompiledTraversal.compile(
+                this.compiledTraversals[i], this.unionTraversals[i], this.traversal);
+            Traversal.Admin<?, E> cloneTraversal = this.compiledTraversals[i].start(previousTraverser);
             List<Traverser<E>> cloneResultList = cloneTraversal.getEndStep().getTraversers();
             for (Traverser<E> cloneResult : cloneResultList) {
                 result.add(cloneResult);
@@ -53,9 +64,14 @@ public class UnionStep<S, E> extends AbstractStep<S, E> {
 
     @Override
     public AbstractStep<S, E> clone() {
-        UnionStep clone = (UnionStep) super.clone();
+        UnionStep<S, E> clone = (UnionStep<S, E>) super.clone();
         clone.unionTraversals = this.unionTraversals;
+        clone.compiledTraversals = null;
         return clone;
     }
 
+    @Override
+    public <A, B> List<Traversal.Admin<A, B>> getGlobalChildren() {
+        return TraversalHelper.children(this.unionTraversals);
+    }
 }
@@ -23,6 +23,7 @@ import org.qubership.itool.modules.gremlin2.step.ByModulating;
 import org.qubership.itool.modules.gremlin2.util.ValueHelper;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class DedupStep<S> extends FilterStep<S> implements ByModulating {
@@ -44,6 +45,20 @@ public class DedupStep<S> extends FilterStep<S> implements ByModulating {
         this.origMap = new HashMap<>();
     }
 
+    @Override
+    protected void processPreviousTraverser(Traverser.Admin<S> previousTraverser, List<Traverser<S>> result) {
+        if (filter(previousTraverser)) {
+            if (previousTraverser.bulk() == 1) {
+                result.add(previousTraverser);
+            } else {
+                // The rest of the bulk are duplicates
+                Traverser.Admin<S> single = previousTraverser.clone().asAdmin();
+                single.setBulk(1);
+                result.add(single);
+            }
+        }
+    }
+
     @Override
     protected boolean filter(Traverser.Admin<S> traverser) {
         S obj = traverser.get();
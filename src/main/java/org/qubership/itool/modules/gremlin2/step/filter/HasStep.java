@@ -19,19 +19,22 @@ package org.qubership.itool.modules.gremlin2.step.filter;
 import org.qubership.itool.modules.gremlin2.Traversal;
 import org.qubership.itool.modules.gremlin2.Traverser;
 import org.qubership.itool.modules.gremlin2.step.AbstractStep;
+import org.qubership.itool.modules.gremlin2.step.util.CompiledTraversal;
 import org.qubership.itool.modules.gremlin2.step.util.HasContainer;
 import org.qubership.itool.modules.gremlin2.step.util.HasContainerHolder;
-import org.qubership.itool.modules.gremlin2.util.TraversalHelper;
 import org.qubership.itool.modules.gremlin2.util.ValueHelper;
 import io.vertx.core.json.JsonObject;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class HasStep<S> extends FilterStep<S> implements HasContainerHolder {
 
     private String type;
     private List<HasContainer> hasContainers;
+    private Map<HasContainer, CompiledTraversal<S, ?>> compiledTraversals = new IdentityHashMap<>();
 
     @Override
     public String toString() {
@@ -66,11 +69,10 @@ public class HasStep<S> extends FilterStep<S> implements HasContainerHolder {
             Object value = ValueHelper.getObjectValue(hasContainer.getPropertyKey(), obj);
             Object predicateValue = hasContainer.getPredicate().getValue();
             if (predicateValue instanceof Traversal) {
-                Traversal.Admin predicateTraversal = ((Traversal.Admin<?, ?>) predicateValue).clone();
-                TraversalHelper.propagateSource(this.traversal, predicateTraversal);
-                predicateTraversal.setRoot(true);
-                predicateTraversal.addStart((Traverser.Admin) traverser.clone());
-                predicateValue = predicateTraversal.next();
+                CompiledTraversal<S, ?> compiled = CompiledTraversal.compile(
+                    this.compiledTraversals.get(hasContainer), (Traversal.Admin<?, ?>) predicateValue, this.traversal);
+                this.compiledTraversals.put(hasContainer, compiled);
+                predicateValue = compiled.start(traverser).next();
                 hasContainer.getPredicate().setOriginalValue(predicateValue);
             }
 
@@ -85,15 +87,20 @@ public class HasStep<S> extends FilterStep<S> implements HasContainerHolder {
 
     @Override
     public AbstractStep<S, S> clone() {
-        HasStep clone = (HasStep)super.clone();
+        HasStep<S> clone = (HasStep<S>) super.clone();
         clone.type = this.type;
-        clone.hasContainers = new ArrayList();
+        clone.hasContainers = new ArrayList<>();
         for (HasContainer hasContainer : this.hasContainers) {
             clone.hasContainers.add(hasContainer);
         }
+        clone.compiledTraversals = new IdentityHashMap<>();
         return clone;
     }
 
+    public String getType() {
+        return this.type;
+    }
+
     @Override
     public List<HasContainer> getHasContainers() {
         return this.hasContainers;
@@ -107,4 +114,24 @@ public class HasStep<S> extends FilterStep<S> implements HasContainerHolder {
         this.hasContainers.add(hasContainer);
     }
 
+    /** Take over the conditions and labels of the step that follows this one,
+     * so traversers pass a single filter.
+     *
+     * @param next The following step, to be removed from the traversal when merged
+     * @return {@code false} if the steps can not be merged
+     */
+    public boolean merge(HasStep<S> next) {
+        if (!this.labels.isEmpty() || this.ignoreEmptyTraverser != next.ignoreEmptyTraverser
+            || (this.type != null && next.type != null && !this.type.equals(next.type)))
+        {
+            return false;
+        }
+        if (this.type == null) {
+            this.type = next.type;
+        }
+        this.hasContainers.addAll(next.hasContainers);
+        this.labels.addAll(next.labels);
+        return true;
+    }
+
 }
@@ -19,10 +19,16 @@ package org.qubership.itool.modules.gremlin2.step.filter;
 import org.qubership.itool.modules.gremlin2.Traversal;
 import org.qubership.itool.modules.gremlin2.Traverser;
 import org.qubership.itool.modules.gremlin2.step.AbstractStep;
+import org.qubership.itool.modules.gremlin2.step.TraversalParent;
+import org.qubership.itool.modules.gremlin2.step.util.CompiledTraversal;
+import org.qubership.itool.modules.gremlin2.util.TraversalHelper;
 
-public class NotStep<S> extends FilterStep<S> {
+import java.util.List;
+
+public class NotStep<S> extends FilterStep<S> implements TraversalParent {
 
     private Traversal.Admin<?, ?> innerTraversal;
+    private CompiledTraversal<S, ?> compiledTraversal;
 
     public NotStep(Traversal.Admin traversal, Traversal<?, ?> innerTraversal) {
         super(traversal);
@@ -36,16 +42,22 @@ public class NotStep<S> extends FilterStep<S> {
 
     @Override
     protected boolean filter(Traverser.Admin<S> traverser) {
-        Traversal.Admin<?, ?> cloneTraversal = prepareInnerTraversal((Traversal.Admin<?, S>) this.innerTraversal, traverser);
+        this.compiledTraversal = CompiledTraversal.compile(this.compiledTraversal, this.innerTraversal, this.traversal);
+        Traversal.Admin<?, ?> cloneTraversal = this.compiledTraversal.start(traverser);
         Object result = cloneTraversal.next();
         return (result == null);
     }
 
     @Override
     public AbstractStep<S, S> clone() {
-        NotStep clone = (NotStep) super.clone();
+        NotStep<S> clone = (NotStep<S>) super.clone();
         clone.innerTraversal = this.innerTraversal.clone();
+        clone.compiledTraversal = null;
         return clone;
     }
 
+    @Override
+    public <A, B> List<Traversal.Admin<A, B>> getLocalChildren() {
+        return TraversalHelper.children(this.innerTraversal);
+    }
 }
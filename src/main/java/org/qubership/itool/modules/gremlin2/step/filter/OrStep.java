@@ -19,14 +19,17 @@ package org.qubership.itool.modules.gremlin2.step.filter;
 import org.qubership.itool.modules.gremlin2.Traversal;
 import org.qubership.itool.modules.gremlin2.Traverser;
 import org.qubership.itool.modules.gremlin2.step.AbstractStep;
+import org.qubership.itool.modules.gremlin2.step.util.CompiledTraversal;
 import org.qubership.itool.modules.gremlin2.util.TraversalHelper;
+import org.qubership.itool.modules.gremlin2.step.TraversalParent;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public class OrStep<S> extends FilterStep<S> {
+public class OrStep<S> extends FilterStep<S> implements TraversalParent {
 
     private List<Traversal.Admin<?, S>> orTraversals;
+    private List<CompiledTraversal<S, S>> compiledTraversals = new ArrayList<>();
 
     public OrStep(Traversal.Admin traversal, Traversal.Admin<?, S>  ... orTraversals) {
         super(traversal);
@@ -48,11 +51,16 @@ public class OrStep<S> extends FilterStep<S> {
     @Override
     protected boolean filter(Traverser.Admin<S> traverser) {
         boolean founded = false;
-        for (Traversal.Admin<?, S> orTraversal: this.orTraversals) {
+        for (int i = 0; i < this.orTraversals.size(); i++) {
+            Traversal.Admin<?, S> orTraversal = this.orTraversals.get(i);
             TraversalHelper.propagateSource(this.traversal, orTraversal);
-            Traversal.Admin<?, S> cloneTraversal = prepareInnerTraversal(orTraversal, traverser);
-            List<Traverser<S>> cloneResultList = cloneTraversal.getEndStep().getTraversers();
-            if (cloneResultList.size() != 0) {
+            if (this.compiledTraversals.size() <= i) {
+                this.compiledTraversals.add(null);
+            }
+            CompiledTraversal<S, S> compiled = CompiledTraversal.compile(this.compiledTraversals.get(i), orTraversal, this.traversal);
+            this.compiledTraversals.set(i, compiled);
+            Traversal.Admin<?, S> cloneTraversal = compiled.start(traverser);
+            if (cloneTraversal.getEndStep().iterator().hasNext()) {
                 founded = true;
                 break;
             }
@@ -62,11 +70,12 @@ public class OrStep<S> extends FilterStep<S> {
 
     @Override
     public AbstractStep<S, S> clone() {
-        OrStep clone = (OrStep) super.clone();
-        clone.orTraversals = new ArrayList();
+        OrStep<S> clone = (OrStep<S>) super.clone();
+        clone.orTraversals = new ArrayList<>();
         for (Traversal.Admin<?, S> traversal : this.orTraversals) {
             clone.orTraversals.add(traversal);
         }
+        clone.compiledTraversals = new ArrayList<>();
         return clone;
     }
 
@@ -74,4 +83,8 @@ public class OrStep<S> extends FilterStep<S> {
         this.orTraversals.add(traversal);
     }
 
+    @Override
+    public <A, B> List<Traversal.Admin<A, B>> getLocalChildren() {
+        return TraversalHelper.children(this.orTraversals.toArray(new Traversal<?, ?>[0]));
+    }
 }
@@ -19,6 +19,7 @@ package org.qubership.itool.modules.gremlin2.step.filter;
 import org.qubership.itool.modules.gremlin2.Traversal;
 import org.qubership.itool.modules.gremlin2.Traverser;
 import org.qubership.itool.modules.gremlin2.step.AbstractStep;
+import org.qubership.itool.modules.gremlin2.util.TraversalHelper;
 
 import java.util.List;
 import java.util.Optional;
@@ -27,8 +28,8 @@ public class RangeLimitStep<S> extends FilterStep<S> {
 
     private Optional<Integer> rangeFrom;
     private Optional<Integer> rangeTo;
-    private int rangePosition = 0;
-    private int rangeSize = 0;
+    private long rangePosition = 0;
+    private long rangeSize = 0;
 
     public RangeLimitStep(Traversal.Admin traversal, Optional<Integer> rangeFrom, Optional<Integer> rangeTo) {
         super(traversal);
@@ -36,6 +37,14 @@ public class RangeLimitStep<S> extends FilterStep<S> {
         this.rangeTo = rangeTo;
     }
 
+    public Optional<Integer> getRangeFrom() {
+        return this.rangeFrom;
+    }
+
+    public Optional<Integer> getRangeTo() {
+        return this.rangeTo;
+    }
+
     @Override
     public void clear() {
         this.rangeSize = 0;
@@ -44,34 +53,57 @@ public class RangeLimitStep<S> extends FilterStep<S> {
 
     @Override
     protected void processAllPreviousTraversers(List<Traverser<S>> previousTraversers, List<Traverser<S>> result) {
-        this.rangeSize = previousTraversers.size();
+        this.rangeSize = TraversalHelper.bulkSize(previousTraversers);
         super.processAllPreviousTraversers(previousTraversers, result);
     }
 
+    @Override
+    protected boolean isBarrier() {
+        // Counting from the end needs the total number
+        return rangeFrom.isPresent() && rangeTo.isEmpty();
+    }
+
+    @Override
+    protected boolean isExhausted() {
+        return rangeTo.isPresent() && rangePosition >= rangeTo.get();
+    }
+
+    @Override
+    protected void processPreviousTraverser(Traverser.Admin<S> previousTraverser, List<Traverser<S>> result) {
+        long bulk = previousTraverser.bulk();
+        long taken = take(bulk);
+        if (taken == bulk) {
+            result.add(previousTraverser);
+        } else if (taken > 0) {
+            // Only a part of the bulk is in range
+            Traverser.Admin<S> part = previousTraverser.clone().asAdmin();
+            part.setBulk(taken);
+            result.add(part);
+        }
+    }
+
     @Override
     protected boolean filter(Traverser.Admin<S> traverser) {
-        boolean result = false;
-        if (rangeFrom.isEmpty() && rangeTo.isEmpty()) {
-            result = true;
-
-        } else if (rangeFrom.isPresent() && rangeTo.isPresent()
-            && this.rangePosition >= rangeFrom.get()
-            && this.rangePosition < rangeTo.get()
-        ) {
-            result = true;
-
-        } else if (rangeFrom.isPresent() && rangeTo.isEmpty()
-            && this.rangePosition >= this.rangeSize - rangeFrom.get()
-        ) {
-            result = true;
-
-        } else if (rangeFrom.isEmpty() && rangeTo.isPresent()
-            && this.rangePosition < rangeTo.get()
-        ) {
-            result = true;
+        return take(traverser.bulk()) > 0;
+    }
+
+    /* Move the position past a bulk of traversers, returning how many of them are in range */
+    private long take(long bulk) {
+        long from = this.rangePosition;
+        long to = from + bulk;
+        this.rangePosition = to;
+
+        long low = 0;
+        long high = Long.MAX_VALUE;
+        if (rangeFrom.isPresent() && rangeTo.isPresent()) {
+            low = rangeFrom.get();
+            high = rangeTo.get();
+        } else if (rangeFrom.isPresent()) {
+            low = this.rangeSize - rangeFrom.get();
+        } else if (rangeTo.isPresent()) {
+            high = rangeTo.get();
         }
-        rangePosition += 1;
-        return result;
+        return Math.max(0, Math.min(to, high) - Math.max(from, low));
     }
 
     @Override
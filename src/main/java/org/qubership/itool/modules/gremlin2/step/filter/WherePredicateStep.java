@@ -21,14 +21,19 @@ import org.qubership.itool.modules.gremlin2.Traversal;
 import org.qubership.itool.modules.gremlin2.Traverser;
 import org.qubership.itool.modules.gremlin2.step.AbstractStep;
 import org.qubership.itool.modules.gremlin2.step.ByModulating;
+import org.qubership.itool.modules.gremlin2.step.TraversalParent;
+import org.qubership.itool.modules.gremlin2.step.util.CompiledTraversal;
+import org.qubership.itool.modules.gremlin2.util.TraversalHelper;
 
+import java.util.List;
 import java.util.Optional;
 
-public class WherePredicateStep<S> extends FilterStep<S> implements ByModulating {
+public class WherePredicateStep<S> extends FilterStep<S> implements ByModulating, TraversalParent {
 
     protected String startKey;
     protected P<Object> predicate;
     protected Traversal.Admin<?, ?> innerTraversal;
+    private CompiledTraversal<S, ?> compiledTraversal;
 
     @Override
     public String toString() {
@@ -63,7 +68,8 @@ public class WherePredicateStep<S> extends FilterStep<S> implements ByModulating
     }
 
     private boolean filterByTraversal(Traverser.Admin<S> traverser) {
-        Traversal.Admin<?, ?> cloneTraversal = prepareInnerTraversal((Traversal.Admin<?, S>) this.innerTraversal, traverser);
+        this.compiledTraversal = CompiledTraversal.compile(this.compiledTraversal, this.innerTraversal, this.traversal);
+        Traversal.Admin<?, ?> cloneTraversal = this.compiledTraversal.start(traverser);
         Object result = cloneTraversal.next();
         return (result != null);
     }
@@ -80,11 +86,16 @@ public class WherePredicateStep<S> extends FilterStep<S> implements ByModulating
 
     @Override
     public AbstractStep<S, S> clone() {
-        WherePredicateStep clone = (WherePredicateStep) super.clone();
+        WherePredicateStep<S> clone = (WherePredicateStep<S>) super.clone();
         clone.startKey = this.startKey;
         clone.predicate = (this.predicate != null) ? this.predicate.clone() : null;
         clone.innerTraversal = (this.innerTraversal != null) ? this.innerTraversal.clone() : null;
+        clone.compiledTraversal = null;
         return clone;
     }
 
+    @Override
+    public <A, B> List<Traversal.Admin<A, B>> getLocalChildren() {
+        return TraversalHelper.children(this.innerTraversal);
+    }
 }
@@ -33,6 +33,11 @@ public class CapStep<S, E> extends MapStep<S, E> {
         this.sideEffectKey = sideEffectKey;
     }
 
+    @Override
+    protected boolean isBarrier() {
+        return true;   // Side effect is complete only when all previous steps are done
+    }
+
     @Override
     protected void processPreviousTraverser(Traverser.Admin<S> previousTraverser, List<Traverser<E>> result) {
         Traversal.Admin rootTraversal = fetchRootTraversal();
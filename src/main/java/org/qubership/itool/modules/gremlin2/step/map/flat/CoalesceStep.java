@@ -19,14 +19,18 @@ package org.qubership.itool.modules.gremlin2.step.map.flat;
 import org.qubership.itool.modules.gremlin2.Traversal;
 import org.qubership.itool.modules.gremlin2.Traverser;
 import org.qubership.itool.modules.gremlin2.step.AbstractStep;
+import org.qubership.itool.modules.gremlin2.step.TraversalParent;
+import org.qubership.itool.modules.gremlin2.step.util.CompiledTraversal;
+import org.qubership.itool.modules.gremlin2.util.TraversalHelper;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-public class CoalesceStep<S, E> extends FlatMapStep<S, E> {
+public class CoalesceStep<S, E> extends FlatMapStep<S, E> implements TraversalParent {
 
     private List<Traversal.Admin<S, E>> coalesceTraversals;
+    private CompiledTraversal<S, E>[] compiledTraversals;
 
     public CoalesceStep(Traversal.Admin<S, E> traversal, Traversal.Admin<S, E> ... coalesceTraversals) {
         super(traversal);
@@ -35,12 +39,15 @@ public class CoalesceStep<S, E> extends FlatMapStep<S, E> {
 
     @Override
     protected List<Traverser<E>> flatMapTraverser(Traverser.Admin<S> traverser) {
-        for (Traversal.Admin<S, E> coalesceTraversal : this.coalesceTraversals) {
-            Traverser.Admin<S> innerTraverser = traverser.clone().asAdmin();
-            Traversal.Admin<S, E> cloneTraversal = coalesceTraversal.clone();
-            cloneTraversal.setRoot(true);
-            cloneTraversal.setGraph(this.traversal.getGraph());
-            cloneTraversal.addStart(innerTraverser);
+        if (this.compiledTraversals == null) {
+            @SuppressWarnings({ "unchecked", "rawtypes" })
+            CompiledTraversal<S, E>[] compiled = new CompiledTraversal[this.coalesceTraversals.size()];
+            this.compiledTraversals = compiled;
+        }
+        for (int i = 0; i < this.compiledTraversals.length; i++) {
+            this.compiledTraversals[i] = CompiledTraversal.compile(
+                this.compiledTraversals[i], this.coalesceTraversals.get(i), this.traversal);
+            Traversal.Admin<S, E> cloneTraversal = this.compiledTraversals[i].start(traverser);
             List<Traverser<E>> result = cloneTraversal.getEndStep().getTraversers();
             if (result.size() != 0) {
                 return result;
@@ -57,12 +64,17 @@ public class CoalesceStep<S, E> extends FlatMapStep<S, E> {
 
     @Override
     public AbstractStep<S, E> clone() {
-        CoalesceStep clone = (CoalesceStep) super.clone();
+        CoalesceStep<S, E> clone = (CoalesceStep<S, E>) super.clone();
         clone.coalesceTraversals = new ArrayList<>();
         for (final Traversal.Admin<S, E> conjunctionTraversal : this.coalesceTraversals) {
             clone.coalesceTraversals.add(conjunctionTraversal.clone());
         }
+        clone.compiledTraversals = null;
         return clone;
     }
 
+    @Override
+    public <A, B> List<Traversal.Admin<A, B>> getGlobalChildren() {
+        return TraversalHelper.children(this.coalesceTraversals.toArray(new Traversal<?, ?>[0]));
+    }
 }
@@ -22,6 +22,9 @@ import org.qubership.itool.modules.gremlin2.Traversal;
 import org.qubership.itool.modules.gremlin2.Traverser;
 import org.qubership.itool.modules.gremlin2.step.AbstractStep;
 import org.qubership.itool.modules.gremlin2.step.ByModulating;
+import org.qubership.itool.modules.gremlin2.step.TraversalParent;
+import org.qubership.itool.modules.gremlin2.step.util.CompiledTraversal;
+import org.qubership.itool.modules.gremlin2.util.TraversalHelper;
 
 import io.vertx.core.json.JsonObject;
 
@@ -29,7 +32,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
-public class GlobStep extends FlatMapStep<JsonObject, JsonObject> implements ByModulating {
+public class GlobStep extends FlatMapStep<JsonObject, JsonObject> implements ByModulating, TraversalParent {
 
     private static final String BY_DEFAULT = "name";
     public static final String GLOB_DELIMETER = "/";
@@ -38,6 +41,7 @@ public class GlobStep extends FlatMapStep<JsonObject, JsonObject> implements ByM
     private List<Object> patternList;   // Contains strings and precompiled Patterns
     private String byProperty;
     private Traversal<?, ?> byTraversal;
+    private CompiledTraversal<JsonObject, JsonObject> compiledByTraversal;
 
     @Override
     public String toString() {
@@ -143,8 +147,9 @@ public class GlobStep extends FlatMapStep<JsonObject, JsonObject> implements ByM
         if (this.byTraversal != null) {
             List<Traverser.Admin<JsonObject>> trList = new ArrayList<>();
             trList.add(new DefaultTraverser<>(sourceVertex, sourceVertex));
-            Traversal.Admin cloneTraversal = prepareInnerTraversal((Traversal.Admin)this.byTraversal, trList);
-            return cloneTraversal.toList();
+            this.compiledByTraversal = CompiledTraversal.compile(
+                this.compiledByTraversal, this.byTraversal.asAdmin(), this.traversal);
+            return this.compiledByTraversal.start(trList).toList();
         }
         BasicGraph graph = this.traversal.getGraph();
         return graph.getSuccessors(sourceVertex.getString("id"), true);
@@ -173,7 +178,12 @@ public class GlobStep extends FlatMapStep<JsonObject, JsonObject> implements ByM
         clone.pattern = this.pattern;
         clone.byProperty = this.byProperty;
         clone.byTraversal = this.byTraversal;
+        clone.compiledByTraversal = null;
         return clone;
     }
 
+    @Override
+    public <A, B> List<Traversal.Admin<A, B>> getLocalChildren() {
+        return TraversalHelper.children(this.byTraversal);
+    }
 }
@@ -28,7 +28,7 @@ import static org.qubership.itool.modules.graph.Graph.F_ID;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.function.Function;
+import java.util.function.BiConsumer;
 
 public class VertexStep<E extends JsonObject> extends FlatMapStep<JsonObject, E> {
 
@@ -52,18 +52,19 @@ public class VertexStep<E extends JsonObject> extends FlatMapStep<JsonObject, E>
 
         BasicGraph graph = this.traversal.getGraph();
         JsonObject sourceVertex = requireSourceVertex(traverser);
+        BiConsumer<JsonObject, JsonObject> collector = (edge, vertex) -> collect(edge, vertex, result);
 
         // Note: this code produces multiple traverses if there exist multiple edges between this vertex and that one
         switch (this.direction) {
             case OUT:
-                fillResult(graph.getSuccessorEdges(sourceVertex.getString(F_ID)), result, edge -> graph.getEdgeTarget(edge.getString(F_ID)));
+                graph.forEachSuccessor(sourceVertex.getString(F_ID), collector);
                 break;
             case IN:
-                fillResult(graph.getPredecessorEdges(sourceVertex.getString(F_ID)), result, edge -> graph.getEdgeSource(edge.getString(F_ID)));
+                graph.forEachPredecessor(sourceVertex.getString(F_ID), collector);
                 break;
             case BOTH:
-                fillResult(graph.getSuccessorEdges(sourceVertex.getString(F_ID)), result, edge -> graph.getEdgeTarget(edge.getString(F_ID)));
-                fillResult(graph.getPredecessorEdges(sourceVertex.getString(F_ID)), result, edge -> graph.getEdgeSource(edge.getString(F_ID)));
+                graph.forEachSuccessor(sourceVertex.getString(F_ID), collector);
+                graph.forEachPredecessor(sourceVertex.getString(F_ID), collector);
         }
         return result;
     }
@@ -74,18 +75,15 @@ public class VertexStep<E extends JsonObject> extends FlatMapStep<JsonObject, E>
         return traverser;
     }
 
-    private void fillResult(List<JsonObject> edges, List<E> result, Function<JsonObject, JsonObject> fn) {
-        for (JsonObject edge : edges) {
-            if (this.edgeLabels.length == 0) {
-                JsonObject vertex = fn.apply(edge);
+    @SuppressWarnings("unchecked")
+    private void collect(JsonObject edge, JsonObject vertex, List<E> result) {
+        if (this.edgeLabels.length == 0) {
+            result.add((E) vertex);
+        }
+        for (String type : this.edgeLabels) {
+            if (type.equals(edge.getString("type"))) {
                 result.add((E) vertex);
             }
-            for (String type : this.edgeLabels) {
-                if (type.equals(edge.getString("type"))) {
-                    JsonObject vertex = fn.apply(edge);
-                    result.add((E) vertex);
-                }
-            }
         }
     }
 
@@ -16,6 +16,7 @@
 
 package org.qubership.itool.modules.gremlin2.step.map.scalar;
 
+import org.qubership.itool.modules.gremlin2.DefaultPath;
 import org.qubership.itool.modules.gremlin2.Path;
 import org.qubership.itool.modules.gremlin2.Traversal;
 import org.qubership.itool.modules.gremlin2.Traverser;
@@ -24,6 +25,9 @@ import org.qubership.itool.modules.gremlin2.step.ByModulating;
 import org.qubership.itool.modules.gremlin2.step.FromToModulating;
 import org.qubership.itool.modules.gremlin2.util.ValueHelper;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class PathStep<S> extends ScalarMapStep<S, Path> implements FromToModulating, ByModulating {
 
     private String fromLabel;
@@ -48,11 +52,12 @@ public class PathStep<S> extends ScalarMapStep<S, Path> implements FromToModulat
     protected Path map(final Traverser.Admin<S> traverser) {
         Path path = traverser.path().clone(); // .subPath(this.fromLabel, this.toLabel);
         if (modulateBy != null) {
-            for (int i=0 ;  i<path.objects().size() ; i++) {
-                Object obj = path.objects().get(i);
-                Object value = ValueHelper.getObjectValue(this.modulateBy, obj);
-                path.objects().set(i, value); // TODO mutable structure. No way
+            List<?> objects = path.objects();
+            List<Object> values = new ArrayList<>(objects.size());
+            for (Object obj : objects) {
+                values.add(ValueHelper.getObjectValue(this.modulateBy, obj));
             }
+            path = new DefaultPath(values, path.labels());
         }
         return path;
     }
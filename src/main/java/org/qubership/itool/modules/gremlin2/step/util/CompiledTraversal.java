@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.gremlin2.step.util;
+
+import org.qubership.itool.modules.gremlin2.Traversal;
+import org.qubership.itool.modules.gremlin2.Traverser;
+import org.qubership.itool.modules.gremlin2.step.StartStep;
+import org.qubership.itool.modules.gremlin2.util.TraversalHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inner traversal of a step, cloned once and then restarted for every traverser
+ * the step processes. Steps are reset with {@link Traversal.Admin#clear()} instead
+ * of cloning the whole traversal per traverser.
+ *
+ * <p>A run must be consumed (or dropped) before the next {@code start()}.
+ * Not thread-safe: steps running inner traversals in parallel clone them per traverser.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class CompiledTraversal<S, E> {
+
+    private final Traversal.Admin<S, E> template;
+    private final Traversal.Admin<?, ?> parentTraversal;
+    private final Traversal.Admin<S, E> traversal;
+    private final StartStep<S> startStep;
+
+    public CompiledTraversal(Traversal.Admin<S, E> template, Traversal.Admin<?, ?> parentTraversal) {
+        this.template = template;
+        this.parentTraversal = parentTraversal;
+        this.traversal = template.clone();
+        this.traversal.clear();
+        TraversalHelper.propagateSource(parentTraversal, this.traversal);
+        this.traversal.setPreviousTraversal((Traversal.Admin) parentTraversal);
+        this.traversal.setRoot(true);
+        this.traversal.addStart(null);
+        this.startStep = (StartStep<S>) this.traversal.getStartStep();
+    }
+
+    /** Compile the inner traversal, or reuse the compiled one if it still matches.
+     *
+     * @param compiled Previously compiled traversal, possibly {@code null}
+     * @param template Inner traversal of the step
+     * @param parentTraversal Traversal the step belongs to
+     * @return Compiled traversal for the template and the parent
+     */
+    public static <S, E> CompiledTraversal<S, E> compile(
+        CompiledTraversal<S, E> compiled, Traversal.Admin<?, ?> template, Traversal.Admin<?, ?> parentTraversal)
+    {
+        if (compiled != null && compiled.template == template && compiled.parentTraversal == parentTraversal) {
+            return compiled;
+        }
+        return new CompiledTraversal<>((Traversal.Admin<S, E>) template, parentTraversal);
+    }
+
+    /** Reset the traversal and start it from a copy of the given traverser.
+     *
+     * @param traverser Start traverser
+     * @return The traversal, ready to run
+     */
+    public Traversal.Admin<S, E> start(Traverser.Admin<S> traverser) {
+        List<Traverser<S>> starts = new ArrayList<>(1);
+        starts.add(single(traverser));
+        return doStart(starts);
+    }
+
+    /** Reset the traversal and start it from the given traversers.
+     *
+     * @param traversers Start traversers
+     * @return The traversal, ready to run
+     */
+    public Traversal.Admin<S, E> start(List<? extends Traverser<S>> traversers) {
+        return doStart((List<Traverser<S>>) traversers);
+    }
+
+    /** Copy of the traverser without its bulk: the inner traversal runs once for the whole bulk
+     *
+     * @param traverser Traverser of the parent traversal
+     * @return Copy standing for a single traverser
+     */
+    public static <T> Traverser<T> single(Traverser<T> traverser) {
+        Traverser<T> clone = traverser.clone();
+        if (clone.bulk() != 1) {
+            clone.asAdmin().setBulk(1);
+        }
+        return clone;
+    }
+
+    private Traversal.Admin<S, E> doStart(List<Traverser<S>> starts) {
+        this.traversal.clear();
+        this.traversal.setGraph(this.parentTraversal.getGraph());
+        this.startStep.setTraverserList(starts);
+        return this.traversal;
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.gremlin2.strategy;
+
+import org.qubership.itool.modules.gremlin2.Step;
+import org.qubership.itool.modules.gremlin2.Traversal;
+import org.qubership.itool.modules.gremlin2.step.GraphStep;
+import org.qubership.itool.modules.gremlin2.step.barrier.CountGlobalStep;
+import org.qubership.itool.modules.gremlin2.step.barrier.NoOpBarrierStep;
+import org.qubership.itool.modules.gremlin2.step.barrier.SumStep;
+import org.qubership.itool.modules.gremlin2.step.filter.DedupStep;
+import org.qubership.itool.modules.gremlin2.step.filter.HasStep;
+import org.qubership.itool.modules.gremlin2.step.filter.IsStep;
+import org.qubership.itool.modules.gremlin2.step.filter.NotStep;
+import org.qubership.itool.modules.gremlin2.step.filter.OrStep;
+import org.qubership.itool.modules.gremlin2.step.filter.WherePredicateStep;
+import org.qubership.itool.modules.gremlin2.step.map.flat.EdgeStep;
+import org.qubership.itool.modules.gremlin2.step.map.flat.EdgeVertexStep;
+import org.qubership.itool.modules.gremlin2.step.map.flat.VertexStep;
+import org.qubership.itool.modules.gremlin2.step.map.scalar.IdStep;
+import org.qubership.itool.modules.gremlin2.step.map.scalar.NameStep;
+import org.qubership.itool.modules.gremlin2.step.map.scalar.TypeStep;
+import org.qubership.itool.modules.gremlin2.step.map.scalar.ValueStep;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Inserts a {@link NoOpBarrierStep} after {@code out()}, {@code in()}, {@code both()} and the edge
+ * steps, so traversers reaching the same element are merged into one with a bulk, and the
+ * following steps do the work once per distinct element rather than once per path.
+ *
+ * <p>Merging changes the order of traversers, so a barrier is inserted only where every following
+ * step honours bulks and ignores order, up to {@code count()} or {@code sum()} that turn the bulks
+ * back into a plain value. Steps emitting traversers one by one, {@code limit()}, {@code range()},
+ * {@code fold()} or the end of the traversal, keep the order of the unoptimized traversal.
+ * Applied to top-level traversals that do not track paths (see {@link PathTrackingStrategy}).
+ */
+@SuppressWarnings("rawtypes")
+public class BulkingStrategy implements TraversalStrategy {
+
+    private static final Set<Class<? extends Step>> FLAT_MAPS = Set.of(
+        VertexStep.class, EdgeStep.class, EdgeVertexStep.class);
+
+    private static final Set<Class<? extends Step>> BULK_STEPS = Set.of(
+        VertexStep.class, EdgeStep.class, EdgeVertexStep.class, NoOpBarrierStep.class,
+        HasStep.class, IsStep.class, NotStep.class, OrStep.class, WherePredicateStep.class,
+        DedupStep.class,
+        IdStep.class, NameStep.class, TypeStep.class, ValueStep.class);
+
+    private static final Set<Class<? extends Step>> REDUCING_STEPS = Set.of(
+        CountGlobalStep.class, SumStep.class);
+
+    @Override
+    public void apply(Traversal.Admin<?, ?> traversal) {
+        if (!traversal.isRoot() || traversal.getPreviousTraversal() != null) {
+            return;
+        }
+        // Applied again when steps are added to a traversal that has been run
+        List<Step> steps = traversal.getSteps();
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            if (steps.get(i) instanceof NoOpBarrierStep) {
+                traversal.removeStep(i);
+            }
+        }
+        if (steps.isEmpty() || !(steps.get(0) instanceof GraphStep) || ((GraphStep) steps.get(0)).isPathTracking()) {
+            return;
+        }
+
+        boolean[] bulkSafeAfter = new boolean[steps.size()];
+        // Results reach the caller in order, unless reduced
+        boolean safe = false;
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            bulkSafeAfter[i] = safe;
+            Step step = steps.get(i);
+            if (REDUCING_STEPS.contains(step.getClass())) {
+                safe = true;
+            } else if (!BULK_STEPS.contains(step.getClass())) {
+                safe = false;
+            }
+        }
+
+        for (int i = steps.size() - 2; i >= 0; i--) {
+            if (FLAT_MAPS.contains(steps.get(i).getClass()) && bulkSafeAfter[i]) {
+                traversal.addStep(i + 1, new NoOpBarrierStep<>(traversal));
+            }
+        }
+    }
+
+}
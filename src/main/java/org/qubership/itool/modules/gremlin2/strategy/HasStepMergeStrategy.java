@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.qubership.itool.modules.gremlin2.strategy;
+
+import org.qubership.itool.modules.gremlin2.Step;
+import org.qubership.itool.modules.gremlin2.Traversal;
+import org.qubership.itool.modules.gremlin2.step.filter.HasStep;
+
+import java.util.List;
+
+/**
+ * Merges adjacent {@link HasStep}s, so traversers pass a single filter and
+ * a start step sees all the conditions it may look up in indexes.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class HasStepMergeStrategy implements TraversalStrategy {
+
+    @Override
+    public void apply(Traversal.Admin<?, ?> traversal) {
+        List<Step> steps = traversal.getSteps();
+        int i = 0;
+        while (i < steps.size() - 1) {
+            Step step = steps.get(i);
+            Step nextStep = steps.get(i + 1);
+            if (step instanceof HasStep && nextStep instanceof HasStep && ((HasStep) step).merge((HasStep) nextStep)) {
+                traversal.removeStep(i + 1);
+            } else {
+                i++;
+            }
+        }
+    }
+
+}
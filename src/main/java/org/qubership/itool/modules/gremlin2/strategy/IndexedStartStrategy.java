@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.qubership.itool.modules.gremlin2.strategy;
+
+import org.qubership.itool.modules.gremlin2.P;
+import org.qubership.itool.modules.gremlin2.Step;
+import org.qubership.itool.modules.gremlin2.Traversal;
+import org.qubership.itool.modules.gremlin2.step.GraphStep;
+import org.qubership.itool.modules.gremlin2.step.filter.HasStep;
+import org.qubership.itool.modules.gremlin2.step.util.HasContainer;
+import org.qubership.itool.modules.gremlin2.util.Compare;
+import org.qubership.itool.modules.gremlin2.util.ElementType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.qubership.itool.modules.graph.Graph.F_ID;
+import static org.qubership.itool.modules.graph.Graph.F_TYPE;
+
+/**
+ * Folds {@code hasId()} and {@code hasType()} that follow {@code V()} or {@code E()} into the
+ * start step, so it looks the elements up by id or by vertex type instead of testing every one.
+ * Only a single id is folded: elements found by several ids would come in another order.
+ * The filters stay after the start step and re-check the live values of the elements found,
+ * so an element modified in place is not returned by its old id or type.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class IndexedStartStrategy implements TraversalStrategy {
+
+    @Override
+    public void apply(Traversal.Admin<?, ?> traversal) {
+        List<Step> steps = traversal.getSteps();
+        for (int i = 0; i < steps.size() - 1; i++) {
+            if (!(steps.get(i) instanceof GraphStep) || !(steps.get(i + 1) instanceof HasStep)) {
+                continue;
+            }
+            GraphStep graphStep = (GraphStep) steps.get(i);
+            HasStep hasStep = (HasStep) steps.get(i + 1);
+            if (graphStep.getIds().length != 0) {
+                continue;
+            }
+            for (HasContainer hasContainer : (List<HasContainer>) hasStep.getHasContainers()) {
+                if (isKey(hasContainer, F_ID) && graphStep.getIds().length == 0) {
+                    List<String> ids = stringValues(hasContainer.getPredicate());
+                    if (ids != null && ids.size() == 1) {
+                        graphStep.setIds(ids.get(0));
+                    }
+                } else if (isKey(hasContainer, F_TYPE) && graphStep.getElementType() == ElementType.vertex) {
+                    List<String> types = stringValues(hasContainer.getPredicate());
+                    if (types != null) {
+                        if (graphStep.getTypes() != null) {
+                            types.retainAll(graphStep.getTypes());
+                        }
+                        graphStep.setTypes(types);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isKey(HasContainer hasContainer, String key) {
+        String propertyKey = hasContainer.getPropertyKey();
+        return key.equals(propertyKey) || ("/" + key).equals(propertyKey);
+    }
+
+    /* Values matched by eq() or within() of strings, otherwise null */
+    private static List<String> stringValues(P predicate) {
+        if (predicate.getClass() != P.class || predicate.getOriginalValue() != predicate.getValue()) {
+            return null;
+        }
+        Object biPredicate = predicate.getBiPredicate();
+        Object value = predicate.getValue();
+        if (biPredicate == Compare.eq && value instanceof String) {
+            List<String> result = new ArrayList<>(1);
+            result.add((String) value);
+            return result;
+        }
+        if ((biPredicate == Compare.eq || biPredicate == Compare.within) && value instanceof List) {
+            List<?> values = (List<?>) value;
+            if (biPredicate == Compare.eq && values.size() != 1) {
+                return null;
+            }
+            List<String> result = new ArrayList<>(values.size());
+            for (Object item : values) {
+                if (!(item instanceof String)) {
+                    return null;
+                }
+                if (!result.contains(item)) {
+                    result.add((String) item);
+                }
+            }
+            return result;
+        }
+        return null;
+    }
+
+}
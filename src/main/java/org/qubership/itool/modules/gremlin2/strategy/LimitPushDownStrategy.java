@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.qubership.itool.modules.gremlin2.strategy;
+
+import org.qubership.itool.modules.gremlin2.Step;
+import org.qubership.itool.modules.gremlin2.Traversal;
+import org.qubership.itool.modules.gremlin2.step.AbstractStep;
+import org.qubership.itool.modules.gremlin2.step.filter.RangeLimitStep;
+import org.qubership.itool.modules.gremlin2.step.map.SelectStep;
+import org.qubership.itool.modules.gremlin2.step.map.scalar.PathStep;
+import org.qubership.itool.modules.gremlin2.step.map.scalar.SizeStep;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves {@code limit()} and {@code range()} before the maps that produce exactly one traverser
+ * per traverser, so mapping is not wasted on traversers that are cut off, and a limit reaches
+ * {@code order()} that can use it, see {@link OrderLimitStrategy}.
+ *
+ * <p>Most scalar maps drop traversers whose value is {@code null}, such maps are not passed.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class LimitPushDownStrategy implements TraversalStrategy {
+
+    private static final Set<Class<? extends Step>> NON_FILTERING_MAPS = Set.of(
+        SizeStep.class, PathStep.class, SelectStep.class);
+
+    @Override
+    public void apply(Traversal.Admin<?, ?> traversal) {
+        List<Step> steps = traversal.getSteps();
+        for (int i = 1; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            if (!(step instanceof RangeLimitStep) || ((RangeLimitStep) step).getRangeTo().isEmpty()
+                || !step.getLabels().isEmpty())
+            {
+                continue;
+            }
+            int target = i;
+            while (target > 0 && isNonFilteringMap(steps.get(target - 1))) {
+                target--;
+            }
+            if (target != i) {
+                traversal.removeStep(i);
+                traversal.addStep(target, step);
+            }
+        }
+    }
+
+    private static boolean isNonFilteringMap(Step step) {
+        return NON_FILTERING_MAPS.contains(step.getClass()) && !((AbstractStep) step).isIgnoreEmptyTraverser();
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.qubership.itool.modules.gremlin2.strategy;
+
+import org.qubership.itool.modules.gremlin2.Step;
+import org.qubership.itool.modules.gremlin2.Traversal;
+import org.qubership.itool.modules.gremlin2.step.barrier.OrderStep;
+import org.qubership.itool.modules.gremlin2.step.filter.RangeLimitStep;
+
+import java.util.List;
+
+/**
+ * Lets {@code order()} followed by {@code limit(n)} or {@code range(from, n)} keep
+ * the first n traversers only, instead of sorting all of them. The limit step is kept.
+ */
+@SuppressWarnings("rawtypes")
+public class OrderLimitStrategy implements TraversalStrategy {
+
+    @Override
+    public void apply(Traversal.Admin<?, ?> traversal) {
+        List<Step> steps = traversal.getSteps();
+        for (int i = 0; i < steps.size() - 1; i++) {
+            Step step = steps.get(i);
+            Step nextStep = steps.get(i + 1);
+            if (step instanceof OrderStep && !((OrderStep) step).isIgnoreEmptyTraverser()
+                && nextStep instanceof RangeLimitStep && ((RangeLimitStep) nextStep).getRangeTo().isPresent())
+            {
+                ((OrderStep) step).setLimit((Integer) ((RangeLimitStep) nextStep).getRangeTo().get());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.qubership.itool.modules.gremlin2.strategy;
+
+import org.qubership.itool.modules.gremlin2.Step;
+import org.qubership.itool.modules.gremlin2.Traversal;
+import org.qubership.itool.modules.gremlin2.step.GraphStep;
+import org.qubership.itool.modules.gremlin2.step.TraversalParent;
+import org.qubership.itool.modules.gremlin2.step.barrier.TreeStep;
+import org.qubership.itool.modules.gremlin2.step.filter.HasStep;
+import org.qubership.itool.modules.gremlin2.step.filter.WherePredicateStep;
+import org.qubership.itool.modules.gremlin2.step.map.SelectStep;
+import org.qubership.itool.modules.gremlin2.step.map.scalar.PathStep;
+import org.qubership.itool.modules.gremlin2.step.map.scalar.SelectScalarStep;
+import org.qubership.itool.modules.gremlin2.step.util.HasContainer;
+
+/**
+ * Stops tracking paths of the traversers started by {@code V()} and {@code E()} when no step of
+ * the traversal or its children reads paths: {@code path()}, {@code select()}, {@code tree()} and
+ * {@code where()} comparing labelled objects. Labels set by {@code as()} are not needed then either.
+ *
+ * <p>Applied to top-level traversals only, as children may read paths of the parent traversers.
+ */
+@SuppressWarnings("rawtypes")
+public class PathTrackingStrategy implements TraversalStrategy {
+
+    @Override
+    public void apply(Traversal.Admin<?, ?> traversal) {
+        if (!traversal.isRoot() || traversal.getPreviousTraversal() != null) {
+            return;
+        }
+        // Applied again when steps are added to a traversal that has been run
+        boolean pathTracking = readsPath(traversal);
+        for (Step step : traversal.getSteps()) {
+            if (step instanceof GraphStep) {
+                ((GraphStep) step).setPathTracking(pathTracking);
+            }
+        }
+    }
+
+    private static boolean readsPath(Traversal.Admin<?, ?> traversal) {
+        for (Step step : traversal.getSteps()) {
+            if (step instanceof PathStep || step instanceof SelectStep || step instanceof SelectScalarStep
+                || step instanceof TreeStep)
+            {
+                return true;
+            }
+            if (step instanceof WherePredicateStep && ((WherePredicateStep) step).getLocalChildren().isEmpty()) {
+                return true;
+            }
+            if (step instanceof HasStep) {
+                // Traversals in predicates start from the traversers being tested
+                for (Object hasContainer : ((HasStep) step).getHasContainers()) {
+                    if (((HasContainer) hasContainer).getPredicate().getValue() instanceof Traversal) {
+                        return true;
+                    }
+                }
+            }
+            if (step instanceof TraversalParent) {
+                for (Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                    if (readsPath(child)) {
+                        return true;
+                    }
+                }
+                for (Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                    if (readsPath(child)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+}
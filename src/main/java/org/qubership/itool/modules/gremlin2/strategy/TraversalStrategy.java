@@ -0,0 +1,29 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.qubership.itool.modules.gremlin2.strategy;
+
+import org.qubership.itool.modules.gremlin2.Traversal;
+
+/**
+ * Rewrites a traversal into an equivalent one that is cheaper to run. Strategies are applied
+ * once per root traversal, to the root traversal and all its children, see
+ * {@link org.qubership.itool.modules.gremlin2.graph.DefaultGraphTraversal#applyStrategies()}.
+ */
+public interface TraversalStrategy {
+
+    void apply(Traversal.Admin<?, ?> traversal);
+
+}
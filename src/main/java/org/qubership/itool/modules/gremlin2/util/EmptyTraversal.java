@@ -55,6 +55,11 @@ public class EmptyTraversal<S, E> implements Traversal.Admin<S, E> {
         return getInstance();
     }
 
+    @Override
+    public <S2, E2> Admin<S2, E2> removeStep(int index) throws IllegalStateException {
+        return getInstance();
+    }
+
     @Override
     public Admin<S, E> clone() {
         return getInstance();
@@ -18,6 +18,7 @@ package org.qubership.itool.modules.gremlin2.util;
 
 import org.qubership.itool.modules.gremlin2.Step;
 import org.qubership.itool.modules.gremlin2.Traversal;
+import org.qubership.itool.modules.gremlin2.Traverser;
 import org.qubership.itool.modules.gremlin2.graph.DefaultGraphTraversal;
 import org.qubership.itool.modules.gremlin2.graph.GraphTraversal;
 import org.qubership.itool.modules.gremlin2.step.TraversalParent;
@@ -26,7 +27,9 @@ import org.qubership.itool.modules.gremlin2.step.filter.HasStep;
 import org.qubership.itool.modules.gremlin2.step.util.HasContainer;
 import org.qubership.itool.modules.gremlin2.step.util.HasContainerHolder;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -61,6 +64,37 @@ public class TraversalHelper {
         }
     }
 
+    /** Child traversals of a {@link TraversalParent}, skipping missing ones
+     *
+     * @param traversals Child traversals, possibly {@code null}
+     * @return List of child traversals
+     */
+    public static <S, E> List<Traversal.Admin<S, E>> children(Traversal<?, ?>... traversals) {
+        if (traversals == null) {
+            return Collections.emptyList();
+        }
+        List<Traversal.Admin<S, E>> result = new ArrayList<>(traversals.length);
+        for (Traversal<?, ?> traversal : traversals) {
+            if (traversal != null) {
+                result.add((Traversal.Admin<S, E>) traversal.asAdmin());
+            }
+        }
+        return result;
+    }
+
+    /** Number of traversers the list stands for, counting bulks
+     *
+     * @param traversers Traversers
+     * @return Sum of the bulks
+     */
+    public static long bulkSize(List<? extends Traverser<?>> traversers) {
+        long result = 0;
+        for (Traverser<?> traverser : traversers) {
+            result += traverser.bulk();
+        }
+        return result;
+    }
+
     public static <T extends Traversal.Admin<?, ?>> T addHasContainer(T traversal, HasContainer hasContainer) {
         if (traversal.getEndStep() instanceof HasContainerHolder) {
             ((HasContainerHolder) traversal.getEndStep()).addHasContainer(hasContainer);
@@ -18,6 +18,7 @@ package org.qubership.itool.modules.processor;
 
 import org.qubership.itool.modules.graph.Graph;
 import org.qubership.itool.modules.graph.GraphDumpSupport;
+import org.qubership.itool.modules.graph.GraphDumpValidator;
 import org.qubership.itool.modules.graph.GraphImpl;
 import org.qubership.itool.modules.processor.matchers.CompoundVertexMatcher;
 import org.qubership.itool.modules.processor.matchers.FileMatcher;
@@ -37,28 +38,36 @@ import org.qubership.itool.modules.processor.tasks.RecreateDomainsStructureTask;
 import org.qubership.itool.modules.processor.tasks.RecreateHttpDependenciesTask;
 import org.qubership.itool.modules.report.GraphReport;
 import org.qubership.itool.modules.report.GraphReportImpl;
+import org.qubership.itool.utils.CompactJsonFormat;
 import org.qubership.itool.utils.FutureUtils;
+import org.qubership.itool.utils.JsonUtils;
 
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.apache.commons.lang3.BooleanUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.qubership.itool.modules.graph.Graph.CURRENT_GRAPH_MODEL_VERSION;
 import static org.qubership.itool.modules.graph.Graph.F_ID;
-import static org.qubership.itool.utils.JsonUtils.readJsonFile;
 
 /**
  * <p>Merges graphs.
@@ -88,6 +97,10 @@ public class GraphMerger implements MergerApi, Closeable {
 
     private boolean useDeepCopy;
 
+    private int prefetchDepth;
+
+    private boolean validateSources;
+
     /** Use this constructor <b>only</b> if there is no {@link Vertx} instance available */
     public GraphMerger() {
         this(null, false);
@@ -140,6 +153,29 @@ public class GraphMerger implements MergerApi, Closeable {
         return GraphDumpSupport.dumpToJson(graph, useDeepCopy);
     }
 
+    /** Same as {@link #mergeComponentDumps(Path, JsonObject)}, but writes the resulting dump
+     * into a stream instead of building it in memory.
+     *
+     * @param sourceDirectory Source directory
+     * @param targetDesc Target descriptor
+     * @param out Target stream. It is flushed, but not closed.
+     * @param gzip Whether to compress the output
+     * @return Sizes of the dump written
+     * @throws IOException If reading sources or writing the result failed
+     * @throws InvalidGraphException If merging failed
+     */
+    public GraphDumpSupport.DumpStats mergeComponentDumps(Path sourceDirectory, JsonObject targetDesc,
+            OutputStream out, boolean gzip) throws IOException, InvalidGraphException {
+        Graph graph = new GraphImpl();
+        graph.setReport(new GraphReportImpl());
+
+        prepareGraphForMerging(graph, targetDesc);
+        walkAndMerge(sourceDirectory, graph, targetDesc);
+        finalizeGraphAfterMerging(graph, targetDesc);
+
+        return GraphDumpSupport.writeDump(graph, out, gzip);
+    }
+
     @Override
     public JsonObject mergeDumps(List<DumpAndMetainfo> sourceDumps, JsonObject targetDesc)
             throws InvalidGraphException {
@@ -184,6 +220,11 @@ public class GraphMerger implements MergerApi, Closeable {
     /**
      * Merge multiple graphs residing in a directory (and its subdirectories). Merging order is system-dependent.
      *
+     * <p>If {@link #setPrefetchDepth(int) prefetch depth} is set, next files are parsed into dumps
+     * on a pool of reader threads while the current one is merged. Merging itself still goes in the same
+     * order on the calling thread, through {@link #mergeDump(JsonObject, JsonObject, Graph, JsonObject)}.
+     * Otherwise every file is read directly into a source graph.
+     *
      * @param inputDirectory Directory to scan
      * @param targetGraph Target graph to merge all source dumps into
      * @param targetDesc Target description and merging flags
@@ -204,19 +245,83 @@ public class GraphMerger implements MergerApi, Closeable {
             // Go on: if failFast==false and IOException happens in the middle, let's process some files
         }
 
-        for (Path path: sourceFiles) {
-            JsonObject dumpFile;
-            String pathString = path.toString();
-            JsonObject sourceDesc = new JsonObject().put(P_FILE_NAME, pathString);
-            try {
-                dumpFile = readJsonFile(pathString);
-            } catch (IOException e) {
-                excHappenned(e, path.toString(), sourceDesc, targetGraph);
-                continue;
+        ExecutorService readers = null;
+        Queue<java.util.concurrent.Future<JsonObject>> prefetched = new ArrayDeque<>();
+        Iterator<Path> filesToRead = sourceFiles.iterator();
+        // Reports of sources are not even parsed when there is nowhere to merge them
+        boolean withReport = targetGraph.getReport() != null;
+        if (prefetchDepth > 0 && sourceFiles.size() > 1) {
+            readers = Executors.newFixedThreadPool(
+                Math.min(prefetchDepth, Runtime.getRuntime().availableProcessors()),
+                new ThreadFactoryBuilder().setNameFormat("graph-reader-%d").setDaemon(true).build());
+        }
+
+        try {
+            for (Path path: sourceFiles) {
+                while (readers != null && prefetched.size() < prefetchDepth && filesToRead.hasNext()) {
+                    String fileToRead = filesToRead.next().toString();
+                    prefetched.add(readers.submit(() -> JsonUtils.readJsonFile(fileToRead)));
+                }
+
+                JsonObject dump = null;
+                Graph sourceGraph = null;
+                String pathString = path.toString();
+                JsonObject sourceDesc = new JsonObject().put(P_FILE_NAME, pathString);
+                try {
+                    if (readers != null) {
+                        // Validated and restored by mergeDump()
+                        dump = Objects.requireNonNull(takePrefetched(prefetched.remove()));
+                    } else {
+                        // Read directly into a graph, without holding the parsed dump
+                        sourceGraph = Objects.requireNonNull(
+                            GraphDumpSupport.readDumpFile(pathString, withReport, createValidator(sourceDesc)));
+                    }
+                } catch (InterruptedIOException e) {
+                    throw e;
+                } catch (IOException e) {
+                    excHappenned(e, path.toString(), sourceDesc, targetGraph);
+                    continue;
+                } catch (NullPointerException e) {  // Something crucial was missing
+                    excHappenned(e, InvalidGraphException.descToName(sourceDesc), sourceDesc, targetGraph);
+                    continue;
+                } catch (InvalidGraphException e) {
+                    invalidSourceGraph(e, sourceDesc, targetGraph);
+                    continue;
+                }
+
+                getLogger().info("Merging source graph from {}", pathString);
+                if (dump != null) {
+                    mergeDump(dump, sourceDesc, targetGraph, targetDesc);
+                } else {
+                    normalizeGraph(targetGraph);
+                    mergeGraph(sourceGraph, sourceDesc, targetGraph, targetDesc, useDeepCopy);
+                }
+            }
+        } finally {
+            if (readers != null) {
+                prefetched.forEach(future -> future.cancel(true));
+                readers.shutdownNow();
             }
+        }
+    }
 
-            getLogger().info("Merging source graph from {}", pathString);
-            mergeDump(dumpFile, sourceDesc, targetGraph, targetDesc);
+    /* Wait for a dump read ahead, rethrowing exceptions of reading as if it was read by the caller */
+    private static <T> T takePrefetched(java.util.concurrent.Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for source dump");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
         }
     }
 
@@ -237,10 +342,17 @@ public class GraphMerger implements MergerApi, Closeable {
     {
         Graph sourceGraph;
         try {
-            sourceGraph = Objects.requireNonNull( GraphDumpSupport.restoreFromJson(dump) );
+            GraphDumpValidator validator = createValidator(sourceDesc);
+            if (validator != null) {
+                validator.validate(dump);
+            }
+            sourceGraph = Objects.requireNonNull( GraphDumpSupport.restoreFromJson(dump, targetGraph.getReport() != null) );
         } catch (NullPointerException e) {  // Something crucial was missing
             excHappenned(e, InvalidGraphException.descToName(sourceDesc), sourceDesc, targetGraph);
             return;
+        } catch (InvalidGraphException e) {
+            invalidSourceGraph(e, sourceDesc, targetGraph);
+            return;
         }
         normalizeGraph(targetGraph);
         mergeGraph(sourceGraph, sourceDesc, targetGraph, targetDesc, useDeepCopy);
@@ -274,16 +386,7 @@ public class GraphMerger implements MergerApi, Closeable {
             }
 
         } catch (InvalidGraphException e) {
-            getLogger().error("Invalid source graph: {}", e.getMessage());
-
-            GraphMetaInfoSupport.addDroppedItem(e, sourceDesc, targetGraph);
-
-            if (targetReport != null) {
-                targetReport.mergingError(sourceDesc, e);
-            }
-            if (failFast) {
-                throw e;
-            }
+            invalidSourceGraph(e, sourceDesc, targetGraph);
         }
     }
 
@@ -306,7 +409,8 @@ public class GraphMerger implements MergerApi, Closeable {
 
     protected boolean isAcceptableFile(Path path) {
         String fileName = path.getFileName().toString();
-        return (fileName.endsWith(".json") || fileName.endsWith(".json.gz"))
+        return (fileName.endsWith(".json") || fileName.endsWith(".json.gz")
+                || CompactJsonFormat.hasCompactExtension(fileName))
             && Files.isRegularFile(path);
     }
 
@@ -338,11 +442,18 @@ public class GraphMerger implements MergerApi, Closeable {
             }
         }
 
-        //--- Merge edges.
+        //--- Merge edges. Edges similar to existing ones are dropped in one pass at the end
         List<JsonObject> edgeList = sourceGraph.edgeList();
-        for (JsonObject edge: edgeList) {
-            mergeEdge(sourceGraph, edge, targetGraph, targetReport, remapNewVertices, deepCopy);
+        int skippedEdges;
+        targetGraph.beginBulk(0, edgeList.size());
+        try {
+            for (JsonObject edge: edgeList) {
+                mergeEdge(sourceGraph, edge, targetGraph, targetReport, remapNewVertices, deepCopy);
+            }
+        } finally {
+            skippedEdges = targetGraph.endBulk();
         }
+        getLogger().debug("Skipped {} edges similar to existing ones", skippedEdges);
     }
 
     protected VertexMatcher createMatcher(Graph sourceGraph, Graph targetGraph) {
@@ -357,9 +468,7 @@ public class GraphMerger implements MergerApi, Closeable {
     protected void mergeReport(GraphReport sourceReport, GraphReport targetReport, boolean deepCopy) {
         JsonArray errors = sourceReport.dumpRecords(deepCopy);
         if (errors != null && !errors.isEmpty()) {
-            for (Object error: errors) {
-                targetReport.addRecord((JsonObject) error);
-            }
+            targetReport.addRecords(errors);
         }
     }
 
@@ -399,6 +508,7 @@ public class GraphMerger implements MergerApi, Closeable {
             Map<String, Object> src = deepCopy ? newVertex.copy().getMap() : newVertex.getMap();
             map.putAll(src);    // puts id as well
             map.put(F_ID, existingId);
+            targetGraph.reindexVertex(existingVertex);
         } else if (existingIsMock == newIsMock  // Report conflict of two mocks as well
                 && conflictingVertices(newVertex, existingVertex))
         {
@@ -452,6 +562,7 @@ public class GraphMerger implements MergerApi, Closeable {
         String newType = newVertex.getString(Graph.F_TYPE);
         String newRepo = newVertex.getString(Graph.F_REPOSITORY);
         // Let's ignore possibly multiple candidates with the same type and repository
+        targetGraph.createIndex(Graph.F_REPOSITORY);
         JsonObject candidate = targetGraph.traversal().V()
             .hasType(newType)
             .has(Graph.F_REPOSITORY, newRepo)
@@ -498,12 +609,13 @@ public class GraphMerger implements MergerApi, Closeable {
         String newToId = remapNewVertices.getOrDefault(baseToId, baseToId);
         JsonObject targetVertex = targetGraph.getVertex(newToId);
 
-        // Adds a new edge iff no edge with the same Map of properties (except id) exists
+        // Adds a new edge iff no edge with the same Map of properties (except id) exists.
+        // mergeGraph() calls this in bulk mode, then similar edges are dropped later by endBulk()
         JsonObject newEdge = deepCopy ? edgeValue.copy() : edgeValue;
         newEdge.remove(F_ID);   // Modifies source data in case of shallow copy!
         String newEdgeId = targetGraph.addEdge(sourceVertex, targetVertex, newEdge);
         if (newEdgeId != null) {
-            getLogger().debug("Adding edge : was=('{}':'{}'->'{}'), now=('{}':'{}'->'{}')",
+            getLogger().debug("Adding edge unless similar one exists : was=('{}':'{}'->'{}'), now=('{}':'{}'->'{}')",
                     edgeId, baseFromId, baseToId, newEdgeId, newFromId, newToId);
         } else {
             getLogger().debug("Skipping edge : was=('{}':'{}'->'{}'), now=('{}'->'{}')",
@@ -577,6 +689,21 @@ public class GraphMerger implements MergerApi, Closeable {
     //------------------------------------------------------
     // Some error handling
 
+    /* Add dropped source to target meta-info; add message to target report; rethrow exception if needed */
+    protected void invalidSourceGraph(InvalidGraphException e, JsonObject sourceDesc, Graph targetGraph) {
+        getLogger().error("Invalid source graph: {}", e.getMessage());
+
+        GraphMetaInfoSupport.addDroppedItem(e, sourceDesc, targetGraph);
+
+        GraphReport targetReport = targetGraph.getReport();
+        if (targetReport != null) {
+            targetReport.mergingError(sourceDesc, e);
+        }
+        if (failFast) {
+            throw e;
+        }
+    }
+
     /* Add dropped source to target meta-info; add message to target report; rethrow exception if needed.
      * Intended for exceptions other than InvalidGraphException. */
     protected <X extends Exception> void excHappenned(X e, String sourceId, JsonObject sourceDesc, Graph targetGraph)
@@ -596,6 +723,40 @@ public class GraphMerger implements MergerApi, Closeable {
         }
     }
 
+    public int getPrefetchDepth() {
+        return prefetchDepth;
+    }
+
+    /** Set how many source files {@link #walkAndMerge(Path, Graph, JsonObject)} may read ahead
+     * of merging. Every file read ahead is held in memory as a parsed dump.
+     *
+     * @param prefetchDepth Number of files, or 0 to read every file just before merging it
+     */
+    public void setPrefetchDepth(int prefetchDepth) {
+        if (prefetchDepth < 0) {
+            throw new IllegalArgumentException("Negative prefetch depth: " + prefetchDepth);
+        }
+        this.prefetchDepth = prefetchDepth;
+    }
+
+    public boolean isValidateSources() {
+        return validateSources;
+    }
+
+    /** Set whether source dumps passed to {@link #mergeDump(JsonObject, JsonObject, Graph, JsonObject)}
+     * and read by {@link #walkAndMerge(Path, Graph, JsonObject)} are validated with {@link GraphDumpValidator}.
+     * Invalid sources are dropped before any merging work is done on them.
+     *
+     * @param validateSources Whether to validate source dumps
+     */
+    public void setValidateSources(boolean validateSources) {
+        this.validateSources = validateSources;
+    }
+
+    protected GraphDumpValidator createValidator(JsonObject sourceDesc) {
+        return validateSources ? new GraphDumpValidator(sourceDesc) : null;
+    }
+
     public void setUseDeepCopy(boolean useDeepCopy) {
         this.useDeepCopy = useDeepCopy;
     }
@@ -16,9 +16,7 @@
 
 package org.qubership.itool.modules.processor.matchers;
 
-import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.List;
 
 import org.qubership.itool.modules.graph.Graph;
 
@@ -28,13 +26,10 @@ import static org.qubership.itool.modules.graph.Graph.*;
 
 public class FileMatcher implements VertexMatcher {
 
-    final Map<String, JsonObject> fileLinkToVertex;
+    static final String F_FILE_LINK = "fileLink";
 
     public FileMatcher(Graph targetGraph) {
-        fileLinkToVertex = targetGraph.traversal().V().hasType("file", "directory").toList()
-            .stream()
-            .filter(f -> f.getString("fileLink") != null)
-            .collect(Collectors.toMap(f -> f.getString("fileLink"), Function.identity(), (f1, f2) -> f1));
+        targetGraph.createIndex(F_FILE_LINK);
     }
 
     @Override
@@ -43,8 +38,14 @@ public class FileMatcher implements VertexMatcher {
         if (! "file".equals(type) && ! "directory".equals(type)) {
             return null;
         }
-        String fileLink = newVertex.getString("fileLink");
-        return fileLinkToVertex.get(fileLink);
+        String fileLink = newVertex.getString(F_FILE_LINK);
+        if (fileLink == null) {
+            return null;
+        }
+        List<JsonObject> found = targetGraph.traversal().V()
+            .has(F_FILE_LINK, fileLink).hasType("file", "directory")
+            .toList();
+        return found.isEmpty() ? null : found.get(0);
     }
 
 }
@@ -79,6 +79,7 @@ public class PatchVertexDnsNamesNormalizationTask implements GraphProcessorTask
             if (!details.containsKey(F_DNS_NAMES)) {
                 details.put(F_DNS_NAMES, new JsonArray().add(details.getString(F_DNS_NAME)));
             }
+            graph.reindexVertex(component);
         }
         long endTime = System.nanoTime();
         LOG.debug("Task completed in {} ", Duration.ofNanos(endTime - startTime));
@@ -129,7 +129,13 @@ public class RecreateHttpDependenciesTask implements GraphProcessorTask {
 
     private Map<String, JsonObject> findComponentVerticesByDnsNames(Graph graph, Set<String> requiredDnsNames) {
         Map<String, JsonObject> dnsNameToComp = new HashMap<>();
-        List<Map<String, Object>> componentsWithDnsNames = graph.traversal().V()
+        graph.createIndex(P_DETAILS_DNS_NAMES);
+        List<JsonObject> candidates = graph.getVerticesByIndex(P_DETAILS_DNS_NAMES, within(requiredDnsNames.toArray()));
+        if (candidates.isEmpty()) {
+            return dnsNameToComp;
+        }
+        List<String> candidateIds = candidates.stream().map(c -> c.getString(F_ID)).collect(Collectors.toList());
+        List<Map<String, Object>> componentsWithDnsNames = graph.traversal().V(candidateIds)
                 .hasKey(P_DETAILS_DNS_NAMES).as("C")
                 .values("dnsNames:/details/dnsNames").unfold().as("DN")
                 .select("C", "DN").has("DN", within(requiredDnsNames.toArray())).toList();
@@ -69,6 +69,17 @@ public interface GraphReport {
 
     public void addRecord(JsonObject record);
 
+    /**
+     * Add several entries at once. Entries are added by reference, not copied.
+     *
+     * @param records Report entries
+     */
+    default void addRecords(JsonArray records) {
+        for (Object record : records) {
+            addRecord((JsonObject) record);
+        }
+    }
+
     void addMessage(String type, JsonObject sourceComponent, String message);
 
     void mandatoryValueMissed(JsonObject sourceComponent, String property);
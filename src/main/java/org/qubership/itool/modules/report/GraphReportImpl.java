@@ -50,6 +50,14 @@ public class GraphReportImpl implements GraphReport {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void addRecords(JsonArray records) {
+        synchronized (report) {
+            report.getList().addAll(records.getList());
+        }
+    }
+
     @Override
     public JsonObject dumpReportData(int modelVersion, boolean deepCopy) {
         // Currently, modelVersion is not accounted
@@ -98,9 +106,7 @@ public class GraphReportImpl implements GraphReport {
     public void restoreRecords(JsonArray reportRecords) {
         synchronized (report) {
             report.clear();
-            for (Object obj : reportRecords) {
-                report.add(obj);
-            }
+            report.addAll(reportRecords);
         }
     }
 
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.utils;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+
+/**
+ * Compact binary encoding of JSON data model, read and written through Jackson streaming API,
+ * so everything able to use {@link JsonParser} and {@link JsonGenerator} supports it.
+ *
+ * <p>A stream starts with {@link #MAGIC} followed by the format version byte. Then values follow
+ * as one-byte tags with length-prefixed payloads. Numbers are stored as zigzag varints or IEEE 754.
+ * Field names and string values share a table: a string met for the first time is stored in UTF-8
+ * and gets the next index, repetitions are stored as varint indexes. Strings longer than
+ * {@link #MAX_SHARED_LENGTH} chars, and all the new strings after the table reached
+ * {@link #MAX_TABLE_SIZE} entries, are stored inline.
+ *
+ * <p>Files in this format use extension {@link #EXTENSION}, optionally followed by ".gz".
+ */
+public class CompactJsonFormat {
+
+    /** Never appears at the start of JSON text or GZIP data */
+    public static final byte[] MAGIC = { 0, 'I', 'T', 'C' };
+    public static final int CURRENT_FORMAT_VERSION = 1;
+
+    public static final String EXTENSION = ".cjson";
+
+    public static final int MAX_SHARED_LENGTH = 256;
+    public static final int MAX_TABLE_SIZE = 1 << 18;
+
+    // Tags
+    static final int START_OBJECT = 1;
+    static final int END_OBJECT = 2;
+    static final int START_ARRAY = 3;
+    static final int END_ARRAY = 4;
+    static final int NULL = 5;
+    static final int TRUE = 6;
+    static final int FALSE = 7;
+    static final int INT = 8;
+    static final int LONG = 9;
+    static final int DOUBLE = 10;
+    static final int BIG_INTEGER = 11;
+    static final int BIG_DECIMAL = 12;
+    static final int BINARY = 13;
+    static final int NAME_NEW = 16;
+    static final int NAME_REF = 17;
+    static final int NAME_INLINE = 18;
+    static final int STRING_NEW = 19;
+    static final int STRING_REF = 20;
+    static final int STRING_INLINE = 21;
+
+    /** Check whether a stream contains compact data, without consuming it.
+     *
+     * @param in Stream supporting mark/reset
+     * @return {@code true} if the stream starts with {@link #MAGIC}
+     * @throws IOException If reading failed
+     */
+    public static boolean isCompact(InputStream in) throws IOException {
+        if (!in.markSupported()) {
+            throw new IllegalArgumentException("Stream does not support mark/reset");
+        }
+        in.mark(MAGIC.length);
+        try {
+            for (byte b : MAGIC) {
+                if (in.read() != (b & 0xFF)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            in.reset();
+        }
+    }
+
+    /** Check whether a file name has compact format extension, optionally gzipped.
+     *
+     * @param fileName File name or location
+     * @return Whether the name ends with {@link #EXTENSION} or {@link #EXTENSION}.gz
+     */
+    public static boolean hasCompactExtension(String fileName) {
+        return fileName.endsWith(EXTENSION) || fileName.endsWith(EXTENSION + ".gz");
+    }
+
+    /** Create a parser reading compact data. Header is read immediately.
+     *
+     * @param in Input stream, buffering is not required
+     * @param codec Codec for {@link JsonParser#readValueAs(Class)}, may be {@code null}
+     * @return The parser
+     * @throws IOException If reading failed, or the stream contains no compact data
+     * of supported version
+     */
+    public static JsonParser createParser(InputStream in, ObjectCodec codec) throws IOException {
+        return new CompactJsonParser(in, codec);
+    }
+
+    /** Create a generator writing compact data. Header is written immediately.
+     *
+     * @param out Output stream, buffering is not required
+     * @param codec Codec for {@link JsonGenerator#writeObject(Object)}, may be {@code null}
+     * @return The generator
+     * @throws IOException If writing failed
+     */
+    public static JsonGenerator createGenerator(OutputStream out, ObjectCodec codec) throws IOException {
+        return new CompactJsonGenerator(out, codec);
+    }
+
+    /** Create a parser for either JSON or compact data, detecting the format by {@link #MAGIC}.
+     *
+     * @param in Input stream
+     * @return The parser. It closes the stream when closed.
+     * @throws IOException If reading failed
+     */
+    public static JsonParser createDetectingParser(InputStream in) throws IOException {
+        InputStream markable = in.markSupported() ? in : new BufferedInputStream(in, FSUtils.DEFAULT_BUFFER_SIZE);
+        if (isCompact(markable)) {
+            return createParser(markable, JsonUtils.mapper());
+        }
+        return JsonUtils.mapper().getFactory().createParser(markable);
+    }
+
+}
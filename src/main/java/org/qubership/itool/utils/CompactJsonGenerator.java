@@ -0,0 +1,365 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.utils;
+
+import static org.qubership.itool.utils.CompactJsonFormat.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.ErrorReportConfiguration;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.StreamWriteConstraints;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.base.GeneratorBase;
+import com.fasterxml.jackson.core.io.ContentReference;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.json.JsonWriteContext;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+
+/**
+ * Writes {@link CompactJsonFormat}. Not thread-safe.
+ */
+class CompactJsonGenerator extends GeneratorBase {
+
+    private static final int BUFFER_SIZE = FSUtils.DEFAULT_BUFFER_SIZE;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    private final Map<String, Integer> table = new HashMap<>();
+
+    CompactJsonGenerator(OutputStream out, ObjectCodec codec) throws IOException {
+        super(JsonGenerator.Feature.collectDefaults(), codec, createContext(out));
+        this.out = out;
+        for (byte b : MAGIC) {
+            writeByte(b);
+        }
+        writeByte(CURRENT_FORMAT_VERSION);
+    }
+
+    /* The buffers of the context are not used, the generator has its own */
+    private static IOContext createContext(OutputStream out) {
+        return new IOContext(StreamReadConstraints.defaults(), StreamWriteConstraints.defaults(),
+            ErrorReportConfiguration.defaults(), new BufferRecycler(), ContentReference.rawReference(out), false);
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    //------------------------------------------------------
+    // Structure
+
+    @Override
+    public void writeStartArray() throws IOException {
+        _verifyValueWrite("start an array");
+        _writeContext = _writeContext.createChildArrayContext();
+        writeByte(START_ARRAY);
+    }
+
+    @Override
+    public void writeEndArray() throws IOException {
+        if (!_writeContext.inArray()) {
+            _reportError("Current context not Array but " + _writeContext.typeDesc());
+        }
+        _writeContext = _writeContext.clearAndGetParent();
+        writeByte(END_ARRAY);
+    }
+
+    @Override
+    public void writeStartObject() throws IOException {
+        _verifyValueWrite("start an object");
+        _writeContext = _writeContext.createChildObjectContext();
+        writeByte(START_OBJECT);
+    }
+
+    @Override
+    public void writeEndObject() throws IOException {
+        if (!_writeContext.inObject()) {
+            _reportError("Current context not Object but " + _writeContext.typeDesc());
+        }
+        _writeContext = _writeContext.clearAndGetParent();
+        writeByte(END_OBJECT);
+    }
+
+    @Override
+    public void writeFieldName(String name) throws IOException {
+        if (_writeContext.writeFieldName(name) == JsonWriteContext.STATUS_EXPECT_VALUE) {
+            _reportError("Can not write a field name, expecting a value");
+        }
+        writeSharedString(name, NAME_NEW, NAME_REF, NAME_INLINE);
+    }
+
+    //------------------------------------------------------
+    // Scalars
+
+    @Override
+    public void writeString(String text) throws IOException {
+        if (text == null) {
+            writeNull();
+            return;
+        }
+        _verifyValueWrite("write a string");
+        writeSharedString(text, STRING_NEW, STRING_REF, STRING_INLINE);
+    }
+
+    @Override
+    public void writeString(char[] text, int offset, int len) throws IOException {
+        writeString(new String(text, offset, len));
+    }
+
+    @Override
+    public void writeRawUTF8String(byte[] text, int offset, int length) throws IOException {
+        writeString(new String(text, offset, length, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
+        writeString(new String(text, offset, length, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeBinary(Base64Variant bv, byte[] data, int offset, int len) throws IOException {
+        if (data == null) {
+            writeNull();
+            return;
+        }
+        _verifyValueWrite("write a binary value");
+        writeByte(BINARY);
+        writeVarInt(len);
+        writeBytes(data, offset, len);
+    }
+
+    @Override
+    public void writeNumber(int v) throws IOException {
+        _verifyValueWrite("write a number");
+        writeByte(INT);
+        writeVarInt((v << 1) ^ (v >> 31));
+    }
+
+    @Override
+    public void writeNumber(long v) throws IOException {
+        // Read back as Integer when it fits, the same as JSON
+        if (v == (int) v) {
+            writeNumber((int) v);
+            return;
+        }
+        _verifyValueWrite("write a number");
+        writeByte(LONG);
+        writeVarLong((v << 1) ^ (v >> 63));
+    }
+
+    @Override
+    public void writeNumber(BigInteger v) throws IOException {
+        if (v == null) {
+            writeNull();
+            return;
+        }
+        if (v.bitLength() < 64) {
+            writeNumber(v.longValue());
+            return;
+        }
+        _verifyValueWrite("write a number");
+        writeByte(BIG_INTEGER);
+        byte[] bytes = v.toByteArray();
+        writeVarInt(bytes.length);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void writeNumber(double v) throws IOException {
+        _verifyValueWrite("write a number");
+        writeByte(DOUBLE);
+        long bits = Double.doubleToRawLongBits(v);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            writeByte((int) (bits >>> shift));
+        }
+    }
+
+    @Override
+    public void writeNumber(float v) throws IOException {
+        // JSON text of a float is read back as the nearest double to its decimal form
+        writeNumber(Double.parseDouble(Float.toString(v)));
+    }
+
+    @Override
+    public void writeNumber(BigDecimal v) throws IOException {
+        if (v == null) {
+            writeNull();
+            return;
+        }
+        _verifyValueWrite("write a number");
+        writeByte(BIG_DECIMAL);
+        int scale = v.scale();
+        writeVarInt((scale << 1) ^ (scale >> 31));
+        byte[] bytes = v.unscaledValue().toByteArray();
+        writeVarInt(bytes.length);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void writeNumber(String encodedValue) throws IOException {
+        if (encodedValue == null) {
+            writeNull();
+            return;
+        }
+        writeNumber(new BigDecimal(encodedValue));
+    }
+
+    @Override
+    public void writeBoolean(boolean state) throws IOException {
+        _verifyValueWrite("write a boolean value");
+        writeByte(state ? TRUE : FALSE);
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        _verifyValueWrite("write a null");
+        writeByte(NULL);
+    }
+
+    //------------------------------------------------------
+    // Raw content has no meaning in binary format
+
+    @Override
+    public void writeRaw(String text) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeRaw(String text, int offset, int len) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeRaw(char[] text, int offset, int len) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeRaw(char c) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    //------------------------------------------------------
+    // Output
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        if (isEnabled(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (isClosed()) {
+            return;
+        }
+        super.close();
+        flushBuffer();
+        if (isEnabled(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            out.close();
+        } else if (isEnabled(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)) {
+            out.flush();
+        }
+    }
+
+    @Override
+    protected void _releaseBuffers() {
+    }
+
+    @Override
+    protected void _verifyValueWrite(String typeMsg) throws IOException {
+        if (_writeContext.writeValue() == JsonWriteContext.STATUS_EXPECT_NAME) {
+            _reportError("Can not " + typeMsg + ", expecting field name");
+        }
+    }
+
+    private void writeSharedString(String text, int newTag, int refTag, int inlineTag) throws IOException {
+        Integer index = table.get(text);
+        if (index != null) {
+            writeByte(refTag);
+            writeVarInt(index);
+            return;
+        }
+        if (text.length() <= MAX_SHARED_LENGTH && table.size() < MAX_TABLE_SIZE) {
+            table.put(text, table.size());
+            writeByte(newTag);
+        } else {
+            writeByte(inlineTag);
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    private void writeVarInt(int v) throws IOException {
+        while ((v & ~0x7F) != 0) {
+            writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        writeByte(v);
+    }
+
+    private void writeVarLong(long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        writeByte((int) v);
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (position == BUFFER_SIZE) {
+            flushBuffer();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    private void writeBytes(byte[] bytes, int offset, int len) throws IOException {
+        if (len > BUFFER_SIZE - position) {
+            flushBuffer();
+            if (len > BUFFER_SIZE) {
+                out.write(bytes, offset, len);
+                return;
+            }
+        }
+        System.arraycopy(bytes, offset, buffer, position, len);
+        position += len;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+}
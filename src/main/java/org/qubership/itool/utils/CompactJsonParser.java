@@ -0,0 +1,483 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.utils;
+
+import static org.qubership.itool.utils.CompactJsonFormat.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.base.ParserMinimalBase;
+import com.fasterxml.jackson.core.json.JsonReadContext;
+
+/**
+ * Reads {@link CompactJsonFormat}. Numbers are reported the same way as Jackson reports them
+ * for JSON text: integers as the smallest fitting type, all the floating-point numbers as doubles
+ * with exact {@link #getDecimalValue()}. Not thread-safe.
+ */
+class CompactJsonParser extends ParserMinimalBase {
+
+    private static final int BUFFER_SIZE = FSUtils.DEFAULT_BUFFER_SIZE;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long consumed;
+
+    private ObjectCodec codec;
+    private JsonReadContext parsingContext = JsonReadContext.createRootContext(null);
+    private boolean closed;
+
+    private final List<String> table = new ArrayList<>();
+
+    private String text;
+    private Number number;
+    private NumberType numberType;
+    private BigDecimal decimal;
+    private byte[] binary;
+
+    CompactJsonParser(InputStream in, ObjectCodec codec) throws IOException {
+        super(Feature.collectDefaults());
+        this.in = in;
+        this.codec = codec;
+        for (byte b : MAGIC) {
+            if (readByte() != (b & 0xFF)) {
+                throw new JsonParseException(this, "Not a compact JSON stream");
+            }
+        }
+        int version = readByte();
+        if (version != CURRENT_FORMAT_VERSION) {
+            throw new JsonParseException(this, "Compact JSON format version " + version + " not supported");
+        }
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public ObjectCodec getCodec() {
+        return codec;
+    }
+
+    @Override
+    public void setCodec(ObjectCodec codec) {
+        this.codec = codec;
+    }
+
+    //------------------------------------------------------
+    // Tokens
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        if (closed) {
+            return null;
+        }
+        int tag = position < limit ? buffer[position++] & 0xFF : readByteOrEOF();
+        switch (tag) {
+            case -1:
+                _handleEOF();
+                close();
+                return _currToken = null;
+            case START_OBJECT:
+                parsingContext = parsingContext.createChildObjectContext(-1, -1);
+                return _currToken = JsonToken.START_OBJECT;
+            case END_OBJECT:
+                if (!parsingContext.inObject()) {
+                    _reportError("Unexpected end of object in " + parsingContext.typeDesc());
+                }
+                parsingContext = parsingContext.clearAndGetParent();
+                return _currToken = JsonToken.END_OBJECT;
+            case START_ARRAY:
+                parsingContext = parsingContext.createChildArrayContext(-1, -1);
+                return _currToken = JsonToken.START_ARRAY;
+            case END_ARRAY:
+                if (!parsingContext.inArray()) {
+                    _reportError("Unexpected end of array in " + parsingContext.typeDesc());
+                }
+                parsingContext = parsingContext.clearAndGetParent();
+                return _currToken = JsonToken.END_ARRAY;
+            case NULL:
+                return _currToken = JsonToken.VALUE_NULL;
+            case TRUE:
+                return _currToken = JsonToken.VALUE_TRUE;
+            case FALSE:
+                return _currToken = JsonToken.VALUE_FALSE;
+            case INT: {
+                int v = readVarInt();
+                setNumber((v >>> 1) ^ -(v & 1), NumberType.INT);
+                return _currToken = JsonToken.VALUE_NUMBER_INT;
+            }
+            case LONG: {
+                long v = readVarLong();
+                setNumber((v >>> 1) ^ -(v & 1), NumberType.LONG);
+                return _currToken = JsonToken.VALUE_NUMBER_INT;
+            }
+            case BIG_INTEGER:
+                setNumber(new BigInteger(readBytes(readVarInt())), NumberType.BIG_INTEGER);
+                return _currToken = JsonToken.VALUE_NUMBER_INT;
+            case DOUBLE: {
+                long bits = 0;
+                for (int i = 0; i < 8; i++) {
+                    bits = (bits << 8) | readByte();
+                }
+                setNumber(Double.longBitsToDouble(bits), NumberType.DOUBLE);
+                return _currToken = JsonToken.VALUE_NUMBER_FLOAT;
+            }
+            case BIG_DECIMAL: {
+                int scale = readVarInt();
+                scale = (scale >>> 1) ^ -(scale & 1);
+                BigDecimal v = new BigDecimal(new BigInteger(readBytes(readVarInt())), scale);
+                setNumber(v.doubleValue(), NumberType.DOUBLE);
+                decimal = v;
+                return _currToken = JsonToken.VALUE_NUMBER_FLOAT;
+            }
+            case BINARY:
+                binary = readBytes(readVarInt());
+                return _currToken = JsonToken.VALUE_EMBEDDED_OBJECT;
+            case NAME_NEW:
+            case NAME_REF:
+            case NAME_INLINE:
+                if (!parsingContext.inObject()) {
+                    _reportError("Unexpected field name in " + parsingContext.typeDesc());
+                }
+                parsingContext.setCurrentName(readSharedString(tag - NAME_NEW));
+                return _currToken = JsonToken.FIELD_NAME;
+            case STRING_NEW:
+            case STRING_REF:
+            case STRING_INLINE:
+                text = readSharedString(tag - STRING_NEW);
+                return _currToken = JsonToken.VALUE_STRING;
+            default:
+                _reportError("Invalid tag " + tag);
+                return null;
+        }
+    }
+
+    @Override
+    protected void _handleEOF() throws JsonParseException {
+        if (!parsingContext.inRoot()) {
+            _reportInvalidEOF(": expected close marker for " + parsingContext.typeDesc(), null);
+        }
+    }
+
+    @Override
+    public String getCurrentName() throws IOException {
+        if (_currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY) {
+            JsonReadContext parent = parsingContext.getParent();
+            return parent == null ? null : parent.getCurrentName();
+        }
+        return parsingContext.getCurrentName();
+    }
+
+    @Override
+    public void overrideCurrentName(String name) {
+        try {
+            parsingContext.setCurrentName(name);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public JsonStreamContext getParsingContext() {
+        return parsingContext;
+    }
+
+    @Override
+    public JsonLocation getTokenLocation() {
+        return getCurrentLocation();
+    }
+
+    @Override
+    public JsonLocation getCurrentLocation() {
+        return new JsonLocation(null, consumed + position, -1, -1);
+    }
+
+    //------------------------------------------------------
+    // Values
+
+    @Override
+    public String getText() throws IOException {
+        if (_currToken == null) {
+            return null;
+        }
+        switch (_currToken) {
+            case VALUE_STRING:
+                return text;
+            case FIELD_NAME:
+                return parsingContext.getCurrentName();
+            case VALUE_NUMBER_INT:
+                return number.toString();
+            case VALUE_NUMBER_FLOAT:
+                return decimal != null ? decimal.toString() : number.toString();
+            default:
+                return _currToken.asString();
+        }
+    }
+
+    @Override
+    public char[] getTextCharacters() throws IOException {
+        String value = getText();
+        return value == null ? null : value.toCharArray();
+    }
+
+    @Override
+    public boolean hasTextCharacters() {
+        return false;
+    }
+
+    @Override
+    public int getTextLength() throws IOException {
+        String value = getText();
+        return value == null ? 0 : value.length();
+    }
+
+    @Override
+    public int getTextOffset() throws IOException {
+        return 0;
+    }
+
+    @Override
+    public byte[] getBinaryValue(Base64Variant b64variant) throws IOException {
+        if (_currToken == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            return binary;
+        }
+        if (_currToken == JsonToken.VALUE_STRING) {
+            return b64variant.decode(text);
+        }
+        _reportError("Current token (" + _currToken + ") not VALUE_STRING or VALUE_EMBEDDED_OBJECT, can not access as binary");
+        return null;
+    }
+
+    @Override
+    public Object getEmbeddedObject() throws IOException {
+        return _currToken == JsonToken.VALUE_EMBEDDED_OBJECT ? binary : null;
+    }
+
+    @Override
+    public Number getNumberValue() throws IOException {
+        checkNumber();
+        return number;
+    }
+
+    @Override
+    public NumberType getNumberType() throws IOException {
+        checkNumber();
+        return numberType;
+    }
+
+    @Override
+    public int getIntValue() throws IOException {
+        checkNumber();
+        if (numberType != NumberType.INT) {
+            long v = getLongValue();
+            if (v != (int) v) {
+                _reportError("Numeric value (" + getText() + ") out of range of int");
+            }
+        }
+        return number.intValue();
+    }
+
+    @Override
+    public long getLongValue() throws IOException {
+        checkNumber();
+        if (numberType == NumberType.BIG_INTEGER) {
+            _reportError("Numeric value (" + getText() + ") out of range of long");
+        }
+        return number.longValue();
+    }
+
+    @Override
+    public BigInteger getBigIntegerValue() throws IOException {
+        checkNumber();
+        if (number instanceof BigInteger) {
+            return (BigInteger) number;
+        }
+        if (_currToken == JsonToken.VALUE_NUMBER_FLOAT) {
+            return getDecimalValue().toBigInteger();
+        }
+        return BigInteger.valueOf(number.longValue());
+    }
+
+    @Override
+    public float getFloatValue() throws IOException {
+        checkNumber();
+        return number.floatValue();
+    }
+
+    @Override
+    public double getDoubleValue() throws IOException {
+        checkNumber();
+        return number.doubleValue();
+    }
+
+    @Override
+    public BigDecimal getDecimalValue() throws IOException {
+        checkNumber();
+        if (decimal != null) {
+            return decimal;
+        }
+        if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        }
+        if (numberType == NumberType.DOUBLE) {
+            return BigDecimal.valueOf(number.doubleValue());
+        }
+        return BigDecimal.valueOf(number.longValue());
+    }
+
+    private void setNumber(Number value, NumberType type) {
+        number = value;
+        numberType = type;
+        decimal = null;
+    }
+
+    private void checkNumber() throws IOException {
+        if (_currToken != JsonToken.VALUE_NUMBER_INT && _currToken != JsonToken.VALUE_NUMBER_FLOAT) {
+            _reportError("Current token (" + _currToken + ") not numeric, can not use numeric value accessors");
+        }
+    }
+
+    //------------------------------------------------------
+    // Input
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            if (isEnabled(Feature.AUTO_CLOSE_SOURCE)) {
+                in.close();
+            }
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /* kind: 0 for a new string, 1 for a reference, 2 for an inline string */
+    private String readSharedString(int kind) throws IOException {
+        if (kind == 1) {
+            int index = readVarInt();
+            if (index < 0 || index >= table.size()) {
+                _reportError("Invalid string reference " + index);
+            }
+            return table.get(index);
+        }
+        int length = readVarInt();
+        String value;
+        if (length <= limit - position) {
+            value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+        } else {
+            value = new String(readBytes(length), StandardCharsets.UTF_8);
+        }
+        if (kind == 0) {
+            table.add(value);
+        }
+        return value;
+    }
+
+    private int readVarInt() throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        _reportError("Malformed varint");
+        return 0;
+    }
+
+    private long readVarLong() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        _reportError("Malformed varint");
+        return 0;
+    }
+
+    private byte[] readBytes(int length) throws IOException {
+        if (length < 0) {
+            _reportError("Invalid length " + length);
+        }
+        byte[] result = new byte[length];
+        int done = 0;
+        while (done < length) {
+            if (position == limit && !loadMore()) {
+                _reportInvalidEOF();
+            }
+            int chunk = Math.min(length - done, limit - position);
+            System.arraycopy(buffer, position, result, done, chunk);
+            position += chunk;
+            done += chunk;
+        }
+        return result;
+    }
+
+    private int readByte() throws IOException {
+        int b = readByteOrEOF();
+        if (b < 0) {
+            _reportInvalidEOF();
+        }
+        return b;
+    }
+
+    private int readByteOrEOF() throws IOException {
+        if (position == limit && !loadMore()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private boolean loadMore() throws IOException {
+        consumed += limit;
+        position = 0;
+        limit = 0;
+        int count = in.read(buffer, 0, BUFFER_SIZE);
+        if (count <= 0) {
+            return false;
+        }
+        limit = count;
+        return true;
+    }
+
+}
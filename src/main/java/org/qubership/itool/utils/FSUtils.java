@@ -22,8 +22,6 @@ import java.io.*;
 import java.net.URL;
 import java.nio.file.*;
 import java.util.List;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import static java.nio.file.StandardOpenOption.APPEND;
 import static java.nio.file.StandardOpenOption.CREATE;
@@ -96,7 +94,7 @@ public class FSUtils {
      *
      * @param caller Caller class. Used for "classpath:" locations.
      * @param location Location, usually something like this: "file:...", "classpath:...".
-     * If it ends with ".gz", content is un-gzipped.
+     * If it ends with ".gz", content is un-gzipped, in parallel if possible, see {@link ParallelGzipInputStream}.
      * @return The input stream
      * @throws IOException IO happened
      */
@@ -105,7 +103,7 @@ public class FSUtils {
         if (is == null) {
             return null;
         } else if (location.endsWith(".gz")) {
-            return new GZIPInputStream(is, DEFAULT_BUFFER_SIZE);
+            return new ParallelGzipInputStream(is);
         } else if (is instanceof BufferedInputStream) {
             return is;
         } else {
@@ -115,7 +113,8 @@ public class FSUtils {
 
     /*** Create a stream to write into a file with buffering and GZip support.
      *
-     * @param path Target path. If it ends with ".gz", content is gzipped.
+     * @param path Target path. If it ends with ".gz", content is gzipped in parallel,
+     * see {@link ParallelGzipOutputStream}.
      * @param options Open options
      * @return The output stream
      * @throws IOException IO happened
@@ -126,7 +125,7 @@ public class FSUtils {
         try {
             fos = Files.newOutputStream(path, options);
             if (fileName.endsWith(".gz")) {
-                return new GZIPOutputStream(fos, DEFAULT_BUFFER_SIZE);
+                return new ParallelGzipOutputStream(fos);
             } else {
                 return new BufferedOutputStream(fos, DEFAULT_BUFFER_SIZE);
             }
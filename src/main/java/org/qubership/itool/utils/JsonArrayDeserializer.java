@@ -31,8 +31,12 @@ public class JsonArrayDeserializer extends JsonDeserializer<JsonArray> {
     @Override
     @SuppressWarnings("rawtypes")
     public JsonArray deserialize(JsonParser p, DeserializationContext ctxt) throws IOException, JsonProcessingException {
-        List list = p.readValueAs(List.class);
-        return new JsonArray(list);
+        JsonInterner interner = JsonInterner.of(ctxt);
+        if (interner == null) {
+            List list = p.readValueAs(List.class);
+            return new JsonArray(list);
+        }
+        return new JsonArray(JsonObjectDeserializer.readArray(p, ctxt, interner, null));
     }
 
     @Override
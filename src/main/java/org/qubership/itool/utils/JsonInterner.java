@@ -0,0 +1,177 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Canonicalizing table for string values met while loading one graph dump. Graph dumps repeat
+ * the same short values (vertex types, domain ids, repository URLs, language names) many times,
+ * so keeping one instance of each saves heap for cached graphs.
+ *
+ * <p>A new table is created for every load and passed to {@link JsonObjectDeserializer} and
+ * {@link JsonArrayDeserializer} as a Jackson attribute, see {@link #withNewInterner(ObjectReader)}.
+ * Other readers do not intern anything. The table is dropped together with the reader,
+ * so it never outlives the load.
+ *
+ * <p>Only strings up to {@link #getMaxLength()} characters are interned. Once the table holds
+ * {@link #getMaxSize()} entries, new values are no longer added, but the known ones are still
+ * canonicalized. Values of a field that brought more than {@link #getMaxValuesPerField()} new values
+ * (e.g. ids or descriptions) are no longer looked up at all. Field names need no interning:
+ * Jackson canonicalizes them itself.
+ *
+ * <p>Not thread-safe: every load has its own instance.
+ */
+public class JsonInterner {
+
+    public static final int DEFAULT_MAX_SIZE = 100_000;
+    public static final int DEFAULT_MAX_LENGTH = 128;
+    public static final int DEFAULT_MAX_VALUES_PER_FIELD = 1_000;
+
+    // Estimated savings of all the instances, for logging
+    private static final LongAdder TOTAL_SAVED_BYTES = new LongAdder();
+
+    private final int maxSize;
+    private final int maxLength;
+    private final int maxValuesPerField;
+    private final Map<String, String> table = new HashMap<>();
+    // Number of new values added to the table by every field name
+    private final Map<String, int[]> fieldValueCounts = new HashMap<>();
+
+    private long hits;
+    private long savedBytes;
+
+    public JsonInterner() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_MAX_LENGTH, DEFAULT_MAX_VALUES_PER_FIELD);
+    }
+
+    public JsonInterner(int maxSize, int maxLength, int maxValuesPerField) {
+        this.maxSize = maxSize;
+        this.maxLength = maxLength;
+        this.maxValuesPerField = maxValuesPerField;
+    }
+
+    /** Get a reader that interns string values with a table of its own.
+     *
+     * @param reader Reader using {@link JsonObjectDeserializer} and {@link JsonArrayDeserializer}, e.g. from {@link JsonUtils#mapper()}
+     * @return Reader with a new table
+     */
+    public static ObjectReader withNewInterner(ObjectReader reader) {
+        return reader.withAttribute(JsonInterner.class, new JsonInterner());
+    }
+
+    /** Get the table of the current read.
+     *
+     * @param ctxt Deserialization context
+     * @return Table, or {@code null} if string values are not interned
+     */
+    public static JsonInterner of(DeserializationContext ctxt) {
+        return (JsonInterner) ctxt.getAttribute(JsonInterner.class);
+    }
+
+    /** Get canonical instance of a string.
+     *
+     * @param field Name of the field holding the value, or of the field holding the array with the value,
+     * {@code null} for top-level values
+     * @param value String, may be {@code null}
+     * @return Equal string, the same instance for all the equal strings interned before
+     */
+    public String intern(String field, String value) {
+        if (value == null || value.length() > maxLength) {
+            return value;
+        }
+        int[] fieldValueCount = fieldValueCounts.computeIfAbsent(field, f -> new int[1]);
+        if (fieldValueCount[0] > maxValuesPerField) {
+            return value;
+        }
+        String canonical = table.get(value);
+        if (canonical == null) {
+            if (table.size() < maxSize) {
+                table.put(value, value);
+                fieldValueCount[0]++;
+            }
+            return value;
+        }
+        long footprint = estimateFootprint(value);
+        hits++;
+        savedBytes += footprint;
+        TOTAL_SAVED_BYTES.add(footprint);
+        return canonical;
+    }
+
+    /* Shallow size of a String with its array on a 64-bit JVM with compressed oops and compact strings */
+    static long estimateFootprint(String value) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        long arraySize = 16 + (long) value.length() * bytesPerChar;
+        return 24 + ((arraySize + 7) & ~7L);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public int getMaxValuesPerField() {
+        return maxValuesPerField;
+    }
+
+    /** @return Number of distinct strings in the table */
+    public int size() {
+        return table.size();
+    }
+
+    /** @return Number of strings replaced with their canonical instances */
+    public long getHits() {
+        return hits;
+    }
+
+    /** @return Estimated heap occupied by the strings replaced with their canonical instances.
+     * A rough estimate: it assumes a typical 64-bit JVM layout and counts every replaced string,
+     * including the ones that would have been garbage collected anyway
+     */
+    public long getSavedBytes() {
+        return savedBytes;
+    }
+
+    /** @return Sum of {@link #getSavedBytes()} of all the tables ever created. Differences taken
+     * around a load are approximate if other loads run in parallel
+     */
+    public static long getTotalSavedBytes() {
+        return TOTAL_SAVED_BYTES.sum();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(size=" + size() + ", hits=" + getHits()
+            + ", savedBytes=" + getSavedBytes() + ")";
+    }
+
+}
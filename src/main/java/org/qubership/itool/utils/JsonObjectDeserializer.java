@@ -17,22 +17,35 @@
 package org.qubership.itool.utils;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 
 import io.vertx.core.json.JsonObject;
 
+/**
+ * Reads {@link JsonObject} with plain maps and lists inside, the same as Jackson does for untyped values.
+ * If the reader carries a {@link JsonInterner}, string values are passed through it.
+ */
 public class JsonObjectDeserializer extends JsonDeserializer<JsonObject> {
 
     @Override
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public JsonObject deserialize(JsonParser p, DeserializationContext ctxt) throws IOException, JsonProcessingException {
-        Map map = p.readValueAs(Map.class);
-        return new JsonObject(map);
+        JsonInterner interner = JsonInterner.of(ctxt);
+        if (interner == null) {
+            Map map = p.readValueAs(Map.class);
+            return new JsonObject(map);
+        }
+        return new JsonObject(readObject(p, ctxt, interner));
     }
 
     @Override
@@ -40,4 +53,66 @@ public class JsonObjectDeserializer extends JsonDeserializer<JsonObject> {
         return JsonObject.class;
     }
 
+    /* Parser is positioned at START_OBJECT, or at the first FIELD_NAME, or at END_OBJECT of an empty object */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> readObject(JsonParser p, DeserializationContext ctxt, JsonInterner interner) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        }
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String name = p.getCurrentName();
+            p.nextToken();
+            map.put(name, readValue(p, ctxt, interner, name));
+        }
+        if (token != JsonToken.END_OBJECT) {
+            return (Map<String, Object>) ctxt.handleUnexpectedToken(Map.class, p);
+        }
+        return map;
+    }
+
+    /* Parser is positioned at START_ARRAY. Field is the one holding the array, null for a top-level one */
+    @SuppressWarnings("unchecked")
+    static List<Object> readArray(JsonParser p, DeserializationContext ctxt, JsonInterner interner, String field)
+            throws IOException
+    {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            return (List<Object>) ctxt.handleUnexpectedToken(List.class, p);
+        }
+        List<Object> list = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            list.add(readValue(p, ctxt, interner, field));
+        }
+        return list;
+    }
+
+    private static Object readValue(JsonParser p, DeserializationContext ctxt, JsonInterner interner, String field)
+            throws IOException
+    {
+        switch (p.currentToken()) {
+            case START_OBJECT:
+                return readObject(p, ctxt, interner);
+            case START_ARRAY:
+                return readArray(p, ctxt, interner, field);
+            case VALUE_STRING:
+                return interner.intern(field, p.getText());
+            case VALUE_NUMBER_INT:
+                return p.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return ctxt.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                    ? p.getDecimalValue() : p.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            case VALUE_EMBEDDED_OBJECT:
+                return p.getEmbeddedObject();
+            default:
+                return ctxt.handleUnexpectedToken(Object.class, p);
+        }
+    }
+
 }
@@ -29,11 +29,10 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import org.apache.commons.collections4.CollectionUtils;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import org.qubership.itool.modules.graph.FalloutDto;
@@ -84,7 +83,8 @@ public class JsonUtils {
     }
 
     /**
-     * Read and parse a JSON file that contains an object (not array). Accepts GZIP as well.
+     * Read and parse a JSON file that contains an object (not array). Accepts GZIP and
+     * {@link CompactJsonFormat} as well.
      * To read array JSON or arbitrary data, use {@link #readJsonFile(String, Class)}
      *
      * @param path Path
@@ -108,26 +108,23 @@ public class JsonUtils {
             if (fis == null) {  // This happens if source was not found
                 return null;
             }
-            Reader reader = new InputStreamReader(fis, UTF_8);
-            return mapper.readValue(reader, dataType);
+            return readJsonOrCompact(fis, dataType);
         }
     }
 
     public static JsonObject bytesToJsonObject(byte[] bytes) throws IOException {
         InputStream is = new ByteArrayInputStream(bytes);
-        Reader reader = new InputStreamReader(is, UTF_8);
-        return mapper.readValue(reader, JsonObject.class);
+        return readJsonOrCompact(is, JsonObject.class);
     }
 
     public static JsonObject gzipBytesToJsonObject(byte[] bytes) throws IOException {
-        InputStream is = new GZIPInputStream(new ByteArrayInputStream(bytes));
-        Reader reader = new InputStreamReader(is, UTF_8);
-        return mapper.readValue(reader, JsonObject.class);
+        InputStream is = new ParallelGzipInputStream(new ByteArrayInputStream(bytes));
+        return readJsonOrCompact(is, JsonObject.class);
     }
 
     public static byte[] jsonObjectToGzipBytes(JsonObject dump) throws IOException {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        saveJsonToStream(new GZIPOutputStream(baos), dump, false);
+        saveJsonToStream(new ParallelGzipOutputStream(baos), dump, false);
         return baos.toByteArray();
     }
 
@@ -141,14 +138,19 @@ public class JsonUtils {
 
     public static <T> T readJsonFromBuffer(Buffer buffer, Class<T> clazz) throws IOException {
         InputStream is = new ByteBufInputStream(buffer.getByteBuf());
-        Reader reader = new InputStreamReader(is, UTF_8);
-        return mapper.readValue(reader, clazz);
+        return readJsonOrCompact(is, clazz);
     }
 
     public static <T> T readJsonFromGzipBuffer(Buffer buffer, Class<T> clazz) throws IOException {
-        InputStream is = new GZIPInputStream(new ByteBufInputStream(buffer.getByteBuf()));
-        Reader reader = new InputStreamReader(is, UTF_8);
-        return mapper.readValue(reader, clazz);
+        InputStream is = new ParallelGzipInputStream(new ByteBufInputStream(buffer.getByteBuf()));
+        return readJsonOrCompact(is, clazz);
+    }
+
+    /* Both JSON and compact data are recognized by their first bytes */
+    private static <T> T readJsonOrCompact(InputStream is, Class<T> clazz) throws IOException {
+        try (JsonParser parser = CompactJsonFormat.createDetectingParser(is)) {
+            return mapper.readValue(parser, clazz);
+        }
     }
 
     public static void saveJsonToStream(OutputStream out, Object data, boolean pretty) throws IOException {
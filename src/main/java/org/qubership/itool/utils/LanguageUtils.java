@@ -264,7 +264,8 @@ public class LanguageUtils {
                     .put("type", "info");
             JsonArray languageUsages = language.getJsonArray("usage");
             if (languageUsages != null) {
-                languageEdge.put("usage", languageUsages);
+                // Own copy: the component's usages may be updated later, that must not change the edge
+                languageEdge.put("usage", languageUsages.copy());
             }
             graph.addEdge(component, languageVertex, languageEdge);
         }
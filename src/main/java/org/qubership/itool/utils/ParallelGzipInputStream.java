@@ -0,0 +1,269 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.utils;
+
+import static org.qubership.itool.utils.ParallelGzipOutputStream.*;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * GZIP input decompressing members written by {@link ParallelGzipOutputStream} in parallel,
+ * with read-ahead of several members. Other GZIP data, including members without length
+ * in their headers, are read sequentially via {@link GZIPInputStream}.
+ *
+ * <p>Not thread-safe.
+ */
+public class ParallelGzipInputStream extends InputStream {
+
+    // Largest member of a block up to MAX_BLOCK_SIZE: deflate bound of zlib, header and trailer
+    static final int MAX_MEMBER_LENGTH = HEADER_SIZE + MAX_BLOCK_SIZE
+        + (MAX_BLOCK_SIZE >> 12) + (MAX_BLOCK_SIZE >> 14) + (MAX_BLOCK_SIZE >> 25) + 13 + TRAILER_SIZE;
+
+    private final InputStream in;
+    private final Executor executor;
+    private final int readAhead;
+    private final Queue<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+
+    private byte[] block = new byte[0];
+    private int position;
+    private boolean endOfMembers;
+    private InputStream sequential;  // Used after the first member without length
+    private boolean closed;
+
+    /** Create a stream decompressing members on {@link ForkJoinPool#commonPool()}.
+     *
+     * @param in Source stream
+     */
+    public ParallelGzipInputStream(InputStream in) {
+        this(in, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /** Create a stream.
+     *
+     * @param in Source stream, buffering is not required
+     * @param executor Executor decompressing members
+     * @param threads Expected number of threads of the executor. Twice as many members
+     * are read ahead.
+     */
+    public ParallelGzipInputStream(InputStream in, Executor executor, int threads) {
+        this.in = in.markSupported() ? in : new BufferedInputStream(in, FSUtils.DEFAULT_BUFFER_SIZE);
+        this.executor = executor;
+        this.readAhead = Math.max(2, threads * 2);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (sequential == null && position < block.length) {
+            return block[position++] & 0xFF;
+        }
+        byte[] b = new byte[1];
+        int count = read(b, 0, 1);
+        return count < 0 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (len == 0) {
+            return 0;
+        }
+        while (sequential == null && position == block.length) {
+            if (!nextBlock()) {
+                if (sequential == null) {
+                    return -1;
+                }
+            }
+        }
+        if (sequential != null && position == block.length) {
+            return sequential.read(b, off, len);
+        }
+        int count = Math.min(len, block.length - position);
+        System.arraycopy(block, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        if (position < block.length) {
+            return block.length - position;
+        }
+        return sequential != null ? sequential.available() : 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pending.forEach(future -> future.cancel(false));
+        pending.clear();
+        block = new byte[0];
+        if (sequential != null) {
+            sequential.close();
+        } else {
+            in.close();
+        }
+    }
+
+    /* Take the next decompressed block, reading ahead. Returns false at the end of data
+     * or when switched to sequential reading */
+    private boolean nextBlock() throws IOException {
+        while (!endOfMembers && pending.size() < readAhead) {
+            byte[] member = readMember();
+            if (member == null) {
+                endOfMembers = true;
+            } else {
+                pending.add(CompletableFuture.supplyAsync(() -> decompress(member), executor));
+            }
+        }
+        if (pending.isEmpty()) {
+            if (sequential == null && hasMoreData()) {
+                // Not our member: the rest is ordinary GZIP
+                sequential = new GZIPInputStream(in, FSUtils.DEFAULT_BUFFER_SIZE);
+            }
+            return false;
+        }
+        try {
+            block = pending.remove().get();
+            position = 0;
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while decompressing");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw (cause instanceof IOException) ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    private boolean hasMoreData() throws IOException {
+        in.mark(1);
+        int b = in.read();
+        in.reset();
+        return b >= 0;
+    }
+
+    /* Read a whole member with length in its header. Returns null at the end of data and
+     * if the next member has no length; the stream is left at start of the member then */
+    private byte[] readMember() throws IOException {
+        in.mark(HEADER_SIZE);
+        byte[] header = new byte[HEADER_SIZE];
+        int count = in.readNBytes(header, 0, HEADER_SIZE);
+        if (count < HEADER_SIZE || !hasLengthField(header)) {
+            in.reset();
+            return null;
+        }
+        int memberLength = 0;
+        for (int i = 0; i < 4; i++) {
+            memberLength |= (header[16 + i] & 0xFF) << (8 * i);
+        }
+        // Checked before allocating, the length comes from possibly corrupt data
+        if (memberLength < HEADER_SIZE + TRAILER_SIZE || memberLength > MAX_MEMBER_LENGTH) {
+            throw new ZipException("Invalid GZIP member length: " + memberLength);
+        }
+        byte[] member = new byte[memberLength];
+        System.arraycopy(header, 0, member, 0, HEADER_SIZE);
+        int rest = memberLength - HEADER_SIZE;
+        if (in.readNBytes(member, HEADER_SIZE, rest) < rest) {
+            throw new EOFException("Unexpected end of GZIP member");
+        }
+        return member;
+    }
+
+    private static boolean hasLengthField(byte[] header) {
+        return (header[0] & 0xFF) == ID1 && (header[1] & 0xFF) == ID2
+            && header[2] == 8 && header[3] == FEXTRA
+            && header[10] == XLEN && header[11] == 0
+            && header[12] == SI1 && header[13] == SI2
+            && header[14] == SUBFIELD_LENGTH && header[15] == 0;
+    }
+
+    /* Decompress and verify a member read by readMember() */
+    static byte[] decompress(byte[] member) {
+        int trailer = member.length - TRAILER_SIZE;
+        int expectedCrc = readIntLE(member, trailer);
+        int size = readIntLE(member, trailer + 4);
+        Inflater inflater = new Inflater(true);
+        try {
+            if (size < 0 || size > MAX_BLOCK_SIZE) {
+                throw new ZipException("Invalid GZIP member size: " + Integer.toUnsignedString(size));
+            }
+            inflater.setInput(member, HEADER_SIZE, trailer - HEADER_SIZE);
+            byte[] result = new byte[size];
+            int count = 0;
+            while (count < size) {
+                int inflated = inflater.inflate(result, count, size - count);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                count += inflated;
+            }
+            if (count == size && !inflater.finished() && inflater.inflate(new byte[1]) != 0) {
+                count++;    // More data than declared
+            }
+            if (count != size || !inflater.finished()) {
+                throw new ZipException("Corrupt GZIP member: size mismatch");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(result);
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new ZipException("Corrupt GZIP member: CRC mismatch");
+            }
+            return result;
+        } catch (ZipException e) {
+            throw new CompletionException(e);
+        } catch (DataFormatException e) {
+            throw new CompletionException(new ZipException("Corrupt GZIP member: " + e.getMessage()));
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int readIntLE(byte[] data, int offset) {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value |= (data[offset + i] & 0xFF) << (8 * i);
+        }
+        return value;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+}
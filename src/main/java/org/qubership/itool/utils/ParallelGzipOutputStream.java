@@ -0,0 +1,259 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * GZIP output compressing blocks of data in parallel, in the style of pigz.
+ *
+ * <p>Every block of {@link #DEFAULT_BLOCK_SIZE} bytes becomes a separate GZIP member. Concatenated
+ * members are valid GZIP data readable by any tool. Every member header carries its compressed
+ * length in an extra field, so that {@link ParallelGzipInputStream} can decompress members in parallel
+ * as well. Compressed members are written in order; the number of blocks in progress is limited.
+ *
+ * <p>Not thread-safe.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+    // Header: magic, method, flags (FEXTRA), mtime, xfl, os (unknown), then extra field
+    // with a single subfield holding total length of the member
+    static final int ID1 = 0x1f;
+    static final int ID2 = 0x8b;
+    static final int FEXTRA = 4;
+    static final int SI1 = 'I';
+    static final int SI2 = 'T';
+    static final int SUBFIELD_LENGTH = 4;
+    static final int XLEN = 4 + SUBFIELD_LENGTH;
+    static final int HEADER_SIZE = 10 + 2 + XLEN;
+    static final int TRAILER_SIZE = 8;
+    /** Blocks decompressed by {@link ParallelGzipInputStream} never exceed this size */
+    static final int MAX_BLOCK_SIZE = 16 * 1024 * 1024;
+
+    private final OutputStream out;
+    private final Executor executor;
+    private final int level;
+    private final int maxPending;
+    private final Queue<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+
+    private byte[] block;
+    private int position;
+    private boolean membersWritten;
+    private boolean finished;
+    private boolean closed;
+
+    /** Create a stream compressing blocks on {@link ForkJoinPool#commonPool()}.
+     *
+     * @param out Target stream
+     */
+    public ParallelGzipOutputStream(OutputStream out) {
+        this(out, ForkJoinPool.commonPool(), DEFAULT_BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION,
+            ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /** Create a stream.
+     *
+     * @param out Target stream
+     * @param executor Executor compressing blocks
+     * @param blockSize Size of uncompressed data in a member
+     * @param level Compression level, see {@link Deflater}
+     * @param threads Expected number of threads of the executor. Twice as many blocks
+     * may be in progress at once.
+     */
+    public ParallelGzipOutputStream(OutputStream out, Executor executor, int blockSize, int level, int threads) {
+        if (blockSize <= 0 || blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Invalid block size: " + blockSize);
+        }
+        this.out = out;
+        this.executor = executor;
+        this.level = level;
+        this.maxPending = Math.max(2, threads * 2);
+        this.block = new byte[blockSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block[position++] = (byte) b;
+        if (position == block.length) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int chunk = Math.min(len, block.length - position);
+            System.arraycopy(b, off, block, position, chunk);
+            position += chunk;
+            off += chunk;
+            len -= chunk;
+            if (position == block.length) {
+                submitBlock();
+            }
+        }
+    }
+
+    /** Write all the blocks compressed so far. The last incomplete block stays in memory,
+     * so it does not produce a tiny member. */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        while (!pending.isEmpty() && pending.peek().isDone()) {
+            writeMember(pending.remove());
+        }
+        out.flush();
+    }
+
+    /** Finish writing compressed data without closing the target stream.
+     *
+     * @throws IOException If compression or writing failed
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        ensureOpen();
+        if (position > 0 || !membersWritten && pending.isEmpty()) {
+            // Even empty data needs a member to be valid GZIP
+            if (pending.isEmpty()) {
+                byte[] member = compress(block, position, level);
+                out.write(member);
+                membersWritten = true;
+            } else {
+                submitBlock();
+            }
+        }
+        while (!pending.isEmpty()) {
+            writeMember(pending.remove());
+        }
+        finished = true;
+        block = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            finish();
+        } finally {
+            closed = true;
+            pending.forEach(future -> future.cancel(false));
+            out.close();
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        if (pending.size() >= maxPending) {
+            writeMember(pending.remove());
+        }
+        byte[] data = block;
+        int length = position;
+        pending.add(CompletableFuture.supplyAsync(() -> compress(data, length, level), executor));
+        block = new byte[data.length];
+        position = 0;
+    }
+
+    private void writeMember(CompletableFuture<byte[]> future) throws IOException {
+        byte[] member;
+        try {
+            member = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing");
+        } catch (ExecutionException e) {
+            throw new IOException("Compression failed", e.getCause());
+        }
+        out.write(member);
+        membersWritten = true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (finished) {
+            throw new IOException("Stream finished");
+        }
+    }
+
+    /* Compress a block into a complete GZIP member */
+    static byte[] compress(byte[] data, int length, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(data, 0, length);
+            deflater.finish();
+            ByteArrayOutputStream member = new ByteArrayOutputStream(length / 2 + HEADER_SIZE + TRAILER_SIZE + 64);
+            member.write(new byte[HEADER_SIZE], 0, HEADER_SIZE);
+            byte[] buffer = new byte[FSUtils.DEFAULT_BUFFER_SIZE];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                member.write(buffer, 0, count);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, length);
+            writeIntLE(member, (int) crc.getValue());
+            writeIntLE(member, length);
+
+            byte[] result = member.toByteArray();
+            writeHeader(result, result.length);
+            return result;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeHeader(byte[] member, int memberLength) {
+        Arrays.fill(member, 0, HEADER_SIZE, (byte) 0);
+        member[0] = (byte) ID1;
+        member[1] = (byte) ID2;
+        member[2] = Deflater.DEFLATED;
+        member[3] = FEXTRA;
+        member[9] = (byte) 255;   // Unknown OS
+        member[10] = (byte) XLEN;
+        member[12] = (byte) SI1;
+        member[13] = (byte) SI2;
+        member[14] = (byte) SUBFIELD_LENGTH;
+        for (int i = 0; i < 4; i++) {
+            member[16 + i] = (byte) (memberLength >>> (8 * i));
+        }
+    }
+
+    private static void writeIntLE(ByteArrayOutputStream out, int value) {
+        for (int i = 0; i < 4; i++) {
+            out.write(value >>> (8 * i));
+        }
+    }
+
+}
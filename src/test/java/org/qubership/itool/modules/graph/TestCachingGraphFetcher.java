@@ -0,0 +1,174 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.graph;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.qubership.itool.modules.artifactory.AppVersionDescriptor;
+import org.qubership.itool.modules.artifactory.FailureStage;
+import org.qubership.itool.modules.artifactory.GraphSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.qubership.itool.modules.graph.Graph.F_ID;
+import static org.qubership.itool.modules.graph.Graph.F_TYPE;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TestCachingGraphFetcher {
+
+    private static final AppVersionDescriptor APP1 = new AppVersionDescriptor("1", "app1", "1.0");
+    private static final AppVersionDescriptor APP2 = new AppVersionDescriptor("2", "app2", "2.0");
+    private static final AppVersionDescriptor APP3 = new AppVersionDescriptor("3", "app3", "3.0-SNAPSHOT");
+    private static final AppVersionDescriptor BROKEN = new AppVersionDescriptor("4", "broken", "1.0");
+
+    private Path directory;
+    private CountingFetcher fetcher;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("graph-cache");
+        fetcher = new CountingFetcher();
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    void testCaching() throws IOException {
+        CachingGraphFetcher cache = new CachingGraphFetcher(fetcher, directory, 1 << 20);
+        GraphSnapshot first = cache.fetchGraphDumpByAppVersion(APP1);
+        GraphSnapshot second = cache.fetchGraphDumpByAppVersion(APP1);
+        Assertions.assertEquals(List.of(APP1), fetcher.requested);
+        Assertions.assertEquals(first.getGraphDump(), second.getGraphDump());
+        Assertions.assertNotSame(first.getGraphDump(), second.getGraphDump());
+        Assertions.assertEquals("http://repo/app1", second.getOriginUrl());
+
+        // Only missing versions are fetched, in the order requested
+        Map<AppVersionDescriptor, GraphSnapshot> result =
+            cache.fetchGraphDumpsByAppVersions(List.of(APP2, APP1, BROKEN, APP3));
+        Assertions.assertEquals(List.of(APP2, APP1, BROKEN, APP3), new ArrayList<>(result.keySet()));
+        Assertions.assertEquals(List.of(APP1, APP2, BROKEN, APP3), fetcher.requested);
+        Assertions.assertEquals(FailureStage.FETCHING, result.get(BROKEN).getFailureStage());
+
+        // Failures and snapshot versions are fetched every time
+        cache.fetchGraphDumpsByAppVersions(List.of(APP1, APP2, BROKEN, APP3));
+        Assertions.assertEquals(List.of(APP1, APP2, BROKEN, APP3, BROKEN, APP3), fetcher.requested);
+        Assertions.assertEquals(4, cache.stats().hitCount());
+        Assertions.assertEquals(6, cache.stats().missCount());
+        Assertions.assertEquals(2, cache.stats().loadExceptionCount());
+
+        // Entries survive restart
+        cache.close();
+        CachingGraphFetcher restarted = new CachingGraphFetcher(fetcher, directory, 1 << 20);
+        Assertions.assertEquals(cache.getCachedBytes(), restarted.getCachedBytes());
+        Assertions.assertEquals(first.getGraphDump(), restarted.fetchGraphDumpByAppVersion(APP1).getGraphDump());
+        Assertions.assertEquals(6, fetcher.requested.size());
+        restarted.invalidateAll();
+        restarted.close();
+        Assertions.assertEquals(0, restarted.getCachedBytes());
+        try (Stream<Path> files = Files.list(directory)) {
+            Assertions.assertEquals(List.of(CachingGraphFetcher.INDEX_FILE),
+                files.map(p -> p.getFileName().toString()).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testEviction() throws IOException {
+        CachingGraphFetcher cache = new CachingGraphFetcher(fetcher, directory, 1 << 20);
+        cache.fetchGraphDumpByAppVersion(APP1);
+        long entryBytes = cache.getCachedBytes();
+        cache.close();
+
+        // Room for two entries only: app1 is used recently, so app2 is evicted
+        cache = new CachingGraphFetcher(fetcher, directory, entryBytes * 2 + entryBytes / 2);
+        cache.fetchGraphDumpByAppVersion(APP2);
+        cache.fetchGraphDumpByAppVersion(APP1);
+        cache.fetchGraphDumpByAppVersion(new AppVersionDescriptor("5", "app5", "1.0"));
+        Assertions.assertEquals(2, cache.getCachedCount());
+        Assertions.assertEquals(1, cache.stats().evictionCount());
+        fetcher.requested.clear();
+        cache.fetchGraphDumpsByAppVersions(List.of(APP1, APP2));
+        Assertions.assertEquals(List.of(APP2), fetcher.requested);
+    }
+
+    @Test
+    void testIndexSavedInBatches() throws IOException {
+        Clock clock = Clock.fixed(Instant.EPOCH, ZoneOffset.UTC);
+        CachingGraphFetcher cache = new CachingGraphFetcher(fetcher, directory, 1 << 20, Duration.ZERO, clock);
+        cache.fetchGraphDumpsByAppVersions(List.of(APP1, APP2));
+        Path index = directory.resolve(CachingGraphFetcher.INDEX_FILE);
+        Assertions.assertFalse(Files.exists(index));
+
+        // Without a save, files stored meanwhile are dropped on restart
+        CachingGraphFetcher crashed = new CachingGraphFetcher(fetcher, directory, 1 << 20, Duration.ZERO, clock);
+        Assertions.assertEquals(0, crashed.getCachedCount());
+        try (Stream<Path> files = Files.list(directory)) {
+            Assertions.assertEquals(0, files.count());
+        }
+
+        cache = new CachingGraphFetcher(fetcher, directory, 1 << 20, Duration.ZERO, clock);
+        cache.fetchGraphDumpsByAppVersions(List.of(APP1, APP2));
+        cache.flush();
+        Assertions.assertTrue(Files.exists(index));
+        CachingGraphFetcher restarted = new CachingGraphFetcher(fetcher, directory, 1 << 20, Duration.ZERO, clock);
+        Assertions.assertEquals(2, restarted.getCachedCount());
+    }
+
+    private static class CountingFetcher implements GraphFetcher {
+        final List<AppVersionDescriptor> requested = new ArrayList<>();
+
+        @Override
+        public GraphSnapshot fetchGraphDumpByAppVersion(AppVersionDescriptor appVersionDesc) {
+            requested.add(appVersionDesc);
+            GraphSnapshot snapshot = new GraphSnapshot();
+            snapshot.setOriginUrl("http://repo/" + appVersionDesc.getAppName());
+            if (appVersionDesc.getAppName().equals("broken")) {
+                snapshot.setFailureStage(FailureStage.FETCHING);
+                return snapshot;
+            }
+            Graph graph = new GraphImpl();
+            graph.addVertexUnderRoot(new JsonObject().put(F_ID, "d1").put(F_TYPE, "domain"));
+            graph.addVertex(graph.getVertex("d1"), new JsonObject().put(F_ID, appVersionDesc.getAppName())
+                .put(F_TYPE, "backend").put("version", appVersionDesc.getAppVersion()));
+            snapshot.setGraphDump(GraphDumpSupport.dumpToJson(graph, true));
+            return snapshot;
+        }
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.graph;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.qubership.itool.modules.gremlin2.P;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.qubership.itool.modules.graph.Graph.F_ID;
+import static org.qubership.itool.modules.graph.Graph.F_TYPE;
+import static org.qubership.itool.modules.graph.Graph.V_ROOT;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TestFrozenGraph {
+
+    private Graph graph;
+
+    @BeforeEach
+    public void setup() {
+        graph = new GraphImpl();
+        JsonObject domain = new JsonObject().put(F_ID, "d1").put(F_TYPE, "domain");
+        JsonObject comp1 = new JsonObject().put(F_ID, "c1").put(F_TYPE, "backend")
+            .put("details", new JsonObject().put("dnsNames", new JsonArray().add("c-one").add("c-1")));
+        JsonObject comp2 = new JsonObject().put(F_ID, "c2").put(F_TYPE, "frontend");
+        JsonObject lib = new JsonObject().put(F_ID, "lib").put(F_TYPE, "library");
+        graph.addVertexUnderRoot(domain);
+        graph.addVertex(domain, comp1);
+        graph.addVertex(domain, comp2);
+        graph.addEdge(comp1, lib, new JsonObject().put(F_TYPE, "library"));
+        graph.addEdge(comp1, lib, new JsonObject().put(F_TYPE, "optional"));
+        graph.addEdge(comp2, lib, new JsonObject().put(F_TYPE, "library"));
+        graph.addEdge(comp2, comp1, new JsonObject().put(F_TYPE, "http"));
+        graph.relocateVertex(comp2, "c2-new");
+        graph.createIndex("/details/dnsNames");
+    }
+
+    @Test
+    void testSameResults() {
+        Graph frozen = graph.freeze();
+        Assertions.assertSame(frozen, frozen.freeze());
+
+        Assertions.assertEquals(graph.getVertexCount(), frozen.getVertexCount());
+        Assertions.assertEquals(graph.getEdgeCount(), frozen.getEdgeCount());
+        Assertions.assertEquals(graph.vertexList(), frozen.vertexList());
+        Assertions.assertEquals(graph.edgeList(), frozen.edgeList());
+        Assertions.assertEquals(graph.getRootSuccessors(), frozen.getRootSuccessors());
+        for (JsonObject vertex : graph.vertexList()) {
+            String id = vertex.getString(F_ID);
+            Assertions.assertSame(vertex, frozen.getVertex(id));
+            Assertions.assertEquals(graph.getSuccessors(id, false), frozen.getSuccessors(id, false));
+            Assertions.assertEquals(graph.getSuccessors(id, true), frozen.getSuccessors(id, true));
+            Assertions.assertEquals(graph.getPredecessors(id, false), frozen.getPredecessors(id, false));
+            Assertions.assertEquals(graph.getPredecessors(id, true), frozen.getPredecessors(id, true));
+            Assertions.assertEquals(graph.getSuccessorEdges(id), frozen.getSuccessorEdges(id));
+            Assertions.assertEquals(graph.getPredecessorEdges(id), frozen.getPredecessorEdges(id));
+            List<JsonObject> successors = new ArrayList<>();
+            frozen.successorIterator(id).forEachRemaining(successors::add);
+            Assertions.assertEquals(graph.getSuccessors(id, false), successors);
+            List<JsonObject> predecessorEdges = new ArrayList<>();
+            frozen.forEachPredecessor(id, (edge, source) -> predecessorEdges.add(edge));
+            Assertions.assertEquals(graph.getPredecessorEdges(id), predecessorEdges);
+        }
+        List<JsonObject> vertices = new ArrayList<>();
+        frozen.vertexSpliterator().forEachRemaining(vertices::add);
+        Assertions.assertEquals(graph.vertexList(), vertices);
+        for (JsonObject edge : graph.edgeList()) {
+            String id = edge.getString(F_ID);
+            Assertions.assertSame(edge, frozen.getEdge(id));
+            Assertions.assertSame(graph.getEdgeSource(id), frozen.getEdgeSource(id));
+            Assertions.assertSame(graph.getEdgeTarget(id), frozen.getEdgeTarget(id));
+        }
+        Assertions.assertEquals(graph.getEdgesBetween("c1", "lib"), frozen.getEdgesBetween("c1", "lib"));
+        Assertions.assertEquals(2, frozen.getEdgesBetween("c1", "lib").size());
+        Assertions.assertNull(frozen.getVertex("c2"));
+        Assertions.assertEquals(graph.dumpGraphData(false), frozen.dumpGraphData(false));
+
+        Assertions.assertEquals(
+            graph.traversal().V(V_ROOT).out().out().out().dedup().id().toList(),
+            frozen.traversal().V(V_ROOT).out().out().out().dedup().id().toList());
+        Assertions.assertEquals(List.of("c1", "c2-new"),
+            frozen.traversal().V().hasType("backend", "frontend").id().toList());
+        Assertions.assertTrue(frozen.isIndexed("/details/dnsNames"));
+        Assertions.assertEquals(List.of("c1"),
+            frozen.traversal().V().has("/details/dnsNames", P.containing("c-1")).id().toList());
+        Assertions.assertEquals(List.of(frozen.getVertex("c1")),
+            frozen.getVerticesByIndex("/details/dnsNames", P.within("c-1", "c-one", "c-2")));
+        Assertions.assertNull(frozen.getEdge("missing"));
+        Assertions.assertEquals(List.of(), frozen.getSuccessors("missing", false));
+        Assertions.assertFalse(frozen.createIndex("type:/type"));
+        Assertions.assertTrue(frozen.createIndex("/details/domain"));
+    }
+
+    @Test
+    void testSnapshot() {
+        JsonObject dumpBefore = graph.dumpGraphData(true);
+        Graph snapshot = graph.snapshot();
+        Assertions.assertSame(snapshot, snapshot.snapshot());
+        Assertions.assertEquals(dumpBefore, snapshot.dumpGraphData(false));
+        Assertions.assertNotSame(graph.getVertex("c1"), snapshot.getVertex("c1"));
+
+        // Modifications of values and structure of the source graph are not visible
+        graph.getVertex("c1").put(F_TYPE, "frontend");
+        graph.reindexVertex(graph.getVertex("c1"));
+        graph.getEdgesBetween("c1", "lib").get(0).put("scope", "test");
+        Graph sameStructure = graph.snapshot();
+        graph.removeVertex(graph.getVertex("lib"));
+        graph.addVertexUnderRoot(new JsonObject().put(F_ID, "new").put(F_TYPE, "library"));
+
+        Assertions.assertEquals(dumpBefore, snapshot.dumpGraphData(false));
+        Assertions.assertEquals(List.of("c1"), snapshot.traversal().V().hasType("backend").id().toList());
+        Assertions.assertEquals(List.of("c1", "c2-new"), sameStructure.traversal().V().hasType("frontend").id().toList());
+        Assertions.assertEquals("test", sameStructure.getEdgesBetween("c1", "lib").get(0).getString("scope"));
+        Assertions.assertEquals(2, sameStructure.getEdgesBetween("c1", "lib").size());
+        Assertions.assertNull(sameStructure.getVertex("new"));
+        Assertions.assertEquals(List.of("c1"),
+            sameStructure.traversal().V().has("/details/dnsNames", P.containing("c-1")).id().toList());
+        Assertions.assertEquals(graph.dumpGraphData(false), graph.snapshot().dumpGraphData(false));
+
+        // Unchanged values are shared between snapshots, changed ones are not
+        Assertions.assertSame(snapshot.getVertex("d1"), sameStructure.getVertex("d1"));
+        Assertions.assertSame(snapshot.getEdgesBetween("c1", "lib").get(1), sameStructure.getEdgesBetween("c1", "lib").get(1));
+        Assertions.assertNotSame(snapshot.getVertex("c1"), sameStructure.getVertex("c1"));
+        Assertions.assertNotSame(graph.getVertex("d1"), sameStructure.getVertex("d1"));
+    }
+
+    @Test
+    void testModificationsFail() {
+        Graph frozen = graph.freeze();
+        JsonObject vertex = new JsonObject().put(F_ID, "new").put(F_TYPE, "library");
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.addVertex(vertex));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.addVertexUnderRoot(vertex));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+            () -> frozen.addEdge(frozen.getVertex("c1"), frozen.getVertex("lib")));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.removeVertex(frozen.getVertex("c1")));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.clear());
+        Assertions.assertEquals(graph.getVertexCount(), frozen.getVertexCount());
+    }
+
+    @Disabled
+    @Test
+    void benchmarkFootprint() {
+        int count = 200_000;
+        List<JsonObject> vertices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vertices.add(new JsonObject().put(F_ID, "v" + i).put(F_TYPE, (i % 10 == 0) ? "domain" : "microservice"));
+        }
+        List<JsonObject> edges = new ArrayList<>(count * 2);
+        for (int i = 0; i < count * 2; i++) {
+            edges.add(new JsonObject().put(F_TYPE, "dependency"));
+        }
+        long valuesOnly = usedHeap();
+
+        Graph source = new GraphImpl();
+        for (JsonObject vertex : vertices) {
+            source.addVertexUnderRoot(vertex);
+        }
+        for (int i = 0; i < count * 2; i++) {
+            source.addEdge(vertices.get(i % count), vertices.get((i * 7 + 1) % count), edges.get(i));
+        }
+        long withGraph = usedHeap();
+
+        Graph frozen = source.freeze();
+        long withFrozen = usedHeap();
+        System.out.println(String.format("vertices=%d edges=%d GraphImpl=%d bytes FrozenGraph=%d bytes",
+            frozen.getVertexCount(), frozen.getEdgeCount(), withGraph - valuesOnly, withFrozen - withGraph));
+        Assertions.assertEquals(source.getVertexCount(), frozen.getVertexCount());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
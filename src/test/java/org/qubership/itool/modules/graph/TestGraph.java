@@ -16,16 +16,24 @@
 
 package org.qubership.itool.modules.graph;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.qubership.itool.modules.graph.Graph;
 import org.qubership.itool.modules.graph.GraphImpl;
+import org.qubership.itool.modules.graph.SubGraph;
 import org.qubership.itool.modules.gremlin2.P;
+import org.qubership.itool.modules.processor.InvalidGraphException;
 import org.junit.jupiter.api.*;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 import static org.qubership.itool.modules.graph.Graph.F_ID;
 import static org.qubership.itool.modules.graph.Graph.F_NAME;
+import static org.qubership.itool.modules.graph.Graph.F_TYPE;
 import static org.qubership.itool.modules.graph.Graph.V_ROOT;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -308,6 +316,49 @@ public class TestGraph {
         Assertions.assertEquals(7, this.graph.getEdgeCount());
     }
 
+    @Test
+    void testAddEdgeDuplicateContent() {
+        JsonObject json1 = new JsonObject().put(F_ID, "vertex_1");
+        JsonObject json2 = new JsonObject().put(F_ID, "vertex_2");
+        this.graph.addVertexUnderRoot(json1);
+        this.graph.addVertexUnderRoot(json2);
+
+        JsonObject edge1 = new JsonObject().put(F_TYPE, "dependency")
+            .put("details", new JsonObject().put("scopes", new JsonArray().add("compile").add("test")))
+            .put("optional", null);
+        JsonObject edge2 = new JsonObject().put(F_ID, "explicit").put("optional", null).put(F_TYPE, "dependency")
+            .put("details", new JsonObject().put("scopes", new JsonArray().add("compile").add("test")));
+        JsonObject edge3 = new JsonObject().put(F_TYPE, "dependency")
+            .put("details", new JsonObject().put("scopes", new JsonArray().add("test").add("compile")))
+            .put("optional", null);
+        JsonObject edge4 = new JsonObject().put(F_TYPE, "dependency")
+            .put("details", new JsonObject().put("scopes", new JsonArray().add("compile").add("test")));
+
+        Assertions.assertNotNull(this.graph.addEdge(json1, json2, edge1));
+        Assertions.assertNull(this.graph.addEdge(json1, json2, edge2));
+        Assertions.assertNotNull(this.graph.addEdge(json1, json2, edge3));
+        Assertions.assertNotNull(this.graph.addEdge(json1, json2, edge4));
+        // Same content in the opposite direction is a different edge
+        Assertions.assertNotNull(this.graph.addEdge(json2, json1, edge2));
+        Assertions.assertEquals(List.of(edge1, edge3, edge4), this.graph.getEdgesBetween("vertex_1", "vertex_2"));
+
+        Assertions.assertEquals(3, this.graph.removeAllEdges(json1, json2));
+        Assertions.assertEquals(List.of(), this.graph.getEdgesBetween("vertex_1", "vertex_2"));
+        JsonObject edge5 = new JsonObject().put(F_TYPE, "dependency");
+        Assertions.assertNotNull(this.graph.addEdge(json1, json2, edge5));
+        Assertions.assertEquals(1, this.graph.getEdgesBetween("vertex_1", "vertex_2").size());
+
+        // Compared by the current content after modification in place and reindexing
+        edge5.put("optional", true);
+        Assertions.assertTrue(this.graph.reindexEdge(edge5));
+        Assertions.assertFalse(this.graph.reindexEdge(new JsonObject().put(F_ID, "unknown")));
+        Assertions.assertNull(this.graph.addEdge(json1, json2, new JsonObject().put(F_TYPE, "dependency").put("optional", true)));
+        Assertions.assertNotNull(this.graph.addEdge(json1, json2, new JsonObject().put(F_TYPE, "dependency")));
+        Assertions.assertEquals(2, this.graph.getEdgesBetween("vertex_1", "vertex_2").size());
+        Assertions.assertEquals(2, this.graph.removeAllEdges(json1, json2));
+        Assertions.assertNotNull(this.graph.addEdge(json1, json2, new JsonObject().put(F_TYPE, "dependency").put("optional", true)));
+    }
+
     @Test
     void testCircularGraph() {
         JsonObject json1 = new JsonObject().put(F_ID, "vertex_1").put(Graph.F_NAME, "name_1");
@@ -372,4 +423,219 @@ public class TestGraph {
     Assertions.assertEquals(4, this.graph.getVertexCount());
     Assertions.assertEquals(7, this.graph.getEdgeCount());
   }
+
+  @Test
+  void testVerticesByType() {
+    JsonObject lib1 = new JsonObject().put(F_ID, "lib_1").put(F_TYPE, "library");
+    JsonObject svc1 = new JsonObject().put(F_ID, "svc_1").put(F_TYPE, "microservice");
+    JsonObject lib2 = new JsonObject().put(F_ID, "lib_2").put(F_TYPE, "library");
+    this.graph.addVertexUnderRoot(lib1);
+    this.graph.addVertexUnderRoot(svc1);
+    this.graph.addVertexUnderRoot(lib2);
+
+    Assertions.assertEquals(List.of(lib1, lib2), this.graph.getVerticesByType(List.of("library")));
+    Assertions.assertEquals(List.of(lib1, svc1, lib2), this.graph.getVerticesByType(List.of("microservice", "library")));
+    Assertions.assertEquals(List.of(lib1, svc1, lib2),
+        this.graph.traversal().V().hasTypes("microservice", "library").toList());
+    Assertions.assertEquals(List.of(svc1), this.graph.traversal().V().hasType("microservice").toList());
+    Assertions.assertEquals(List.of(), this.graph.traversal().V().hasType("domain").toList());
+
+    this.graph.removeVertex(lib1);
+    Assertions.assertEquals(List.of(lib2), this.graph.getVerticesByType(List.of("library")));
+
+    this.graph.relocateVertex(svc1, "svc_relocated");
+    Assertions.assertEquals(List.of(lib2, svc1), this.graph.traversal().V().hasTypes("library", "microservice").toList());
+    Assertions.assertEquals("svc_relocated", this.graph.traversal().V().hasType("microservice").next().getString(F_ID));
+
+    // Type changed in place: found by the new type after reindexing
+    lib2.put(F_TYPE, "microservice");
+    Assertions.assertEquals(List.of(), this.graph.traversal().V().hasType("library").toList());
+    Assertions.assertTrue(this.graph.reindexVertex(lib2));
+    Assertions.assertEquals(List.of(lib2, svc1), this.graph.traversal().V().hasType("microservice").toList());
+    Assertions.assertEquals(List.of(lib2, svc1), this.graph.getVerticesByType(List.of("microservice")));
+    Assertions.assertEquals(List.of(), this.graph.getVerticesByType(List.of("library")));
+    Assertions.assertFalse(this.graph.reindexVertex(new JsonObject().put(F_ID, "unknown")));
+
+    JsonObject dump = this.graph.dumpGraphData(true);
+    this.graph.clear();
+    Assertions.assertEquals(List.of(), this.graph.getVerticesByType(List.of("microservice")));
+    Assertions.assertEquals(1, this.graph.getVerticesByType(List.of(V_ROOT)).size());
+
+    this.graph.restoreGraphData(dump);
+    Assertions.assertEquals(2, this.graph.traversal().V().hasType("microservice").toList().size());
+    Assertions.assertEquals(2, this.graph.traversal().V().has("microservice", F_ID, P.startingWith("")).toList().size());
+  }
+
+  @Test
+  void testPropertyIndex() {
+    JsonObject svc1 = new JsonObject().put(F_ID, "svc_1").put(F_TYPE, "microservice")
+        .put("details", new JsonObject().put("dnsNames", new JsonArray().add("svc-1").add("svc-one")));
+    JsonObject svc2 = new JsonObject().put(F_ID, "svc_2").put(F_TYPE, "microservice")
+        .put("details", new JsonObject().put("dnsNames", "svc-2"));
+    JsonObject svc3 = new JsonObject().put(F_ID, "svc_3").put(F_TYPE, "microservice");
+    this.graph.addVertexUnderRoot(svc1);
+    this.graph.addVertexUnderRoot(svc2);
+
+    Assertions.assertFalse(this.graph.isIndexed("/details/dnsNames"));
+    Assertions.assertNull(this.graph.getVerticesByIndex("/details/dnsNames", P.eq("svc-2")));
+    Assertions.assertTrue(this.graph.createIndex("/details/dnsNames"));
+    Assertions.assertFalse(this.graph.createIndex("dns:/details/dnsNames"));
+    Assertions.assertTrue(this.graph.isIndexed("/details/dnsNames"));
+    Assertions.assertTrue(this.graph.isIndexed(F_TYPE));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> this.graph.createIndex("/details/dnsNames[]"));
+
+    Assertions.assertEquals(List.of(svc2), this.graph.getVerticesByIndex("/details/dnsNames", P.eq("svc-2")));
+    Assertions.assertEquals(List.of(svc1), this.graph.getVerticesByIndex("/details/dnsNames", P.eq("svc-one")));
+    Assertions.assertEquals(List.of(svc1, svc2),
+        this.graph.getVerticesByIndex("/details/dnsNames", P.within("svc-2", "svc-1", "svc-3")));
+    Assertions.assertNull(this.graph.getVerticesByIndex("/details/dnsNames", P.startingWith("svc")));
+
+    // Index only narrows the start, has() semantics stay the same
+    Assertions.assertEquals(List.of(svc2), this.graph.traversal().V().has("/details/dnsNames", "svc-2").toList());
+    Assertions.assertEquals(List.of(), this.graph.traversal().V().has("/details/dnsNames", "svc-1").toList());
+    Assertions.assertEquals(List.of(svc1),
+        this.graph.traversal().V().has("/details/dnsNames", P.containing("svc-1")).toList());
+    Assertions.assertEquals(List.of(svc2),
+        this.graph.traversal().V().hasType("microservice").has("/details/dnsNames", P.containing("vc-")).toList());
+
+    this.graph.addVertexUnderRoot(svc3);
+    // Modified in place: found after reindexing
+    svc3.put("details", new JsonObject().put("dnsNames", new JsonArray().add("svc-3")));
+    Assertions.assertEquals(List.of(), this.graph.traversal().V().has("/details/dnsNames", P.containing("svc-3")).toList());
+    Assertions.assertTrue(this.graph.reindexVertex(svc3));
+    Assertions.assertEquals(List.of(svc3), this.graph.traversal().V().has("/details/dnsNames", P.containing("svc-3")).toList());
+    svc2.getJsonObject("details").put("dnsNames", "svc-two");
+    Assertions.assertTrue(this.graph.reindexVertex(svc2));
+    Assertions.assertEquals(List.of(), this.graph.getVerticesByIndex("/details/dnsNames", P.eq("svc-2")));
+    Assertions.assertEquals(List.of(svc2), this.graph.traversal().V().has("/details/dnsNames", "svc-two").toList());
+    svc2.getJsonObject("details").put("dnsNames", "svc-2");
+    this.graph.reindexVertex(svc2);
+
+    this.graph.removeVertex(svc1);
+    Assertions.assertEquals(List.of(), this.graph.getVerticesByIndex("/details/dnsNames", P.eq("svc-1")));
+
+    JsonObject dump = this.graph.dumpGraphData(true);
+    this.graph.restoreGraphData(dump);
+    Assertions.assertTrue(this.graph.isIndexed("/details/dnsNames"));
+    Assertions.assertEquals(1, this.graph.getVerticesByIndex("/details/dnsNames", P.eq("svc-2")).size());
+  }
+
+  @Test
+  void testAdjacencyAfterRemovals() {
+    JsonObject a = new JsonObject().put(F_ID, "a");
+    JsonObject b = new JsonObject().put(F_ID, "b");
+    JsonObject c = new JsonObject().put(F_ID, "c");
+    this.graph.addVertexUnderRoot(a);
+    this.graph.addVertexUnderRoot(b);
+    this.graph.addVertexUnderRoot(c);
+    this.graph.addEdge(a, b, new JsonObject().put(F_TYPE, "first"));
+    this.graph.addEdge(a, a, new JsonObject().put(F_TYPE, "self"));
+    this.graph.addEdge(a, c);
+    this.graph.addEdge(a, b, new JsonObject().put(F_TYPE, "second"));
+    this.graph.addEdge(c, b);
+
+    Assertions.assertEquals(List.of(b, a, c, b), this.graph.getSuccessors("a", false));
+    Assertions.assertEquals(List.of(b, a, c), this.graph.getSuccessors("a", true));
+    Assertions.assertEquals(List.of(this.graph.getVertex(V_ROOT), a), this.graph.getPredecessors("a", false));
+    Assertions.assertEquals(2, this.graph.getEdgesBetween("a", "b").size());
+    Assertions.assertEquals(List.of(), this.graph.getEdgesBetween("a", "missing"));
+
+    Assertions.assertEquals(2, this.graph.removeAllEdges(a, b));
+    Assertions.assertEquals(List.of(a, c), this.graph.getSuccessors("a", false));
+    Assertions.assertEquals(List.of(this.graph.getVertex(V_ROOT), c), this.graph.getPredecessors("b", false));
+
+    this.graph.relocateVertex(c, "c_relocated");
+    Assertions.assertEquals(List.of(a, c), this.graph.getSuccessors("a", false));
+    Assertions.assertEquals(List.of(b), this.graph.getSuccessors("c_relocated", false));
+
+    this.graph.removeVertex(a);
+    Assertions.assertEquals(List.of(b, c), this.graph.getRootSuccessors());
+    Assertions.assertEquals(List.of(this.graph.getVertex(V_ROOT)), this.graph.getPredecessors("c_relocated", false));
+    Assertions.assertEquals(3, this.graph.getEdgeCount());
+
+    // Numbers freed by removals are not reused
+    JsonObject d = new JsonObject().put(F_ID, "d");
+    this.graph.addVertex(c, d);
+    Assertions.assertEquals(List.of(b, d), this.graph.getSuccessors("c_relocated", false));
+    Assertions.assertEquals(List.of(c), this.graph.getPredecessors("d", false));
+    Assertions.assertEquals(this.graph.dumpGraphData(false), this.graph.freeze().dumpGraphData(false));
+  }
+
+  @Test
+  void testStreamingAccessors() {
+    JsonObject a = new JsonObject().put(F_ID, "a");
+    JsonObject b = new JsonObject().put(F_ID, "b");
+    JsonObject c = new JsonObject().put(F_ID, "c");
+    this.graph.addVertexUnderRoot(a);
+    this.graph.addVertex(a, b);
+    this.graph.addEdge(a, c);
+    this.graph.addEdge(c, b);
+
+    List<JsonObject> vertices = new ArrayList<>();
+    this.graph.forEachVertex(vertices::add);
+    Assertions.assertEquals(this.graph.vertexList(), vertices);
+    Assertions.assertEquals(this.graph.vertexList(),
+        StreamSupport.stream(this.graph.vertexSpliterator(), false).collect(Collectors.toList()));
+
+    List<JsonObject> edges = new ArrayList<>();
+    List<JsonObject> successors = new ArrayList<>();
+    this.graph.forEachSuccessor("a", (edge, target) -> {
+      edges.add(edge);
+      successors.add(target);
+    });
+    Assertions.assertEquals(this.graph.getSuccessorEdges("a"), edges);
+    Assertions.assertEquals(List.of(b, c), successors);
+    List<JsonObject> predecessors = new ArrayList<>();
+    this.graph.forEachPredecessor("b", (edge, source) -> predecessors.add(source));
+    Assertions.assertEquals(List.of(a, c), predecessors);
+    this.graph.forEachSuccessor("missing", (edge, target) -> Assertions.fail("No such vertex"));
+    Assertions.assertFalse(this.graph.successorIterator("missing").hasNext());
+
+    // Successors removed during iteration are skipped
+    Iterator<JsonObject> iterator = this.graph.successorIterator("a");
+    Assertions.assertSame(b, iterator.next());
+    this.graph.removeVertex(c);
+    Assertions.assertFalse(iterator.hasNext());
+
+    SubGraph subGraph = new SubGraph(this.graph, List.of(this.graph.getEdgesBetween("a", "b").get(0)));
+    List<JsonObject> subVertices = new ArrayList<>();
+    subGraph.forEachVertex(subVertices::add);
+    Assertions.assertEquals(List.of(a, b), subVertices);
+    Iterator<JsonObject> subIterator = subGraph.successorIterator("a");
+    Assertions.assertSame(b, subIterator.next());
+    Assertions.assertFalse(subIterator.hasNext());
+  }
+
+  @Test
+  void testBulkLoad() {
+    JsonObject a = new JsonObject().put(F_ID, "a").put(F_TYPE, "library");
+    JsonObject b = new JsonObject().put(F_ID, "b").put(F_TYPE, "library");
+    this.graph.addVertexUnderRoot(a);
+    this.graph.addEdge(a, a, new JsonObject().put(F_TYPE, "self"));
+
+    this.graph.beginBulk(1, 4);
+    Assertions.assertThrows(IllegalStateException.class, () -> this.graph.beginBulk(0, 0));
+    Assertions.assertTrue(this.graph.addVertex(b));
+    Assertions.assertNotNull(this.graph.addEdge(a, b, new JsonObject().put(F_TYPE, "dependency")));
+    Assertions.assertNotNull(this.graph.addEdge(a, b, new JsonObject().put(F_TYPE, "dependency")));
+    Assertions.assertNotNull(this.graph.addEdge(a, a, new JsonObject().put(F_TYPE, "self")));
+    Assertions.assertNotNull(this.graph.addEdge(b, a, new JsonObject().put(F_TYPE, "dependency")));
+    Assertions.assertThrows(IllegalStateException.class, () -> this.graph.removeVertex(b));
+    Assertions.assertEquals(2, this.graph.endBulk());
+    Assertions.assertThrows(IllegalStateException.class, () -> this.graph.endBulk());
+
+    Assertions.assertEquals(4, this.graph.getEdgeCount());
+    Assertions.assertEquals(List.of(a, b), this.graph.getSuccessors("a", false));
+    Assertions.assertEquals(List.of(this.graph.getVertex(V_ROOT), a, b), this.graph.getPredecessors("a", false));
+    Assertions.assertEquals(List.of(a, b), this.graph.traversal().V().hasType("library").toList());
+    Assertions.assertNull(this.graph.addEdge(b, a, new JsonObject().put(F_TYPE, "dependency")));
+    Assertions.assertTrue(this.graph.removeVertex(b));
+
+    JsonObject dump = this.graph.dumpGraphData(true);
+    dump.getJsonArray("edgeList").add(new JsonObject().put("source", "a").put("target", "a")
+        .put("edge", new JsonObject().put(F_ID, "copy").put(F_TYPE, "self")));
+    Assertions.assertThrows(InvalidGraphException.class, () -> this.graph.restoreGraphData(dump));
+    // The graph is usable after a failed restore
+    Assertions.assertTrue(this.graph.addVertexUnderRoot(b));
+  }
 }
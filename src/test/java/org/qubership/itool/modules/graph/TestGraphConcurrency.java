@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.graph;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.qubership.itool.modules.graph.Graph.F_ID;
+import static org.qubership.itool.modules.graph.Graph.F_TYPE;
+
+public class TestGraphConcurrency {
+
+    private static Graph createChainGraph(int size) {
+        Graph graph = new GraphImpl();
+        JsonObject previous = null;
+        for (int i = 0; i < size; i++) {
+            JsonObject vertex = new JsonObject().put(F_ID, "v" + i).put(F_TYPE, i % 2 == 0 ? "even" : "odd");
+            if (previous == null) {
+                graph.addVertexUnderRoot(vertex);
+            } else {
+                graph.addEdge(previous, vertex);
+            }
+            previous = vertex;
+        }
+        return graph;
+    }
+
+    @Test
+    void testReadersAndWriter() throws Exception {
+        Graph graph = createChainGraph(1000);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        String id = "v" + (i % 999);
+                        Assertions.assertNotNull(graph.getVertex(id));
+                        Assertions.assertEquals(1, graph.getSuccessors(id, false).size());
+                        Assertions.assertEquals(500, graph.traversal().V().hasType("even").toList().size());
+                    }
+                    return null;
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    JsonObject extra = new JsonObject().put(F_ID, "extra" + i).put(F_TYPE, "extra");
+                    graph.addVertexUnderRoot(extra);
+                    graph.removeVertex(extra);
+                }
+                return null;
+            }));
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(1001, graph.getVertexCount());
+    }
+
+    // Multi-threaded read benchmark, prints throughput for different number of threads
+    @Disabled
+    @Test
+    void benchmarkConcurrentReads() throws Exception {
+        Graph graph = createChainGraph(20_000);
+        int maxThreads = Math.max(8, Runtime.getRuntime().availableProcessors());
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            AtomicLong operations = new AtomicLong();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long count = 0;
+                    while (System.nanoTime() < deadline) {
+                        String id = "v" + random.nextInt(19_999);
+                        graph.getVertex(id);
+                        graph.getSuccessors(id, false);
+                        graph.traversal().V(id).out().out().toList();
+                        count++;
+                    }
+                    operations.addAndGet(count);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+            System.out.println(String.format("threads=%d queries/sec=%d", threads, operations.get() / 3));
+        }
+    }
+
+}
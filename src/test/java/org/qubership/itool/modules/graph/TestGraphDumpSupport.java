@@ -0,0 +1,381 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.graph;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.qubership.itool.modules.processor.InvalidGraphException;
+import org.qubership.itool.modules.report.GraphReport;
+import org.qubership.itool.modules.report.GraphReportImpl;
+import org.qubership.itool.utils.CompactJsonFormat;
+import org.qubership.itool.utils.JsonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.qubership.itool.modules.graph.Graph.F_ID;
+import static org.qubership.itool.modules.graph.Graph.F_TYPE;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TestGraphDumpSupport {
+
+    private Graph graph;
+
+    @BeforeEach
+    public void setup() {
+        graph = new GraphImpl();
+        graph.setReport(new GraphReportImpl());
+        JsonObject domain = new JsonObject().put(F_ID, "d1").put(F_TYPE, "domain");
+        JsonObject comp1 = new JsonObject().put(F_ID, "c1").put(F_TYPE, "backend");
+        JsonObject comp2 = new JsonObject().put(F_ID, "c2").put(F_TYPE, "frontend");
+        graph.addVertexUnderRoot(domain);
+        graph.addVertex(domain, comp1);
+        graph.addVertex(domain, comp2);
+        graph.addEdge(comp2, comp1, new JsonObject().put(F_TYPE, "http"));
+        graph.addEdge(comp2, comp1, new JsonObject().put(F_TYPE, "kafka"));
+        graph.getVertex(Graph.V_ROOT).put("meta", new JsonObject().put("type", "application"));
+        graph.getReport().addMessage(GraphReport.ERROR, comp1, "Something went wrong");
+    }
+
+    @Test
+    void testReadDump() throws Exception {
+        JsonObject dump = GraphDumpSupport.dumpToJson(graph, true);
+        Graph restored = GraphDumpSupport.readDump(toStream(dump));
+
+        Assertions.assertEquals(graph.dumpGraphData(false), restored.dumpGraphData(false));
+        Assertions.assertEquals(graph.getReport().dumpReportData(false), restored.getReport().dumpReportData(false));
+        Assertions.assertEquals(List.of("c1"), restored.traversal().V().hasType("backend").id().toList());
+        Assertions.assertEquals(2, restored.getEdgesBetween("c2", "c1").size());
+        Assertions.assertEquals(GraphDumpSupport.restoreFromJson(dump).dumpGraphData(false),
+            restored.dumpGraphData(false));
+
+        // Existing contents are replaced, unknown fields are skipped
+        Graph target = new GraphImpl();
+        target.addVertexUnderRoot(new JsonObject().put(F_ID, "old").put(F_TYPE, "domain"));
+        JsonObject reordered = new JsonObject()
+            .put("extra", new JsonObject().put("nested", new JsonArray().add(1)))
+            .put("report", dump.getValue("report"))
+            .put("graph", new JsonObject()
+                .put("edgeList", dump.getJsonObject("graph").getValue("edgeList"))
+                .put("vertexList", dump.getJsonObject("graph").getValue("vertexList"))
+                .put("root", dump.getJsonObject("graph").getValue("root"))
+                .put("modelVersion", Graph.CURRENT_GRAPH_MODEL_VERSION))
+            .put("modelVersion", GraphDumpSupport.CURRENT_CONTAINER_MODEL_VERSION);
+        GraphDumpSupport.readDump(target, toStream(reordered));
+        Assertions.assertNull(target.getVertex("old"));
+        Assertions.assertEquals(graph.getVertexCount(), target.getVertexCount());
+        Assertions.assertEquals(graph.getEdgeCount(), target.getEdgeCount());
+        Assertions.assertEquals(1, target.getReport().dumpRecords(false).size());
+        Assertions.assertEquals(List.of("c1"), target.traversal().V("c2").out().dedup().id().toList());
+
+        // Old files keep report as an array
+        JsonObject legacy = new JsonObject()
+            .put("graph", dump.getJsonObject("graph"))
+            .put("report", dump.getJsonObject("report").getJsonArray("records"));
+        Assertions.assertEquals(1, GraphDumpSupport.readDump(toStream(legacy)).getReport().dumpRecords(false).size());
+    }
+
+    @Test
+    void testReadDumpFile() throws Exception {
+        Path file = Files.createTempFile("graph", ".json.gz");
+        try {
+            GraphDumpSupport.DumpStats stats = GraphDumpSupport.writeDumpFile(graph, file);
+            Assertions.assertEquals(Files.size(file), stats.getBytes());
+            Assertions.assertEquals(GraphDumpSupport.dumpToJson(graph, false),
+                JsonUtils.readJsonFile(file.toString()));
+            Graph restored = GraphDumpSupport.readDumpFile(file.toString());
+            Assertions.assertEquals(graph.dumpGraphData(false), restored.dumpGraphData(false));
+        } finally {
+            Files.delete(file);
+        }
+        Assertions.assertThrows(Exception.class, () -> GraphDumpSupport.readDumpFile(file.toString()));
+    }
+
+    @Test
+    void testSkipReport() throws Exception {
+        JsonObject dump = GraphDumpSupport.dumpToJson(graph, true);
+        Graph restored = GraphDumpSupport.readDump(toStream(dump), false);
+        Assertions.assertEquals(0, restored.getReport().dumpRecords(false).size());
+        Assertions.assertEquals(graph.dumpGraphData(false), restored.dumpGraphData(false));
+        restored = GraphDumpSupport.restoreFromJson(dump, false);
+        Assertions.assertEquals(0, restored.getReport().dumpRecords(false).size());
+        Assertions.assertEquals(graph.dumpGraphData(false), restored.dumpGraphData(false));
+        Assertions.assertThrows(NullPointerException.class,
+            () -> GraphDumpSupport.restoreFromJson(new JsonObject().put("report", dump.getValue("report")), false));
+
+        // Report of the target is left as is, even if the skipped one is malformed
+        Graph target = new GraphImpl();
+        target.setReport(new GraphReportImpl());
+        target.getReport().internalError("Kept");
+        JsonObject broken = dump.copy().put("report", "garbage");
+        GraphDumpSupport.readDump(target, toStream(broken), false);
+        Assertions.assertEquals(graph.dumpGraphData(false), target.dumpGraphData(false));
+        Assertions.assertEquals(1, target.getReport().dumpRecords(false).size());
+
+        // Records are appended by reference
+        JsonArray records = graph.getReport().dumpRecords(false);
+        target.getReport().addRecords(records);
+        JsonArray merged = target.getReport().dumpRecords(false);
+        Assertions.assertEquals(2, merged.size());
+        Assertions.assertSame(records.getValue(0), merged.getValue(1));
+    }
+
+    @Test
+    void testInvalidDumps() throws Exception {
+        JsonObject dump = GraphDumpSupport.dumpToJson(graph, true);
+        JsonObject graphData = dump.getJsonObject("graph");
+
+        Assertions.assertThrows(NullPointerException.class,
+            () -> GraphDumpSupport.readDump(toStream(new JsonObject().put("modelVersion", 1))));
+
+        JsonObject noRoot = graphData.copy();
+        noRoot.remove("root");
+        Assertions.assertThrows(InvalidGraphException.class,
+            () -> GraphDumpSupport.readDump(toStream(new JsonObject().put("graph", noRoot))));
+
+        JsonObject danglingEdge = graphData.copy();
+        danglingEdge.getJsonArray("edgeList").add(new JsonObject()
+            .put("source", "c1").put("target", "missing").put("edge", new JsonObject().put(F_TYPE, "http")));
+        Assertions.assertThrows(InvalidGraphException.class,
+            () -> GraphDumpSupport.readDump(toStream(new JsonObject().put("graph", danglingEdge))));
+
+        JsonObject futureVersion = graphData.copy().put("modelVersion", Graph.CURRENT_GRAPH_MODEL_VERSION + 1);
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> GraphDumpSupport.readDump(toStream(new JsonObject().put("graph", futureVersion))));
+
+        // The graph stays usable after failures
+        Graph target = new GraphImpl();
+        Assertions.assertThrows(InvalidGraphException.class,
+            () -> GraphDumpSupport.readDump(target, toStream(new JsonObject().put("graph", noRoot))));
+        target.clear();
+        Assertions.assertEquals(1, target.getVertexCount());
+    }
+
+    @Test
+    void testValidation() throws Exception {
+        JsonObject dump = GraphDumpSupport.dumpToJson(graph, true);
+        new GraphDumpValidator().validate(dump);
+        Graph target = new GraphImpl();
+        GraphDumpSupport.readDump(target, toStream(dump), false, new GraphDumpValidator());
+        Assertions.assertEquals(graph.dumpGraphData(false), target.dumpGraphData(false));
+
+        // Legacy dumps need no model versions
+        JsonObject legacy = new JsonObject().put("graph", dump.getJsonObject("graph").copy());
+        legacy.getJsonObject("graph").remove("modelVersion");
+        new GraphDumpValidator().validate(legacy);
+
+        JsonObject noType = dump.copy();
+        noType.getJsonObject("graph").getJsonArray("vertexList").getJsonObject(1).remove(F_TYPE);
+        assertInvalid(noType, "Vertex without type: c1");
+
+        JsonObject noCounter = dump.copy();
+        noCounter.getJsonObject("graph").remove("edgeGeneratorCounter");
+        assertInvalid(noCounter, "Missing graph.edgeGeneratorCounter");
+
+        JsonObject wrongRecords = dump.copy();
+        wrongRecords.getJsonObject("report").put("records", new JsonObject());
+        assertInvalid(wrongRecords, "report.records must be an array");
+
+        JsonObject duplicateEdge = dump.copy();
+        JsonArray edgeList = duplicateEdge.getJsonObject("graph").getJsonArray("edgeList");
+        edgeList.add(edgeList.getJsonObject(0).copy());
+        assertInvalid(duplicateEdge, "Invalid or duplicate edge: " + edgeList.getJsonObject(0).getJsonObject("edge").getString(F_ID));
+
+        // Edges before vertices are accepted, but not dangling ones
+        JsonObject graphData = dump.getJsonObject("graph");
+        JsonObject edgesFirst = new JsonObject()
+            .put("modelVersion", GraphDumpSupport.CURRENT_CONTAINER_MODEL_VERSION)
+            .put("graph", new JsonObject()
+                .put("edgeList", graphData.getJsonArray("edgeList").copy()
+                    .add(new JsonObject().put("source", "c1").put("target", "missing").put("edge", new JsonObject())))
+                .put("vertexList", graphData.getValue("vertexList"))
+                .put("root", graphData.getValue("root"))
+                .put("edgeGeneratorCounter", graphData.getValue("edgeGeneratorCounter"))
+                .put("modelVersion", graphData.getValue("modelVersion")));
+        assertInvalid(edgesFirst, "Invalid edge to non-existing vertex missing");
+        JsonArray edgesFirstList = edgesFirst.getJsonObject("graph").getJsonArray("edgeList");
+        edgesFirstList.remove(edgesFirstList.size() - 1);
+        new GraphDumpValidator().validate(edgesFirst);
+        GraphDumpSupport.readDump(new GraphImpl(), toStream(edgesFirst), true, new GraphDumpValidator());
+    }
+
+    private static void assertInvalid(JsonObject dump, String reason) {
+        InvalidGraphException e = Assertions.assertThrows(InvalidGraphException.class,
+            () -> new GraphDumpValidator().validate(dump));
+        Assertions.assertEquals(reason, e.getReason());
+        e = Assertions.assertThrows(InvalidGraphException.class,
+            () -> GraphDumpSupport.readDump(new GraphImpl(), toStream(dump), true, new GraphDumpValidator()));
+        Assertions.assertEquals(reason, e.getReason());
+    }
+
+    @Test
+    void testWriteDump() throws Exception {
+        JsonObject expected = GraphDumpSupport.dumpToJson(graph, true);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GraphDumpSupport.DumpStats stats = GraphDumpSupport.writeDump(graph, out, false);
+        Assertions.assertEquals(out.size(), stats.getBytes());
+        Assertions.assertEquals(3, stats.getVertices());
+        Assertions.assertEquals(5, stats.getEdges());
+        Assertions.assertEquals(1, stats.getReportRecords());
+        Assertions.assertEquals(expected, JsonUtils.bytesToJsonObject(out.toByteArray()));
+
+        ByteArrayOutputStream frozenOut = new ByteArrayOutputStream();
+        GraphDumpSupport.writeDump(graph.freeze(), frozenOut, false);
+        Assertions.assertArrayEquals(out.toByteArray(), frozenOut.toByteArray());
+
+        ByteArrayOutputStream gzipOut = new ByteArrayOutputStream();
+        stats = GraphDumpSupport.writeDump(graph, gzipOut, true);
+        Assertions.assertEquals(gzipOut.size(), stats.getBytes());
+        Assertions.assertEquals(expected, JsonUtils.gzipBytesToJsonObject(gzipOut.toByteArray()));
+
+        Graph restored = GraphDumpSupport.readDump(new ByteArrayInputStream(out.toByteArray()));
+        Assertions.assertEquals(graph.dumpGraphData(false), restored.dumpGraphData(false));
+        Assertions.assertEquals(expected.getJsonObject("report"), restored.getReport().dumpReportData(false));
+    }
+
+    @Test
+    void testCompactDump() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GraphDumpSupport.DumpStats stats = GraphDumpSupport.writeDump(graph, out, false, true);
+        Assertions.assertEquals(out.size(), stats.getBytes());
+        Assertions.assertTrue(CompactJsonFormat.isCompact(new ByteArrayInputStream(out.toByteArray())));
+        Assertions.assertEquals(GraphDumpSupport.dumpToJson(graph, true), JsonUtils.bytesToJsonObject(out.toByteArray()));
+
+        Graph restored = GraphDumpSupport.readDump(new ByteArrayInputStream(out.toByteArray()));
+        Assertions.assertEquals(graph.dumpGraphData(false), restored.dumpGraphData(false));
+        Assertions.assertEquals(graph.getReport().dumpReportData(false), restored.getReport().dumpReportData(false));
+
+        Path file = Files.createTempFile("graph", CompactJsonFormat.EXTENSION + ".gz");
+        try {
+            GraphDumpSupport.writeDumpFile(graph, file);
+            Assertions.assertEquals(graph.dumpGraphData(false),
+                GraphDumpSupport.readDumpFile(file.toString()).dumpGraphData(false));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testCompactDumpSize() throws Exception {
+        Graph large = createLargeGraph(2, 50);
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        GraphDumpSupport.writeDump(large, json, false, false);
+        ByteArrayOutputStream compact = new ByteArrayOutputStream();
+        GraphDumpSupport.writeDump(large, compact, false, true);
+        Assertions.assertTrue(compact.size() < json.size() / 2);
+        Assertions.assertEquals(large.getEdgeCount(),
+            GraphDumpSupport.readDump(new ByteArrayInputStream(compact.toByteArray())).getEdgeCount());
+    }
+
+    @Disabled
+    @Test
+    void benchmarkDumpFormats() throws Exception {
+        Graph large = createLargeGraph(20, 100);
+        for (int i = 0; i < 4; i++) {
+            boolean gzip = (i & 1) != 0;
+            boolean compact = (i & 2) != 0;
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            long start = System.nanoTime();
+            long size = GraphDumpSupport.writeDump(large, out, gzip, compact).getBytes();
+            long written = System.nanoTime();
+            Graph restored = GraphDumpSupport.readDump(gzip
+                ? new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))
+                : new ByteArrayInputStream(out.toByteArray()));
+            long read = System.nanoTime();
+            Assertions.assertEquals(large.getEdgeCount(), restored.getEdgeCount());
+            System.out.println(String.format("%s%s: bytes=%d write=%dms read=%dms",
+                compact ? "compact" : "json", gzip ? ".gz" : "", size,
+                (written - start) / 1_000_000, (read - written) / 1_000_000));
+        }
+    }
+
+    private static Graph createLargeGraph(int domains, int componentsPerDomain) {
+        Graph large = new GraphImpl();
+        large.setReport(new GraphReportImpl());
+        for (int d = 0; d < domains; d++) {
+            JsonObject domain = new JsonObject().put(F_ID, "domain-" + d).put(F_TYPE, "domain");
+            large.addVertexUnderRoot(domain);
+            for (int c = 0; c < componentsPerDomain; c++) {
+                JsonObject component = new JsonObject().put(F_ID, "component-" + d + "-" + c).put(F_TYPE, "backend")
+                    .put("name", "Component " + c)
+                    .put("details", new JsonObject()
+                        .put("language", new JsonArray().add(new JsonObject().put("name", "Java").put("version", "17")))
+                        .put("dnsNames", new JsonArray().add("component-" + c + ".svc"))
+                        .put("replicas", c % 3 + 1));
+                large.addVertex(domain, component);
+                if (c > 0) {
+                    large.addEdge(component, large.getVertex("component-" + d + "-" + (c - 1)),
+                        new JsonObject().put(F_TYPE, "http").put("weight", c / 10.0));
+                }
+            }
+        }
+        return large;
+    }
+
+    @Test
+    void testDelta() throws Exception {
+        JsonObject baseDump = GraphDumpSupport.dumpToJson(graph, true);
+        JsonObject baseCopy = baseDump.copy();
+        Assertions.assertEquals(baseDump, GraphDumpSupport.applyDelta(baseDump,
+            GraphDumpSupport.diff(baseDump, baseDump)));
+
+        graph.getVertex("c1").put("version", "2.0").put(F_TYPE, "frontend");
+        graph.removeAllEdges(graph.getVertex("c2"), graph.getVertex("c1"));
+        JsonObject lib = new JsonObject().put(F_ID, "lib").put(F_TYPE, "library");
+        graph.addVertex(graph.getVertex("d1"), lib);
+        graph.addEdge(graph.getVertex("c1"), lib, new JsonObject().put(F_TYPE, "library"));
+        graph.relocateVertex(graph.getVertex("d1"), "d1-new");
+        graph.getReport().addMessage(GraphReport.ERROR, lib, "New library");
+        JsonObject newDump = GraphDumpSupport.dumpToJson(graph, true);
+
+        JsonObject delta = GraphDumpSupport.diff(baseDump, newDump);
+        JsonObject graphDelta = delta.getJsonObject("graph");
+        Assertions.assertEquals(1, graphDelta.getJsonArray("changedVertices").size());
+        Assertions.assertEquals("c1", graphDelta.getJsonArray("changedVertices").getJsonObject(0).getString("id"));
+        Assertions.assertEquals(new JsonArray().add("d1"), graphDelta.getJsonArray("removedVertices"));
+        Assertions.assertEquals(2, graphDelta.getJsonArray("addedVertices").size());
+
+        JsonObject restored = GraphDumpSupport.applyDelta(baseDump, JsonUtils.bytesToJsonObject(
+            JsonUtils.mapper().writeValueAsBytes(delta)));
+        Assertions.assertEquals(newDump, restored);
+        Assertions.assertEquals(baseCopy, baseDump);
+        Assertions.assertEquals(graph.dumpGraphData(false),
+            GraphDumpSupport.restoreFromJson(restored).dumpGraphData(false));
+
+        // Delta is applicable to its base only
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GraphDumpSupport.applyDelta(newDump, delta));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> GraphDumpSupport.applyDelta(baseDump, delta.copy().put("deltaModelVersion", 0)));
+    }
+
+    private static InputStream toStream(JsonObject dump) {
+        return new ByteArrayInputStream(dump.encode().getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.graph;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.qubership.itool.modules.graphExtractor.impl.LanguageAndFrameworkExtractor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.qubership.itool.modules.graph.Graph.F_ID;
+import static org.qubership.itool.modules.graph.Graph.F_TYPE;
+import static org.qubership.itool.modules.graph.Graph.V_APPLICATION;
+import static org.qubership.itool.modules.graph.Graph.V_ROOT;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TestMappedGraph {
+
+    private Graph graph;
+    private Path file;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        graph = new GraphImpl();
+        JsonObject domain = new JsonObject().put(F_ID, "d1").put(F_TYPE, "domain");
+        JsonObject comp1 = new JsonObject().put(F_ID, "c1").put(F_TYPE, "backend")
+            .put("details", new JsonObject().put("dnsNames", new JsonArray().add("c-one").add("c-1")));
+        JsonObject comp2 = new JsonObject().put(F_ID, "c2").put(F_TYPE, "frontend").put("name", "Компонент");
+        JsonObject lib = new JsonObject().put(F_ID, "lib").put(F_TYPE, "library");
+        graph.addVertexUnderRoot(domain);
+        graph.addVertex(domain, comp1);
+        graph.addVertex(domain, comp2);
+        graph.addEdge(comp1, lib, new JsonObject().put(F_TYPE, "library"));
+        graph.addEdge(comp1, lib, new JsonObject().put(F_TYPE, "optional"));
+        graph.addEdge(comp2, lib, new JsonObject().put(F_TYPE, "library"));
+        graph.addEdge(comp2, comp1, new JsonObject().put(F_TYPE, "http"));
+        graph.relocateVertex(comp2, "c2-new");
+        file = Files.createTempFile("graph", MappedGraph.EXTENSION);
+        MappedGraph.write(graph, file);
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void testSameResults() throws IOException {
+        MappedGraph mapped = MappedGraph.open(file);
+
+        Assertions.assertEquals(graph.getGraphVersion(), mapped.getGraphVersion());
+        Assertions.assertEquals(graph.getVertexCount(), mapped.getVertexCount());
+        Assertions.assertEquals(graph.getEdgeCount(), mapped.getEdgeCount());
+        Assertions.assertEquals(graph.vertexList(), mapped.vertexList());
+        Assertions.assertEquals(graph.edgeList(), mapped.edgeList());
+        for (JsonObject vertex : graph.vertexList()) {
+            String id = vertex.getString(F_ID);
+            Assertions.assertEquals(vertex, mapped.getVertex(id));
+            Assertions.assertSame(mapped.getVertex(id), mapped.getVertex(id));
+            Assertions.assertEquals(graph.getSuccessors(id, false), mapped.getSuccessors(id, false));
+            Assertions.assertEquals(graph.getSuccessors(id, true), mapped.getSuccessors(id, true));
+            Assertions.assertEquals(graph.getPredecessors(id, false), mapped.getPredecessors(id, false));
+            Assertions.assertEquals(graph.getPredecessors(id, true), mapped.getPredecessors(id, true));
+            Assertions.assertEquals(graph.getSuccessorEdges(id), mapped.getSuccessorEdges(id));
+            Assertions.assertEquals(graph.getPredecessorEdges(id), mapped.getPredecessorEdges(id));
+            List<JsonObject> predecessorEdges = new ArrayList<>();
+            mapped.forEachPredecessor(id, (edge, source) -> predecessorEdges.add(edge));
+            Assertions.assertEquals(graph.getPredecessorEdges(id), predecessorEdges);
+        }
+        for (JsonObject edge : graph.edgeList()) {
+            String id = edge.getString(F_ID);
+            Assertions.assertEquals(edge, mapped.getEdge(id));
+            Assertions.assertEquals(graph.getEdgeSource(id), mapped.getEdgeSource(id));
+            Assertions.assertEquals(graph.getEdgeTarget(id), mapped.getEdgeTarget(id));
+        }
+        Assertions.assertEquals(2, mapped.getEdgesBetween("c1", "lib").size());
+        Assertions.assertEquals(List.of(), mapped.getEdgesBetween("c1", "unknown"));
+        Assertions.assertNull(mapped.getVertex("c2"));
+        Assertions.assertNull(mapped.getVertex("c"));
+        Assertions.assertNull(mapped.getEdge("unknown"));
+
+        Assertions.assertEquals(
+            graph.traversal().V(V_ROOT).out().out().out().dedup().id().toList(),
+            mapped.traversal().V(V_ROOT).out().out().out().dedup().id().toList());
+        Assertions.assertEquals(List.of("c1", "c2-new"),
+            mapped.traversal().V().hasType("backend", "frontend").id().toList());
+    }
+
+    @Test
+    void testLazyLoading() throws IOException {
+        MappedGraph mapped = MappedGraph.open(file);
+        Assertions.assertEquals(0, mapped.getLoadedVertexCount());
+        Assertions.assertEquals(0, mapped.getLoadedEdgeCount());
+
+        Assertions.assertEquals(List.of("lib"), mapped.traversal().V("c2-new").out("library").id().toList());
+        Assertions.assertTrue(mapped.getLoadedVertexCount() < mapped.getVertexCount());
+
+        Assertions.assertEquals(1, mapped.getVerticesByType(Set.of("library")).size());
+        Assertions.assertEquals(List.of(), mapped.getVerticesByType(Set.of("unknown")));
+        Assertions.assertTrue(mapped.getLoadedVertexCount() < mapped.getVertexCount());
+    }
+
+    @Test
+    void testInvalidFile() throws IOException {
+        Files.write(file, "{\"graph\": {}}".getBytes());
+        Assertions.assertThrows(IOException.class, () -> MappedGraph.open(file));
+    }
+
+    @Test
+    void testCorruptedIndex() throws IOException {
+        byte[] original = Files.readAllBytes(file);
+        int trailer = original.length - 8 - MappedGraph.MAGIC.length;
+        long indexOffset = ByteBuffer.wrap(original).getLong(trailer);
+
+        for (long badOffset : new long[] { -1, 0, original.length, Long.MAX_VALUE, trailer - 4 }) {
+            ByteBuffer damaged = ByteBuffer.wrap(original.clone());
+            damaged.putLong(trailer, badOffset);
+            Files.write(file, damaged.array());
+            Assertions.assertThrows(IOException.class, () -> MappedGraph.open(file), "Index offset " + badOffset);
+        }
+        // Vertex count, edge count, type count, pool size
+        for (int field = 1; field <= 4; field++) {
+            for (int badCount : new int[] { -1, Integer.MAX_VALUE, 1 << 29 }) {
+                ByteBuffer damaged = ByteBuffer.wrap(original.clone());
+                damaged.putInt((int) indexOffset + field * 4, badCount);
+                Files.write(file, damaged.array());
+                Assertions.assertThrows(IOException.class, () -> MappedGraph.open(file),
+                    "Field " + field + " = " + badCount);
+            }
+        }
+    }
+
+    @Test
+    void testExtractor() throws IOException {
+        Graph source = new GraphImpl();
+        JsonObject app = new JsonObject().put(F_ID, "app").put(F_TYPE, V_APPLICATION).put("name", "app");
+        JsonObject comp = new JsonObject().put(F_ID, "comp").put(F_TYPE, "backend").put("name", "comp");
+        source.addVertexUnderRoot(app);
+        source.addVertex(app, comp);
+        source.addVertex(comp, new JsonObject().put(F_ID, "java").put(F_TYPE, "language").put("name", "Java"));
+        source.addVertex(comp, new JsonObject().put(F_ID, "spring").put(F_TYPE, "framework").put("name", "Spring"));
+        MappedGraph.write(source, file);
+
+        LanguageAndFrameworkExtractor extractor = new LanguageAndFrameworkExtractor();
+        JsonObject expected = extractor.getDataFromGraph(source);
+        Assertions.assertFalse(expected.isEmpty());
+        Assertions.assertEquals(expected, extractor.extractGraphData(file));
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.gremlin2;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.qubership.itool.modules.gremlin2.graph.GraphTraversal;
+import org.qubership.itool.modules.gremlin2.step.AbstractStep;
+import org.qubership.itool.modules.gremlin2.step.filter.FilterStep;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.qubership.itool.modules.gremlin2.graph.__.*;
+
+public class TestGremlinInnerTraversals extends AbstractGremlinTest {
+
+    private static final int SIZE = 100;
+    private static final AtomicInteger CLONES = new AtomicInteger();
+
+    /* Passes everything, counting how many times the step was cloned */
+    private static class CloneCountingStep<S> extends FilterStep<S> {
+
+        CloneCountingStep(Traversal.Admin traversal) {
+            super(traversal);
+        }
+
+        @Override
+        protected boolean filter(Traverser.Admin<S> traverser) {
+            return true;
+        }
+
+        @Override
+        public AbstractStep<S, S> clone() {
+            CLONES.incrementAndGet();
+            return super.clone();
+        }
+    }
+
+    @Override
+    protected void createGraph() {
+        // n0 -> n1 -> ... -> n99
+        JsonObject previous = null;
+        for (int i = 0; i < SIZE; i++) {
+            JsonObject vertex = new JsonObject().put("id", "n" + i).put("name", "n" + i)
+                .put("type", "number").put("value", i);
+            this.graph.addVertexUnderRoot(vertex);
+            if (previous != null) {
+                this.graph.addEdge(previous, vertex, new JsonObject().put("id", "e" + i).put("type", "next"));
+            }
+            previous = vertex;
+        }
+    }
+
+    @BeforeEach
+    public void resetClones() {
+        CLONES.set(0);
+    }
+
+    private <S, E> GraphTraversal<S, E> counted(GraphTraversal<S, E> traversal) {
+        traversal.asAdmin().addStep(new CloneCountingStep<>(traversal.asAdmin()));
+        return traversal;
+    }
+
+    /* Inner traversals are cloned a few times per query, not once per traverser */
+    private void assertFewClones() {
+        Assertions.assertTrue(CLONES.get() < 10, "Clones: " + CLONES.get());
+        CLONES.set(0);
+    }
+
+    @Test
+    void testFilters() {
+        Assertions.assertEquals(50L, V().hasType("number").where(counted(has("value", P.gte(50)))).count().next());
+        assertFewClones();
+
+        Assertions.assertEquals(50L, V().hasType("number").not(counted(has("value", P.gte(50)))).count().next());
+        assertFewClones();
+
+        Assertions.assertEquals(20L, V().hasType("number")
+            .or(counted(has("value", P.lt(10))), counted(has("value", P.gte(90)))).count().next());
+        assertFewClones();
+
+        Assertions.assertEquals((long) SIZE, V().hasType("number")
+            .has("value", P.eq(counted(value("value")))).count().next());
+        assertFewClones();
+    }
+
+    @Test
+    void testBranches() {
+        List<Object> values = V().hasType("number").local(counted(value("value"))).toList();
+        Assertions.assertEquals(SIZE, values.size());
+        Assertions.assertEquals(99, values.get(99));
+        assertFewClones();
+
+        Assertions.assertEquals(2L * SIZE, V().hasType("number")
+            .union(counted(value("value")), counted(id())).count().next());
+        assertFewClones();
+
+        List<?> ids = V().hasType("number")
+            .coalesce(counted(has("value", P.gte(1000))), counted(id())).toList();
+        Assertions.assertEquals(SIZE, ids.size());
+        Assertions.assertEquals("n0", ids.get(0));
+        assertFewClones();
+    }
+
+    @Test
+    void testRepeat() {
+        List<JsonObject> result = V("n0").repeat(counted(out()))
+            .until(counted(has("value", P.eq(SIZE - 1)))).toList();
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals("n99", result.get(0).getString("id"));
+        assertFewClones();
+
+        Assertions.assertEquals((long) SIZE - 1, V("n0").repeat(out()).emit(counted(has("type", "number")))
+            .count().next());
+        assertFewClones();
+    }
+
+    @Test
+    void testModulators() {
+        Map<Object, Object> groups = V().hasType("number").group().by(counted(value("value"))).next();
+        Assertions.assertEquals(SIZE, groups.size());
+        Assertions.assertEquals(42, groups.get(graph.getVertex("n42")));
+        assertFewClones();
+
+        Assertions.assertEquals((long) SIZE, V("n0").glob("**").by(counted(out())).count().next());
+        assertFewClones();
+    }
+
+    @Test
+    void testNested() {
+        // Inner traversals of inner traversals are reused as well
+        Assertions.assertEquals(List.of("n97"), V().hasType("number")
+            .where(counted(out().where(counted(out().has("value", P.eq(SIZE - 1)))))).id().toList());
+        assertFewClones();
+
+        List<String> path = V("n0").as("a").out().local(counted(select("a").id())).toList();
+        Assertions.assertEquals(List.of("n0"), path);
+    }
+
+}
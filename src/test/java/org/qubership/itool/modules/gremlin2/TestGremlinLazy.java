@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.gremlin2;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.qubership.itool.modules.gremlin2.util.Order;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.qubership.itool.modules.gremlin2.graph.__.out;
+
+public class TestGremlinLazy extends AbstractGremlinTest {
+
+    private AtomicInteger tested;
+
+    @BeforeEach
+    @Override
+    public void cleanup() {
+        super.cleanup();
+        for (int i = 0; i < 100; i++) {
+            this.graph.addVertexUnderRoot(new JsonObject().put("id", "n" + i).put("type", "number").put("value", i));
+        }
+        this.tested = new AtomicInteger();
+    }
+
+    /* Matches every vertex of type "number", counting the vertices tested */
+    private P<Object> countingPredicate() {
+        return new P<>((value, expected) -> {
+            tested.incrementAndGet();
+            return value.equals(expected);
+        }, "number");
+    }
+
+    @Test
+    void testNextShortCircuits() {
+        JsonObject first = V().has("type", countingPredicate()).next();
+        Assertions.assertEquals("number", first.getString("type"));
+        Assertions.assertTrue(tested.get() < 10, "Tested: " + tested.get());
+
+        tested.set(0);
+        Assertions.assertNull(V().has("type", countingPredicate()).has("value", P.gt(1000)).next());
+        Assertions.assertTrue(tested.get() >= 100);
+    }
+
+    @Test
+    void testLimitShortCircuits() {
+        List<JsonObject> result = V().has("type", countingPredicate()).limit(3).toList();
+        Assertions.assertEquals(3, result.size());
+        Assertions.assertTrue(tested.get() < 10, "Tested: " + tested.get());
+
+        tested.set(0);
+        List<Object> values = V().has("type", countingPredicate()).range(2, 4).value("value").toList();
+        Assertions.assertEquals(List.of(2, 3), values);
+        Assertions.assertTrue(tested.get() < 12, "Tested: " + tested.get());
+    }
+
+    @Test
+    void testBarriers() {
+        // Barriers still see everything
+        Assertions.assertEquals(100L, V().has("type", countingPredicate()).count().next());
+        Assertions.assertEquals(graph.getVertexCount(), tested.get());
+        Assertions.assertEquals(List.of(99, 98), V().hasType("number").value("value").order().by(Order.desc)
+            .limit(2).toList());
+        Assertions.assertEquals(List.of("n99"), V().hasType("number").tail(1).id().toList());
+    }
+
+    @Test
+    void testIterator() {
+        Iterator<JsonObject> iterator = V("v1").repeat(out()).emit().iterator();
+        Assertions.assertTrue(iterator.hasNext());
+        Assertions.assertEquals("v4", iterator.next().getString("id"));
+        int count = 1;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        Assertions.assertEquals(4, count);
+        Assertions.assertFalse(iterator.hasNext());
+        Assertions.assertEquals(List.of("v4"), V().hasType("person").where(out().hasType("soft")).id().toList());
+    }
+
+}
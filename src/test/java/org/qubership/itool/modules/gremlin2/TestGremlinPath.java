@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Set;
 
 import static org.qubership.itool.modules.gremlin2.graph.__.outE;
 
@@ -77,4 +78,47 @@ public class TestGremlinPath extends AbstractGremlinTest {
         Assertions.assertEquals("v4", result.get(0).getString("id"));
 
     }
+
+    @Test
+    void test_sharedPrefix() {
+        Path path = new DefaultPath().extend(1, "L1").extend(2);
+        Path clone = path.clone();
+        path.extend(3, "L3").extend(Set.of("L4"));
+        clone.extend(4).extend(Set.of("L1"));
+
+        Assertions.assertEquals(List.of(1, 2, 3), path.objects());
+        Assertions.assertEquals(List.of(Set.of("L1"), Set.of(), Set.of("L3", "L4")), path.labels());
+        Assertions.assertEquals(3, (int) path.get("L4"));
+        Assertions.assertEquals(1, (int) path.get("L1"));
+
+        Assertions.assertEquals(List.of(1, 2, 4), clone.objects());
+        Assertions.assertEquals(List.of(1, 4), clone.get("L1"));
+        Assertions.assertFalse(clone.hasLabel("L3"));
+        Assertions.assertThrows(GremlinException.class, () -> clone.get("L3"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> clone.objects().add(5));
+
+        // Label sets are shared by all paths
+        Assertions.assertSame(path.labels().get(0), new DefaultPath().extend(0, "L1").labels().get(0));
+        Assertions.assertSame(path.labels().get(2), new DefaultPath().extend(0, "L4", "L3").labels().get(0));
+    }
+
+    @Test
+    void test_longPath() {
+        Path path = new DefaultPath();
+        for (int i = 0; i < 10000; i++) {
+            path = path.clone().extend(i, (i % 1000 == 0) ? new String[] { "k" } : new String[0]);
+        }
+        Assertions.assertEquals(10000, path.size());
+        Assertions.assertEquals(9999, path.head());
+        Assertions.assertEquals(5000, path.objects().get(5000));
+        Assertions.assertEquals(List.of(0, 1000, 2000, 3000, 4000, 5000, 6000, 7000, 8000, 9000), path.get("k"));
+    }
+
+    @Test
+    void test_pathBy() {
+        List<Path> result = V("v1").as("a").out().path().by("id").toList();
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals(List.of("v1", "v4"), result.get(0).objects());
+        Assertions.assertEquals("v1", result.get(0).get("a"));
+    }
 }
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.modules.gremlin2;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import org.qubership.itool.modules.gremlin2.graph.DefaultGraphTraversal;
+import org.qubership.itool.modules.gremlin2.graph.GraphTraversal;
+import org.qubership.itool.modules.gremlin2.step.GraphStep;
+import org.qubership.itool.modules.gremlin2.step.barrier.NoOpBarrierStep;
+import org.qubership.itool.modules.gremlin2.step.barrier.OrderStep;
+import org.qubership.itool.modules.gremlin2.step.branch.LocalStep;
+import org.qubership.itool.modules.gremlin2.step.filter.HasStep;
+import org.qubership.itool.modules.gremlin2.step.filter.RangeLimitStep;
+import org.qubership.itool.modules.gremlin2.step.map.scalar.PathStep;
+import org.qubership.itool.modules.gremlin2.step.util.HasContainer;
+import org.qubership.itool.modules.gremlin2.util.Order;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.qubership.itool.modules.gremlin2.graph.__.*;
+
+public class TestGremlinStrategies extends AbstractGremlinTest {
+
+    private List<String> stepNames(GraphTraversal<?, ?> traversal) {
+        return traversal.asAdmin().getSteps().stream()
+            .map(step -> step.getClass().getSimpleName())
+            .collect(Collectors.toList());
+    }
+
+    /* Check that the strategies do not change the result. Paths are compared as strings */
+    private <E> GraphTraversal<?, E> assertSameResult(Supplier<GraphTraversal<?, E>> supplier) {
+        GraphTraversal<?, E> plain = supplier.get();
+        ((DefaultGraphTraversal<?, E>) plain.asAdmin()).setStrategies(List.of());
+        GraphTraversal<?, E> optimized = supplier.get();
+        Assertions.assertEquals(plain.toList().toString(), optimized.toList().toString());
+        return optimized;
+    }
+
+    /* Same results in any order, for the traversals whose duplicates are merged */
+    /* Ten components, every one using the same two libraries twice, both using the same runtime */
+    private void createHubs() {
+        JsonObject runtime = new JsonObject().put("id", "rt").put("type", "runtime").put("name", "jre");
+        graph.addVertexUnderRoot(runtime);
+        JsonObject[] libraries = new JsonObject[2];
+        for (int i = 0; i < libraries.length; i++) {
+            libraries[i] = new JsonObject().put("id", "lib" + i).put("type", "library").put("name", "lib" + i).put("size", i + 1);
+            graph.addVertexUnderRoot(libraries[i]);
+            graph.addEdge(libraries[i], runtime, new JsonObject().put("id", "rt" + i).put("type", "runs"));
+        }
+        for (int c = 0; c < 10; c++) {
+            JsonObject component = new JsonObject().put("id", "c" + c).put("type", "component");
+            graph.addVertexUnderRoot(component);
+            for (int i = 0; i < libraries.length; i++) {
+                for (int k = 0; k < 2; k++) {
+                    graph.addEdge(component, libraries[i], new JsonObject().put("id", "c" + c + "-" + i + "-" + k).put("type", "uses").put("scope", k == 0 ? "compile" : "test"));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testIndexedStart() {
+        GraphTraversal<?, JsonObject> traversal = assertSameResult(() -> V().hasId("v4").hasType("person"));
+        Assertions.assertEquals(List.of("GraphStep", "HasStep"), stepNames(traversal));
+        GraphStep<?, ?> graphStep = (GraphStep<?, ?>) traversal.asAdmin().getStartStep();
+        Assertions.assertArrayEquals(new String[] { "v4" }, graphStep.getIds());
+        Assertions.assertEquals(List.of("person"), graphStep.getTypes());
+
+        traversal = assertSameResult(() -> V().hasType("soft", "os").has("lang", "java"));
+        Assertions.assertEquals(List.of("GraphStep", "HasStep"), stepNames(traversal));
+        Assertions.assertEquals(2, traversal.toList().size());
+
+        // Several ids keep the order of the graph
+        traversal = assertSameResult(() -> V().hasId("v5", "v3"));
+        Assertions.assertEquals(List.of("GraphStep", "HasStep"), stepNames(traversal));
+        Assertions.assertEquals(List.of("v3", "v5"), traversal.id().toList());
+
+        // Values modified in place are re-checked after the lookup
+        graph.getVertex("v4").put("type", "robot");
+        Assertions.assertEquals(List.of(), V().hasId("v4").hasType("person").toList());
+        Assertions.assertEquals(1, V().hasId("v4").hasType("robot").toList().size());
+
+        assertSameResult(() -> V().hasId("v1").hasType("soft"));
+        assertSameResult(() -> E().hasId("e2").outV());
+        assertSameResult(() -> V().hasType("person").as("p").out().select("p"));
+    }
+
+    @Test
+    void testHasStepMerge() {
+        Supplier<GraphTraversal<?, JsonObject>> supplier = () -> {
+            GraphTraversal<JsonObject, JsonObject> traversal = V().has("lang", "java");
+            traversal.asAdmin().addStep(new HasStep<>(traversal.asAdmin(), new HasContainer("type", P.eq("soft"))));
+            traversal.asAdmin().addStep(new HasStep<>(traversal.asAdmin(), "soft", new HasContainer("name", P.eq("lop"))));
+            return traversal;
+        };
+        GraphTraversal<?, JsonObject> traversal = assertSameResult(supplier);
+        Assertions.assertEquals(List.of("GraphStep", "HasStep"), stepNames(traversal));
+        Assertions.assertEquals(List.of("soft"), ((GraphStep<?, ?>) traversal.asAdmin().getStartStep()).getTypes());
+        Assertions.assertEquals("v3", traversal.next().getString("id"));
+
+        // Labelled filters are kept apart
+        traversal = V().out();
+        traversal.asAdmin().addStep(new HasStep<>(traversal.asAdmin(), new HasContainer("type", P.eq("soft"))));
+        traversal.as("a");
+        traversal.asAdmin().addStep(new HasStep<>(traversal.asAdmin(), new HasContainer("name", P.eq("lop"))));
+        traversal.select("a").toList();
+        Assertions.assertEquals(List.of("GraphStep", "VertexStep", "HasStep", "HasStep", "SelectScalarStep"),
+            stepNames(traversal));
+    }
+
+    @Test
+    void testOrderLimit() {
+        for (int i = 0; i < 50; i++) {
+            graph.addVertexUnderRoot(new JsonObject().put("id", "n" + i).put("type", "number").put("group", i % 7));
+        }
+        for (int limit : new int[] { 0, 1, 3, 10, 49, 50, 100 }) {
+            GraphTraversal<?, String> traversal = assertSameResult(
+                () -> V().hasType("number").order().by("group").limit(limit).id());
+            OrderStep<?, ?> orderStep = (OrderStep<?, ?>) traversal.asAdmin().getSteps().get(2);
+            Assertions.assertEquals(limit, orderStep.getLimit());
+
+            assertSameResult(() -> V().hasType("number").value("group").order().by(Order.desc).range(2, limit));
+        }
+
+        // The limit is pushed down past the path
+        GraphTraversal<?, Path> traversal = assertSameResult(
+            () -> V().hasType("number").order().by("group", Order.desc).path().limit(3));
+        Assertions.assertEquals(List.of("GraphStep", "HasStep", "OrderStep", "RangeLimitStep", "PathStep"), stepNames(traversal));
+        Assertions.assertEquals(3, ((OrderStep<?, ?>) traversal.asAdmin().getSteps().get(2)).getLimit());
+        Assertions.assertTrue(traversal.asAdmin().getSteps().get(3) instanceof RangeLimitStep);
+        Assertions.assertTrue(traversal.asAdmin().getEndStep() instanceof PathStep);
+
+        // Not past the maps that may drop traversers
+        GraphTraversal<?, Object> values = assertSameResult(
+            () -> V().order().by("name").value("age").limit(1));
+        Assertions.assertEquals(List.of("GraphStep", "OrderStep", "ValueStep", "RangeLimitStep"), stepNames(values));
+        Assertions.assertEquals(-1, ((OrderStep<?, ?>) values.asAdmin().getSteps().get(1)).getLimit());
+    }
+
+    @Test
+    void testPathTracking() {
+        GraphTraversal<?, JsonObject> traversal = assertSameResult(() -> V("v1").as("a").out().out());
+        Assertions.assertFalse(((GraphStep<?, ?>) traversal.asAdmin().getStartStep()).isPathTracking());
+
+        traversal = assertSameResult(() -> V("v1").as("a").out().local(select("a")));
+        Assertions.assertTrue(((GraphStep<?, ?>) traversal.asAdmin().getStartStep()).isPathTracking());
+        Assertions.assertEquals("v1", traversal.next().getString("id"));
+
+        assertSameResult(() -> V("v1").out().out().path());
+        assertSameResult(() -> V("v1").as("a").out().out().where(in().in()));
+        assertSameResult(() -> V("v4").as("a").out().in().where(P.eq("a")));
+
+        // Steps added after the traversal has been run
+        traversal = V("v1").as("a").out();
+        Assertions.assertEquals(1, traversal.toList().size());
+        Assertions.assertEquals(List.of(graph.getVertex("v1")), traversal.select("a").toList());
+    }
+
+    @Test
+    void testChildren() {
+        GraphTraversal<?, List<String>> traversal = assertSameResult(
+            () -> V("v4").local(out().order().by("name").limit(2).id().fold()));
+        Assertions.assertEquals(List.of(List.of("v6", "v3")), traversal.toList());
+
+        DefaultGraphTraversal<?, ?> child = (DefaultGraphTraversal<?, ?>)
+            ((LocalStep<?, ?>) traversal.asAdmin().getEndStep()).getLocalChildren().get(0);
+        Assertions.assertTrue(child.isLocked());
+        Assertions.assertEquals(2, ((OrderStep<?, ?>) child.getSteps().get(1)).getLimit());
+        // Clones run by parent steps are not optimized again
+        Assertions.assertTrue(child.clone().isLocked());
+    }
+
+    @Test
+    void testBulking() {
+        createHubs();
+        GraphTraversal<?, Long> count = assertSameResult(() -> V().hasType("component").out().out().count());
+        Assertions.assertEquals(40L, count.next());
+        Assertions.assertEquals(List.of("GraphStep", "HasStep", "VertexStep", "NoOpBarrierStep", "VertexStep", "NoOpBarrierStep",
+            "CountGlobalStep"), stepNames(count));
+
+        assertSameResult(() -> V().hasType("component").out().value("size").sum());
+        assertSameResult(() -> V().hasType("component").out().dedup().count());
+        for (int limit : new int[] { 0, 1, 19, 20, 21, 39, 40, 41 }) {
+            assertSameResult(() -> V().hasType("component").out().limit(limit).id());
+            Assertions.assertEquals(Math.min(limit, 40), V().hasType("component").out().limit(limit).count().next());
+        }
+        Assertions.assertEquals(List.of("rt", "rt", "rt"), V().hasType("component").out().out().limit(3).id().toList());
+        Assertions.assertEquals(2, V().hasType("component").out().out().range(38, 40).toList().size());
+        assertSameResult(() -> V().hasType("component").out().out().range(2, 4).id());
+    }
+
+    @Test
+    void testBulkingKeepsOrder() {
+        createHubs();
+        JsonObject x = new JsonObject().put("id", "x").put("type", "component");
+        graph.addVertexUnderRoot(x);
+        String[] targets = { "lib0", "lib1", "lib0" };
+        for (int i = 0; i < targets.length; i++) {
+            graph.addEdge(x, graph.getVertex(targets[i]), new JsonObject().put("id", "x-" + i).put("type", "uses").put("position", i));
+        }
+        Assertions.assertEquals(List.of("lib0", "lib1"), V("x").out().limit(2).id().toList());
+        Assertions.assertEquals(List.of("lib0", "lib1", "lib0"), V("x").out().id().toList());
+        Assertions.assertEquals(3L, V("x").out().count().next());
+
+        // Merged across components, these would come as lib0, lib0, lib0
+        Assertions.assertEquals(List.of("lib0", "lib0", "lib1"), V().hasType("component").out().limit(3).id().toList());
+        Assertions.assertFalse(stepNames(assertSameResult(() -> V().hasType("component").out().id()))
+            .contains("NoOpBarrierStep"));
+        Assertions.assertFalse(stepNames(assertSameResult(() -> V().hasType("component").out().out().in().name()))
+            .contains("NoOpBarrierStep"));
+        Assertions.assertFalse(stepNames(assertSameResult(() -> V().hasType("component").out().dedup().id().fold()))
+            .contains("NoOpBarrierStep"));
+    }
+
+    @Test
+    void testBulkingSkipped() {
+        createHubs();
+        // Paths tell the duplicates apart
+        GraphTraversal<?, Path> paths = assertSameResult(() -> V().hasType("component").out().path());
+        Assertions.assertFalse(stepNames(paths).contains("NoOpBarrierStep"));
+        // Steps that do not honour bulks
+        GraphTraversal<?, JsonObject> ordered = assertSameResult(() -> V().hasType("component").out().order().by("name"));
+        Assertions.assertFalse(stepNames(ordered).contains("NoOpBarrierStep"));
+
+        // Steps added after the traversal has been run
+        GraphTraversal<?, JsonObject> traversal = V().hasType("component").out();
+        Assertions.assertEquals(40, traversal.has("type", "library").toList().size());
+        Assertions.assertFalse(stepNames(traversal).contains("NoOpBarrierStep"));
+        Assertions.assertEquals(40L, traversal.count().next());
+        Assertions.assertTrue(stepNames(traversal).contains("NoOpBarrierStep"));
+    }
+
+    @Test
+    void testBulkingSavesWork() {
+        createHubs();
+        AtomicInteger tested = new AtomicInteger();
+        P<Object> counting = new P<>((value, expected) -> {
+            tested.incrementAndGet();
+            return value.equals(expected);
+        }, "runtime");
+        Assertions.assertEquals(40L, V().hasType("component").out().out().has("type", counting).count().next());
+        Assertions.assertEquals(1, tested.get());
+
+        NoOpBarrierStep<?> barrier = new NoOpBarrierStep<>(V().asAdmin());
+        Assertions.assertEquals(NoOpBarrierStep.DEFAULT_MAX_BARRIER_SIZE, barrier.getMaxBarrierSize());
+    }
+
+}
@@ -33,8 +33,13 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.json.pointer.JsonPointer;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.qubership.itool.modules.graph.Graph.F_ID;
@@ -683,6 +688,102 @@ public class TestGraphMerger {
         }
     }
 
+    @Test
+    public void testPipelinedWalkAndMerge() throws Exception {
+        Path directory = Files.createTempDirectory("graphs");
+        try {
+            for (int i = 1; i <= 5; i++) {
+                Graph source = new GraphImpl();
+                addComponent(source, "domain" + (i % 2), "component" + i + "Id", "type" + i, "https://git" + i + "/");
+                createFile(source, "component" + i + "Id", "https://git" + i + "/file");
+                GraphDumpSupport.writeDumpFile(source, directory.resolve("graph" + i + ".json.gz"));
+            }
+            Files.writeString(directory.resolve("broken.json"), "{\"graph\": ");
+
+            JsonObject sequential;
+            try (GraphMerger merger = new GraphMerger()) {
+                sequential = merger.mergeComponentDumps(directory, new JsonObject());
+            }
+            JsonObject pipelined;
+            try (GraphMerger merger = new GraphMerger()) {
+                merger.setPrefetchDepth(3);
+                pipelined = merger.mergeComponentDumps(directory, new JsonObject());
+            }
+
+            Graph expected = GraphDumpSupport.restoreFromJson(sequential);
+            Graph actual = GraphDumpSupport.restoreFromJson(pipelined);
+            assertEquals(expected.traversal().V().id().toList(), actual.traversal().V().id().toList());
+            assertEquals(5, actual.traversal().V().hasType("file").toList().size());
+            assertEquals(expected.getVertex(V_ROOT).getValue("assembly"), actual.getVertex(V_ROOT).getValue("assembly"));
+            assertEquals(1, ((JsonArray) JsonPointer.from("/assembly/sourcesDropped").queryJson(actual.getVertex(V_ROOT))).size());
+
+            // Dumps read ahead go through the overridable mergeDump()
+            AtomicInteger mergedDumps = new AtomicInteger();
+            try (GraphMerger merger = new GraphMerger() {
+                @Override
+                public void mergeDump(JsonObject dump, JsonObject sourceDesc, Graph targetGraph, JsonObject targetDesc) {
+                    mergedDumps.incrementAndGet();
+                    super.mergeDump(dump, sourceDesc, targetGraph, targetDesc);
+                }
+            }) {
+                merger.setPrefetchDepth(2);
+                Graph overridden = GraphDumpSupport.restoreFromJson(merger.mergeComponentDumps(directory, new JsonObject()));
+                assertEquals(expected.traversal().V().id().toList(), overridden.traversal().V().id().toList());
+            }
+            assertEquals(5, mergedDumps.get());
+
+            try (GraphMerger merger = new GraphMerger(null, true)) {
+                merger.setPrefetchDepth(2);
+                assertThrows(IOException.class, () -> merger.mergeComponentDumps(directory, new JsonObject()));
+            }
+
+            // Validated sources: a vertex without type is dropped before merging
+            JsonObject untyped = GraphDumpSupport.dumpToJson(GraphDumpSupport.readDumpFile(
+                directory.resolve("graph1.json.gz").toString()), false);
+            untyped.getJsonObject("graph").getJsonArray("vertexList").getJsonObject(0).remove(F_TYPE);
+            Files.writeString(directory.resolve("untyped.json"), untyped.encode());
+            try (GraphMerger merger = new GraphMerger()) {
+                merger.setValidateSources(true);
+                merger.setPrefetchDepth(2);
+                Graph validated = GraphDumpSupport.restoreFromJson(merger.mergeComponentDumps(directory, new JsonObject()));
+                assertEquals(5, validated.traversal().V().hasType("file").toList().size());
+                assertEquals(2, ((JsonArray) JsonPointer.from("/assembly/sourcesDropped").queryJson(validated.getVertex(V_ROOT))).size());
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testMergeWithoutTargetReport() throws Exception {
+        // Version 2 source with old-style language, normalization reports it as malformed
+        Graph source = new GraphImpl();
+        source.setGraphVersion(2);
+        source.setReport(new GraphReportImpl());
+        JsonObject domain = new JsonObject().put(F_ID, "domain1").put(F_TYPE, V_DOMAIN);
+        source.addVertexUnderRoot(domain);
+        source.addVertex(domain, new JsonObject().put(F_ID, "component1Id").put(F_TYPE, "backend")
+            .put("details", new JsonObject().put("language", new JsonArray().add("Java"))));
+        source.getReport().internalError("Not merged anywhere");
+        JsonObject dump = GraphDumpSupport.dumpToJson(source, false);
+
+        Graph target = new GraphImpl();
+        JsonObject targetDesc = new JsonObject();
+        try (GraphMerger merger = new GraphMerger()) {
+            merger.prepareGraphForMerging(target, targetDesc);
+            merger.mergeDump(dump, new JsonObject().put(P_FILE_NAME, "graph.component1.json"), target, targetDesc);
+            merger.finalizeGraphAfterMerging(target, targetDesc);
+        }
+
+        assertNull(target.getReport());
+        assertEquals(List.of("component1Id"), target.traversal().V().hasType(V_DOMAIN).out().id().toList());
+    }
+
     private void addComponent(Graph graph, String domainId, String id, String type, String repo) {
         JsonObject domain = graph.getVertex(domainId);
         if (domain == null) {
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactJsonFormatTest {
+
+    @Test
+    void testRoundTrip() throws Exception {
+        String longString = "x".repeat(CompactJsonFormat.MAX_SHARED_LENGTH + 1);
+        JsonObject data = new JsonObject()
+            .put("id", "component")
+            .put("type", "library")
+            .put("name", "Компонент 😀")
+            .put("empty", "")
+            .put("int", -42)
+            .put("long", 1L << 40)
+            .put("bigInt", new BigInteger("123456789012345678901234567890"))
+            .put("double", 0.1)
+            .put("float", 2.5f)
+            .put("decimal", new BigDecimal("-1.250"))
+            .put("flags", new JsonArray().add(true).add(false).addNull())
+            .put("nested", new JsonObject()
+                .put("type", "library")
+                .put("long", longString)
+                .put("again", longString)
+                .put("emptyObject", new JsonObject())
+                .put("emptyArray", new JsonArray()));
+
+        byte[] compact = toCompact(data);
+        byte[] json = data.encode().getBytes(StandardCharsets.UTF_8);
+        JsonObject expected = JsonUtils.bytesToJsonObject(json);
+        JsonObject restored = JsonUtils.bytesToJsonObject(compact);
+
+        assertEquals(expected, restored);
+        assertEquals(Integer.valueOf(-42), restored.getValue("int"));
+        assertEquals(Long.valueOf(1L << 40), restored.getValue("long"));
+        assertEquals(Double.valueOf(0.1), restored.getValue("double"));
+        assertSame(restored.getString("type"), restored.getJsonObject("nested").getString("type"));
+        assertTrue(compact.length < json.length);
+
+        // Gzipped data is detected as well
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(compact);
+        }
+        assertEquals(expected, JsonUtils.gzipBytesToJsonObject(gzipped.toByteArray()));
+    }
+
+    @Test
+    void testParser() throws Exception {
+        JsonObject data = new JsonObject()
+            .put("list", new JsonArray().add(new JsonObject().put("a", 1)).add("list"))
+            .put("big", new BigDecimal("1E+400"));
+        try (JsonParser parser = CompactJsonFormat.createParser(new ByteArrayInputStream(toCompact(data)), null)) {
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("list", parser.getCurrentName());
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            assertEquals("list", parser.getCurrentName());
+            parser.nextToken();
+            parser.skipChildren();
+            assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+            assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+            assertEquals("list", parser.getText());
+            assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals(JsonToken.VALUE_NUMBER_FLOAT, parser.nextToken());
+            assertEquals(new BigDecimal("1E+400"), parser.getDecimalValue());
+            assertEquals(Double.POSITIVE_INFINITY, parser.getDoubleValue());
+            assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+            assertNull(parser.nextToken());
+        }
+    }
+
+    @Test
+    void testInvalidData() throws Exception {
+        byte[] compact = toCompact(new JsonObject().put("key", "value"));
+        assertThrows(IOException.class,
+            () -> JsonUtils.bytesToJsonObject(Arrays.copyOf(compact, compact.length - 1)));
+
+        byte[] futureVersion = compact.clone();
+        futureVersion[CompactJsonFormat.MAGIC.length] = CompactJsonFormat.CURRENT_FORMAT_VERSION + 1;
+        assertThrows(IOException.class, () -> JsonUtils.bytesToJsonObject(futureVersion));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = CompactJsonFormat.createGenerator(out, null)) {
+            generator.writeStartObject();
+            assertThrows(IOException.class, () -> generator.writeString("no field name"));
+        }
+    }
+
+    private static byte[] toCompact(Object data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = CompactJsonFormat.createGenerator(out, JsonUtils.mapper())) {
+            generator.writeObject(data);
+        }
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.utils;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonInternerTest {
+
+    @Test
+    void testIntern() {
+        JsonInterner interner = new JsonInterner(3, 8, 10);
+        String first = new String("library");
+        assertSame(first, interner.intern("type", first));
+        assertSame(first, interner.intern("name", new String("library")));
+        assertEquals(1, interner.getHits());
+        assertEquals(JsonInterner.estimateFootprint("library"), interner.getSavedBytes());
+
+        String tooLong = new String("microservice");
+        assertSame(tooLong, interner.intern("type", tooLong));
+        assertNotSame(tooLong, interner.intern("type", new String("microservice")));
+
+        interner.intern("type", "domain");
+        interner.intern("type", "backend");
+        String overflow = new String("frontend");
+        assertSame(overflow, interner.intern("type", overflow));
+        assertNotSame(overflow, interner.intern("type", new String("frontend")));
+        assertEquals(3, interner.size());
+        assertNull(interner.intern("type", null));
+    }
+
+    @Test
+    void testFieldCardinalityLimit() {
+        JsonInterner interner = new JsonInterner(100, 8, 2);
+        interner.intern("id", "v1");
+        interner.intern("id", "v2");
+        interner.intern("id", "v3");
+        // Field brought too many distinct values, known ones are not looked up for it anymore
+        String v1 = new String("v1");
+        assertSame(v1, interner.intern("id", v1));
+        assertNotSame(v1, interner.intern("type", new String("v1")));
+        assertEquals(1, interner.getHits());
+    }
+
+    @Test
+    void testDeserializedValuesShared() throws Exception {
+        String json = "{\"vertexList\":[" +
+            "{\"id\":\"a\",\"type\":\"library\",\"details\":{\"dnsNames\":[\"library\"],\"port\":8080,\"weight\":0.5}}," +
+            "{\"id\":\"b\",\"type\":\"library\",\"isMock\":false,\"ref\":null}]}";
+        // Not interned unless the reader carries a table
+        JsonObject plain = JsonUtils.bytesToJsonObject(json.getBytes(StandardCharsets.UTF_8));
+        assertEquals(new JsonObject(json), plain);
+        assertNotSame(plain.getJsonArray("vertexList").getJsonObject(0).getString("type"),
+            plain.getJsonArray("vertexList").getJsonObject(1).getString("type"));
+
+        ObjectReader reader = JsonInterner.withNewInterner(JsonUtils.mapper().readerFor(JsonObject.class));
+        JsonObject dump = reader.readValue(json.getBytes(StandardCharsets.UTF_8));
+        JsonArray vertices = dump.getJsonArray("vertexList");
+        JsonObject a = vertices.getJsonObject(0);
+        JsonObject b = vertices.getJsonObject(1);
+
+        assertEquals(new JsonObject(json), dump);
+        assertSame(a.getString("type"), b.getString("type"));
+        assertSame(a.getString("type"), a.getJsonObject("details").getJsonArray("dnsNames").getString(0));
+        assertEquals(Integer.valueOf(8080), a.getJsonObject("details").getValue("port"));
+        assertEquals(Double.valueOf(0.5), a.getJsonObject("details").getValue("weight"));
+        assertTrue(b.containsKey("ref"));
+
+        JsonArray array = JsonInterner.withNewInterner(JsonUtils.mapper().readerFor(JsonArray.class))
+            .readValue("[\"library\",{\"k\":[]},[]]");
+        assertNotSame(a.getString("type"), array.getString(0));
+        assertEquals(new JsonArray("[\"library\",{\"k\":[]},[]]"), array);
+    }
+
+}
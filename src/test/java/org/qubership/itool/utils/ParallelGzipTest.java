@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.itool.utils;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelGzipTest {
+
+    @Test
+    void testRoundTrip() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (int size : new int[] { 0, 1, 1000, 4096, 4097, 50_000 }) {
+                byte[] data = testData(size);
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try (ParallelGzipOutputStream gzip =
+                        new ParallelGzipOutputStream(out, executor, 4096, Deflater.DEFAULT_COMPRESSION, 3)) {
+                    gzip.write(data, 0, data.length / 2);
+                    gzip.flush();
+                    for (int i = data.length / 2; i < data.length; i++) {
+                        gzip.write(data[i]);
+                    }
+                }
+                byte[] compressed = out.toByteArray();
+
+                // Readable by standard GZIP, and in parallel
+                assertArrayEquals(data, new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes());
+                try (InputStream in = new ParallelGzipInputStream(new ByteArrayInputStream(compressed), executor, 3)) {
+                    assertArrayEquals(data, in.readAllBytes());
+                    assertEquals(-1, in.read());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testStandardGzip() throws Exception {
+        byte[] data = testData(100_000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        // Parallel members followed by a standard one are read as well
+        byte[] prefix = JsonUtils.jsonObjectToGzipBytes(new JsonObject());
+        byte[] compressed = Arrays.copyOf(prefix, prefix.length + out.size());
+        System.arraycopy(out.toByteArray(), 0, compressed, prefix.length, out.size());
+
+        try (InputStream in = new ParallelGzipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+        try (InputStream in = new ParallelGzipInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals("{}", new String(in.readNBytes(2), JsonUtils.UTF_8));
+            assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void testJsonUtils() throws Exception {
+        JsonArray list = new JsonArray();
+        for (int i = 0; i < 20_000; i++) {
+            list.add(new JsonObject().put("id", "v" + i).put("type", "library"));
+        }
+        JsonObject data = new JsonObject().put("list", list);
+        byte[] compressed = JsonUtils.jsonObjectToGzipBytes(data);
+        assertEquals(data, JsonUtils.gzipBytesToJsonObject(compressed));
+        assertEquals(data, JsonUtils.bytesToJsonObject(new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes()));
+    }
+
+    @Test
+    void testCorruptData() throws Exception {
+        byte[] data = testData(10_000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream gzip = new ParallelGzipOutputStream(out)) {
+            gzip.write(data);
+        }
+        byte[] compressed = out.toByteArray();
+
+        byte[] wrongCrc = compressed.clone();
+        wrongCrc[wrongCrc.length - 8] ^= 1;
+        assertThrows(ZipException.class,
+            () -> new ParallelGzipInputStream(new ByteArrayInputStream(wrongCrc)).readAllBytes());
+
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length - 1);
+        assertThrows(IOException.class,
+            () -> new ParallelGzipInputStream(new ByteArrayInputStream(truncated)).readAllBytes());
+
+        // Member length in the header is checked before allocating the member
+        byte[] tooLong = compressed.clone();
+        tooLong[16] = tooLong[17] = tooLong[18] = (byte) 0xFF;
+        tooLong[19] = 0x7F;
+        assertThrows(ZipException.class,
+            () -> new ParallelGzipInputStream(new ByteArrayInputStream(tooLong)).readAllBytes());
+    }
+
+    private static byte[] testData(int size) {
+        byte[] data = new byte[size];
+        Random random = new Random(size);
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) ('a' + random.nextInt(8));
+        }
+        return data;
+    }
+
+}